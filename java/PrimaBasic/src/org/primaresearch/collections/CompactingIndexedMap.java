@@ -0,0 +1,389 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map that supports indexed access, keeping the insertion order.<br>
+ * This implementation stores keys and values in arrays (slots) and uses a hash map from key to slot.
+ * Removed entries leave an empty slot behind, the arrays are compacted when more than half of the
+ * slots are empty. A binary indexed tree over the used slots is used to find the slot for a given position.
+ * <br>
+ * <code>get</code> and <code>containsKey</code>: O(1)<br>
+ * <code>put</code>: O(1) if the key exists (the value is replaced), O(log n) for a new key (binary indexed tree node)<br>
+ * <code>getAt</code>: O(1) if nothing has been removed since the last compaction, O(log n) otherwise<br>
+ * <code>remove</code> and <code>removeAt</code>: O(log n)<br>
+ * (amortised, plus hash map lookups)
+ * 
+ * @author Christian Clausner
+ *
+ * @param <K> Key type 
+ * @param <V> Value type
+ */
+public class CompactingIndexedMap<K,V> extends AbstractMap<K,V> implements IndexedMap<K,V> {
+	
+	/** Marker for empty slots */
+	private static final Object REMOVED = new Object();
+	private static final int INITIAL_CAPACITY = 8;
+	
+	private Map<K,Integer> slots = new HashMap<K,Integer>();
+	private Object[] keys = new Object[INITIAL_CAPACITY];
+	private Object[] values = new Object[INITIAL_CAPACITY];
+	/** Binary indexed tree (1-based) counting the used slots */
+	private int[] tree = new int[INITIAL_CAPACITY + 1];
+	/** Number of slots in use or empty */
+	private int slotCount = 0;
+	/** Number of empty slots */
+	private int removedCount = 0;
+	private int modCount = 0;
+	private EntrySet entrySet = null;
+
+	/**
+	 * Constructor
+	 */
+	public CompactingIndexedMap() {
+	}
+
+	/**
+	 * Constructor
+	 * @param map Map with initial content (copied)
+	 */
+	public CompactingIndexedMap(Map<? extends K, ? extends V> map) {
+		putAll(map);
+	}
+
+	@Override
+	public void clear() {
+		slots.clear();
+		keys = new Object[INITIAL_CAPACITY];
+		values = new Object[INITIAL_CAPACITY];
+		tree = new int[INITIAL_CAPACITY + 1];
+		slotCount = 0;
+		removedCount = 0;
+		modCount++;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return slots.containsKey(key);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(Object key) {
+		Integer slot = slots.get(key);
+		return slot != null ? (V)values[slot.intValue()] : null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public V getAt(int index) {
+		return (V)values[getSlot(index)];
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return slots.isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V val) {
+		Integer slot = slots.get(key);
+		if (slot != null) { //Replace value (keeps position)
+			V old = (V)values[slot.intValue()];
+			values[slot.intValue()] = val;
+			return old;
+		}
+		if (slotCount == keys.length) {
+			if (removedCount * 4 >= slotCount)
+				compact();
+			else
+				grow();
+		}
+		keys[slotCount] = key;
+		values[slotCount] = val;
+		slotCount++;
+		//Binary indexed tree node for the new slot: the slot itself plus the used slots in (slotCount - lowbit, slotCount-1]
+		tree[slotCount] = 1 + prefixSum(slotCount - 1) - prefixSum(slotCount - (slotCount & -slotCount));
+		slots.put(key, Integer.valueOf(slotCount - 1));
+		modCount++;
+		return null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		Integer slot = slots.get(key);
+		if (slot == null)
+			return null;
+		V v = removeSlot(slot.intValue());
+		compactIfNeeded();
+		return v;
+	}
+
+	@Override
+	public V removeAt(int index) {
+		V v = removeSlot(getSlot(index));
+		compactIfNeeded();
+		return v;
+	}
+
+	@Override
+	public int size() {
+		return slots.size();
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet() {
+		if (entrySet == null)
+			entrySet = new EntrySet();
+		return entrySet;
+	}
+	
+	/**
+	 * Returns the slot for the given position.
+	 * @throws IndexOutOfBoundsException
+	 */
+	private int getSlot(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size());
+		if (removedCount == 0)
+			return index;
+		
+		//Find the smallest slot with index+1 used slots up to and including it
+		int pos = 0;
+		int remaining = index + 1;
+		for (int step = Integer.highestOneBit(slotCount); step > 0; step >>= 1) {
+			if (pos + step <= slotCount && tree[pos + step] < remaining) {
+				pos += step;
+				remaining -= tree[pos];
+			}
+		}
+		return pos; //The tree is 1-based, so pos+1 (tree) is slot pos 
+	}
+	
+	/**
+	 * Number of used slots among the first n slots
+	 */
+	private int prefixSum(int n) {
+		int sum = 0;
+		for (int i = n; i > 0; i -= i & -i)
+			sum += tree[i];
+		return sum;
+	}
+	
+	/**
+	 * Removes the entry in the given slot (leaves an empty slot)
+	 */
+	@SuppressWarnings("unchecked")
+	private V removeSlot(int slot) {
+		V v = (V)values[slot];
+		slots.remove(keys[slot]);
+		keys[slot] = REMOVED;
+		values[slot] = null;
+		for (int i = slot + 1; i <= slotCount; i += i & -i)
+			tree[i]--;
+		removedCount++;
+		modCount++;
+		return v;
+	}
+	
+	/**
+	 * Compacts the arrays if more than half of the slots are empty
+	 */
+	private void compactIfNeeded() {
+		if (removedCount > 0 && removedCount * 2 > slotCount)
+			compact();
+	}
+	
+	/**
+	 * Removes all empty slots and rebuilds the index structures (O(n))
+	 */
+	@SuppressWarnings("unchecked")
+	private void compact() {
+		int target = 0;
+		for (int i = 0; i < slotCount; i++) {
+			if (keys[i] != REMOVED) {
+				if (target != i) {
+					keys[target] = keys[i];
+					values[target] = values[i];
+					slots.put((K)keys[target], Integer.valueOf(target));
+				}
+				target++;
+			}
+		}
+		Arrays.fill(keys, target, slotCount, null);
+		Arrays.fill(values, target, slotCount, null);
+		slotCount = target;
+		removedCount = 0;
+		
+		//Rebuild tree (all slots in use)
+		Arrays.fill(tree, 0);
+		for (int i = 1; i <= slotCount; i++)
+			tree[i] = i & -i;
+		modCount++;
+	}
+	
+	/**
+	 * Doubles the capacity of the slot arrays
+	 */
+	private void grow() {
+		int capacity = keys.length * 2;
+		keys = Arrays.copyOf(keys, capacity);
+		values = Arrays.copyOf(values, capacity);
+		tree = Arrays.copyOf(tree, capacity + 1);
+	}
+	
+	
+	/**
+	 * Entry set view (in insertion order)
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return CompactingIndexedMap.this.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry))
+				return false;
+			Map.Entry<?,?> entry = (Map.Entry<?,?>)o;
+			Integer slot = slots.get(entry.getKey());
+			if (slot == null)
+				return false;
+			Object value = values[slot.intValue()];
+			return value == null ? entry.getValue() == null : value.equals(entry.getValue());
+		}
+
+		@Override
+		public void clear() {
+			CompactingIndexedMap.this.clear();
+		}
+	}
+	
+	/**
+	 * Iterates over the used slots (the arrays are not compacted while iterating)
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+		private int next = 0;
+		private int last = -1;
+		private int expectedModCount = modCount;
+		
+		@Override
+		public boolean hasNext() {
+			while (next < slotCount && keys[next] == REMOVED)
+				next++;
+			return next < slotCount;
+		}
+
+		@Override
+		public Map.Entry<K, V> next() {
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (!hasNext())
+				throw new NoSuchElementException();
+			last = next++;
+			return new SlotEntry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0)
+				throw new IllegalStateException();
+			if (modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			removeSlot(last);
+			last = -1;
+			expectedModCount = modCount;
+		}
+	}
+	
+	/**
+	 * Map entry that reads and writes the value of a slot
+	 */
+	private final class SlotEntry implements Map.Entry<K, V> {
+		private final K key;
+		private final int slot;
+		private final int expectedModCount;
+
+		@SuppressWarnings("unchecked")
+		SlotEntry(int slot) {
+			this.slot = slot;
+			this.key = (K)keys[slot];
+			this.expectedModCount = modCount;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V getValue() {
+			return modCount == expectedModCount ? (V)values[slot] : get(key);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V setValue(V value) {
+			if (modCount == expectedModCount) {
+				V old = (V)values[slot];
+				values[slot] = value;
+				return old;
+			}
+			if (!containsKey(key))
+				throw new IllegalStateException("Entry has been removed");
+			return put(key, value);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry))
+				return false;
+			Map.Entry<?,?> other = (Map.Entry<?,?>)o;
+			V value = getValue();
+			return (key == null ? other.getKey() == null : key.equals(other.getKey()))
+					&& (value == null ? other.getValue() == null : value.equals(other.getValue()));
+		}
+		
+		@Override
+		public int hashCode() {
+			V value = getValue();
+			return (key == null ? 0 : key.hashCode()) ^ (value == null ? 0 : value.hashCode());
+		}
+		
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
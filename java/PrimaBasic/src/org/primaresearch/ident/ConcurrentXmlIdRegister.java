@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.ident;
+
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.primaresearch.ident.XmlIdRegister.XmlId;
+
+/**
+ * Thread-safe IdRegister implementation for XML conform IDs, intended for large pages.<br>
+ * <br>
+ * IDs consisting of a prefix and a number (e.g. 'r12', no leading zeros) are stored as bits
+ * in a bit set per prefix. Other IDs are stored as strings.<br>
+ * ID generation uses an atomic counter per prefix. Registering an ID moves the counter of its prefix
+ * beyond the ID number, so that generated IDs do not have to be checked one by one against
+ * previously registered IDs (e.g. when merging pages).<br>
+ * <br>
+ * Note: Unlike {@link XmlIdRegister}, free numbers below the highest registered number are not reused
+ * when generating IDs. As with {@link XmlIdRegister}, generated IDs are not registered automatically.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class ConcurrentXmlIdRegister implements IdRegister {
+
+	/** Numbers up to this value are always stored in the bit set of the prefix */
+	private static final int MIN_BIT_SET_RANGE = 4096;
+	/** Maximum average number of bits per registered ID (to avoid huge sparse bit sets) */
+	private static final int MAX_BITS_PER_ID = 32;
+	/** Maximum number of digits of an ID number (to fit into an int) */
+	private static final int MAX_DIGITS = 9;
+	
+	private final String defaultPrefix;	//XML IDs need a non-numeric prefix (see XML schema documentation for detailed rules)
+	/** Map with [prefix, counter and numbers in use] */
+	private final ConcurrentMap<String, PrefixEntry> prefixes = new ConcurrentHashMap<String, PrefixEntry>();
+	/** IDs in use that are not stored in a bit set */
+	private final Set<String> otherIds = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Default constructor using a predefined ID prefix.
+	 */
+	public ConcurrentXmlIdRegister() {
+		this("i");
+	}
+	
+	/**
+	 * Constructor with prefix specification.
+	 * @param defaultIdPrefix XML ID prefix (must not start with a digit; see XML schema documentation for detailed rules). 
+	 */
+	public ConcurrentXmlIdRegister(String defaultIdPrefix) {
+		this.defaultPrefix = defaultIdPrefix;
+	}
+
+	@Override
+	public Id generateId() {
+		try {
+			return generateId(defaultPrefix);
+		} catch (InvalidIdException e) {
+		}
+		return null;
+	}
+	
+	@Override
+	public Id generateId(String prefix) throws InvalidIdException {
+		if (prefix == null)
+			throw new InvalidIdException("Invalid ID prefix");
+		PrefixEntry entry = getPrefixEntry(prefix);
+		while (true) {
+			int number = entry.counter.getAndIncrement();
+			if (number < 0) //Overflow
+				throw new InvalidIdException("No more IDs available for prefix "+prefix);
+			String id = prefix + number;
+			if (!hasId(id))
+				return new XmlId(id);
+		}
+	}
+
+	@Override
+	public void registerId(Id id) throws InvalidIdException {
+		registerId(id, null);
+	}
+	
+	@Override
+	public void registerId(Id id, Id oldIdToUnregister) throws InvalidIdException {
+		if (id.equals(oldIdToUnregister)) //New and old are the same -> we don't have to do anything
+			return;
+
+		if (!tryRegister(id.toString()))
+			throw new InvalidIdException("ID already in use: "+id);
+		if (oldIdToUnregister != null)
+			unregisterId(oldIdToUnregister);
+	}
+	
+	@Override
+	public Id registerId(String id) throws InvalidIdException {
+		return registerId(id, null);
+	}
+
+	@Override
+	public Id registerId(String id, Id oldIdToUnregister) throws InvalidIdException {
+		Id xmlId = new XmlId(id);
+		registerId(xmlId, oldIdToUnregister);
+		return xmlId;
+	}
+
+	@Override
+	public void unregisterId(Id id) {
+		if (id == null)
+			return;
+		String str = id.toString();
+		int split = getNumberStart(str);
+		if (split > 0) {
+			PrefixEntry entry = prefixes.get(str.substring(0, split));
+			if (entry != null) {
+				int number = Integer.parseInt(str.substring(split));
+				synchronized (entry) {
+					if (entry.numbers.get(number)) {
+						entry.numbers.clear(number);
+						entry.count--;
+						return;
+					}
+				}
+			}
+		}
+		otherIds.remove(str);
+	}
+	
+	/**
+	 * Checks if the given ID is in use
+	 */
+	private boolean hasId(String id) {
+		int split = getNumberStart(id);
+		if (split > 0) {
+			PrefixEntry entry = prefixes.get(id.substring(0, split));
+			if (entry != null) {
+				int number = Integer.parseInt(id.substring(split));
+				synchronized (entry) {
+					if (entry.numbers.get(number))
+						return true;
+				}
+			}
+		}
+		return !otherIds.isEmpty() && otherIds.contains(id);
+	}
+	
+	/**
+	 * Registers the given ID if it is not in use (atomic).
+	 * @return <code>true</code> if registered, <code>false</code> if the ID is in use already
+	 */
+	private boolean tryRegister(String id) {
+		int split = getNumberStart(id);
+		if (split <= 0)
+			return otherIds.add(id);
+		
+		PrefixEntry entry = getPrefixEntry(id.substring(0, split));
+		int number = Integer.parseInt(id.substring(split));
+		
+		//Generated IDs should start after this number
+		int counter;
+		while ((counter = entry.counter.get()) <= number && number < Integer.MAX_VALUE) {
+			if (entry.counter.compareAndSet(counter, number + 1))
+				break;
+		}
+		
+		synchronized (entry) {
+			if (entry.numbers.get(number))
+				return false;
+			if (number <= MIN_BIT_SET_RANGE || number <= (long)MAX_BITS_PER_ID * (entry.count + 1)) {
+				if (otherIds.contains(id)) //Stored as string earlier (when the bit set range was smaller)
+					return false;
+				entry.numbers.set(number);
+				entry.count++;
+				return true;
+			}
+			//Sparse number -> store as string
+			return otherIds.add(id);
+		}
+	}
+	
+	/**
+	 * Returns the position of the number at the end of the given ID.
+	 * @return Start position of the number or -1 if the ID does not end with a number 
+	 * 			(without leading zeros and not too long) or has no prefix
+	 */
+	private static int getNumberStart(String id) {
+		int pos = id.length();
+		while (pos > 0 && Character.isDigit(id.charAt(pos-1)))
+			pos--;
+		if (pos == 0 || pos == id.length()
+				|| id.length() - pos > MAX_DIGITS 
+				|| (id.charAt(pos) == '0' && pos < id.length()-1))
+			return -1;
+		return pos;
+	}
+	
+	/**
+	 * Returns the entry for the given prefix (creates one if not existing)
+	 */
+	private PrefixEntry getPrefixEntry(String prefix) {
+		PrefixEntry entry = prefixes.get(prefix);
+		if (entry == null) {
+			PrefixEntry newEntry = new PrefixEntry();
+			entry = prefixes.putIfAbsent(prefix, newEntry);
+			if (entry == null)
+				entry = newEntry;
+		}
+		return entry;
+	}
+
+	@Override
+	public Id registerOrCreateNewId(String id) throws InvalidIdException {
+		return registerOrCreateNewId(id, defaultPrefix);
+	}
+	
+	@Override
+	public Id registerOrCreateNewId(String id, String prefix) throws InvalidIdException {
+		return registerOrCreateNewId(new XmlId(id), prefix);
+	}
+
+	@Override
+	public Id registerOrCreateNewId(Id id) {
+		try {
+			return registerOrCreateNewId(id, defaultPrefix);
+		} catch (InvalidIdException e) {
+		}
+		return null;
+	}
+	
+	@Override
+	public Id registerOrCreateNewId(Id id, String prefix) throws InvalidIdException {
+		if (!tryRegister(id.toString())) //Already in use -> create a new ID
+			return generateId(prefix);
+		return id;
+	}
+
+	@Override
+	public Id getId(String key) throws InvalidIdException {
+		return new XmlId(key);
+	}
+	
+	
+	/**
+	 * ID counter and numbers in use for one ID prefix
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static final class PrefixEntry {
+		/** Next number for ID generation */
+		final AtomicInteger counter = new AtomicInteger(1);
+		/** Numbers in use (guarded by this entry) */
+		final BitSet numbers = new BitSet();
+		/** Number of set bits (guarded by this entry) */
+		int count = 0;
+	}
+}
@@ -200,7 +200,7 @@ public class XmlIdRegister implements IdRegister {
 		 * @param id ID content
 		 * @throws InvalidIdException Invalid ID
 		 */
-		private XmlId(String id) throws InvalidIdException {
+		XmlId(String id) throws InvalidIdException {
 			if (id == null || id.isEmpty() ||
 					Character.isDigit(id.charAt(0)))
 				throw new InvalidIdException("Invalid ID format"); 
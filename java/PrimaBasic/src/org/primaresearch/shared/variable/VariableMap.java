@@ -26,7 +26,14 @@ import java.util.Map;
 import org.primaresearch.shared.variable.Variable.WrongVariableTypeException;
 
 /**
- * Indexed map of Variables.
+ * Indexed map of Variables.<br>
+ * <br>
+ * A map can be backed by a shared {@link VariableMapTemplate}. In that case the variables are only copied
+ * from the template when they are accessed via <code>get()</code> and the full list is only created
+ * when the structure of the map is changed (add, remove, ...). Use <code>peek()</code> for read access
+ * that doesn't create copies.<br>
+ * Copies are published safely, so <code>get()</code> and <code>peek()</code> can be called from several
+ * threads (e.g. for a shared page). Structural changes are not thread-safe.
  * 
  * @author Christian Clausner
  *
@@ -35,20 +42,51 @@ public class VariableMap implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 	
-	private List<Variable> variables = new ArrayList<Variable>();
-	private Map<String, Variable> nameMap = new HashMap<String, Variable>();
+	private List<Variable> variables = null;
+	private Map<String, Variable> nameMap = null;
+	/** Shared template (null if this map has its own variable list) */
+	private VariableMapTemplate template = null;
+	/** Variables copied from the template (created on demand, same indices as in the template).
+	 *  The array is replaced (not modified) when a variable is copied. */
+	private volatile Variable[] copiedVariables = null;
 	private String type = null;
 	private String name = null;
 	
 	private VariableComparator sortIndexComparator = null;
 	
 	public VariableMap() {
+		variables = new ArrayList<Variable>();
+		nameMap = new HashMap<String, Variable>();
+	}
+	
+	/**
+	 * Constructor for a map that is backed by the given template (see {@link VariableMapTemplate#createVariableMap()}).
+	 */
+	VariableMap(VariableMapTemplate template) {
+		this.template = template;
+		this.type = template.getType();
 	}
 	
 	/**
 	 * Creates a deep copy of this map.
 	 */
 	public VariableMap clone() {
+		if (template != null) {
+			//Share the template and copy only what has been copied here
+			VariableMap copy = new VariableMap(template);
+			copy.setType(type);
+			copy.setName(name);
+			Variable[] copies = copiedVariables;
+			if (copies != null) {
+				Variable[] copiesOfCopy = new Variable[copies.length];
+				for (int i=0; i<copies.length; i++)
+					if (copies[i] != null)
+						copiesOfCopy[i] = copies[i].clone();
+				copy.copiedVariables = copiesOfCopy;
+			}
+			return copy;
+		}
+
 		VariableMap copy = new VariableMap();
 		
 		copy.setType(type);
@@ -69,7 +107,7 @@ public class VariableMap implements Serializable {
 		if (source == null)
 			return;
 		for (int i=0; i<source.getSize(); i++) {
-			Variable sourceVar = source.get(i);
+			Variable sourceVar = source.peek(i);
 			if (sourceVar.getName() != null) { //has name?
 				Variable target = this.get(sourceVar.getName());
 				if (target != null)	{
@@ -114,6 +152,8 @@ public class VariableMap implements Serializable {
 	 * @throws IndexOutOfBoundsException  
 	 */
 	public Variable get(int index) {
+		if (template != null)
+			return getCopy(index);
 		return variables.get(index);
 	}
 	
@@ -122,18 +162,100 @@ public class VariableMap implements Serializable {
 	 * @return The variable or null if there is no variable with the specified name.
 	 */
 	public Variable get(String name) {
+		if (template != null) {
+			int index = template.indexOf(name);
+			return index >= 0 ? getCopy(index) : null;
+		}
+		return nameMap.get(name);
+	}
+	
+	/**
+	 * Returns the variable at the given index for read access. If the map is backed by a template, 
+	 * the shared template variable is returned if the variable hasn't been copied yet, so the 
+	 * returned variable must not be modified.
+	 * @throws IndexOutOfBoundsException  
+	 */
+	public Variable peek(int index) {
+		if (template != null) {
+			if (index < 0 || index >= template.getSize())
+				throw new IndexOutOfBoundsException("Index: "+index+", Size: "+template.getSize());
+			Variable[] copies = copiedVariables;
+			if (copies != null && copies[index] != null)
+				return copies[index];
+			return template.get(index);
+		}
+		return variables.get(index);
+	}
+
+	/**
+	 * Returns the variable with the given name for read access (see {@link #peek(int)}).
+	 * The returned variable must not be modified.
+	 * @return The variable or null if there is no variable with the specified name.
+	 */
+	public Variable peek(String name) {
+		if (template != null) {
+			int index = template.indexOf(name);
+			return index >= 0 ? peek(index) : null;
+		}
 		return nameMap.get(name);
 	}
 	
+	/**
+	 * Returns the copy of the template variable at the given index (creates it if necessary).
+	 * The copy is fully created before it is published by replacing the array of copies.
+	 */
+	private Variable getCopy(int index) {
+		if (index < 0 || index >= template.getSize())
+			throw new IndexOutOfBoundsException("Index: "+index+", Size: "+template.getSize());
+		Variable[] copies = copiedVariables;
+		if (copies != null && copies[index] != null)
+			return copies[index];
+		synchronized (this) {
+			copies = copiedVariables;
+			if (copies != null && copies[index] != null)
+				return copies[index];
+			Variable[] newCopies = copies != null ? copies.clone() : new Variable[template.getSize()];
+			Variable v = template.get(index).clone();
+			newCopies[index] = v;
+			copiedVariables = newCopies;
+			return v;
+		}
+	}
+	
+	/**
+	 * Replaces the template by a full variable list (before the structure of the map is changed).
+	 */
+	private synchronized void detachFromTemplate() {
+		if (template == null)
+			return;
+		int size = template.getSize();
+		variables = new ArrayList<Variable>(size);
+		nameMap = new HashMap<String, Variable>();
+		for (int i=0; i<size; i++) {
+			Variable v = getCopy(i);
+			variables.add(v);
+			nameMap.put(v.getName(), v);
+		}
+		template = null;
+		copiedVariables = null;
+	}
+	
+	/**
+	 * Checks if this map is backed by a shared template.
+	 */
+	public boolean isBackedByTemplate() {
+		return template != null;
+	}
+	
 	/**
 	 * Return the first variable of this map with the given id number.
 	 * @return A variable or <code>null</code>.
 	 */
 	public Variable getById(int id) {
 		for (int i=0; i<getSize(); i++) {
-			Variable curr = get(i);
+			Variable curr = peek(i);
 			if (id == curr.getId())
-				return curr;
+				return get(i);
 		}
 		return null;
 	}
@@ -142,6 +264,8 @@ public class VariableMap implements Serializable {
 	 * Returns the number of variables in this map. 
 	 */
 	public int getSize() {
+		if (template != null)
+			return template.getSize();
 		return variables.size();
 	}
 	
@@ -149,6 +273,7 @@ public class VariableMap implements Serializable {
 	 * Adds a variable to the map.
 	 */
 	public void add(Variable v) {
+		detachFromTemplate();
 		variables.add(v);
 		nameMap.put(v.getName(), v);
 	}
@@ -157,6 +282,7 @@ public class VariableMap implements Serializable {
 	 * Replaces the variable at the given index with the given variable.
 	 */
 	public void setAt(int index, Variable v) {
+		detachFromTemplate();
 		//Remove old variable at the given position from the name map
 		Variable old = variables.get(index);
 		nameMap.remove(old.getName());
@@ -170,6 +296,7 @@ public class VariableMap implements Serializable {
 	 * Removes the variable at the given index from the map. 
 	 */
 	public void remove(int index) {
+		detachFromTemplate();
 		Variable v = variables.get(index);
 		variables.remove(index);
 		nameMap.remove(v.getName());
@@ -179,6 +306,9 @@ public class VariableMap implements Serializable {
 	 * Removes the variable with the given name from the map. 
 	 */
 	public void remove(String name) {
+		if (template != null && template.indexOf(name) < 0)
+			return;
+		detachFromTemplate();
 		Variable v = nameMap.get(name);
 		if (v != null) {
 			nameMap.remove(v.getName());
@@ -212,6 +342,7 @@ public class VariableMap implements Serializable {
 	 * Removes all variables from this map.
 	 */
 	public void clear() {
+		detachFromTemplate();
 		variables.clear();
 		nameMap.clear();
 	}
@@ -222,6 +353,7 @@ public class VariableMap implements Serializable {
 	public void sort() {
 		if (sortIndexComparator == null)
 			sortIndexComparator = new VariableComparator();
+		detachFromTemplate();
 		Collections.sort(variables, sortIndexComparator);
 	}
 
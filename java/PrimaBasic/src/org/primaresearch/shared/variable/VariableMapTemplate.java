@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.shared.variable;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable description of the variables of a {@link VariableMap} (names, types, constraints and default values).<br>
+ * Maps created from the same template share it and only hold private copies of the variables
+ * that have been accessed (copy on write). This saves a lot of memory if many objects have the
+ * same set of mostly unset attributes (e.g. glyphs of a page).
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class VariableMapTemplate implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private String type;
+	private Variable[] variables;
+	private Map<String, Integer> nameIndex;
+	
+	/**
+	 * Empty constructor (required for GWT)
+	 */
+	protected VariableMapTemplate() {
+	}
+	
+	/**
+	 * Constructor
+	 * @param source Map containing the template variables (copied, later changes to the map are not reflected in the template) 
+	 */
+	public VariableMapTemplate(VariableMap source) {
+		type = source.getType();
+		variables = new Variable[source.getSize()];
+		nameIndex = new HashMap<String, Integer>();
+		for (int i=0; i<variables.length; i++) {
+			variables[i] = source.peek(i).clone();
+			nameIndex.put(variables[i].getName(), i); //Same as in VariableMap: the last variable wins for duplicate names
+		}
+	}
+	
+	/**
+	 * Creates a new variable map that is backed by this template.
+	 */
+	public VariableMap createVariableMap() {
+		return new VariableMap(this);
+	}
+	
+	/**
+	 * Returns the type of the variable maps created from this template.
+	 */
+	public String getType() {
+		return type;
+	}
+	
+	/**
+	 * Returns the number of variables.
+	 */
+	public int getSize() {
+		return variables.length;
+	}
+	
+	/**
+	 * Returns the template variable at the given index (must not be modified).
+	 */
+	Variable get(int index) {
+		return variables[index];
+	}
+	
+	/**
+	 * Returns the index of the variable with the given name.
+	 * @return Index or -1 if there is no variable with the specified name.
+	 */
+	int indexOf(String name) {
+		Integer index = nameIndex.get(name);
+		return index != null ? index.intValue() : -1;
+	}
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.collections;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Map.Entry;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class CompactingIndexedMapTest {
+
+	@Test
+	public void testClear() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Clearing when empty
+		map.clear();
+		assertEquals(0, map.size());
+		//Add to map
+		map.put(1, 1.0);
+		assertEquals(1, map.size());
+		//Clear
+		map.clear();
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testContainsKey() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertFalse(map.containsKey(Integer.valueOf(1)));
+		//Fill map
+		map.put(1, 1.0);
+		assertTrue(map.containsKey(Integer.valueOf(1)));
+		map.put(2, 2.0);
+		assertTrue(map.containsKey(Integer.valueOf(1)));
+		assertTrue(map.containsKey(Integer.valueOf(2)));
+		map.put(3, 3.0);
+		assertTrue(map.containsKey(Integer.valueOf(1)));
+		assertTrue(map.containsKey(Integer.valueOf(2)));
+		assertTrue(map.containsKey(Integer.valueOf(3)));
+	}
+
+	@Test
+	public void testContainsValue() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertFalse(map.containsValue(Double.valueOf(1.0)));
+		//Fill map
+		map.put(1, 1.0);
+		assertTrue(map.containsValue(Double.valueOf(1.0)));
+		map.put(2, 2.0);
+		assertTrue(map.containsValue(Double.valueOf(1.0)));
+		assertTrue(map.containsValue(Double.valueOf(2.0)));
+		map.put(3, 3.0);
+		assertTrue(map.containsValue(Double.valueOf(1.0)));
+		assertTrue(map.containsValue(Double.valueOf(2.0)));
+		assertTrue(map.containsValue(Double.valueOf(3.0)));
+	}
+
+	@Test
+	public void testEntrySet() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		Set<Entry<Integer,Double>> set = map.entrySet();
+		assertEquals(0, set.size());
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		set = map.entrySet();
+		assertEquals(3, set.size());
+		int foundKeys = 0;
+		for (Iterator<Entry<Integer,Double>> it = set.iterator(); it.hasNext(); ) {
+			Entry<Integer,Double> entry = it.next();
+			if (	entry.getKey().equals(Integer.valueOf(1))
+				|| 	entry.getKey().equals(Integer.valueOf(2))
+				|| 	entry.getKey().equals(Integer.valueOf(3)))
+				foundKeys++;
+		}
+		assertEquals(3, foundKeys);
+	}
+
+	@Test
+	public void testGetObject() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertNull(map.get(Integer.valueOf(1)));
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		assertEquals(Double.valueOf(1.0), map.get(Integer.valueOf(1)));
+		assertEquals(Double.valueOf(2.0), map.get(Integer.valueOf(2)));
+		assertEquals(Double.valueOf(3.0), map.get(Integer.valueOf(3)));
+		assertNull(map.get(Integer.valueOf(4)));
+	}
+
+	@Test
+	public void testGetInt() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		try { 
+			map.getAt(1);
+			fail("IndexOutOfBoundsException was expected");
+		} catch (IndexOutOfBoundsException exc) {
+			//Expected exception
+		}
+		
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		assertEquals(Double.valueOf(1.0), map.getAt(0));
+		assertEquals(Double.valueOf(2.0), map.getAt(1));
+		assertEquals(Double.valueOf(3.0), map.getAt(2));
+	}
+
+	@Test
+	public void testIsEmpty() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertTrue(map.isEmpty());
+		
+		//Fill map
+		map.put(1, 1.0);
+		assertFalse(map.isEmpty());
+		map.put(2, 2.0);
+		assertFalse(map.isEmpty());
+		map.put(3, 3.0);
+		assertFalse(map.isEmpty());
+	}
+
+	@Test
+	public void testKeySet() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertEquals(0, map.keySet().size());
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		assertEquals(3, map.keySet().size());
+		int sum = 0;
+		for (Iterator<Integer> it = map.keySet().iterator(); it.hasNext(); ) {
+			sum += it.next();
+		}
+		assertEquals(6, sum);
+	}
+
+	@Test
+	public void testPut() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Fill map
+		map.put(1, 1.0);
+		assertEquals(1, map.size());
+		assertEquals(Double.valueOf(1.0), map.get(Integer.valueOf(1)));
+		map.put(2, 2.0);
+		assertEquals(2, map.size());
+		assertEquals(Double.valueOf(2.0), map.get(Integer.valueOf(2)));
+		map.put(3, 3.0);
+		assertEquals(3, map.size());
+		assertEquals(Double.valueOf(3.0), map.get(Integer.valueOf(3)));
+		//Put existing key
+		map.put(3, 3.0);
+		assertEquals(3, map.size());
+		assertEquals(Double.valueOf(3.0), map.get(Integer.valueOf(3)));
+	}
+
+	@Test
+	public void testPutAll() {
+		IndexedMap<Integer, Double> map1 = new CompactingIndexedMap<Integer, Double>();
+		IndexedMap<Integer, Double> map2 = new CompactingIndexedMap<Integer, Double>();
+		
+		//Fill map1
+		map1.put(1, 1.0);
+		map1.put(2, 2.0);
+		map1.put(3, 3.0);
+		
+		//Add to map2
+		map2.putAll(map1);
+		assertEquals(3, map2.size());
+		assertEquals(Double.valueOf(1.0), map2.get(Integer.valueOf(1)));
+	}
+
+	@Test
+	public void testRemoveObject() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertNull(map.remove(Integer.valueOf(1)));
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		assertEquals(Double.valueOf(2.0), map.remove(Integer.valueOf(2)));
+		assertEquals(Double.valueOf(1.0), map.remove(Integer.valueOf(1)));
+		assertEquals(Double.valueOf(3.0), map.remove(Integer.valueOf(3)));
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testSize() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertEquals(0, map.size());
+		//Fill map
+		map.put(1, 1.0);
+		assertEquals(1, map.size());
+		map.put(2, 2.0);
+		assertEquals(2, map.size());
+		map.clear();
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testValues() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		assertEquals(0, map.values().size());
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		assertEquals(3, map.values().size());
+		double sum = 0;
+		for (Iterator<Double> it = map.values().iterator(); it.hasNext(); ) {
+			sum += it.next();
+		}
+		assertEquals(6.0, sum, 0.001);
+	}
+
+	@Test
+	public void testRemoveInt() {
+		IndexedMap<Integer, Double> map = new CompactingIndexedMap<Integer, Double>();
+		//Test on empty map
+		try { 
+			map.removeAt(1);
+			fail("IndexOutOfBoundsException was expected");
+		} catch (IndexOutOfBoundsException exc) {
+			//Expected exception
+		}
+		
+		//Fill map
+		map.put(1, 1.0);
+		map.put(2, 2.0);
+		map.put(3, 3.0);
+		
+		try { 
+			map.removeAt(3);
+			fail("IndexOutOfBoundsException was expected");
+		} catch (IndexOutOfBoundsException exc) {
+			//Expected exception
+		}
+		map.removeAt(1);
+		assertEquals(2, map.size());
+		map.removeAt(1);
+		assertEquals(1, map.size());
+		map.removeAt(0);
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void testRandomOperations() {
+		//Compare with a LinkedHashMap (keys in insertion order)
+		Random random = new Random(11);
+		IndexedMap<Integer, Integer> map = new CompactingIndexedMap<Integer, Integer>();
+		Map<Integer, Integer> reference = new LinkedHashMap<Integer, Integer>();
+		for (int n=0; n<20000; n++) {
+			int op = random.nextInt(10);
+			int key = random.nextInt(500);
+			if (op < 5) {
+				assertEquals(reference.put(key, n), map.put(key, n));
+			} else if (op < 7) {
+				assertEquals(reference.remove(key), map.remove(key));
+			} else if (op < 9) {
+				if (!reference.isEmpty()) {
+					int index = random.nextInt(reference.size());
+					Integer refKey = new ArrayList<Integer>(reference.keySet()).get(index);
+					assertEquals(reference.remove(refKey), map.removeAt(index));
+				}
+			} else {
+				//Remove every third entry via the iterator
+				int i = 0;
+				for (Iterator<Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext(); i++) {
+					Entry<Integer, Integer> entry = it.next();
+					if (i % 3 == 0) {
+						it.remove();
+						reference.remove(entry.getKey());
+					}
+				}
+			}
+			assertEquals(reference.size(), map.size());
+			if (n % 100 == 0) {
+				List<Integer> refValues = new ArrayList<Integer>(reference.values());
+				for (int i=0; i<refValues.size(); i++)
+					assertEquals(refValues.get(i), map.getAt(i));
+				assertEquals(reference, map);
+				assertEquals(new ArrayList<Integer>(reference.keySet()), new ArrayList<Integer>(map.keySet()));
+			}
+		}
+	}
+
+	@Test
+	public void testEntrySetValue() {
+		IndexedMap<String, Integer> map = new CompactingIndexedMap<String, Integer>();
+		map.put("a", 1);
+		map.put("b", 2);
+		for (Entry<String, Integer> entry : map.entrySet())
+			entry.setValue(entry.getValue() * 10);
+		assertEquals(Integer.valueOf(10), map.get("a"));
+		assertEquals(Integer.valueOf(20), map.getAt(1));
+		
+		//Re-inserting a key keeps its position
+		map.put("a", 5);
+		assertEquals(Integer.valueOf(5), map.getAt(0));
+	}
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.ident;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.primaresearch.ident.IdRegister.InvalidIdException;
+
+public class ConcurrentXmlIdRegisterTest {
+
+	@Test
+	public void test() {
+		try{
+			ConcurrentXmlIdRegister register = new ConcurrentXmlIdRegister("pre");
+			
+			//Generate and register ID with default prefix
+			Id id1 = register.generateId();
+			assertNotNull(id1);
+			assertTrue(id1.toString().startsWith("pre"));
+			try {
+				register.registerId(id1);
+			} catch (InvalidIdException e1) {
+				e1.printStackTrace();
+				fail();
+			}
+			
+			//Generate and register ID with custom prefix
+			Id id2 = register.generateId("bla");
+			assertNotNull(id2);
+			assertTrue(id2.toString().startsWith("bla"));
+			try {
+				register.registerId(id2);
+			} catch (InvalidIdException e1) {
+				e1.printStackTrace();
+				fail();
+			}
+			
+			//Try to register existing ID
+			try {
+				register.registerId(register.getId(id1.toString()));
+				fail("Exception expected");
+			} catch (InvalidIdException e) {
+			}
+	
+			//Register unused IDs 
+			try {
+				register.registerId(register.getId("pre2"));
+				register.registerId("pre3");
+			} catch (InvalidIdException e) {
+				e.printStackTrace();
+				fail();
+			}
+			
+			//Register and unregister
+			try {
+				register.registerId("pre4", id1);
+			} catch (InvalidIdException e) {
+				e.printStackTrace();
+				fail();
+			}
+			
+			//Register or create (ID exists already)
+			Id id3 = register.registerOrCreateNewId("pre4");
+			assertNotNull(id3);
+			assertFalse(id3.toString().equals("pre4"));
+			
+			//Register or create (ID does not exist already)
+			Id id4 = register.registerOrCreateNewId("blub1");
+			assertNotNull(id4);
+			assertTrue(id4.toString().equals("blub1"));
+	
+			//Unregister
+			register.unregisterId(id4);
+			Id id5 = register.registerOrCreateNewId("blub1");
+			assertNotNull(id5);
+			assertTrue(id5.toString().equals("blub1"));
+			
+			//Invalid ID format
+			try {
+				register.registerId("123");
+				fail("Exception expected");
+			} catch (InvalidIdException e) {
+			}
+		} catch(Exception exc) {
+			exc.printStackTrace();
+			fail();
+		}
+	}
+	
+	@Test
+	public void testCounterSkipping() throws Exception {
+		ConcurrentXmlIdRegister register = new ConcurrentXmlIdRegister();
+		for (int i=1; i<=1000; i++)
+			register.registerId("r" + i);
+		assertEquals("r1001", register.generateId("r").toString());
+		
+		//Sparse number, leading zeros, no number
+		register.registerId("r999999999");
+		register.registerId("r0012");
+		register.registerId("region");
+		try {
+			register.registerId("r999999999");
+			fail("Exception expected");
+		} catch (InvalidIdException e) {
+		}
+		assertFalse("r0012".equals(register.registerOrCreateNewId("r0012").toString()));
+		assertEquals("r1000000000", register.generateId("r").toString());
+		assertFalse("region".equals(register.registerOrCreateNewId("region").toString()));
+		
+		register.unregisterId(register.getId("r999999999"));
+		register.unregisterId(register.getId("r5"));
+		assertEquals("r5", register.registerOrCreateNewId("r5").toString());
+		assertEquals("r999999999", register.registerOrCreateNewId("r999999999").toString());
+		
+		//Prefix ending with a digit
+		Id id = register.generateId("x1");
+		register.registerId(id);
+		assertFalse(id.equals(register.generateId("x1")));
+	}
+	
+	@Test
+	public void testConcurrentUse() throws Exception {
+		final ConcurrentXmlIdRegister register = new ConcurrentXmlIdRegister();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<List<String>>> tasks = new ArrayList<Callable<List<String>>>();
+			for (int t=0; t<4; t++) {
+				tasks.add(new Callable<List<String>>() {
+					@Override
+					public List<String> call() throws Exception {
+						List<String> ids = new ArrayList<String>();
+						for (int i=0; i<5000; i++) {
+							//Generated and registered
+							Id id = register.generateId("w");
+							register.registerId(id);
+							ids.add(id.toString());
+							//Registered by all threads (only one succeeds)
+							try {
+								register.registerId("c" + i);
+								ids.add("c" + i);
+							} catch (InvalidIdException e) {
+							}
+						}
+						return ids;
+					}
+				});
+			}
+			Set<String> all = new HashSet<String>();
+			int count = 0;
+			for (Future<List<String>> future : executor.invokeAll(tasks)) {
+				all.addAll(future.get());
+				count += future.get().size();
+			}
+			assertEquals(4 * 5000 + 5000, count);
+			assertEquals(count, all.size());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
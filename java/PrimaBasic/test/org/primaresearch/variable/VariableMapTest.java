@@ -28,6 +28,7 @@ import org.primaresearch.shared.variable.StringValue;
 import org.primaresearch.shared.variable.StringVariable;
 import org.primaresearch.shared.variable.Variable;
 import org.primaresearch.shared.variable.VariableMap;
+import org.primaresearch.shared.variable.VariableMapTemplate;
 
 public class VariableMapTest {
 
@@ -141,4 +142,87 @@ public class VariableMapTest {
 		assertTrue("Empty cleared map", map.getSize() == 0);
 	}
 
+	@Test
+	public void testTemplate() {
+		VariableMap source = new VariableMap();
+		source.setType("type");
+		source.add(new StringVariable("s", new StringValue("default")));
+		source.add(new IntegerVariable("i", null));
+		source.add(new BooleanVariable("b", null));
+		
+		VariableMapTemplate template = new VariableMapTemplate(source);
+		VariableMap map1 = template.createVariableMap();
+		VariableMap map2 = template.createVariableMap();
+		
+		assertTrue("Backed by template", map1.isBackedByTemplate());
+		assertTrue("Template size", map1.getSize() == 3);
+		assertTrue("Template type", "type".equals(map1.getType()));
+		assertTrue("Default value", "default".equals(((StringValue)map1.peek("s").getValue()).val));
+		assertTrue("Unknown name", map1.get("x") == null && map1.peek("x") == null);
+		
+		//Read access shares the template variables
+		assertTrue("Shared variable", map1.peek(1) == map2.peek(1));
+		
+		//Write access creates a copy
+		try {
+			map1.get("i").setValue(new IntegerValue(7));
+		} catch (Exception exc) {
+			fail("Unwanted exception");
+		}
+		assertTrue("Copied variable", map1.get(1) == map1.peek(1));
+		assertTrue("Own value", ((IntegerValue)map1.peek("i").getValue()).val == 7);
+		assertTrue("Other map unchanged", map2.peek("i").getValue() == null);
+		assertTrue("Template unchanged", template.createVariableMap().peek("i").getValue() == null);
+		
+		//Clone keeps own values
+		VariableMap clone = map1.clone();
+		assertTrue("Clone backed by template", clone.isBackedByTemplate());
+		assertTrue("Clone value", ((IntegerValue)clone.peek("i").getValue()).val == 7);
+		assertTrue("Deep clone", clone.get("i") != map1.get("i"));
+		
+		//Structural changes detach the map from the template
+		Variable b = map1.get("b");
+		map1.remove("s");
+		assertTrue("Detached", !map1.isBackedByTemplate());
+		assertTrue("Detached size", map1.getSize() == 2);
+		assertTrue("Detached - kept copy", map1.get("b") == b);
+		assertTrue("Detached - kept value", ((IntegerValue)map1.get(0).getValue()).val == 7);
+		assertTrue("Other map still complete", map2.getSize() == 3);
+	}
+	
+	@Test
+	public void testTemplateConcurrentGet() throws Exception {
+		VariableMap source = new VariableMap();
+		for (int i=0; i<50; i++)
+			source.add(new IntegerVariable("v"+i, null));
+		final VariableMapTemplate template = new VariableMapTemplate(source);
+		
+		for (int n=0; n<20; n++) {
+			final VariableMap map = template.createVariableMap();
+			final Variable[][] results = new Variable[4][50];
+			Thread[] threads = new Thread[4];
+			for (int t=0; t<threads.length; t++) {
+				final int thread = t;
+				threads[t] = new Thread() {
+					@Override
+					public void run() {
+						for (int i=0; i<50; i++)
+							results[thread][i] = map.get("v"+i);
+					}
+				};
+				threads[t].start();
+			}
+			for (int t=0; t<threads.length; t++)
+				threads[t].join();
+			
+			//All threads get the same copy (no copy is lost)
+			for (int i=0; i<50; i++) {
+				assertTrue("Copy created", results[0][i] != template.createVariableMap().peek(i));
+				for (int t=1; t<threads.length; t++)
+					assertTrue("Same copy", results[t][i] == results[0][i]);
+				assertTrue("Copy kept", map.peek(i) == results[0][i]);
+			}
+		}
+	}
+
 }
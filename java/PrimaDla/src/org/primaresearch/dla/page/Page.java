@@ -23,11 +23,21 @@ import org.primaresearch.dla.page.io.xml.PageXmlInputOutput;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.converter.ConversionMessage;
 import org.primaresearch.dla.page.layout.converter.ConverterHub;
+import org.primaresearch.dla.page.layout.shared.GeometricObject;
 import org.primaresearch.dla.page.layout.physical.AttributeContainer;
 import org.primaresearch.dla.page.layout.physical.AttributeFactory;
 import org.primaresearch.dla.page.layout.physical.ContentFactory;
+import org.primaresearch.dla.page.layout.physical.ContentObject;
+import org.primaresearch.dla.page.layout.physical.ContentObjectProcessor;
 import org.primaresearch.dla.page.layout.physical.DefaultAttributeFactory;
+import org.primaresearch.dla.page.layout.physical.impl.TableGrid.TableGridRow;
+import org.primaresearch.dla.page.layout.physical.impl.TableRegion;
 import org.primaresearch.dla.page.layout.physical.shared.ContentType;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.Grapheme;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeElement;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeGroup;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
 import org.primaresearch.dla.page.metadata.MetaData;
 import org.primaresearch.ident.Id;
 import org.primaresearch.ident.IdRegister;
@@ -37,6 +47,8 @@ import org.primaresearch.io.FormatModel;
 import org.primaresearch.io.FormatVersion;
 import org.primaresearch.labels.HasLabels;
 import org.primaresearch.labels.Labels;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.PolygonSimplifier;
 import org.primaresearch.shared.variable.VariableMap;
 
 /**
@@ -64,6 +76,8 @@ public class Page implements AttributeContainer, HasLabels, Serializable {
 	transient private List<AlternativeImage> alternativeImages;
 	
 	transient private MeasurementUnit measurementUnit = MeasurementUnit.PIXEL;
+	
+	transient private boolean frozen = false;
 
 
 	/**
@@ -136,7 +150,17 @@ public class Page implements AttributeContainer, HasLabels, Serializable {
 	 * @param formatModel Model for dynamic format
 	 */
 	public Page(FormatModel formatModel) {
-		this.idRegister = new XmlIdRegister();
+		this(formatModel, new XmlIdRegister());
+	}
+
+	/**
+	 * Constructor using dynamic page format and a custom ID register
+	 * (e.g. {@link org.primaresearch.ident.ConcurrentXmlIdRegister} for very large pages). 
+	 * @param formatModel Model for dynamic format
+	 * @param idRegister Register for all IDs of the page
+	 */
+	public Page(FormatModel formatModel, IdRegister idRegister) {
+		this.idRegister = idRegister;
 		this.formatVersion = formatModel.getVersion();
 		AttributeFactory attrFactory = createAttributeFactory(formatModel);
 		contentFactory = new ContentFactory(idRegister, attrFactory);
@@ -242,6 +266,127 @@ public class Page implements AttributeContainer, HasLabels, Serializable {
 		
 
 
+	/**
+	 * Freezes the geometry of this page: the outlines of all content objects (regions, text lines, words, 
+	 * glyphs, graphemes), baselines, table grids, border and print space (see {@link Polygon#freeze()}).
+	 * Afterwards the page can be shared between threads for geometric read access (e.g. hit testing)
+	 * without any locking. Note that the page structure, attributes and text content are not frozen.
+	 */
+	public void freeze() {
+		ContentObjectProcessor processor = new ContentObjectProcessor() {
+			@Override
+			public void doProcess(ContentObject contentObject) {
+				freeze(contentObject.getCoords());
+				if (contentObject instanceof TextLine)
+					freeze(((TextLine)contentObject).getBaseline());
+				else if (contentObject instanceof Glyph && ((Glyph)contentObject).hasGraphemes())
+					freezeGraphemes(((Glyph)contentObject).getGraphemes());
+				else if (contentObject instanceof TableRegion && ((TableRegion)contentObject).getGrid() != null) {
+					for (TableGridRow row : ((TableRegion)contentObject).getGrid().getRows())
+						freeze(row.getCoords());
+				}
+			}
+		};
+		processor.run(this);
+		
+		if (layout.getBorder() != null)
+			freeze(layout.getBorder().getCoords());
+		if (layout.getPrintSpace() != null)
+			freeze(layout.getPrintSpace().getCoords());
+		frozen = true;
+	}
+	
+	private static void freeze(Polygon polygon) {
+		if (polygon != null)
+			polygon.freeze();
+	}
+
+	private static void freezeGraphemes(List<GraphemeElement> graphemes) {
+		for (GraphemeElement el : graphemes) {
+			if (el instanceof Grapheme)
+				freeze(((Grapheme)el).getCoords());
+			else if (el instanceof GraphemeGroup)
+				freezeGraphemes(((GraphemeGroup)el).getGraphemes());
+		}
+	}
+	
+	/**
+	 * Checks if the geometry of this page has been frozen (see {@link #freeze()}).
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	/**
+	 * Simplifies the geometry of this page: the outlines of all content objects (regions, text lines, words, 
+	 * glyphs, graphemes), baselines, border and print space (see {@link PolygonSimplifier}). Table grids are 
+	 * not changed. Frozen polygons are replaced by simplified (frozen) copies.
+	 * @return Number of removed points
+	 */
+	public int simplifyGeometry(final PolygonSimplifier simplifier) {
+		final int[] removed = new int[1];
+		ContentObjectProcessor processor = new ContentObjectProcessor() {
+			@Override
+			public void doProcess(ContentObject contentObject) {
+				Polygon coords = simplify(contentObject.getCoords(), true, simplifier, removed);
+				if (coords != contentObject.getCoords())
+					contentObject.setCoords(coords);
+				if (contentObject instanceof TextLine) {
+					TextLine textLine = (TextLine)contentObject;
+					Polygon baseline = simplify(textLine.getBaseline(), false, simplifier, removed);
+					if (baseline != textLine.getBaseline())
+						textLine.setBaseline(baseline);
+				}
+				else if (contentObject instanceof Glyph && ((Glyph)contentObject).hasGraphemes())
+					simplifyGraphemes(((Glyph)contentObject).getGraphemes(), simplifier, removed);
+			}
+		};
+		processor.run(this);
+		
+		GeometricObject[] borders = new GeometricObject[] { layout.getBorder(), layout.getPrintSpace() };
+		for (GeometricObject border : borders) {
+			if (border == null)
+				continue;
+			Polygon coords = simplify(border.getCoords(), true, simplifier, removed);
+			if (coords != border.getCoords())
+				border.setCoords(coords);
+		}
+		return removed[0];
+	}
+	
+	/**
+	 * Simplifies the given polygon in place or, if frozen, returns a simplified frozen copy.
+	 * @param removed Receives the number of removed points (added to the first element)
+	 */
+	private static Polygon simplify(Polygon polygon, boolean closed, PolygonSimplifier simplifier, int[] removed) {
+		if (polygon == null)
+			return null;
+		if (!polygon.isFrozen()) {
+			removed[0] += simplifier.simplify(polygon, closed);
+			return polygon;
+		}
+		Polygon copy = polygon.clone();
+		int count = simplifier.simplify(copy, closed);
+		if (count == 0)
+			return polygon;
+		removed[0] += count;
+		copy.setConfidence(polygon.getConfidence());
+		return copy.freeze();
+	}
+	
+	private static void simplifyGraphemes(List<GraphemeElement> graphemes, PolygonSimplifier simplifier, int[] removed) {
+		for (GraphemeElement el : graphemes) {
+			if (el instanceof Grapheme) {
+				Grapheme grapheme = (Grapheme)el;
+				Polygon coords = simplify(grapheme.getCoords(), true, simplifier, removed);
+				if (coords != grapheme.getCoords())
+					grapheme.setCoords(coords);
+			}
+			else if (el instanceof GraphemeGroup)
+				simplifyGraphemes(((GraphemeGroup)el).getGraphemes(), simplifier, removed);
+		}
+	}
+
 	/**
 	 * Measurement unit for coordinates.<br>
 	 * Introduced to support ALTO XML files. Use <code>XmlInputOutput.postProcessPage(...)</code>
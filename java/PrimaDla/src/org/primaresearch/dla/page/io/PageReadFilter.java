@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.Rect;
+
+/**
+ * Options restricting which parts of a page document are read.<br>
+ * <br>
+ * Readers skip filtered content while parsing, so no objects (and no attribute
+ * maps) are created for it. Without any restriction set, the whole document is read.<br>
+ * <br>
+ * Regions can be restricted by type and by a window (only regions with a bounding box
+ * intersecting the window are read). Nested regions are only read if their parent region
+ * is read. References to regions that have not been read are removed from reading order
+ * and layers.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PageReadFilter {
+
+	private boolean readLowLevelText = true;
+	private LowLevelTextType lowLevelTextTypeLimit = null;
+	private Set<RegionType> regionTypes = null;
+	private Rect window = null;
+	
+	/**
+	 * Constructor for a filter that lets everything pass
+	 */
+	public PageReadFilter() {
+	}
+	
+	/**
+	 * Constructor for a filter with depth limit for text objects
+	 * @param lowLevelTextTypeLimit Deepest type of text object to read (e.g. TextLine to skip words and glyphs)
+	 */
+	public PageReadFilter(LowLevelTextType lowLevelTextTypeLimit) {
+		this.lowLevelTextTypeLimit = lowLevelTextTypeLimit;
+	}
+	
+	/**
+	 * Constructor for a filter restricting the regions to read
+	 * @param regionTypes Types of regions to read (null for all types)
+	 * @param window Only regions intersecting with this rectangle are read (null for no restriction)
+	 */
+	public PageReadFilter(Set<RegionType> regionTypes, Rect window) {
+		if (regionTypes != null)
+			this.regionTypes = new HashSet<RegionType>(regionTypes);
+		this.window = window;
+	}
+	
+	/**
+	 * Returns the deepest type of text object that is read
+	 * @return Text line, word, glyph or grapheme type (null if there is no limit)
+	 */
+	public LowLevelTextType getLowLevelTextTypeLimit() {
+		return lowLevelTextTypeLimit;
+	}
+
+	/**
+	 * Sets the deepest type of text object to read. Objects below that type are skipped.
+	 * E.g. for 'Word', glyphs and graphemes are skipped.
+	 * @param lowLevelTextTypeLimit Text line, word, glyph or grapheme type (null for no limit)
+	 */
+	public void setLowLevelTextTypeLimit(LowLevelTextType lowLevelTextTypeLimit) {
+		this.lowLevelTextTypeLimit = lowLevelTextTypeLimit;
+	}
+
+	/**
+	 * Returns true if text objects (text lines and below) are read
+	 */
+	public boolean isReadLowLevelText() {
+		return readLowLevelText;
+	}
+
+	/**
+	 * Enables or disables reading of text objects (text lines and below). If disabled,
+	 * only regions are read.
+	 */
+	public void setReadLowLevelText(boolean readLowLevelText) {
+		this.readLowLevelText = readLowLevelText;
+	}
+	
+	/**
+	 * Returns the types of regions that are read
+	 * @return Set of types or null, if there is no restriction
+	 */
+	public Set<RegionType> getRegionTypes() {
+		return regionTypes;
+	}
+
+	/**
+	 * Sets the types of regions to read
+	 * @param regionTypes Set of types or null to read all regions
+	 */
+	public void setRegionTypes(Set<RegionType> regionTypes) {
+		this.regionTypes = regionTypes != null ? new HashSet<RegionType>(regionTypes) : null;
+	}
+	
+	/**
+	 * Adds a type to the types of regions to read
+	 */
+	public void addRegionType(RegionType type) {
+		if (regionTypes == null)
+			regionTypes = new HashSet<RegionType>();
+		regionTypes.add(type);
+	}
+
+	/**
+	 * Returns the window regions have to intersect with to be read
+	 * @return Rectangle or null, if there is no restriction
+	 */
+	public Rect getWindow() {
+		return window;
+	}
+
+	/**
+	 * Sets the window regions have to intersect with to be read (e.g. the viewport of a viewer)
+	 * @param window Rectangle or null to read regions regardless of position
+	 */
+	public void setWindow(Rect window) {
+		this.window = window;
+	}
+	
+	/**
+	 * Returns true if regions are restricted by type or position
+	 */
+	public boolean isRegionFilterSet() {
+		return regionTypes != null || window != null;
+	}
+	
+	/**
+	 * Checks if regions of the given type are to be read (the position is checked separately)
+	 * @param type Region type (null is accepted)
+	 */
+	public boolean isAccepted(RegionType type) {
+		return regionTypes == null || type == null || regionTypes.contains(type);
+	}
+	
+	/**
+	 * Checks if an object with the given outline is within the window
+	 * @param coords Outline (null or empty is accepted)
+	 */
+	public boolean isInsideWindow(Polygon coords) {
+		if (window == null || coords == null || coords.getSize() == 0)
+			return true;
+		Rect box = coords.getBoundingBox();
+		return box.left <= window.right && box.right >= window.left
+				&& box.top <= window.bottom && box.bottom >= window.top;
+	}
+	
+	/**
+	 * Checks if the given region is to be read (type and position)
+	 */
+	public boolean isAccepted(Region region) {
+		return (regionTypes == null || regionTypes.contains(region.getType())) 
+				&& isInsideWindow(region.getCoords());
+	}
+	
+	/**
+	 * Checks if objects of the given type are to be skipped
+	 * @param type Text line, word, glyph or grapheme type
+	 * @return True, if the objects (and all their children) should not be read
+	 */
+	public boolean isSkipped(LowLevelTextType type) {
+		if (type == null)
+			return false;
+		if (!readLowLevelText)
+			return true;
+		if (lowLevelTextTypeLimit == null)
+			return false;
+		return getDepth(type) > getDepth(lowLevelTextTypeLimit);
+	}
+	
+	/**
+	 * Returns the nesting level of the given text object type (1 for text lines, 2 for words, ...)
+	 */
+	private static int getDepth(LowLevelTextType type) {
+		if (LowLevelTextType.TextLine.equals(type))
+			return 1;
+		if (LowLevelTextType.Word.equals(type))
+			return 2;
+		if (LowLevelTextType.Glyph.equals(type))
+			return 3;
+		//Grapheme, grapheme group, non-printing character
+		return 4;
+	}
+}
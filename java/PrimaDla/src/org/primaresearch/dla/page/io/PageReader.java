@@ -35,4 +35,20 @@ public interface PageReader {
 	 */
 	public Page read(InputSource source) throws UnsupportedFormatVersionException;
 	
+	/**
+	 * Sets a filter defining which content is read (e.g. only regions of certain types
+	 * or only regions intersecting a given window). The default implementation ignores the filter.
+	 * @param filter Filter object or null to read everything
+	 */
+	public default void setFilter(PageReadFilter filter) {
+	}
+	
+	/**
+	 * Returns the filter defining which content is read
+	 * @return Filter or null (the default implementation always returns null)
+	 */
+	public default PageReadFilter getFilter() {
+		return null;
+	}
+	
 }
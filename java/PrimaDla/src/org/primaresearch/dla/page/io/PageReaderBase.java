@@ -20,13 +20,81 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
 
+import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.io.xml.PageErrorHandler;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.logical.Group;
+import org.primaresearch.dla.page.layout.logical.GroupMember;
+import org.primaresearch.dla.page.layout.logical.Layers;
+import org.primaresearch.dla.page.layout.logical.RegionRef;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextContainer;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextObject;
+import org.primaresearch.ident.Id;
 import org.primaresearch.io.xml.IOError;
+import org.primaresearch.maths.geometry.PolygonSimplifier;
 
 public class PageReaderBase {
 
 	protected PageErrorHandler lastErrors;
+	
+	protected PageReadFilter filter = null;
+	
+	protected PolygonSimplifier polygonSimplifier = null;
+	protected int removedPointCount = 0;
+	
+	/**
+	 * Returns the filter defining which content is read
+	 * @return Filter or null
+	 */
+	public PageReadFilter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Sets a filter defining which content is read (e.g. only regions and text lines or
+	 * only regions of certain types).
+	 * @param filter Filter object or null to read everything
+	 */
+	public void setFilter(PageReadFilter filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Returns the simplifier that is applied to all outlines and baselines after reading
+	 * @return Simplifier or null
+	 */
+	public PolygonSimplifier getPolygonSimplifier() {
+		return polygonSimplifier;
+	}
+
+	/**
+	 * Sets a simplifier that is applied to all outlines and baselines after reading (see {@link Page#simplifyGeometry(PolygonSimplifier)}).
+	 * @param simplifier Simplifier object or null to keep all points
+	 */
+	public void setPolygonSimplifier(PolygonSimplifier simplifier) {
+		this.polygonSimplifier = simplifier;
+	}
+	
+	/**
+	 * Returns the number of points removed by the polygon simplifier on the last call of read()
+	 */
+	public int getRemovedPointCount() {
+		return removedPointCount;
+	}
+	
+	/**
+	 * Simplifies the geometry of the given page if a polygon simplifier has been set
+	 */
+	protected void simplifyGeometry(Page page) {
+		removedPointCount = 0;
+		if (polygonSimplifier != null && page != null)
+			removedPointCount = page.simplifyGeometry(polygonSimplifier);
+	}
 
 	protected InputStream getInputStream(InputSource source) {
 		if (source instanceof FileInput) {
@@ -50,4 +118,84 @@ public class PageReaderBase {
 			throw new IllegalArgumentException("Only FileInput and UrlInput allowed for XmlPageReader");
 		return null;
 	}
+	
+	/**
+	 * Removes all content from the given page that does not pass the filter.
+	 * For readers that cannot skip content while parsing.
+	 */
+	protected void applyFilter(Page page) {
+		if (filter == null || page == null)
+			return;
+		PageLayout layout = page.getLayout();
+		for (int i=layout.getRegionCount()-1; i>=0; i--) {
+			Region region = layout.getRegion(i);
+			if (filter.isAccepted(region))
+				removeFilteredContent(region);
+			else
+				layout.removeRegion(i, true);
+		}
+		if (filter.isRegionFilterSet())
+			removeDanglingRegionRefs(layout);
+	}
+	
+	private void removeFilteredContent(Region region) {
+		if (region instanceof LowLevelTextContainer)
+			removeFilteredTextObjects((LowLevelTextContainer)region);
+		for (int i=region.getRegionCount()-1; i>=0; i--) {
+			Region nested = region.getRegion(i);
+			if (filter.isAccepted(nested))
+				removeFilteredContent(nested); //Recursion
+			else
+				region.removeRegion(nested);
+		}
+	}
+	
+	private void removeFilteredTextObjects(LowLevelTextContainer container) {
+		for (int i=container.getTextObjectCount()-1; i>=0; i--) {
+			LowLevelTextObject textObj = container.getTextObject(i);
+			if (textObj.getType() instanceof LowLevelTextType && filter.isSkipped((LowLevelTextType)textObj.getType()))
+				container.removeTextObject(i);
+			else if (textObj instanceof LowLevelTextContainer)
+				removeFilteredTextObjects((LowLevelTextContainer)textObj); //Recursion
+		}
+	}
+	
+	/**
+	 * Removes all reading order and layer references to regions that are not part of the given layout
+	 * (e.g. because they have been skipped by the filter).
+	 */
+	protected void removeDanglingRegionRefs(PageLayout layout) {
+		Set<Id> regionIds = new HashSet<Id>();
+		for (int i=0; i<layout.getRegionCount(); i++)
+			collectRegionIds(layout.getRegion(i), regionIds);
+		
+		if (layout.getReadingOrder() != null)
+			removeDanglingRegionRefs(layout.getReadingOrder().getRoot(), regionIds);
+		
+		Layers layers = layout.getLayers();
+		if (layers != null) {
+			for (int i=0; i<layers.getSize(); i++)
+				removeDanglingRegionRefs(layers.getLayer(i), regionIds);
+		}
+	}
+	
+	private void collectRegionIds(Region region, Set<Id> regionIds) {
+		regionIds.add(region.getId());
+		for (int i=0; i<region.getRegionCount(); i++)
+			collectRegionIds(region.getRegion(i), regionIds); //Recursion
+	}
+	
+	private void removeDanglingRegionRefs(Group group, Set<Id> regionIds) {
+		if (group.getRegionRef() != null && !regionIds.contains(group.getRegionRef()))
+			group.setRegionRef((Id)null);
+		for (int i=group.getSize()-1; i>=0; i--) {
+			GroupMember member = group.getMember(i);
+			if (member instanceof RegionRef) {
+				if (!regionIds.contains(((RegionRef)member).getRegionId()))
+					group.delete(member);
+			}
+			else if (member instanceof Group)
+				removeDanglingRegionRefs((Group)member, regionIds); //Recursion
+		}
+	}
 }
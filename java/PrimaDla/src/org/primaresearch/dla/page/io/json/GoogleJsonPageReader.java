@@ -91,12 +91,18 @@ public class GoogleJsonPageReader extends PageReaderBase implements PageReader {
         	throw new UnsupportedFormatVersionException("No 'responses' object found in JSON");
         
         Object obj = json.get(KEY_responses);
+        Page page;
         if (obj instanceof JSONObject)
-        	return handleRoot((JSONObject)obj);
+        	page = handleRoot((JSONObject)obj);
         else if (obj instanceof JSONArray)
-        	return handleRoot((JSONObject)((JSONArray)obj).get(0));
+        	page = handleRoot((JSONObject)((JSONArray)obj).get(0));
         else
         	throw new UnsupportedFormatVersionException("Unexpected JSON format");
+        
+        //The JSON is parsed as a whole, so the filter can only be applied afterwards
+        applyFilter(page);
+        simplifyGeometry(page);
+        return page;
 	}
 	
 	private Page handleRoot(JSONObject json) throws UnsupportedFormatVersionException {
@@ -316,11 +322,14 @@ public class GoogleJsonPageReader extends PageReaderBase implements PageReader {
 					if (json instanceof JSONArray) {
 						JSONArray vertices = (JSONArray)json;
 						if (vertices.size() == 4) {
+							int[] coords = new int[8];
+							for (int i=0; i<4; i++) {
+								Point p = getPoint(vertices.get(i));
+								coords[2*i] = p.x;
+								coords[2*i+1] = p.y;
+							}
 							Polygon ret = new Polygon();
-							ret.addPoint(getPoint(vertices.get(0)));
-							ret.addPoint(getPoint(vertices.get(1)));
-							ret.addPoint(getPoint(vertices.get(2)));
-							ret.addPoint(getPoint(vertices.get(3)));
+							ret.addPoints(coords, 4);
 							return ret;
 						}
 					}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import java.io.File;
+import java.net.URL;
+
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.io.FileInput;
+import org.primaresearch.dla.page.io.InputSource;
+import org.primaresearch.dla.page.io.PageReadFilter;
+import org.primaresearch.dla.page.io.UrlInput;
+import org.primaresearch.io.UnsupportedFormatVersionException;
+import org.primaresearch.io.xml.XmlModelAndValidatorProvider;
+
+/**
+ * Page reader facade for XML files that can be used by any number of threads at the same time.<br>
+ * <br>
+ * Each calling thread gets its own {@link XmlPageReader}, which keeps one SAX parser per schema version
+ * for the lifetime of this object. Parsers are therefore neither shared between threads nor recreated for 
+ * every file. After each call, the per-thread reader releases the page, the errors and the filter, so idle 
+ * threads only hold the parsers. The validator provider (schemas and schema models) is shared by all threads.<br>
+ * <br>
+ * Use {@link PageXmlInputOutput#getConcurrentReader()} to get the shared instance for the default schemas.<br>
+ * <br>
+ * Errors and warnings are returned with the result of each call (see {@link PageReadResult}).
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class ConcurrentXmlPageReader {
+
+	private final XmlModelAndValidatorProvider validatorProvider;
+	
+	private final ThreadLocal<XmlPageReader> readers = new ThreadLocal<XmlPageReader>() {
+		@Override
+		protected XmlPageReader initialValue() {
+			return new XmlPageReader(validatorProvider);
+		}
+	};
+	
+	/**
+	 * Constructor
+	 * @param validatorProvider Schema validator provider. (optional, set to null if no validation required).
+	 */
+	public ConcurrentXmlPageReader(XmlModelAndValidatorProvider validatorProvider) {
+		this.validatorProvider = validatorProvider;
+	}
+	
+	/**
+	 * Returns the schema validator provider used by this reader
+	 * @return Provider or null
+	 */
+	public XmlModelAndValidatorProvider getValidatorProvider() {
+		return validatorProvider;
+	}
+	
+	/**
+	 * Reads a page from the given source (thread-safe).
+	 * 
+	 * @param source FileInput or UrlInput representing an XML file
+	 * @return Result object containing the page (null in case of errors) and the errors and warnings
+	 * @throws UnsupportedFormatVersionException Schema version of the file is not supported
+	 * @throws IllegalArgumentException Wrong input source type
+	 */
+	public PageReadResult read(InputSource source) throws UnsupportedFormatVersionException {
+		return read(source, null);
+	}
+	
+	/**
+	 * Reads a page from the given source (thread-safe), skipping content as specified by the filter.
+	 * 
+	 * @param source FileInput or UrlInput representing an XML file
+	 * @param filter Filter defining which content is read (null to read everything). Must not be modified while in use.
+	 * @return Result object containing the page (null in case of errors) and the errors and warnings
+	 * @throws UnsupportedFormatVersionException Schema version of the file is not supported
+	 * @throws IllegalArgumentException Wrong input source type
+	 */
+	public PageReadResult read(InputSource source, PageReadFilter filter) throws UnsupportedFormatVersionException {
+		XmlPageReader reader = readers.get();
+		try {
+			reader.setFilter(filter);
+			Page page = reader.read(source);
+			return new PageReadResult(page, reader.getErrors(), reader.getWarnings());
+		} finally {
+			reader.releaseState();
+		}
+	}
+	
+	/**
+	 * Reads a page from the given XML file (thread-safe).
+	 * 
+	 * @param file PAGE XML file
+	 * @return Result object containing the page (null in case of errors) and the errors and warnings
+	 * @throws UnsupportedFormatVersionException Schema version of the file is not supported
+	 */
+	public PageReadResult read(File file) throws UnsupportedFormatVersionException {
+		return read(new FileInput(file));
+	}
+
+	/**
+	 * Reads a page from the given URL (thread-safe).
+	 * 
+	 * @param url URL of PAGE XML file
+	 * @return Result object containing the page (null in case of errors) and the errors and warnings
+	 * @throws UnsupportedFormatVersionException Schema version of the file is not supported
+	 */
+	public PageReadResult read(URL url) throws UnsupportedFormatVersionException {
+		return read(new UrlInput(url));
+	}
+}
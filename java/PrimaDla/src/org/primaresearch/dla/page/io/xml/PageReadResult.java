@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.io.xml.IOError;
+
+/**
+ * Result of reading a single page with {@link ConcurrentXmlPageReader}.
+ * Contains the page object (if successful) and the errors and warnings of that read operation only.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PageReadResult {
+
+	private Page page;
+	private List<IOError> errors;
+	private List<IOError> warnings;
+	
+	/**
+	 * Constructor
+	 * @param page Page object (null if reading failed)
+	 * @param errors List of errors (can be null)
+	 * @param warnings List of warnings (can be null)
+	 */
+	public PageReadResult(Page page, List<IOError> errors, List<IOError> warnings) {
+		this.page = page;
+		this.errors = errors != null ? Collections.unmodifiableList(errors) : Collections.<IOError>emptyList();
+		this.warnings = warnings != null ? Collections.unmodifiableList(warnings) : Collections.<IOError>emptyList();
+	}
+	
+	/**
+	 * Returns the page object
+	 * @return Page or null if reading failed
+	 */
+	public Page getPage() {
+		return page;
+	}
+	
+	/**
+	 * Returns the errors that occurred while reading
+	 * @return List of errors (empty if none)
+	 */
+	public List<IOError> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the warnings that occurred while reading
+	 * @return List of warnings (empty if none)
+	 */
+	public List<IOError> getWarnings() {
+		return warnings;
+	}
+	
+	/**
+	 * Checks if there were errors
+	 * @return <code>true</code> if errors were registered
+	 */
+	public boolean hasErrors() {
+		return !errors.isEmpty();
+	}
+
+	/**
+	 * Checks if there were warnings
+	 * @return <code>true</code> if warnings were registered
+	 */
+	public boolean hasWarnings() {
+		return !warnings.isEmpty();
+	}
+	
+	/**
+	 * Checks if the page was read successfully
+	 * @return <code>true</code> if a page object is available
+	 */
+	public boolean isSuccessful() {
+		return page != null;
+	}
+}
@@ -21,12 +21,11 @@ import java.net.URL;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.Page.MeasurementUnit;
 import org.primaresearch.dla.page.io.FileInput;
+import org.primaresearch.dla.page.io.PageReadFilter;
 import org.primaresearch.dla.page.io.FileTarget;
 import org.primaresearch.dla.page.io.UrlInput;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.physical.ContentIterator;
-import org.primaresearch.dla.page.layout.physical.shared.ContentType;
-import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.io.FormatModel;
 import org.primaresearch.io.FormatModelSource;
 import org.primaresearch.io.FormatVersion;
@@ -37,7 +36,7 @@ import org.primaresearch.io.xml.XmlValidator;
 import org.primaresearch.io.xml.XmlModelAndValidatorProvider;
 import org.primaresearch.io.xml.XmlModelAndValidatorProvider.NoSchemasException;
 import org.primaresearch.io.xml.XmlModelAndValidatorProvider.UnsupportedSchemaVersionException;
-import org.primaresearch.maths.geometry.Point;
+import org.primaresearch.maths.geometry.AffineTransformation;
 import org.primaresearch.maths.geometry.Polygon;
 
 /**
@@ -56,7 +55,9 @@ import org.primaresearch.maths.geometry.Polygon;
 public class PageXmlInputOutput implements FormatModelSource {
 
 	private static PageXmlInputOutput instance = null;
-	private XmlModelAndValidatorProvider validatorProvider;
+	private volatile XmlModelAndValidatorProvider validatorProvider;
+	/** Shared reader for multiple threads (replaced if the validator provider changes) */
+	private ConcurrentXmlPageReader concurrentReader = null;
 	
 	/**
 	 * Constructor (private because this is a singleton).
@@ -72,7 +73,7 @@ public class PageXmlInputOutput implements FormatModelSource {
 	/**
 	 * Returns the instance of the singleton.
 	 */
-	public static PageXmlInputOutput getInstance() {
+	public static synchronized PageXmlInputOutput getInstance() {
 		if (instance == null)
 			instance = new PageXmlInputOutput();
 		return instance;
@@ -92,6 +93,16 @@ public class PageXmlInputOutput implements FormatModelSource {
 		getInstance().validatorProvider = provider;
 	}
 	
+	/**
+	 * Compiles the validators and parses the models of all default schemas in advance
+	 * (e.g. at service start), so that the first read or write doesn't have to wait for it.
+	 */
+	public static void warmUp() {
+		XmlModelAndValidatorProvider provider = getValidatorProvider();
+		if (provider != null)
+			provider.warmUp();
+	}
+	
 	/**
 	 * Sets the location of additional schema files and assumes the default schema file name 'pagecontent.xsd'.
 	 * @param rootFolder Root of the schema folder structure containing the schema files.
@@ -197,6 +208,20 @@ public class PageXmlInputOutput implements FormatModelSource {
 		return new XmlPageReader(validatorProvider);
 	}
 	
+	/**
+	 * Returns the XML reader for PAGE that is shared between threads (the same instance is 
+	 * returned until the schema location is changed).
+	 */
+	public static ConcurrentXmlPageReader getConcurrentReader() {
+		PageXmlInputOutput io = getInstance();
+		synchronized (io) {
+			XmlModelAndValidatorProvider validatorProvider = io.validatorProvider;
+			if (io.concurrentReader == null || io.concurrentReader.getValidatorProvider() != validatorProvider)
+				io.concurrentReader = new ConcurrentXmlPageReader(validatorProvider);
+			return io.concurrentReader;
+		}
+	}
+	
 	/**
 	 * Creates a page object from the given XML file (no validation).
 	 * 
@@ -224,6 +249,20 @@ public class PageXmlInputOutput implements FormatModelSource {
 		return reader.read(new FileInput(new File(filePath)));
 	}
 
+	/**
+	 * Creates a page object from the given XML file, reading only the content that passes the filter.
+	 * 
+	 * @param filePath Path to PAGE XML file.
+	 * @param filter Filter defining which content is read (e.g. only regions and text lines)
+	 * @return Page object
+	 * @throws UnsupportedSchemaVersionException Schema file not found
+	 */
+	public static Page readPage(String filePath, PageReadFilter filter) throws UnsupportedFormatVersionException {
+		XmlPageReader reader = getReader();
+		reader.setFilter(filter);
+		return reader.read(new FileInput(new File(filePath)));
+	}
+
 	/**
 	 * Creates a page object from the given XML file.
 	 * 
@@ -304,8 +343,7 @@ public class PageXmlInputOutput implements FormatModelSource {
 				Polygon polygon = it.next().getCoords();
 				if (polygon != null) {
 					for (int i=0; i<polygon.getSize(); i++) {
-						Point p = polygon.getPoint(i);
-						if (p.x > layout.getWidth() || p.y > layout.getHeight()) {
+						if (polygon.getX(i) > layout.getWidth() || polygon.getY(i) > layout.getHeight()) {
 							ok = false;
 							break;
 						}
@@ -332,35 +370,8 @@ public class PageXmlInputOutput implements FormatModelSource {
 		//Now scale all coordinates
 		// Document size
 		layout.setSize(imageWidth, imageHeight);
-		//Region, lines, words, glyphs
-		ContentType types[] = new ContentType[]{null, LowLevelTextType.TextLine, LowLevelTextType.Word, LowLevelTextType.Glyph};
-		for (ContentType tp : types) {
-			for (ContentIterator it=layout.iterator(tp); it.hasNext(); ) {
-				scalePolygon(it.next().getCoords(), scaleX, scaleY);
-			}
-		}
-		//Border, print space
-		if (layout.getBorder() != null)
-			scalePolygon(layout.getBorder().getCoords(), scaleX, scaleY);
-		if (layout.getPrintSpace() != null)
-			scalePolygon(layout.getPrintSpace().getCoords(), scaleX, scaleY);
-	}
-	
-	/**
-	 * Scales all points of the given polygon
-	 * @param polygon Polygon with 2D points
-	 * @param scaleX Multiplier for x coordinates
-	 * @param scaleY Multiplier for y coordinates
-	 */
-	private static void scalePolygon(Polygon polygon, double scaleX, double scaleY) {
-		if (polygon == null)
-			return;
-		for (int i=0; i<polygon.getSize(); i++) {
-			Point p = polygon.getPoint(i);
-			p.x = (int)((double)p.x * scaleX + 0.5) ;
-			p.y = (int)((double)p.y * scaleY + 0.5);
-		}
-		polygon.setBoundingBoxOutdated();
+		//All coordinates (regions, text objects, baselines, grids, border, print space)
+		layout.transform(AffineTransformation.createScaling(scaleX, scaleY));
 	}
 
 }
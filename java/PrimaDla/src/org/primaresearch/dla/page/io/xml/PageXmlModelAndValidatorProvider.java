@@ -63,42 +63,50 @@ public class PageXmlModelAndValidatorProvider extends XmlModelAndValidatorProvid
 			//2009-03-16
 			addSchemaSource(new XmlFormatVersion("2009-03-16"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2009-03-16_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2009-03-16_pagecontent.model"));
 			
 			//2010-01-12
 			addSchemaSource(	new XmlFormatVersion("2010-01-12"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2010-01-12_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2010-01-12_pagecontent.model"));
 			
 			//2010-03-19
 			addSchemaSource(	new XmlFormatVersion("2010-03-19"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2010-03-19_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2010-03-19_pagecontent.model"));
 
 			//2013-07-15
 			addSchemaSource(	new XmlFormatVersion("2013-07-15"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2013-07-15_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2013-07-15_pagecontent.model"));
 
 			//2016-07-15
 			addSchemaSource(	new XmlFormatVersion("2016-07-15"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2016-07-15_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2016-07-15_pagecontent.model"));
 
 			//2017-07-15
 			addSchemaSource(	new XmlFormatVersion("2017-07-15"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2017-07-15_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2017-07-15_pagecontent.model"));
 
 			//2018-07-15
 			addSchemaSource(	new XmlFormatVersion("2018-07-15"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2018-07-15_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2018-07-15_pagecontent.model"));
 
 			//2019-07-15
 			addSchemaSource(	new XmlFormatVersion("2019-07-15"), 
 					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2019-07-15_pagecontent.xsd"),
-					true);
+					true,
+					getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/2019-07-15_pagecontent.model"));
 
 			//Abbyy FineReader 10
 			addSchemaSource(	new XmlFormatVersion("http://www.abbyy.com/FineReader_xml/FineReader10-schema-v1.xml"), 
@@ -15,12 +15,21 @@
  */
 package org.primaresearch.dla.page.io.xml;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.io.InputSource;
@@ -33,25 +42,34 @@ import org.primaresearch.io.xml.IOError;
 import org.primaresearch.io.xml.XmlFormatVersion;
 import org.primaresearch.io.xml.XmlModelAndValidatorProvider;
 import org.primaresearch.io.xml.XmlValidator;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Page reader implementation for XML files (supports validation against schema).
+ * <br>
+ * The input is read only once. If validation is enabled, the beginning of the document is
+ * buffered until the root element has been found (see {@link #MAX_SNIFF_BUFFER_SIZE}). The
+ * namespace of the root element determines the schema version and the SAX handler. The
+ * buffered bytes are then handed to the main parser, followed by the rest of the stream.
+ * <br>
+ * Instances are not thread-safe (use {@link ConcurrentXmlPageReader} for reading from multiple threads).
  * 
  * @author Christian Clausner
  */
 public class XmlPageReader extends PageReaderBase implements PageReader {
 	
-	/** Constant for recognising a shortcut out of parsing. */
-	private static final String PARSING_COMPLETE = "PARSING_COMPLETE";
+	/** Initial size of the read-ahead buffer for detecting the schema version */
+	private static final int INITIAL_SNIFF_BUFFER_SIZE = 8 * 1024;
+	/** Maximum size of the read-ahead buffer for detecting the schema version */
+	private static final int MAX_SNIFF_BUFFER_SIZE = 1024 * 1024;
 	
-	private SaxPageHandler pageHandler = null;
-	private SAXParser mainParser;
-	private SchemaVersionHandler schemaVersionHandler;
-	private SAXParser schemaVersionParser;
+	/** Placeholder handler for reused parsers (so that they don't keep the last page or error handler) */
+	private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+	
+	/** Map [schemaVersion, parser] (parsers are created on demand and reused for subsequent files) */
+	private Map<XmlFormatVersion, SAXParser> mainParsers = new HashMap<XmlFormatVersion, SAXParser>();
+	private XMLInputFactory schemaVersionInputFactory;
 	private XmlModelAndValidatorProvider validatorProvider;
 	private XmlFormatVersion schemaVersion = null;
 
@@ -61,22 +79,29 @@ public class XmlPageReader extends PageReaderBase implements PageReader {
 	 */
 	public XmlPageReader(XmlModelAndValidatorProvider validatorProvider) {
 	    this.validatorProvider = validatorProvider;
-	    if (validatorProvider != null) {
-	    	createSchemaVersionParser();
-	    	schemaVersionHandler = new SchemaVersionHandler();
-	    }
-	    try {
-			createMainParser();
-		} catch (UnsupportedFormatVersionException e) {
-			e.printStackTrace(); //Cannot happen here, as we don't have the schema version yet...
+	    if (validatorProvider != null) 
+	    	createSchemaVersionInputFactory();
+	}
+	
+	/**
+	 * Returns the SAX parser for PAGE XML for the current schema version (creates it if necessary).
+	 * @throws UnsupportedFormatVersionException 
+	 */
+	private SAXParser getMainParser() throws UnsupportedFormatVersionException {
+		SAXParser mainParser = mainParsers.get(schemaVersion);
+		if (mainParser == null) {
+			mainParser = createMainParser();
+			if (mainParser != null)
+				mainParsers.put(schemaVersion, mainParser);
 		}
+		return mainParser;
 	}
 	
 	/**
 	 * Creates the SAX parser for PAGE XML.
 	 * @throws UnsupportedFormatVersionException 
 	 */
-	private void createMainParser() throws UnsupportedFormatVersionException {
+	private SAXParser createMainParser() throws UnsupportedFormatVersionException {
 	    try {
 	    	// Obtain a new instance of a SAXParserFactory.
 	    	SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -94,33 +119,28 @@ public class XmlPageReader extends PageReaderBase implements PageReader {
 	    			factory.setSchema(validator.getSchema());
 	    	}
 	    	
-		    //this.pageHandler = new PageHandler(validatorProvider, schemaVersion);
-	    	this.pageHandler = SaxPageHandlerFactory.createHandler(validatorProvider, schemaVersion);
-		    
 	    	// Creates a new instance of a SAXParser using the currently configured factory parameters.
-	    	mainParser = factory.newSAXParser();
+	    	return factory.newSAXParser();
 
 	    } catch (UnsupportedFormatVersionException exc) {
 	    	throw exc;
 	    } catch (Throwable t) {
 	    	t.printStackTrace();
 	    }
+	    return null;
 	}
 	
 	/**
-	 * Creates the parser that finds the schema version only.
+	 * Creates the StAX factory for the reader that finds the schema version only.
 	 */
-	private void createSchemaVersionParser() {
+	private void createSchemaVersionInputFactory() {
 	    try {
-	    	// Obtain a new instance of a SAXParserFactory.
-	    	SAXParserFactory factory = SAXParserFactory.newInstance();
-	    	// Specifies that the parser produced by this code will provide support for XML namespaces.
-	    	factory.setNamespaceAware(true);
-    		factory.setValidating(false);
-    		//Fix for delay when reading HOCR (disables loading the external DTD that is defined in the HOCR file)
-    		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-	    	
-    		schemaVersionParser = factory.newSAXParser();
+	    	schemaVersionInputFactory = XMLInputFactory.newInstance();
+	    	schemaVersionInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+	    	schemaVersionInputFactory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+	    	//Don't load external DTDs or entities (HOCR files define an external DTD)
+	    	schemaVersionInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+	    	schemaVersionInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
 	    } catch (Throwable t) {
 	    	t.printStackTrace();
 	    }
@@ -139,13 +159,19 @@ public class XmlPageReader extends PageReaderBase implements PageReader {
 		
 		lastErrors = new PageErrorHandler();
 		
-		parse(source, lastErrors);
+		SaxPageHandler pageHandler = parse(source, lastErrors);
 		
 		Page page = null;
 		
-		if (!lastErrors.hasErrors())
+		if (!lastErrors.hasErrors() && pageHandler != null)
 			page = pageHandler.getPageObject();
 		
+		//Regions may have been skipped -> remove references to them
+		if (page != null && filter != null && filter.isRegionFilterSet())
+			removeDanglingRegionRefs(page.getLayout());
+		
+		simplifyGeometry(page);
+		
 		//if (!MeasurementUnit.PIXEL.equals(pageHandler.getMeasurementUnit()))
 			
 		
@@ -167,56 +193,61 @@ public class XmlPageReader extends PageReaderBase implements PageReader {
 		return lastErrors != null ? lastErrors.getWarnings() : null;
 	}
 
+	/**
+	 * Releases all references to the last read page, its errors and warnings, and the filter 
+	 * (the parsers are kept for reuse).
+	 */
+	void releaseState() {
+		lastErrors = null;
+		filter = null;
+		schemaVersion = null;
+	}
+
 	/**
 	 * Parses a PAGE file
+	 * @return The handler holding the page object or null
 	 */
-	private void parse(InputSource input, PageErrorHandler errorHandler) throws UnsupportedFormatVersionException {
-		//Validation?
-		if (validatorProvider != null) {
-			InputStream inputStream = null;
-			try {
-		    	inputStream = getInputStream(input);
-		    	if (inputStream == null)
-		    		return;
-				schemaVersionParser.parse(inputStream, schemaVersionHandler);
-				//We shortcut the parsing with an exception (see below)
-			} catch (SAXException e) {
-				if (PARSING_COMPLETE.equals(e.getMessage())) { //Shortcut when no more parsing is required.
-					XmlFormatVersion version = schemaVersionHandler.getSchemaVersion();
-					if (version == null || !version.equals(schemaVersion)) {
-						schemaVersion = version;
-						createMainParser(); //If the schema version has changed, we have to create a new parser.
-					}
-				}
-				else
-					e.printStackTrace();
-			} catch (IOException e) {
-				e.printStackTrace();
-			} finally {
-				if (inputStream != null) {
-					try {
-						inputStream.close();
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-				}
-			}			
-		}
-		
+	private SaxPageHandler parse(InputSource input, PageErrorHandler errorHandler) throws UnsupportedFormatVersionException {
+		SaxPageHandler pageHandler = null;
+		XMLReader reader = null;
 		InputStream inputStream = null;
 	    try{
-	    	XMLReader reader = mainParser.getXMLReader();
-	    	reader.setErrorHandler(errorHandler);
-	    	reader.setContentHandler(pageHandler);
 	    	inputStream = getInputStream(input);
 	    	if (inputStream == null)
-	    		return;
+	    		return null;
+	    	
+			//Validation? -> Detect the schema version from the beginning of the stream
+	    	if (validatorProvider != null) {
+	    		ReadAhead readAhead = detectSchemaVersion(inputStream);
+				schemaVersion = readAhead.schemaVersion;
+				//Continue with the buffered bytes and then the remainder of the original stream
+				inputStream = new SequenceInputStream(new ByteArrayInputStream(readAhead.buffer, 0, readAhead.length), inputStream);
+	    	}
+	    	
+	    	//The parser is reused but the handler is new for each file (it holds the state of the page being read)
+	    	SAXParser mainParser = getMainParser();
+	    	pageHandler = SaxPageHandlerFactory.createHandler(validatorProvider, schemaVersion);
+	    	if (pageHandler != null)
+	    		pageHandler.setFilter(filter);
+	    	if (mainParser == null)
+	    		return pageHandler;
+	    	
+	    	reader = mainParser.getXMLReader();
+	    	reader.setErrorHandler(errorHandler);
+	    	reader.setContentHandler(pageHandler);
 	    	org.xml.sax.InputSource saxInput = new org.xml.sax.InputSource(inputStream);
 	    	//saxInput.setEncoding("utf-8");
 	    	reader.parse(saxInput);
+	    } catch (UnsupportedFormatVersionException exc) {
+	    	throw exc;
 	    } catch (Throwable t) {
 	    	t.printStackTrace();
 	    } finally {
+	    	//The parser is reused -> don't let it keep the page and the errors
+	    	if (reader != null) {
+	    		reader.setContentHandler(NO_HANDLER);
+	    		reader.setErrorHandler(NO_HANDLER);
+	    	}
 			if (inputStream != null) {
 				try {
 					inputStream.close();
@@ -225,67 +256,109 @@ public class XmlPageReader extends PageReaderBase implements PageReader {
 				}
 			}
 		}
+	    return pageHandler;
 	}
-
 	
 	/**
-	 * SAX handler implementation to parse the schema version only.
-	 * 
-	 * @author Christian Clausner
+	 * Reads the beginning of the given stream into a buffer until the root element can be identified.
+	 * The buffer grows up to {@link #MAX_SNIFF_BUFFER_SIZE}.
+	 * @param inputStream Input stream (the read bytes are consumed and returned as part of the result)
+	 * @return Read-ahead buffer and detected schema version (the latter can be null if the root element was not recognised)
 	 */
-	private static class SchemaVersionHandler extends DefaultHandler {
-		private XmlFormatVersion schemaVersion = null;
-		
-		public XmlFormatVersion getSchemaVersion() {
-			return schemaVersion;
-		}
-		
-		/**
-		 * Receive notification of the start of an element.
-		 * @param namespaceURI - The Namespace URI, or the empty string if the element has no Namespace URI or if Namespace processing is not being performed.
-		 * @param localName - The local name (without prefix), or the empty string if Namespace processing is not being performed.
-		 * @param qName - The qualified name (with prefix), or the empty string if qualified names are not available.
-		 * @param atts - The attributes attached to the element. If there are no attributes, it shall be an empty Attributes object.
-		 * @throws SAXException - Any SAX exception, possibly wrapping another exception.
-		 */
-		public void startElement(String namespaceURI, String localName, String qName, Attributes atts)
-		      throws SAXException {
+	private ReadAhead detectSchemaVersion(InputStream inputStream) throws IOException {
+		ReadAhead readAhead = new ReadAhead();
+		int limit = INITIAL_SNIFF_BUFFER_SIZE;
+		while (true) {
+			if (readAhead.buffer.length < limit)
+				readAhead.buffer = Arrays.copyOf(readAhead.buffer, limit);
 			
-		    if (DefaultXmlNames.ELEMENT_PcGts.equals(localName)){
-		    	
-				String str = namespaceURI; //Example: http://schema.primaresearch.org/PAGE/gts/pagecontent/2010-03-19
-				int pos = str.lastIndexOf("/");
-				schemaVersion = new XmlFormatVersion(str.substring(pos+1));
-					throw new SAXException(PARSING_COMPLETE);
-		    }
-		    //Abbyy
-		    else if ("document".equals(localName)) {
-				//String str = namespaceURI; //Example: http://www.abbyy.com/FineReader_xml/FineReader10-schema-v1.xml
-				if (namespaceURI.contains("abbyy")) {
-					schemaVersion = new XmlFormatVersion(namespaceURI);
-					throw new SAXException(PARSING_COMPLETE);
+			//Fill the buffer
+			boolean endOfStream = false;
+			while (readAhead.length < limit) {
+				int n = inputStream.read(readAhead.buffer, readAhead.length, limit - readAhead.length);
+				if (n < 0) {
+					endOfStream = true;
+					break;
 				}
-		    }
-		    //ALTO
-		    else if ("alto".equals(localName)) {
-				//String str = namespaceURI; //Examples: http://www.loc.gov/standards/alto/ns-v2#
-		    	//                                       http://www.loc.gov/standards/alto/ns-v3#
-				if (namespaceURI.toLowerCase().contains("alto")) {
-					schemaVersion = new XmlFormatVersion(namespaceURI);
-					throw new SAXException(PARSING_COMPLETE);
-				}
-		    }
-		    //HOCR
-		    else if ("html".equals(localName)) {
-				schemaVersion = new XmlFormatVersion("HOCR");
-				throw new SAXException(PARSING_COMPLETE);
-		    }
+				readAhead.length += n;
+			}
+			
+			//Look for the root element
+			if (findRootElement(readAhead) || endOfStream || limit >= MAX_SNIFF_BUFFER_SIZE)
+				break;
+			limit = Math.min(limit * 2, MAX_SNIFF_BUFFER_SIZE);
 		}
+		return readAhead;
 	}
 	
+	/**
+	 * Pulls events from the read-ahead buffer until the first start element.
+	 * @return True, if the root element has been reached (the schema version is set if the root element is a known one); 
+	 *         false, if more data is needed.
+	 */
+	private boolean findRootElement(ReadAhead readAhead) {
+		XMLStreamReader reader = null;
+		try {
+			reader = schemaVersionInputFactory.createXMLStreamReader(new ByteArrayInputStream(readAhead.buffer, 0, readAhead.length));
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+					String namespaceURI = reader.getNamespaceURI();
+					readAhead.schemaVersion = getSchemaVersion(reader.getLocalName(), namespaceURI != null ? namespaceURI : "");
+					return true;
+				}
+			}
+		} catch (XMLStreamException e) {
+			//Incomplete buffer (or not well-formed - the main parser will report that)
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+				}
+			}
+		}
+		return false;
+	}
 	
-
-	
+	/**
+	 * Determines the schema version from the root element.
+	 * @param localName The local name (without prefix) of the root element
+	 * @param namespaceURI The Namespace URI, or the empty string if the element has no Namespace URI
+	 * @return The schema version or null, if the root element is not recognised
+	 */
+	private static XmlFormatVersion getSchemaVersion(String localName, String namespaceURI) {
+	    if (DefaultXmlNames.ELEMENT_PcGts.equals(localName)){
+			String str = namespaceURI; //Example: http://schema.primaresearch.org/PAGE/gts/pagecontent/2010-03-19
+			int pos = str.lastIndexOf("/");
+			return new XmlFormatVersion(str.substring(pos+1));
+	    }
+	    //Abbyy
+	    else if ("document".equals(localName)) {
+			//String str = namespaceURI; //Example: http://www.abbyy.com/FineReader_xml/FineReader10-schema-v1.xml
+			if (namespaceURI.contains("abbyy"))
+				return new XmlFormatVersion(namespaceURI);
+	    }
+	    //ALTO
+	    else if ("alto".equals(localName)) {
+			//String str = namespaceURI; //Examples: http://www.loc.gov/standards/alto/ns-v2#
+	    	//                                       http://www.loc.gov/standards/alto/ns-v3#
+			if (namespaceURI.toLowerCase().contains("alto"))
+				return new XmlFormatVersion(namespaceURI);
+	    }
+	    //HOCR
+	    else if ("html".equals(localName)) {
+			return new XmlFormatVersion("HOCR");
+	    }
+	    return null;
+	}
 	
+	/**
+	 * Bytes read from the beginning of the input stream and the schema version detected from them.
+	 */
+	private static class ReadAhead {
+		byte[] buffer = new byte[0];
+		int length = 0;
+		XmlFormatVersion schemaVersion = null;
+	}
 
 }
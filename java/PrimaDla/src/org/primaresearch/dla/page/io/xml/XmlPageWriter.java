@@ -19,6 +19,7 @@ import java.util.List;
 
 import org.primaresearch.dla.page.io.PageWriter;
 import org.primaresearch.dla.page.layout.converter.ConversionMessage;
+import org.primaresearch.maths.geometry.PolygonSimplifier;
 
 /**
  * Interface for page writers producing XML.
@@ -51,4 +52,28 @@ public interface XmlPageWriter extends PageWriter {
 	 * Returns format conversion related messages
 	 */
 	public List<ConversionMessage> getConversionInformation();
+
+	/**
+	 * Returns the simplifier that is applied to all outlines and baselines when writing
+	 * @return Simplifier or null (the default implementation always returns null)
+	 */
+	public default PolygonSimplifier getPolygonSimplifier() {
+		return null;
+	}
+
+	/**
+	 * Sets a simplifier that is applied to all outlines and baselines when writing (the page object itself is not changed).
+	 * Table grids are written unchanged. The default implementation ignores the simplifier.
+	 * @param simplifier Simplifier object or null to write all points
+	 */
+	public default void setPolygonSimplifier(PolygonSimplifier simplifier) {
+	}
+	
+	/**
+	 * Returns the number of points removed by the polygon simplifier on the last call of write() or validate()
+	 * (the default implementation always returns 0)
+	 */
+	public default int getRemovedPointCount() {
+		return 0;
+	}
 }
@@ -15,7 +15,7 @@
  */
 package org.primaresearch.dla.page.io.xml;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -26,21 +26,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 
 import org.primaresearch.dla.page.AlternativeImage;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.io.FileTarget;
 import org.primaresearch.dla.page.io.OutputTarget;
+import org.primaresearch.dla.page.io.xml.XmlStreamDocument.Element;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.converter.ConversionMessage;
 import org.primaresearch.dla.page.layout.logical.ContentObjectRelation;
@@ -73,18 +66,15 @@ import org.primaresearch.io.UnsupportedFormatVersionException;
 import org.primaresearch.io.xml.IOError;
 import org.primaresearch.io.xml.XmlFormatVersion;
 import org.primaresearch.io.xml.XmlValidator;
-import org.primaresearch.maths.geometry.Point;
 import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.PolygonSimplifier;
 import org.primaresearch.shared.variable.BooleanVariable;
 import org.primaresearch.shared.variable.DoubleVariable;
 import org.primaresearch.shared.variable.IntegerVariable;
 import org.primaresearch.shared.variable.StringVariable;
 import org.primaresearch.shared.variable.Variable;
 import org.primaresearch.shared.variable.VariableMap;
-import org.w3c.dom.DOMImplementation;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Text;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
 /**
@@ -100,8 +90,10 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 	private Page page = null; 
 	private PageLayout layout = null;
 	private XmlNameProvider xmlNameProvider;
-	private Document doc;
+	private XmlStreamDocument doc;
 	private XmlValidator validator;
+	private PolygonSimplifier polygonSimplifier = null;
+	private int removedPointCount = 0;
 	private PageErrorHandler lastErrors;
 	private List<ConversionMessage> lastConversionMessages;
 	private String namespace;
@@ -169,73 +161,60 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		this.page = page;
 		layout = page.getLayout();
 		lastErrors = new PageErrorHandler();
+		removedPointCount = 0;
+		namespace = getSchemaLocation();
 		
 		//Convert page file if necessary and possible
 		//if (validator != null)
 		//	lastConversionMessages = ConverterHub.convert(page, validator.getSchemaVersion());
 		
-        DocumentBuilderFactory dbfac = DocumentBuilderFactory.newInstance();
-        dbfac.setValidating(false);
-        dbfac.setNamespaceAware(true);
-        //if (validator != null)
-        	//dbfac.setSchema(validator.getSchema());
-        
-        DocumentBuilder docBuilder;
 		try {
-			docBuilder = dbfac.newDocumentBuilder();
-			//docBuilder.setErrorHandler(lastErrors);
+			ContentHandler handler = null;
+			ByteArrayOutputStream buffer = null;
+			OutputStream os = null;
 			
-			DOMImplementation domImpl = docBuilder.getDOMImplementation();
-	        //doc = docBuilder.newDocument();
-			namespace = getSchemaLocation();
-			doc = domImpl.createDocument(namespace, DefaultXmlNames.ELEMENT_PcGts, null);
-	        
-	        writeRoot();
+			//Serialiser (output is held back until validated)
+	        if (!validateOnly) {
+	        	if (validator != null)
+	        		os = buffer = new ByteArrayOutputStream();
+	        	else
+	        		os = openOutputStream(target);
+	        	if (os == null)
+	        		return false;
+	        	handler = new XmlStreamSerializer(os);
+	        }
 	        
-	        //Validation errors?
+	        //Validator (fed from the same event stream)
 	        if (validator != null) {
-	        	Validator domVal = validator.getSchema().newValidator();
-	        	domVal.setErrorHandler(lastErrors);
-
-	        	try {
-					domVal.validate(new DOMSource(doc));
-				} catch (SAXException e) {
-					e.printStackTrace();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+	        	ValidatorHandler validatorHandler = validator.getSchema().newValidatorHandler();
+	        	validatorHandler.setErrorHandler(lastErrors);
+	        	handler = handler != null ? new XmlStreamTee(validatorHandler, handler) : validatorHandler;
 	        }
+	        
+	        if (handler != null)
+	        	writeDocument(handler);
+	        
+	        //Validation errors?
 	        if (lastErrors.hasErrors()) {
 	        	return false;
 	        }
 	        
 	        //Write XML
 	        if (!validateOnly) {
-	        	
-	            TransformerFactory transfac = TransformerFactory.newInstance();
-	            Transformer trans = transfac.newTransformer();
-	            DOMSource source = new DOMSource(doc);
-	            
-	            OutputStream os = null;
-	            
-	            if (target instanceof FileTarget) {
-					File f = ((FileTarget)target).getFile();
-	            	os = new FileOutputStream(f);
-	            } else if (target instanceof StreamTarget)
-	            	os = ((StreamTarget) target).getOutputStream();
-	            
-	            StreamResult result = new StreamResult(os);
-	            trans.transform(source, result);
+	        	if (buffer != null) {
+	        		os = openOutputStream(target);
+	        		if (os == null)
+	        			return false;
+	        		buffer.writeTo(os);
+	        	}
 	            os.close();
 	        }
             return true;
-		} catch (ParserConfigurationException e) {
-			e.printStackTrace();
 		} catch (TransformerConfigurationException e) {
 			e.printStackTrace();
-		} catch (FileNotFoundException e) {
+		} catch (SAXException e) {
 			e.printStackTrace();
-		} catch (TransformerException e) {
+		} catch (FileNotFoundException e) {
 			e.printStackTrace();
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -243,6 +222,27 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		return false;
 	}
 	
+	/**
+	 * Opens the stream for the given file or stream target.
+	 * @return Output stream or <code>null</code> if the target type is not supported
+	 */
+	private OutputStream openOutputStream(OutputTarget target) throws FileNotFoundException {
+		if (target instanceof FileTarget)
+			return new FileOutputStream(((FileTarget)target).getFile());
+		if (target instanceof StreamTarget)
+			return ((StreamTarget)target).getOutputStream();
+		return null;
+	}
+	
+	/**
+	 * Passes the page to the given handler as a stream of SAX events.
+	 */
+	private void writeDocument(ContentHandler handler) throws SAXException {
+		doc = new XmlStreamDocument(handler, namespace, DefaultXmlNames.ELEMENT_PcGts);
+		writeRoot();
+		doc.finish();
+	}
+	
 	/**
 	 * Returns a list of writing errors
 	 */
@@ -257,6 +257,21 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		return lastErrors != null ? lastErrors.getWarnings() : null;
 	}
 
+	@Override
+	public PolygonSimplifier getPolygonSimplifier() {
+		return polygonSimplifier;
+	}
+
+	@Override
+	public void setPolygonSimplifier(PolygonSimplifier simplifier) {
+		this.polygonSimplifier = simplifier;
+	}
+
+	@Override
+	public int getRemovedPointCount() {
+		return removedPointCount;
+	}
+
 	private void writeRoot() /*throws XMLStreamException*/ {
 		//String xsi = "http://www.w3.org/2001/XMLSchema-instance";
 		
@@ -418,7 +433,7 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 			if (baseline != null && baseline.getSize() >= 2) {
 				Element baselineNode = doc.createElementNS(getNamespace(), DefaultXmlNames.ELEMENT_Baseline);
 				regionNode.appendChild(baselineNode);
-				addPointsAttribute(baselineNode, baseline);
+				addPointsAttribute(baselineNode, getCoordinates(baseline, false));
 			}
 		}
 		
@@ -543,7 +558,7 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		boolean ret = false;
 		Variable v;
 		for (int i=0; i<vars.getSize(); i++) {
-			v = vars.get(i);
+			v = vars.peek(i);
 			if (v.getValue() != null) {
 				addAttribute(parent, v.getName(), v.getValue().toString());
 				ret = true;
@@ -552,24 +567,34 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		return ret;
 	}
 	
+	/**
+	 * Returns the coordinates to write (simplified if a polygon simplifier is set)
+	 * @param closed Outline (true) or polyline (false)
+	 */
+	private int[] getCoordinates(Polygon polygon, boolean closed) {
+		int[] coords = polygon.getCoordinates();
+		if (polygonSimplifier == null)
+			return coords;
+		int[] simplified = polygonSimplifier.simplify(coords, coords.length / 2, closed);
+		removedPointCount += (coords.length - simplified.length) / 2;
+		return simplified;
+	}
+	
 	private void addCoords(Element parent, Polygon coords) /*throws XMLStreamException*/ {
 		Element coordsNode = doc.createElementNS(getNamespace(), DefaultXmlNames.ELEMENT_Coords);
 		parent.appendChild(coordsNode);
 		
-		addPointsAttribute(coordsNode, coords);
+		addPointsAttribute(coordsNode, getCoordinates(coords, true));
 	}
 	
-	private void addPointsAttribute(Element parent, Polygon points) {
-		Point p;
+	private void addPointsAttribute(Element parent, int[] coords) {
 		StringBuilder pointList = new StringBuilder();
-		for (int i=0; i<points.getSize(); i++) {
-			p = points.getPoint(i);
-			
+		for (int i=0; i<coords.length; i+=2) {
 			if (i>0)
 				pointList.append(" ");
-			pointList.append(Integer.toString(p.x));
+			pointList.append(coords[i]);
 			pointList.append(",");
-			pointList.append(Integer.toString(p.y));
+			pointList.append(coords[i+1]);
 		}
 		addAttribute(parent, DefaultXmlNames.ATTR_points, pointList.toString());
 	}
@@ -752,8 +777,7 @@ public class XmlPageWriter_2017_07_15 implements XmlPageWriter {
 		Element node = doc.createElementNS(getNamespace(), elementName);
 		parent.appendChild(node);
 
-		Text textNode = doc.createTextNode(text != null ? text : "");
-		node.appendChild(textNode);
+		node.appendText(text != null ? text : "");
 	}
 
 	@Override
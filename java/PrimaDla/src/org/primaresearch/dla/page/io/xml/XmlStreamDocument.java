@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Lightweight stand-in for a DOM document that passes elements on to a SAX content handler
+ * as soon as they are complete. This allows writing a page in a single pass without building
+ * the whole XML tree in memory.<br>
+ * <br>
+ * Elements are created and appended in the same way as with DOM. The start tag of an element
+ * is emitted when its first child or text is appended (or a following element is appended
+ * further up), so all attributes have to be set before that. Elements that are never appended
+ * are not written at all.<br>
+ * <br>
+ * Attributes and namespace declarations are reported in the order a DOM serialiser would use
+ * (attributes sorted by name), which keeps the output identical to that of a DOM-based writer.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class XmlStreamDocument {
+
+	private ContentHandler handler;
+	private Element root;
+	private List<Element> openElements = new ArrayList<Element>();
+	private List<String> declaredPrefixes = new ArrayList<String>();
+	private List<String> declaredNamespaces = new ArrayList<String>();
+	private AttributesImpl attributes = new AttributesImpl();
+	private boolean started = false;
+	private SAXException error = null;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param handler Receiver of the SAX events
+	 * @param namespace Namespace of the root element
+	 * @param rootElementName Qualified name of the root element
+	 */
+	public XmlStreamDocument(ContentHandler handler, String namespace, String rootElementName) {
+		this.handler = handler;
+		root = new Element(namespace, rootElementName);
+		openElements.add(root);
+	}
+	
+	/**
+	 * Returns the root element (already part of the document)
+	 */
+	public Element getDocumentElement() {
+		return root;
+	}
+	
+	/**
+	 * Creates a new element. It will only be written once appended to an element of this document.
+	 * @param namespace Namespace URI (<code>null</code> for none)
+	 * @param qualifiedName Element name (with prefix if any)
+	 */
+	public Element createElementNS(String namespace, String qualifiedName) {
+		return new Element(namespace, qualifiedName);
+	}
+	
+	/**
+	 * Closes all open elements and ends the document.
+	 * @throws SAXException The first exception that was thrown by the content handler (if any)
+	 */
+	public void finish() throws SAXException {
+		closeElements(0);
+		if (error == null) {
+			try {
+				handler.endDocument();
+			} catch (SAXException exc) {
+				error = exc;
+			}
+		}
+		if (error != null)
+			throw error;
+	}
+	
+	/**
+	 * Prepares the given open element for new content by writing its start tag and closing all elements opened after it.
+	 * @return <code>false</code> if the content handler failed
+	 */
+	private boolean openForContent(Element element) {
+		if (error != null)
+			return false;
+		int index = openElements.lastIndexOf(element);
+		if (index < 0)
+			throw new IllegalStateException("Element '"+element.qualifiedName+"' is not open for content");
+		closeElements(index+1);
+		if (!element.started)
+			startElement(element);
+		return error == null;
+	}
+
+	/**
+	 * Closes all open elements from the given stack position upwards.
+	 */
+	private void closeElements(int fromIndex) {
+		for (int i=openElements.size()-1; i>=fromIndex; i--) {
+			Element element = openElements.remove(i);
+			if (!element.started)
+				startElement(element);
+			endElement(element);
+		}
+	}
+	
+	private void startElement(Element element) {
+		element.started = true;
+		if (error != null)
+			return;
+		try {
+			if (!started) {
+				handler.startDocument();
+				started = true;
+			}
+			attributes.clear();
+			
+			//Namespace declarations for attributes (in attribute order), then for the element itself
+			for (int i=0; i<element.attributes.size(); i+=3) {
+				String namespace = element.attributes.get(i);
+				String qualifiedName = element.attributes.get(i+1);
+				if (namespace != null && !namespace.isEmpty())
+					declareNamespace(element, getPrefix(qualifiedName), namespace);
+				attributes.addAttribute(namespace != null ? namespace : "", getLocalName(qualifiedName), qualifiedName, "CDATA", element.attributes.get(i+2));
+			}
+			if (element.namespace != null && !element.namespace.isEmpty())
+				declareNamespace(element, getPrefix(element.qualifiedName), element.namespace);
+			
+			handler.startElement(element.namespace != null ? element.namespace : "", getLocalName(element.qualifiedName), element.qualifiedName, attributes);
+		} catch (SAXException exc) {
+			error = exc;
+		}
+	}
+	
+	private void endElement(Element element) {
+		if (error != null)
+			return;
+		try {
+			handler.endElement(element.namespace != null ? element.namespace : "", getLocalName(element.qualifiedName), element.qualifiedName);
+			for (int i=0; i<element.namespaceDeclarations; i++) {
+				handler.endPrefixMapping(declaredPrefixes.remove(declaredPrefixes.size()-1));
+				declaredNamespaces.remove(declaredNamespaces.size()-1);
+			}
+		} catch (SAXException exc) {
+			error = exc;
+		}
+	}
+	
+	/**
+	 * Starts a prefix mapping unless the prefix is already mapped to the given namespace.
+	 */
+	private void declareNamespace(Element element, String prefix, String namespace) throws SAXException {
+		for (int i=declaredPrefixes.size()-1; i>=0; i--) {
+			if (declaredPrefixes.get(i).equals(prefix)) {
+				if (declaredNamespaces.get(i).equals(namespace))
+					return;
+				break;
+			}
+		}
+		declaredPrefixes.add(prefix);
+		declaredNamespaces.add(namespace);
+		element.namespaceDeclarations++;
+		handler.startPrefixMapping(prefix, namespace);
+	}
+	
+	private static String getPrefix(String qualifiedName) {
+		int colon = qualifiedName.indexOf(':');
+		return colon < 0 ? "" : qualifiedName.substring(0, colon);
+	}
+	
+	private static String getLocalName(String qualifiedName) {
+		int colon = qualifiedName.indexOf(':');
+		return colon < 0 ? qualifiedName : qualifiedName.substring(colon+1);
+	}
+	
+	
+	/**
+	 * XML element of a streamed document.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	public class Element {
+		private String namespace;
+		private String qualifiedName;
+		/** Triples of namespace, qualified name and value, sorted by name */
+		private List<String> attributes = new ArrayList<String>(6);
+		private boolean started = false;
+		private int namespaceDeclarations = 0;
+		
+		private Element(String namespace, String qualifiedName) {
+			this.namespace = namespace;
+			this.qualifiedName = qualifiedName;
+		}
+		
+		/**
+		 * Sets an attribute (replaces an existing attribute with the same name).
+		 * @param namespace Namespace URI (<code>null</code> for none)
+		 * @param qualifiedName Attribute name (with prefix if any)
+		 * @param value Attribute value
+		 * @throws IllegalStateException The start tag has already been written
+		 */
+		public void setAttributeNS(String namespace, String qualifiedName, String value) {
+			if (started)
+				throw new IllegalStateException("Attribute '"+qualifiedName+"' set after start tag of '"+this.qualifiedName+"' has been written");
+			if (value == null)
+				value = "";
+			
+			//Binary search for the insert position (same order as DOM attribute maps)
+			int low = 0;
+			int high = attributes.size()/3 - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int comp = attributes.get(3*mid+1).compareTo(qualifiedName);
+				if (comp == 0) {
+					attributes.set(3*mid, namespace);
+					attributes.set(3*mid+2, value);
+					return;
+				}
+				if (comp < 0)
+					low = mid + 1;
+				else
+					high = mid - 1;
+			}
+			attributes.add(3*low, value);
+			attributes.add(3*low, qualifiedName);
+			attributes.add(3*low, namespace);
+		}
+		
+		/**
+		 * Appends the given child element. Any previously appended child is completed.
+		 */
+		public void appendChild(Element child) {
+			if (child.started || openElements.contains(child))
+				throw new IllegalStateException("Element '"+child.qualifiedName+"' has already been appended");
+			if (openForContent(this))
+				openElements.add(child);
+		}
+		
+		/**
+		 * Appends a text node. Any previously appended child is completed.
+		 */
+		public void appendText(String text) {
+			if (!openForContent(this) || text == null || text.isEmpty())
+				return;
+			try {
+				handler.characters(text.toCharArray(), 0, text.length());
+			} catch (SAXException exc) {
+				error = exc;
+			}
+		}
+	}
+}
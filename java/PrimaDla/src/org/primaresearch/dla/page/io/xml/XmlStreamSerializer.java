@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * SAX content handler that serialises the received events to an output stream.<br>
+ * <br>
+ * Uses the serialiser of the default transformer (same as for writing DOM documents).
+ * Namespace declarations are written as attributes, each in front of the first attribute
+ * using the prefix and all others at the end, which matches the output for DOM documents.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class XmlStreamSerializer implements ContentHandler {
+
+	private TransformerHandler serializer;
+	private List<String> pendingPrefixes = new ArrayList<String>();
+	private List<String> pendingNamespaces = new ArrayList<String>();
+	private AttributesImpl attributes = new AttributesImpl();
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param outputStream Target stream (will not be closed)
+	 * @throws TransformerConfigurationException Serialiser could not be created
+	 */
+	public XmlStreamSerializer(OutputStream outputStream) throws TransformerConfigurationException {
+		SAXTransformerFactory transfac = (SAXTransformerFactory)TransformerFactory.newInstance();
+		serializer = transfac.newTransformerHandler();
+		serializer.getTransformer().setOutputProperty(OutputKeys.STANDALONE, "no");
+		serializer.setResult(new StreamResult(outputStream));
+	}
+
+	@Override
+	public void setDocumentLocator(Locator locator) {
+		serializer.setDocumentLocator(locator);
+	}
+
+	@Override
+	public void startDocument() throws SAXException {
+		serializer.startDocument();
+	}
+
+	@Override
+	public void endDocument() throws SAXException {
+		serializer.endDocument();
+	}
+
+	@Override
+	public void startPrefixMapping(String prefix, String uri) throws SAXException {
+		pendingPrefixes.add(prefix);
+		pendingNamespaces.add(uri);
+	}
+
+	@Override
+	public void endPrefixMapping(String prefix) throws SAXException {
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+		attributes.clear();
+		for (int i=0; i<atts.getLength(); i++) {
+			String attrName = atts.getQName(i);
+			if (!pendingPrefixes.isEmpty() && !atts.getURI(i).isEmpty()) {
+				int colon = attrName.indexOf(':');
+				addNamespaceDeclaration(colon < 0 ? "" : attrName.substring(0, colon));
+			}
+			attributes.addAttribute("", "", attrName, "CDATA", atts.getValue(i));
+		}
+		while (!pendingPrefixes.isEmpty())
+			addNamespaceDeclaration(pendingPrefixes.get(0));
+		
+		//No namespace URIs here, otherwise the serialiser would add declarations itself
+		serializer.startElement("", "", qName, attributes);
+	}
+	
+	private void addNamespaceDeclaration(String prefix) {
+		int index = pendingPrefixes.indexOf(prefix);
+		if (index < 0)
+			return;
+		pendingPrefixes.remove(index);
+		String namespace = pendingNamespaces.remove(index);
+		attributes.addAttribute("", "", prefix.isEmpty() ? "xmlns" : "xmlns:"+prefix, "CDATA", namespace);
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qName) throws SAXException {
+		serializer.endElement("", "", qName);
+	}
+
+	@Override
+	public void characters(char[] ch, int start, int length) throws SAXException {
+		serializer.characters(ch, start, length);
+	}
+
+	@Override
+	public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+		serializer.ignorableWhitespace(ch, start, length);
+	}
+
+	@Override
+	public void processingInstruction(String target, String data) throws SAXException {
+		serializer.processingInstruction(target, data);
+	}
+
+	@Override
+	public void skippedEntity(String name) throws SAXException {
+		serializer.skippedEntity(name);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml.sax;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.primaresearch.dla.page.io.xml.DefaultXmlNames;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+
+/**
+ * PAGE XML elements for the SAX handlers.<br>
+ * <br>
+ * Maps the local name of an element to a constant with a single hash lookup, so handlers
+ * can use a <code>switch</code> statement instead of comparing the name with every
+ * known element name in turn.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public enum PageXmlElement {
+	
+	PcGts(DefaultXmlNames.ELEMENT_PcGts),
+	Page(DefaultXmlNames.ELEMENT_Page),
+	TextRegion(DefaultXmlNames.ELEMENT_TextRegion),
+	ImageRegion(DefaultXmlNames.ELEMENT_ImageRegion),
+	LineDrawingRegion(DefaultXmlNames.ELEMENT_LineDrawingRegion),
+	GraphicRegion(DefaultXmlNames.ELEMENT_GraphicRegion),
+	TableRegion(DefaultXmlNames.ELEMENT_TableRegion),
+	ChartRegion(DefaultXmlNames.ELEMENT_ChartRegion),
+	SeparatorRegion(DefaultXmlNames.ELEMENT_SeparatorRegion),
+	MathsRegion(DefaultXmlNames.ELEMENT_MathsRegion),
+	NoiseRegion(DefaultXmlNames.ELEMENT_NoiseRegion),
+	FrameRegion(DefaultXmlNames.ELEMENT_FrameRegion),
+	UnknownRegion(DefaultXmlNames.ELEMENT_UnknownRegion),
+	AdvertRegion(DefaultXmlNames.ELEMENT_AdvertRegion),
+	ChemRegion(DefaultXmlNames.ELEMENT_ChemRegion),
+	MusicRegion(DefaultXmlNames.ELEMENT_MusicRegion),
+	MapRegion(DefaultXmlNames.ELEMENT_MapRegion),
+	CustomRegion(DefaultXmlNames.ELEMENT_CustomRegion),
+	Border(DefaultXmlNames.ELEMENT_Border),
+	ReadingOrder(DefaultXmlNames.ELEMENT_ReadingOrder),
+	RegionRef(DefaultXmlNames.ELEMENT_RegionRef),
+	SourceRegionRef(DefaultXmlNames.ELEMENT_SourceRegionRef),
+	TargetRegionRef(DefaultXmlNames.ELEMENT_TargetRegionRef),
+	UnorderedGroup(DefaultXmlNames.ELEMENT_UnorderedGroup),
+	OrderedGroup(DefaultXmlNames.ELEMENT_OrderedGroup),
+	RegionRefIndexed(DefaultXmlNames.ELEMENT_RegionRefIndexed),
+	UnorderedGroupIndexed(DefaultXmlNames.ELEMENT_UnorderedGroupIndexed),
+	OrderedGroupIndexed(DefaultXmlNames.ELEMENT_OrderedGroupIndexed),
+	Layers(DefaultXmlNames.ELEMENT_Layers),
+	Layer(DefaultXmlNames.ELEMENT_Layer),
+	PrintSpace(DefaultXmlNames.ELEMENT_PrintSpace),
+	Coords(DefaultXmlNames.ELEMENT_Coords),
+	Point(DefaultXmlNames.ELEMENT_Point),
+	TextEquiv(DefaultXmlNames.ELEMENT_TextEquiv),
+	TextLine(DefaultXmlNames.ELEMENT_TextLine),
+	Word(DefaultXmlNames.ELEMENT_Word),
+	Glyph(DefaultXmlNames.ELEMENT_Glyph),
+	PlainText(DefaultXmlNames.ELEMENT_PlainText),
+	Unicode(DefaultXmlNames.ELEMENT_Unicode),
+	Baseline(DefaultXmlNames.ELEMENT_Baseline),
+	Metadata(DefaultXmlNames.ELEMENT_Metadata),
+	MetadataItem(DefaultXmlNames.ELEMENT_MetadataItem),
+	Creator(DefaultXmlNames.ELEMENT_Creator),
+	Created(DefaultXmlNames.ELEMENT_Created),
+	LastChange(DefaultXmlNames.ELEMENT_LastChange),
+	Comments(DefaultXmlNames.ELEMENT_Comments),
+	AlternativeImage(DefaultXmlNames.ELEMENT_AlternativeImage),
+	Relations(DefaultXmlNames.ELEMENT_Relations),
+	Relation(DefaultXmlNames.ELEMENT_Relation),
+	TextStyle(DefaultXmlNames.ELEMENT_TextStyle),
+	Graphemes(DefaultXmlNames.ELEMENT_Graphemes),
+	Grapheme(DefaultXmlNames.ELEMENT_Grapheme),
+	GraphemeGroup(DefaultXmlNames.ELEMENT_GraphemeGroup),
+	NonPrintingChar(DefaultXmlNames.ELEMENT_NonPrintingChar),
+	UserDefined(DefaultXmlNames.ELEMENT_UserDefined),
+	UserAttribute(DefaultXmlNames.ELEMENT_UserAttribute),
+	Roles(DefaultXmlNames.ELEMENT_Roles),
+	TableCellRole(DefaultXmlNames.ELEMENT_TableCellRole),
+	Grid(DefaultXmlNames.ELEMENT_Grid),
+	GridPoints(DefaultXmlNames.ELEMENT_GridPoints),
+	Labels(DefaultXmlNames.ELEMENT_Labels),
+	Label(DefaultXmlNames.ELEMENT_Label),
+	
+	/** Any element that is not listed above */
+	Other(null);
+	
+	/** Map [local name, element] */
+	private static final Map<String, PageXmlElement> elementsByName = new HashMap<String, PageXmlElement>();
+	static {
+		for (PageXmlElement element : values()) {
+			if (element.xmlName != null)
+				elementsByName.put(element.xmlName, element);
+		}
+	}
+	
+	private final String xmlName;
+	
+	private PageXmlElement(String xmlName) {
+		this.xmlName = xmlName;
+	}
+	
+	/**
+	 * Returns the local name of the XML element
+	 * @return Name or null for 'Other'
+	 */
+	public String getXmlName() {
+		return xmlName;
+	}
+	
+	/**
+	 * Returns the type of text object the element represents
+	 * @return Text line, word, glyph or grapheme type (null if the element is not a text object)
+	 */
+	public LowLevelTextType getLowLevelTextType() {
+		switch (this) {
+		case TextLine:
+			return LowLevelTextType.TextLine;
+		case Word:
+			return LowLevelTextType.Word;
+		case Glyph:
+			return LowLevelTextType.Glyph;
+		case Graphemes:
+		case Grapheme:
+			return LowLevelTextType.Grapheme;
+		case GraphemeGroup:
+			return LowLevelTextType.GraphemeGroup;
+		case NonPrintingChar:
+			return LowLevelTextType.NonPrintingCharacter;
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns the type of region the element represents
+	 * @param localName Local name of the element (only used for generic regions, i.e. 'Other' elements ending with 'Region')
+	 * @return Region type (null if the element is not a region)
+	 */
+	public RegionType getRegionType(String localName) {
+		switch (this) {
+		case TextRegion:
+			return RegionType.TextRegion;
+		case ImageRegion:
+			return RegionType.ImageRegion;
+		case LineDrawingRegion:
+			return RegionType.LineDrawingRegion;
+		case GraphicRegion:
+			return RegionType.GraphicRegion;
+		case TableRegion:
+			return RegionType.TableRegion;
+		case ChartRegion:
+			return RegionType.ChartRegion;
+		case SeparatorRegion:
+			return RegionType.SeparatorRegion;
+		case MathsRegion:
+			return RegionType.MathsRegion;
+		case NoiseRegion:
+			return RegionType.NoiseRegion;
+		case UnknownRegion:
+			return RegionType.UnknownRegion;
+		case AdvertRegion:
+			return RegionType.AdvertRegion;
+		case ChemRegion:
+			return RegionType.ChemRegion;
+		case MusicRegion:
+			return RegionType.MusicRegion;
+		case MapRegion:
+			return RegionType.MapRegion;
+		case CustomRegion:
+			return RegionType.CustomRegion;
+		case FrameRegion: //Read as graphic region
+			return RegionType.GraphicRegion;
+		case Other:
+			if (localName != null && localName.endsWith("Region"))
+				return RegionType.getGenericType(localName);
+			return null;
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * Returns the element constant for the given local name
+	 * @param localName Local name (without prefix) of an XML element
+	 * @return The element or 'Other' if the name is unknown (never null)
+	 */
+	public static PageXmlElement forName(String localName) {
+		PageXmlElement element = elementsByName.get(localName);
+		return element != null ? element : Other;
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml.sax;
+
+import java.util.Arrays;
+
+import org.primaresearch.maths.geometry.Polygon;
+
+/**
+ * Parser for coordinates encoded in XML attributes (PAGE points, ALTO POINTS and hOCR bbox).<br>
+ * <br>
+ * The characters of the attribute value are scanned directly into a reusable primitive buffer,
+ * without creating intermediate strings or arrays. The parsed points can then be transferred to a 
+ * polygon in one go.<br>
+ * <br>
+ * Instances are not thread-safe (each SAX handler should use its own parser).
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PointsParser {
+
+	/** Interleaved coordinates (x1, y1, x2, y2, ...) */
+	private int[] coords = new int[64];
+	/** Number of points in the buffer */
+	private int size = 0;
+	
+	/** Current position in the input */
+	private int pos;
+	/** Result of the last call of parseNumber */
+	private int lastNumber;
+	
+	/**
+	 * Parses a PAGE points attribute value (<code>"x1,y1 x2,y2 ..."</code>, integer coordinates).
+	 * Malformed points are skipped.
+	 * @param points Attribute value
+	 * @return Number of points parsed
+	 */
+	public int parsePagePoints(CharSequence points) {
+		return parsePointList(points, false);
+	}
+
+	/**
+	 * Parses an ALTO POINTS attribute value (<code>"x1,y1 x2,y2 ..."</code>, coordinates can be decimal
+	 * numbers and are truncated to integers). Malformed points are skipped.
+	 * @param points Attribute value
+	 * @return Number of points parsed
+	 */
+	public int parseAltoPoints(CharSequence points) {
+		return parsePointList(points, true);
+	}
+	
+	/**
+	 * Parses the bounding box from an hOCR title attribute value (<code>"bbox x1 y1 x2 y2; ..."</code>).
+	 * The buffer then contains the four corner points of the box (clockwise, starting with x1,y1).
+	 * @param title Attribute value
+	 * @return <code>true</code> if a complete bounding box was found
+	 */
+	public boolean parseHocrBoundingBox(CharSequence title) {
+		size = 0;
+		if (title == null)
+			return false;
+		int len = title.length();
+		
+		//Find the bbox property (at the beginning or after a semicolon)
+		pos = 0;
+		while (pos < len) {
+			skipWhitespace(title, len);
+			if (startsWith(title, len, "bbox")) {
+				pos += 4;
+				break;
+			}
+			//Next property
+			while (pos < len && title.charAt(pos) != ';')
+				pos++;
+			pos++;
+		}
+		if (pos >= len)
+			return false;
+		
+		//Four integer values
+		ensureCapacity(4);
+		for (int i=0; i<4; i++) {
+			if (!skipWhitespace(title, len))
+				return false;
+			if (!parseNumber(title, len, false))
+				return false;
+			coords[i] = lastNumber;
+		}
+		//(x1,y1) (x2,y1) (x2,y2) (x1,y2)
+		coords[6] = coords[0];
+		coords[7] = coords[3];
+		coords[4] = coords[2];
+		coords[5] = coords[3];
+		coords[3] = coords[1];
+		size = 4;
+		return true;
+	}
+	
+	/**
+	 * Returns the number of points of the last parse operation
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Returns the x coordinate of the parsed point with the given index
+	 */
+	public int getX(int index) {
+		return coords[2*index];
+	}
+
+	/**
+	 * Returns the y coordinate of the parsed point with the given index
+	 */
+	public int getY(int index) {
+		return coords[2*index+1];
+	}
+	
+	/**
+	 * Adds all points of the last parse operation to the given polygon.
+	 */
+	public void addPointsTo(Polygon polygon) {
+		if (size > 0)
+			polygon.addPoints(coords, size);
+	}
+	
+	/**
+	 * Creates a polygon from the points of the last parse operation.
+	 */
+	public Polygon toPolygon() {
+		Polygon polygon = new Polygon();
+		addPointsTo(polygon);
+		return polygon;
+	}
+	
+	/**
+	 * Parses space separated 'x,y' pairs
+	 * @param allowDecimals If true, the number may have a fractional part, which is discarded
+	 */
+	private int parsePointList(CharSequence points, boolean allowDecimals) {
+		size = 0;
+		if (points == null)
+			return 0;
+		int len = points.length();
+		pos = 0;
+		while (skipWhitespace(points, len)) {
+			int x, y;
+			boolean ok = parseNumber(points, len, allowDecimals);
+			x = lastNumber;
+			if (ok && pos < len && points.charAt(pos) == ',') {
+				pos++;
+				ok = parseNumber(points, len, allowDecimals);
+				y = lastNumber;
+				if (ok && (pos >= len || isWhitespace(points.charAt(pos)))) {
+					ensureCapacity(size+1);
+					coords[2*size] = x;
+					coords[2*size+1] = y;
+					size++;
+					continue;
+				}
+			}
+			//Malformed -> skip to next separator
+			while (pos < len && !isWhitespace(points.charAt(pos)))
+				pos++;
+		}
+		return size;
+	}
+	
+	/**
+	 * Parses an integer (optionally with sign and fractional part) at the current position.
+	 * The result is stored in lastNumber.
+	 * @return <code>false</code> if there is no valid number at the current position
+	 */
+	private boolean parseNumber(CharSequence s, int len, boolean allowDecimals) {
+		int start = pos;
+		boolean negative = false;
+		if (pos < len) {
+			char c = s.charAt(pos);
+			if (c == '-' || c == '+') {
+				negative = c == '-';
+				pos++;
+			}
+		}
+		long value = 0;
+		int digits = 0;
+		char c;
+		while (pos < len && (c = s.charAt(pos)) >= '0' && c <= '9') {
+			if (value <= Integer.MAX_VALUE)
+				value = value * 10 + (c - '0');
+			pos++;
+			digits++;
+		}
+		if (allowDecimals) {
+			if (pos < len && s.charAt(pos) == '.') {
+				pos++;
+				while (pos < len && (c = s.charAt(pos)) >= '0' && c <= '9') {
+					pos++;
+					digits++;
+				}
+			}
+			//Exponent (rare) -> use the standard parser
+			if (pos < len && ((c = s.charAt(pos)) == 'e' || c == 'E')) {
+				while (pos < len && !isWhitespace(s.charAt(pos)) && s.charAt(pos) != ',')
+					pos++;
+				try {
+					lastNumber = (int)Double.parseDouble(s.subSequence(start, pos).toString());
+					return true;
+				} catch (NumberFormatException exc) {
+					return false;
+				}
+			}
+		}
+		if (digits == 0)
+			return false;
+		if (negative)
+			value = -value;
+		if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+			if (!allowDecimals)
+				return false; //Out of range (Integer.valueOf would fail too)
+			value = value > 0 ? Integer.MAX_VALUE : Integer.MIN_VALUE; //Same as casting a double
+		}
+		lastNumber = (int)value;
+		return true;
+	}
+	
+	/**
+	 * Moves the current position to the next non-whitespace character.
+	 * @return <code>false</code> if the end of the input has been reached
+	 */
+	private boolean skipWhitespace(CharSequence s, int len) {
+		while (pos < len && isWhitespace(s.charAt(pos)))
+			pos++;
+		return pos < len;
+	}
+	
+	private boolean startsWith(CharSequence s, int len, String prefix) {
+		if (pos + prefix.length() > len)
+			return false;
+		for (int i=0; i<prefix.length(); i++)
+			if (s.charAt(pos+i) != prefix.charAt(i))
+				return false;
+		return true;
+	}
+	
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+	}
+	
+	private void ensureCapacity(int numberOfPoints) {
+		if (coords.length < 2*numberOfPoints)
+			coords = Arrays.copyOf(coords, Math.max(2*numberOfPoints, 2*coords.length));
+	}
+}
@@ -16,6 +16,12 @@
 package org.primaresearch.dla.page.io.xml.sax;
 
 import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.io.PageReadFilter;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.RegionContainer;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
@@ -26,14 +32,127 @@ import org.xml.sax.helpers.DefaultHandler;
  */
 public abstract class SaxPageHandler extends DefaultHandler {
 
+	private PageReadFilter filter = null;
+	
+	/** Nesting level within a skipped element (0 if not inside a skipped element) */
+	private int skippedElementDepth = 0;
+	/** If true, the end of the outermost skipped element is reported (only its children are skipped) */
+	private boolean reportEndOfSkippedElement = false;
+
 	/**
 	 * Returns the page object that has been created from XML
 	 * @return Page object
 	 */
 	abstract public Page getPageObject();
 	
+	/**
+	 * Returns the filter defining which content is read
+	 * @return Filter or null
+	 */
+	public PageReadFilter getFilter() {
+		return filter;
+	}
 
-
-
+	/**
+	 * Sets the filter defining which content is read (must be set before parsing)
+	 * @param filter Filter object or null to read everything
+	 */
+	public void setFilter(PageReadFilter filter) {
+		this.filter = filter;
+	}
+	
+	/**
+	 * To be called at the start of an element. Checks if the element is to be skipped,
+	 * either because it is nested in a skipped element or because it represents a text
+	 * object below the depth limit of the filter.
+	 * 
+	 * @param lowLevelTextType Type of text object the element represents (null if not a text object) 
+	 * @return True, if the element should be ignored
+	 */
+	protected boolean startSkippedElement(LowLevelTextType lowLevelTextType) {
+		return startSkippedElement(lowLevelTextType, null);
+	}
+	
+	/**
+	 * To be called at the start of an element. Checks if the element is to be skipped,
+	 * either because it is nested in a skipped element, because it represents a text
+	 * object below the depth limit of the filter, or because it represents a region of a
+	 * type that is not accepted by the filter.
+	 * 
+	 * @param lowLevelTextType Type of text object the element represents (null if not a text object) 
+	 * @param regionType Type of region the element represents (null if not a region) 
+	 * @return True, if the element should be ignored
+	 */
+	protected boolean startSkippedElement(LowLevelTextType lowLevelTextType, RegionType regionType) {
+		if (skippedElementDepth > 0 
+				|| (filter != null && (filter.isSkipped(lowLevelTextType) || !filter.isAccepted(regionType)))) {
+			skippedElementDepth++;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks if the given region is accepted by the filter (type and position)
+	 */
+	protected boolean isRegionAccepted(Region region) {
+		return filter == null || region == null || filter.isAccepted(region);
+	}
+	
+	/**
+	 * Removes the given region from the layout or from its parent region
+	 */
+	protected void removeRegion(PageLayout layout, Region region) {
+		RegionContainer parent = region.getParentRegion();
+		if (parent != null)
+			parent.removeRegion(region);
+		else
+			layout.removeRegion(region.getId());
+		region.getIdRegister().unregisterId(region.getId());
+	}
+	
+	/**
+	 * Checks if the given region is accepted by the filter. If not, the region is removed
+	 * and the remaining child elements of the current element are skipped. The end of the current element 
+	 * is still reported (so the handler can finish the region as usual).<br>
+	 * To be called as soon as the coordinates of the region are known.
+	 *  
+	 * @param layout Page layout the region belongs to
+	 * @param region Region (with coordinates)
+	 * @return True, if the region has been removed
+	 */
+	protected boolean skipFilteredRegion(PageLayout layout, Region region) {
+		if (isRegionAccepted(region))
+			return false;
+		
+		removeRegion(layout, region);
+		
+		skippedElementDepth = 1;
+		reportEndOfSkippedElement = true;
+		return true;
+	}
+	
+	/**
+	 * To be called at the end of an element.
+	 * @return True, if the element belongs to a skipped subtree and should be ignored
+	 */
+	protected boolean endSkippedElement() {
+		if (skippedElementDepth > 0) {
+			skippedElementDepth--;
+			if (skippedElementDepth == 0 && reportEndOfSkippedElement) {
+				reportEndOfSkippedElement = false;
+				return false;
+			}
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns true if the parser is currently inside a skipped element (character data should be ignored)
+	 */
+	protected boolean isInsideSkippedElement() {
+		return skippedElementDepth > 0;
+	}
 
 }
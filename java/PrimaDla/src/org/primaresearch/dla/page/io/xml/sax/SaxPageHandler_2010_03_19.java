@@ -56,7 +56,7 @@ import org.xml.sax.SAXException;
  */
 public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 
-	private static DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+	private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
 	
 	
 	private Page page = null;
@@ -100,9 +100,16 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 		//Handle accumulated text
 		finishText();
 		
+		PageXmlElement element = PageXmlElement.forName(localName);
+		
+		//Skip text objects below the depth limit and regions not accepted by the filter
+		if (startSkippedElement(element.getLowLevelTextType(), element.getRegionType(localName)))
+			return;
+		
 		insideElement = localName;
 				
-	    if (DefaultXmlNames.ELEMENT_PcGts.equals(localName)){
+	    switch (element) {
+	    case PcGts: {
 	    	createPageObject();
 			//GtsID
 			int i;
@@ -113,107 +120,108 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 					e.printStackTrace();
 				}
 			}
+	    	break;
 	    }
-	    if (DefaultXmlNames.ELEMENT_Page.equals(localName)){
+	    case Page:
 	    	handlePageElement(atts);
-	    } 
-	    else if (	DefaultXmlNames.ELEMENT_Border.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_PrintSpace.equals(localName)) {
+	    	break;
+	    case Border:
+	    case PrintSpace:
 	    	currentGeometricObject = new GeometricObjectImpl(new Polygon());
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Coords.equals(localName)) {
+	    	break;
+	    case Coords:
 	    	if (currentGeometricObject != null)
 	    		currentGeometricObject.setCoords(new Polygon());
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Point.equals(localName)) {
+	    	break;
+	    case Point:
 	    	handlePolygonPoint(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextRegion.equals(localName)) {
+	    	break;
+	    case TextRegion:
 	    	currentRegion = layout.createRegion(RegionType.TextRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	currentTextObject = (TextObject)currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ImageRegion.equals(localName)) {
+	    	break;
+	    case ImageRegion:
 	    	currentRegion = layout.createRegion(RegionType.ImageRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_GraphicRegion.equals(localName)) {
+	    	break;
+	    case GraphicRegion:
 	    	currentRegion = layout.createRegion(RegionType.GraphicRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_LineDrawingRegion.equals(localName)) {
+	    	break;
+	    case LineDrawingRegion:
 	    	currentRegion = layout.createRegion(RegionType.LineDrawingRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ChartRegion.equals(localName)) {
+	    	break;
+	    case ChartRegion:
 	    	currentRegion = layout.createRegion(RegionType.ChartRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_SeparatorRegion.equals(localName)) {
+	    	break;
+	    case SeparatorRegion:
 	    	currentRegion = layout.createRegion(RegionType.SeparatorRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_MathsRegion.equals(localName)) {
+	    	break;
+	    case MathsRegion:
 	    	currentRegion = layout.createRegion(RegionType.MathsRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TableRegion.equals(localName)) {
+	    	break;
+	    case TableRegion:
 	    	currentRegion = layout.createRegion(RegionType.TableRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_FrameRegion.equals(localName)) {
+	    	break;
+	    case FrameRegion:
 	    	currentRegion = layout.createRegion(RegionType.GraphicRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_NoiseRegion.equals(localName)) {
+	    	break;
+	    case NoiseRegion:
 	    	currentRegion = layout.createRegion(RegionType.NoiseRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_UnknownRegion.equals(localName)) {
+	    	break;
+	    case UnknownRegion:
 	    	currentRegion = layout.createRegion(RegionType.UnknownRegion, readId(atts));
 	    	currentGeometricObject = currentRegion;
 	    	handleContentObject(currentRegion, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextLine.equals(localName)) {
+	    	break;
+	    case TextLine:
 	    	currentTextLine = null;
 	    	if (currentRegion != null && currentRegion.getType() == RegionType.TextRegion)
 	    		currentTextLine = ((TextRegion)currentRegion).createTextLine(readId(atts));
 	    	currentGeometricObject = currentTextLine;
 	    	currentTextObject = currentTextLine;
 	    	handleContentObject(currentTextLine, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Word.equals(localName)) {
+	    	break;
+	    case Word:
 	    	currentWord = null;
 	    	if (currentTextLine != null)
 	    		currentWord = currentTextLine.createWord(readId(atts));
 	    	currentGeometricObject = currentWord;
 	    	currentTextObject = currentWord;
 	    	handleContentObject(currentWord, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Glyph.equals(localName)) {
+	    	break;
+	    case Glyph:
 	    	currentGlyph = null;
 	    	if (currentWord != null)
 	    		currentGlyph = currentWord.createGlyph(readId(atts));
 	    	currentGeometricObject = currentGlyph;
 	    	currentTextObject = currentGlyph;
 	    	handleContentObject(currentGlyph, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ReadingOrder.equals(localName)) {
+	    	break;
+	    case ReadingOrder:
 	    	readingOrder = layout.createReadingOrder();
 	    	currentLogicalGroup = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_OrderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_OrderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case OrderedGroup:
+	    case OrderedGroupIndexed: {
 	    	Group group;
 	    	if (currentLogicalGroup == null)  //Root group
 	    		group = readingOrder.getRoot();
@@ -229,9 +237,10 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 	    	group.setOrdered(true);
 	    	currentLogicalGroup = group;
 	    	parseId(group, atts);
+	    	break;
 	    }
-	    else if (	DefaultXmlNames.ELEMENT_UnorderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_UnorderedGroupIndexed.equals(localName)) {
+	    case UnorderedGroup:
+	    case UnorderedGroupIndexed: {
 	    	Group group;
 	    	if (currentLogicalGroup == null)  //Root group
 	    		group = readingOrder.getRoot();
@@ -247,20 +256,22 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 	    	group.setOrdered(false);
 	    	currentLogicalGroup = group;
 	    	parseId(group, atts);
+	    	break;
 	    }
-	    else if (	DefaultXmlNames.ELEMENT_RegionRef.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_RegionRefIndexed.equals(localName)) {
+	    case RegionRef:
+	    case RegionRefIndexed: {
 	    	
 			int i;
 			if ((i = atts.getIndex(DefaultXmlNames.ATTR_regionRef)) >= 0) {
 		    	currentLogicalGroup.addRegionRef(atts.getValue(i));
 			}
+	    	break;
 	    }
-	    else if (DefaultXmlNames.ELEMENT_Layers.equals(localName)) {
+	    case Layers:
 	    	layout.createLayers();
 	    	currentLogicalGroup = null;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Layer.equals(localName)) {
+	    	break;
+	    case Layer: {
 	    	Layer layer = layout.getLayers().createLayer();
 	    	currentLogicalGroup = layer;
 			int i;
@@ -268,6 +279,8 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 				layer.setZIndex(Integer.valueOf(atts.getValue(i)));
 			}
 			parseId(layer, atts);
+	    	break;
+	    }
 	    }
 	}
 	
@@ -281,65 +294,73 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 	      throws SAXException {
+		if (endSkippedElement())
+			return;
 		
 		//Handle accumulated text
 		finishText();
 		
 		insideElement = null;
 		
-	    if (DefaultXmlNames.ELEMENT_Border.equals(localName)) {
+	    switch (PageXmlElement.forName(localName)) {
+	    case Coords:
+	    	//Region not accepted by the filter (e.g. outside the window)?
+	    	if (currentRegion != null && currentGeometricObject == currentRegion)
+	    		skipFilteredRegion(layout, currentRegion);
+	    	break;
+	    case Border:
 	    	layout.setBorder(currentGeometricObject);
 	    	currentGeometricObject = null;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_PrintSpace.equals(localName)) {
+	    	break;
+	    case PrintSpace:
 	    	layout.setPrintSpace(currentGeometricObject);
 	    	currentGeometricObject = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_TextRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_ImageRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_GraphicRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_LineDrawingRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_ChartRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_SeparatorRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_MathsRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_TableRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_FrameRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_NoiseRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_UnknownRegion.equals(localName)
-	    	   ) {
+	    	break;
+	    case TextRegion:
+	    case ImageRegion:
+	    case GraphicRegion:
+	    case LineDrawingRegion:
+	    case ChartRegion:
+	    case SeparatorRegion:
+	    case MathsRegion:
+	    case TableRegion:
+	    case FrameRegion:
+	    case NoiseRegion:
+	    case UnknownRegion:
 	    	currentRegion = null;
 	    	currentGeometricObject = null;
 	    	currentTextObject = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_TextLine.equals(localName)) {
+	    	break;
+	    case TextLine:
 	    	currentTextLine = null;
 	    	currentGeometricObject = currentRegion;	//Set to parent
 	    	currentTextObject = (TextObject)currentRegion;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_Word.equals(localName)) {
+	    	break;
+	    case Word:
 	    	currentWord = null;
 	    	currentGeometricObject = currentTextLine;	//Set to parent
 	    	currentTextObject = currentTextLine;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_Glyph.equals(localName)) {
+	    	break;
+	    case Glyph:
 	    	currentGlyph = null;
 	    	currentGeometricObject = currentWord;	//Set to parent
 	    	currentTextObject = currentWord;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ReadingOrder.equals(localName)) {
+	    	break;
+	    case ReadingOrder:
 	    	currentLogicalGroup = null;
 	    	readingOrder = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_OrderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_OrderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case OrderedGroup:
+	    case OrderedGroupIndexed:
 	    	currentLogicalGroup = currentLogicalGroup.getParent();
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_UnorderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_UnorderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case UnorderedGroup:
+	    case UnorderedGroupIndexed:
 	    	currentLogicalGroup = currentLogicalGroup.getParent();
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Layer.equals(localName)) {
+	    	break;
+	    case Layer:
 	    	currentLogicalGroup = null;
+	    	break;
 	    }
 	}
 	
@@ -352,6 +373,8 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 	 */
 	public void characters(char[] ch, int start, int length)
 	      throws SAXException {
+		if (isInsideSkippedElement())
+			return;
 
 		String strValue = new String(ch, start, length);
 		
@@ -467,11 +490,11 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 		VariableMap map = obj.getAttributes();
 		int p;
 		for (int i=0; i<map.getSize(); i++) {
-			Variable var = map.get(i);
+			Variable var = map.peek(i);
 			String xmlName = getXmlAttributeName(var.getName());
 
 			if ((p = atts.getIndex(xmlName)) >= 0) {
-				var.parseValue(atts.getValue(p));
+				map.get(i).parseValue(atts.getValue(p));
 			}
 		}
 	}
@@ -485,7 +508,7 @@ public class SaxPageHandler_2010_03_19 extends SaxPageHandler {
 	 */
 	private Date parseDate(String str) {
 		try {
-			return DATE_FORMAT.parse(str);
+			return dateFormat.parse(str);
 		} catch (ParseException e) {
 			return new Date();
 		}
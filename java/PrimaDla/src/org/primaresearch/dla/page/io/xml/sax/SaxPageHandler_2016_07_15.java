@@ -69,7 +69,7 @@ import org.xml.sax.SAXException;
  */
 public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 
-	private static DateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+	private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
 	
 	
 	private Page page = null;
@@ -95,6 +95,7 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	private Map<String, ContentObject> contentObjects = new HashMap<String, ContentObject>();
 	
 	private int parsedTextEquivElements = 0;
+	private PointsParser pointsParser = new PointsParser();
 	
 	public SaxPageHandler_2016_07_15(XmlModelAndValidatorProvider validatorProvider, XmlFormatVersion schemaVersion) {
 		this.validatorProvider = validatorProvider;
@@ -120,9 +121,16 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 		//Handle accumulated text
 		finishText();
 		
+		PageXmlElement element = PageXmlElement.forName(localName);
+		
+		//Skip text objects below the depth limit and regions not accepted by the filter
+		if (startSkippedElement(element.getLowLevelTextType(), element.getRegionType(localName)))
+			return;
+		
 		insideElement = localName;
 				
-	    if (DefaultXmlNames.ELEMENT_PcGts.equals(localName)){
+	    switch (element) {
+	    case PcGts: {
 	    	createPageObject();
 			//GtsID
 			int i;
@@ -133,63 +141,64 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 					e.printStackTrace();
 				}
 			}
+	    	break;
 	    }
-	    if (DefaultXmlNames.ELEMENT_Page.equals(localName)){
+	    case Page:
 	    	handlePageElement(atts);
-	    } 
-	    else if (	DefaultXmlNames.ELEMENT_Border.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_PrintSpace.equals(localName)) {
+	    	break;
+	    case Border:
+	    case PrintSpace:
 	    	currentGeometricObject = new GeometricObjectImpl(new Polygon());
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Metadata.equals(localName)) {
+	    	break;
+	    case Metadata: {
 			int i;
 			//External ref
 			if (metaData != null && (i = atts.getIndex(DefaultXmlNames.ATTR_externalRef)) >= 0) {
 				metaData.setExternalRef(atts.getValue(i));
 			}
+	    	break;
 	    }
-	    else if (DefaultXmlNames.ELEMENT_Coords.equals(localName)) {
+	    case Coords:
 	    	handleCoords(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Baseline.equals(localName)) {
+	    	break;
+	    case Baseline:
 	    	handleBaseline(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextRegion.equals(localName)) {
+	    	break;
+	    case TextRegion:
 	    	handleRegion(atts, RegionType.TextRegion);
 	    	currentTextObject = (TextObject)currentRegion;
-	    	
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ImageRegion.equals(localName)) {
+	    	break;
+	    case ImageRegion:
 	    	handleRegion(atts, RegionType.ImageRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_GraphicRegion.equals(localName)) {
+	    	break;
+	    case GraphicRegion:
 	    	handleRegion(atts, RegionType.GraphicRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_LineDrawingRegion.equals(localName)) {
+	    	break;
+	    case LineDrawingRegion:
 	    	handleRegion(atts, RegionType.LineDrawingRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ChartRegion.equals(localName)) {
+	    	break;
+	    case ChartRegion:
 	    	handleRegion(atts, RegionType.ChartRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_SeparatorRegion.equals(localName)) {
+	    	break;
+	    case SeparatorRegion:
 	    	handleRegion(atts, RegionType.SeparatorRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_MathsRegion.equals(localName)) {
+	    	break;
+	    case MathsRegion:
 	    	handleRegion(atts, RegionType.MathsRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TableRegion.equals(localName)) {
+	    	break;
+	    case TableRegion:
 	    	handleRegion(atts, RegionType.TableRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_AdvertRegion.equals(localName)) {
+	    	break;
+	    case AdvertRegion:
 	    	handleRegion(atts, RegionType.AdvertRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ChemRegion.equals(localName)) {
+	    	break;
+	    case ChemRegion:
 	    	handleRegion(atts, RegionType.ChemRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_MusicRegion.equals(localName)) {
+	    	break;
+	    case MusicRegion:
 	    	handleRegion(atts, RegionType.MusicRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_FrameRegion.equals(localName)) {
+	    	break;
+	    case FrameRegion: {
 	    	handleRegion(atts, RegionType.GraphicRegion);
 	    	Variable v = currentRegion.getAttributes().get("type");
 	    	if (v != null)
@@ -199,18 +208,15 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 				} catch (Exception e) {
 				}
 	    	}
+	    	break;
 	    }
-	    else if (DefaultXmlNames.ELEMENT_NoiseRegion.equals(localName)) {
+	    case NoiseRegion:
 	    	handleRegion(atts, RegionType.NoiseRegion);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_UnknownRegion.equals(localName)) {
+	    	break;
+	    case UnknownRegion:
 	    	handleRegion(atts, RegionType.UnknownRegion);
-	    }
-	    else if (localName.endsWith("Region")) {
-	    	//Generic region
-	    	handleRegion(atts, RegionType.getGenericType(localName));
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextLine.equals(localName)) {
+	    	break;
+	    case TextLine:
 	    	currentTextLine = null;
 	    	if (currentRegion != null && currentRegion.getType() == RegionType.TextRegion)
 	    		currentTextLine = ((TextRegion)currentRegion).createTextLine(readId(atts));
@@ -218,8 +224,8 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	    	currentTextObject = currentTextLine;
 	    	contentObjects.put(currentTextLine.getId().toString(), currentTextLine);
 	    	handleAttributeContainer(currentTextLine, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Word.equals(localName)) {
+	    	break;
+	    case Word:
 	    	currentWord = null;
 	    	if (currentTextLine != null)
 	    		currentWord = currentTextLine.createWord(readId(atts));
@@ -227,8 +233,8 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	    	currentTextObject = currentWord;
 	    	contentObjects.put(currentWord.getId().toString(), currentWord);
 	    	handleAttributeContainer(currentWord, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Glyph.equals(localName)) {
+	    	break;
+	    case Glyph:
 	    	currentGlyph = null;
 	    	if (currentWord != null)
 	    		currentGlyph = currentWord.createGlyph(readId(atts));
@@ -236,16 +242,16 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	    	currentTextObject = currentGlyph;
 	    	contentObjects.put(currentGlyph.getId().toString(), currentGlyph);
 	    	handleAttributeContainer(currentGlyph, atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextEquiv.equals(localName)) {
+	    	break;
+	    case TextEquiv:
 	    	handleTextEquiv(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ReadingOrder.equals(localName)) {
+	    	break;
+	    case ReadingOrder:
 	    	readingOrder = layout.createReadingOrder();
 	    	currentLogicalGroup = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_OrderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_OrderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case OrderedGroup:
+	    case OrderedGroupIndexed: {
 	    	Group group;
 	    	if (currentLogicalGroup == null)  //Root group
 	    		group = readingOrder.getRoot();
@@ -266,9 +272,10 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 				group.setCaption(atts.getValue(i));
 			}
 	    	parseId(group, atts);
+	    	break;
 	    }
-	    else if (	DefaultXmlNames.ELEMENT_UnorderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_UnorderedGroupIndexed.equals(localName)) {
+	    case UnorderedGroup:
+	    case UnorderedGroupIndexed: {
 	    	Group group;
 	    	if (currentLogicalGroup == null)  //Root group
 	    		group = readingOrder.getRoot();
@@ -289,9 +296,10 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 				group.setCaption(atts.getValue(i));
 			}
 	    	parseId(group, atts);
+	    	break;
 	    }
-	    else if (	DefaultXmlNames.ELEMENT_RegionRef.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_RegionRefIndexed.equals(localName)) {
+	    case RegionRef:
+	    case RegionRefIndexed: {
 	    	
 	    	int i;
 	    	if (currentRelation != null) {
@@ -304,12 +312,13 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 			    	currentLogicalGroup.addRegionRef(atts.getValue(i));
 				}
 	    	}
+	    	break;
 	    }
-	    else if (DefaultXmlNames.ELEMENT_Layers.equals(localName)) {
+	    case Layers:
 	    	layout.createLayers();
 	    	currentLogicalGroup = null;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Layer.equals(localName)) {
+	    	break;
+	    case Layer: {
 	    	Layer layer = layout.getLayers().createLayer();
 	    	currentLogicalGroup = layer;
 			int i;
@@ -322,15 +331,23 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 				layer.setCaption(atts.getValue(i));
 			}
 			parseId(layer, atts);
+	    	break;
 	    }
-	    else if (DefaultXmlNames.ELEMENT_AlternativeImage.equals(localName)) {
+	    case AlternativeImage:
 	    	handleAlternativeImage(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Relation.equals(localName)) {
+	    	break;
+	    case Relation:
 	    	handleRelationStart(atts);
-	    }
-	    else if (DefaultXmlNames.ELEMENT_TextStyle.equals(localName)) {
+	    	break;
+	    case TextStyle:
 	    	parseTextStyle((ContentObject)currentTextObject, atts);
+	    	break;
+	    default:
+	    	if (localName.endsWith("Region")) {
+		    	//Generic region
+		    	handleRegion(atts, RegionType.getGenericType(localName));
+	    	}
+	    	break;
 	    }
 	}
 	
@@ -344,75 +361,84 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 	      throws SAXException {
+		if (endSkippedElement())
+			return;
 		
 		//Handle accumulated text
 		finishText();
 		
 		insideElement = null;
 		
-	    if (DefaultXmlNames.ELEMENT_Page.equals(localName)) {
+	    switch (PageXmlElement.forName(localName)) {
+	    case Coords:
+	    	//Region not accepted by the filter (e.g. outside the window)?
+	    	if (currentRegion != null && currentGeometricObject == currentRegion
+	    			&& skipFilteredRegion(layout, currentRegion))
+	    		contentObjects.remove(currentRegion.getId().toString());
+	    	break;
+	    case Page:
 	    	finaliseRelations();
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Border.equals(localName)) {
+	    	break;
+	    case Border:
 	    	layout.setBorder(currentGeometricObject);
 	    	currentGeometricObject = null;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_PrintSpace.equals(localName)) {
+	    	break;
+	    case PrintSpace:
 	    	layout.setPrintSpace(currentGeometricObject);
 	    	currentGeometricObject = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_TextRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_ImageRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_GraphicRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_LineDrawingRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_ChartRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_SeparatorRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_MathsRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_TableRegion.equals(localName)
-	    		//|| 	DefaultXmlNames.ELEMENT_FrameRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_NoiseRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_UnknownRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_AdvertRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_ChemRegion.equals(localName)
-	    		|| 	DefaultXmlNames.ELEMENT_MusicRegion.equals(localName)
-	    	   ) {
+	    	break;
+	    case TextRegion:
+	    case ImageRegion:
+	    case GraphicRegion:
+	    case LineDrawingRegion:
+	    case ChartRegion:
+	    case SeparatorRegion:
+	    case MathsRegion:
+	    case TableRegion:
+	    case NoiseRegion:
+	    case UnknownRegion:
+	    case AdvertRegion:
+	    case ChemRegion:
+	    case MusicRegion:
+	    //case FrameRegion:
 	    	handleRegionEnd();
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_TextLine.equals(localName)) {
+	    	break;
+	    case TextLine:
 	    	currentTextLine = null;
 	    	currentGeometricObject = currentRegion;	//Set to parent
 	    	currentTextObject = (TextObject)currentRegion;
 			parsedTextEquivElements = 0;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_Word.equals(localName)) {
+	    	break;
+	    case Word:
 	    	currentWord = null;
 	    	currentGeometricObject = currentTextLine;	//Set to parent
 	    	currentTextObject = currentTextLine;
 			parsedTextEquivElements = 0;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_Glyph.equals(localName)) {
+	    	break;
+	    case Glyph:
 	    	currentGlyph = null;
 	    	currentGeometricObject = currentWord;	//Set to parent
 	    	currentTextObject = currentWord;
 			parsedTextEquivElements = 0;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_ReadingOrder.equals(localName)) {
+	    	break;
+	    case ReadingOrder:
 	    	currentLogicalGroup = null;
 	    	readingOrder = null;
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_OrderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_OrderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case OrderedGroup:
+	    case OrderedGroupIndexed:
 	    	currentLogicalGroup = currentLogicalGroup.getParent();
-	    }
-	    else if (	DefaultXmlNames.ELEMENT_UnorderedGroup.equals(localName)
-	    		||	DefaultXmlNames.ELEMENT_UnorderedGroupIndexed.equals(localName)) {
+	    	break;
+	    case UnorderedGroup:
+	    case UnorderedGroupIndexed:
 	    	currentLogicalGroup = currentLogicalGroup.getParent();
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Layer.equals(localName)) {
+	    	break;
+	    case Layer:
 	    	currentLogicalGroup = null;
-	    }
-	    else if (DefaultXmlNames.ELEMENT_Relation.equals(localName)) {
+	    	break;
+	    case Relation:
 	    	currentRelation = null;
+	    	break;
 	    }
 	}
 	
@@ -425,6 +451,8 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	 */
 	public void characters(char[] ch, int start, int length)
 	      throws SAXException {
+		if (isInsideSkippedElement())
+			return;
 
 		String strValue = new String(ch, start, length);
 		
@@ -571,11 +599,11 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 		VariableMap map = obj.getAttributes();
 		int p;
 		for (int i=0; i<map.getSize(); i++) {
-			Variable var = map.get(i);
+			Variable var = map.peek(i);
 			String xmlName = getXmlAttributeName(var.getName());
 
 			if ((p = atts.getIndex(xmlName)) >= 0) {
-				var.parseValue(atts.getValue(p));
+				map.get(i).parseValue(atts.getValue(p));
 			}
 		}
 	}
@@ -590,11 +618,11 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 		if (objectAttrs != null) {
 			int p;
 			for (int i=0; i<objectAttrs.getSize(); i++) {
-				Variable var = objectAttrs.get(i);
+				Variable var = objectAttrs.peek(i);
 				String xmlName = getXmlAttributeName(var.getName());
 
 				if ((p = atts.getIndex(xmlName)) >= 0) {
-					var.parseValue(atts.getValue(p));
+					objectAttrs.get(i).parseValue(atts.getValue(p));
 				}
 			}
 		}
@@ -680,18 +708,8 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 		//Points
 		int i;
 		if ((i = atts.getIndex(DefaultXmlNames.ATTR_points)) >= 0) {
-			String pointList = atts.getValue(i);
-			
-			//Split using space
-			String[] pointStrings = pointList.split(" ");
-			
-			for (i = 0; i<pointStrings.length; i++) {
-				//Split using comma
-				String[] coords = pointStrings[i].split(",");
-				if (coords.length == 2) {
-					polygon.addPoint(Integer.valueOf(coords[0]), Integer.valueOf(coords[1]));
-				}
-			}
+			pointsParser.parsePagePoints(atts.getValue(i));
+			pointsParser.addPointsTo(polygon);
 		}
 	}
 	
@@ -704,7 +722,7 @@ public class SaxPageHandler_2016_07_15 extends SaxPageHandler {
 	 */
 	private Date parseDate(String str) {
 		try {
-			return DATE_FORMAT.parse(str);
+			return dateFormat.parse(str);
 		} catch (ParseException e) {
 			return new Date();
 		}
@@ -23,6 +23,7 @@ import java.util.List;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 import org.primaresearch.dla.page.layout.physical.text.LowLevelTextObject;
 import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
@@ -76,6 +77,7 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	private GeometricObject currentGeometricObject = null;
 	private Region currentRegion = null;
 	private TextLine currentLine = null;
+	private Rect skippedLinesBox = null;
 	private StringBuffer currentText = null;
 
 	private XmlModelAndValidatorProvider validatorProvider;
@@ -106,6 +108,15 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 		//Handle accumulated text
 		finishText();
 		
+		//Skip text objects below the depth limit and paragraphs not accepted by the filter
+		if (startSkippedElement(ELEMENT_line.equals(localName) ? LowLevelTextType.TextLine : null,
+								ELEMENT_par.equals(localName) ? RegionType.TextRegion : null)) {
+			//Paragraph outlines are composed from the lines, so we still need the line box
+			if (ELEMENT_line.equals(localName))
+				addSkippedTextLine(atts);
+			return;
+		}
+		
 		insideElement = localName;
 				
 	    if (ELEMENT_document.equals(localName)){
@@ -131,6 +142,11 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	    else if (ELEMENT_block.equals(localName)) {
 	    	currentRegion = createRegion(atts);
 	    	currentGeometricObject = currentRegion;
+	    	//Region type not accepted by the filter? (the position is checked at the end of the block)
+	    	if (skipFilteredRegion(layout, currentRegion)) {
+	    		currentRegion = null;
+	    		currentGeometricObject = null;
+	    	}
 	    }
 	    else if (ELEMENT_text.equals(localName)) {
 	    	if (currentRegion != null) {
@@ -141,6 +157,7 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	    }
 	    else if (ELEMENT_par.equals(localName)) {
 	    	currentRegion = layout.createRegion(RegionType.TextRegion);
+	    	skippedLinesBox = null;
 	    }
 	    else if (ELEMENT_line.equals(localName)) {
 	    	if (currentRegion != null && currentRegion instanceof TextRegion) {
@@ -174,6 +191,33 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	}
 	
 	private void createTextLine(Attributes atts) {
+		Rect box = readBox(atts);
+		TextLine line = ((TextRegion)currentRegion).createTextLine();
+		Polygon poly = new Polygon();
+		poly.addPoint(box.left, box.top);
+		poly.addPoint(box.right, box.top);
+		poly.addPoint(box.right, box.bottom);
+		poly.addPoint(box.left, box.bottom);
+		line.setCoords(poly);
+		currentLine = line;
+	}
+	
+	/**
+	 * Remembers the box of a text line that is not read (see filter) for the outline of the paragraph  
+	 */
+	private void addSkippedTextLine(Attributes atts) {
+		Rect box = readBox(atts);
+		if (skippedLinesBox == null)
+			skippedLinesBox = box;
+		else {
+			skippedLinesBox.left = Math.min(skippedLinesBox.left, box.left);
+			skippedLinesBox.top = Math.min(skippedLinesBox.top, box.top);
+			skippedLinesBox.right = Math.max(skippedLinesBox.right, box.right);
+			skippedLinesBox.bottom = Math.max(skippedLinesBox.bottom, box.bottom);
+		}
+	}
+	
+	private Rect readBox(Attributes atts) {
 		int i, l=0, t=0, r=0, b=0;
 		if ((i = atts.getIndex(ATTR_l)) >= 0) {
 			l = Integer.valueOf(atts.getValue(i));
@@ -187,14 +231,7 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 		if ((i = atts.getIndex(ATTR_b)) >= 0) {
 			b = Integer.valueOf(atts.getValue(i));
 		}
-		TextLine line = ((TextRegion)currentRegion).createTextLine();
-		Polygon poly = new Polygon();
-		poly.addPoint(l, t);
-		poly.addPoint(r, t);
-		poly.addPoint(r, b);
-		poly.addPoint(l, b);
-		line.setCoords(poly);
-		currentLine = line;
+		return new Rect(l, t, r, b);
 	}
 	
 	/**
@@ -207,6 +244,8 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 	      throws SAXException {
+		if (endSkippedElement())
+			return;
 		
 		//Handle accumulated text
 		finishText();
@@ -218,6 +257,9 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	    		Polygon polygon = convertToPolygon(currentRects);
 	    		currentGeometricObject.setCoords(polygon);
 	    	}
+	    	//Block region outside the window of the filter?
+	    	if (currentRegion != null && currentGeometricObject == currentRegion && !isRegionAccepted(currentRegion))
+	    		removeRegion(layout, currentRegion);
 	    	currentRegion = null;
 	    	currentGeometricObject = null;
 	    }
@@ -239,6 +281,13 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	    			if (textLine.getCoords().getBoundingBox().bottom > b)
 	    				b = textLine.getCoords().getBoundingBox().bottom;
 	    		}
+	    		if (skippedLinesBox != null) {
+	    			l = Math.min(l, skippedLinesBox.left);
+	    			r = Math.max(r, skippedLinesBox.right);
+	    			t = Math.min(t, skippedLinesBox.top);
+	    			b = Math.max(b, skippedLinesBox.bottom);
+	    			skippedLinesBox = null;
+	    		}
 	    		Polygon poly = new Polygon();
 	    		poly.addPoint(l, t);
 	    		poly.addPoint(r, t);
@@ -248,6 +297,10 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	    		
 	    		
 		    	textReg.setText(textReg.composeText(false, false));
+		    	
+		    	//Paragraph region outside the window of the filter?
+		    	if (!isRegionAccepted(textReg))
+		    		removeRegion(layout, textReg);
 	    	}
 	    }
 	    else if (ELEMENT_line.equals(localName)) {
@@ -279,6 +332,8 @@ public class SaxPageHandler_AbbyyFineReader10 extends SaxPageHandler {
 	 */
 	public void characters(char[] ch, int start, int length)
 	      throws SAXException {
+		if (isInsideSkippedElement())
+			return;
 
 		String strValue = new String(ch, start, length);
 		
@@ -33,6 +33,7 @@ import org.primaresearch.dla.page.layout.physical.ContentIterator;
 import org.primaresearch.dla.page.layout.physical.Region;
 import org.primaresearch.dla.page.layout.physical.impl.ImageRegion;
 import org.primaresearch.dla.page.layout.physical.impl.SeparatorRegion;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
 import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
@@ -74,6 +75,7 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 	private Glyph currentGlyph = null;
 	private Map<String, List<String>> idPartialReadingOrderMap = new HashMap<String, List<String>>();
 	private List<List<String>> partialReadingOrder = new ArrayList<List<String>>();
+	private PointsParser pointsParser = new PointsParser();
 
 	private XmlModelAndValidatorProvider validatorProvider;
 	private XmlFormatVersion schemaVersion;
@@ -130,6 +132,10 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 		
 		//Handle accumulated text
 		finishText();
+		
+		//Skip text objects below the depth limit of the filter
+		if (startSkippedElement(getLowLevelTextType(localName)))
+			return;
 
 	    if (AltoXmlNames.ELEMENT_alto.equals(localName)){
 	    	createPageObject();
@@ -159,16 +165,16 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 	    	handlePrintSpaceNode(atts);
 	    }
 	    else if (AltoXmlNames.ELEMENT_TextBlock.equals(localName)) {
-	    	handleBlockNode(atts, RegionType.TextRegion);
-	    	handleTextBlock(atts);
+	    	if (handleBlockNode(atts, RegionType.TextRegion))
+	    		handleTextBlock(atts);
 	    }
 	    else if (AltoXmlNames.ELEMENT_Illustration.equals(localName)) {
-	    	handleBlockNode(atts, RegionType.ImageRegion);
-	    	handleIllustrationBlock(atts);
+	    	if (handleBlockNode(atts, RegionType.ImageRegion))
+	    		handleIllustrationBlock(atts);
 	    }
 	    else if (AltoXmlNames.ELEMENT_GraphicalElement.equals(localName)) {
-	    	handleBlockNode(atts, RegionType.SeparatorRegion);
-	    	handleGraphicsBlock(atts);
+	    	if (handleBlockNode(atts, RegionType.SeparatorRegion))
+	    		handleGraphicsBlock(atts);
 	    }
 	    else if (AltoXmlNames.ELEMENT_ComposedBlock.equals(localName)) {
 	    	//At the moment we do not create a region for composed blocks.
@@ -198,6 +204,19 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 	}
 	
 	
+	/**
+	 * Returns the type of text object the given ALTO element represents (null if not a text object)
+	 */
+	private static LowLevelTextType getLowLevelTextType(String localName) {
+		if (AltoXmlNames.ELEMENT_TextLine.equals(localName))
+			return LowLevelTextType.TextLine;
+		if (AltoXmlNames.ELEMENT_String.equals(localName) || AltoXmlNames.ELEMENT_HYP.equals(localName))
+			return LowLevelTextType.Word;
+		if (AltoXmlNames.ELEMENT_Glyph.equals(localName))
+			return LowLevelTextType.Glyph;
+		return null;
+	}
+	
 	/**
 	 * Receive notification of the end of an element.
 	 * 
@@ -209,6 +228,8 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 	public void endElement(String namespaceURI, String localName, String qName)
 	      throws SAXException {
 		
+		if (endSkippedElement())
+			return;
 	
 		//Handle accumulated text
 		finishText();
@@ -293,7 +314,7 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 	public void characters(char[] ch, int start, int length)
 	      throws SAXException {
 		
-		if (firstPageDone) //No multi-page support
+		if (firstPageDone || isInsideSkippedElement()) //No multi-page support / skipped content
 			return;
 
 		String strValue = new String(ch, start, length);
@@ -440,7 +461,11 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 		return polygon;
 	}
 	
-	private void handleBlockNode(Attributes atts, RegionType type) {
+	/**
+	 * Creates a region for a block
+	 * @return False, if the region has been skipped (not accepted by the filter)
+	 */
+	private boolean handleBlockNode(Attributes atts, RegionType type) {
 		int i;
 		//Id
 		String id = null;
@@ -467,6 +492,8 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 		if ((i = atts.getIndex(AltoXmlNames.ATTR_VPOS)) >= 0) 
 			t = (int)Double.parseDouble(atts.getValue(i));
 		currentRegion.setCoords(createPolygonFromBoundingBox(l, t, w, h));
+		
+		return !skipFilteredRegion(layout, currentRegion);
 	}
 
 	private void handleTextBlock(Attributes atts) {
@@ -622,9 +649,8 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 				updatedRight = parentLine.getCoords().getBoundingBox().right;
 		}
 		if (polygon.getBoundingBox().right < updatedRight) {
-			polygon.getPoint(1).x = updatedRight;   
-			polygon.getPoint(2).x = updatedRight;
-			lastWord.getCoords().setBoundingBoxOutdated();
+			polygon.setPoint(1, updatedRight, polygon.getY(1));
+			polygon.setPoint(2, updatedRight, polygon.getY(2));
 		}
 	}
 	
@@ -970,34 +996,9 @@ public class SaxPageHandler_Alto_2_1 extends SaxPageHandler {
 		if ((i = atts.getIndex(AltoXmlNames.ATTR_POINTS)) < 0)
 			return;
 					
-		String points = atts.getValue(i);
-		
-		if (points.indexOf(" ") < 0) //Spaces assumed for separating points
-			return;
-		if (points.indexOf(",") < 0) //Commas assumed for separating x and y of a point
-			return;
-
-		//Split into points
-		String[] splitPoints = points.split(" ");
-		
-		if (splitPoints.length < 3)
-			return;
-		
-		Polygon polygon = new Polygon();
-		for (i=0; i<splitPoints.length; i++) {
-			//Split into x and y
-			String[] xy = splitPoints[i].split(",");
-			
-			if (xy.length != 2)
-				continue;
-			
-			int x = (int)Double.parseDouble(xy[0]);
-			int y = (int)Double.parseDouble(xy[1]);
-			
-			polygon.addPoint(x, y);
-		}
-		
-		if (polygon.getSize() >= 3) {
+		//Space separated points with comma separated x and y
+		if (pointsParser.parseAltoPoints(atts.getValue(i)) >= 3) {
+			Polygon polygon = pointsParser.toPolygon();
 			if (currentGlyph != null)
 				currentGlyph.setCoords(polygon);
 			else if (currentWord != null)
@@ -22,6 +22,7 @@ import java.util.List;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.io.xml.PageXmlInputOutput;
 import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 import org.primaresearch.dla.page.layout.physical.text.LowLevelTextObject;
 import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
@@ -71,6 +72,7 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 	private TextLine currentLine = null;
 	private Word currentWord = null;
 	private StringBuffer currentText = null;
+	private PointsParser pointsParser = new PointsParser();
 
 	@Override
 	public Page getPageObject() {
@@ -93,6 +95,9 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 		//Handle accumulated text
 		//finishText();
 		
+		//Skip text objects below the depth limit and regions not accepted by the filter
+		if (startSkippedElement(getLowLevelTextType(localName, atts), getRegionType(localName, atts)))
+			return;
 				
 	    if (ELEMENT_html.equals(localName)){
 	    	page = new Page(PageXmlInputOutput.getLatestSchemaModel());
@@ -137,6 +142,31 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 
 	}
 	
+	/**
+	 * Returns the type of text object the given hOCR element represents (null if not a text object)
+	 */
+	private static LowLevelTextType getLowLevelTextType(String localName, Attributes atts) {
+		int i;
+		if (ELEMENT_span.equals(localName) && (i = atts.getIndex(ATTR_class)) >= 0) {
+			String elementClass = atts.getValue(i);
+			if (CLASS_line.equals(elementClass) || CLASS_textFloat.equals(elementClass))
+				return LowLevelTextType.TextLine;
+			if (CLASS_word.equals(elementClass))
+				return LowLevelTextType.Word;
+		}
+		return null;
+	}
+	
+	/**
+	 * Returns the type of region the given hOCR element represents (null if not a region)
+	 */
+	private static RegionType getRegionType(String localName, Attributes atts) {
+		int i;
+		if (ELEMENT_p.equals(localName) && (i = atts.getIndex(ATTR_class)) >= 0 && CLASS_paragraph.equals(atts.getValue(i)))
+			return RegionType.TextRegion;
+		return null;
+	}
+	
 	/**
 	 * Receive notification of the end of an element.
 	 * 
@@ -147,6 +177,8 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 	 */
 	public void endElement(String namespaceURI, String localName, String qName)
 	      throws SAXException {
+		if (endSkippedElement())
+			return;
 		//Handle accumulated text
 		//finishText();
 		
@@ -202,6 +234,8 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 	 */
 	public void characters(char[] ch, int start, int length)
 	      throws SAXException {
+		if (isInsideSkippedElement())
+			return;
 
 		String strValue = new String(ch, start, length);
 		
@@ -327,9 +361,8 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 				}
 				//Bounding box
 				else if (part.startsWith("bbox")) {
-					String coords[] = part.split(" ");
-					if (coords.length == 5) {
-						layout.setSize(Integer.valueOf(coords[3]), Integer.valueOf(coords[4]));	//This should be +1 but they seem to use x2/y2 as width/height
+					if (pointsParser.parseHocrBoundingBox(part)) {
+						layout.setSize(pointsParser.getX(2), pointsParser.getY(2));	//This should be +1 but they seem to use x2/y2 as width/height
 					}
 				}
 			}
@@ -360,7 +393,9 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 			if (coords != null)
 				currentTextRegion.setCoords(coords);
 		}
-
+		
+		//Skip the content if the region is outside the window of the filter
+		skipFilteredRegion(layout, currentTextRegion);
 	}
 	
 	/**
@@ -420,27 +455,9 @@ public class SaxPageHandler_Hocr extends SaxPageHandler {
 	 * @return Box shaped polygon or null 
 	 */
 	private Polygon parseCoords(String coordsString) {
-		Polygon ret = null;
-		String toplevelParts[] = coordsString.split(";");
-		for (int i=0; i<toplevelParts.length; i++) {
-		
-			if (toplevelParts[i].startsWith("bbox")) {
-				String parts[] = toplevelParts[i].split(" ");
-				if (parts.length == 5) {
-					ret = new Polygon();
-					int x1 = Integer.valueOf(parts[1]);
-					int y1 = Integer.valueOf(parts[2]);
-					int x2 = Integer.valueOf(parts[3]);
-					int y2 = Integer.valueOf(parts[4]);
-					ret.addPoint(x1,y1);
-					ret.addPoint(x2,y1);
-					ret.addPoint(x2,y2);
-					ret.addPoint(x1,y2);
-				}
-				break;
-			}
-		}
-		return ret;
+		if (pointsParser.parseHocrBoundingBox(coordsString))
+			return pointsParser.toPolygon();
+		return null;
 	}
 
 
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.primaresearch.dla.page.layout.logical.Group;
+import org.primaresearch.dla.page.layout.logical.GroupMember;
+import org.primaresearch.dla.page.layout.logical.Layer;
+import org.primaresearch.dla.page.layout.logical.Layers;
+import org.primaresearch.dla.page.layout.logical.RegionRef;
+import org.primaresearch.dla.page.layout.physical.ContentIterator;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.PolygonRasterizer;
+
+/**
+ * Renders the regions of a page layout into a label mask (e.g. for pixel-level ground truth).<br>
+ * <br>
+ * Each region is filled with its label using a scanline fill (same pixels as {@link Polygon#isPointInside(int, int)}).
+ * Regions are drawn back to front: regions that are not part of a layer first, then the regions of each layer 
+ * in z-index order. Within these groups, regions are drawn in document order (nested regions after their parent).
+ * Pixels outside all regions are left unchanged.<br>
+ * <br>
+ * The renderer works on a snapshot of the region outlines taken at construction time. Rendering does not modify 
+ * the renderer, so different tiles can be rendered concurrently.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class LabelMaskRenderer {
+
+	/** Label mode */
+	public static enum LabelMode {
+		/** Label by region type (see {@link LabelMaskRenderer#setTypeLabel(RegionType, int)}) */
+		REGION_TYPE,
+		/** Label by position of the region in document order (1 for the first region, 2 for the second, ...) */
+		REGION_INDEX
+	}
+	
+	/** Number of mask rows per task for parallel rendering */
+	public static final int DEFAULT_STRIP_HEIGHT = 256;
+
+	/** Standard region types and their default labels (position in the array + 1) */
+	private static final RegionType[] DEFAULT_TYPE_ORDER = new RegionType[] {
+		RegionType.TextRegion, RegionType.ImageRegion, RegionType.GraphicRegion, RegionType.LineDrawingRegion, 
+		RegionType.ChartRegion, RegionType.TableRegion, RegionType.MathsRegion, RegionType.SeparatorRegion, 
+		RegionType.AdvertRegion, RegionType.ChemRegion, RegionType.MusicRegion, RegionType.MapRegion, 
+		RegionType.NoiseRegion, RegionType.UnknownRegion, RegionType.CustomRegion
+	};
+	
+	private LabelMode labelMode;
+	private Map<RegionType, Integer> typeLabels = new HashMap<RegionType, Integer>();
+	
+	/** Regions in document order */
+	private List<Region> regions = new ArrayList<Region>();
+	/** Region indices (document order) in drawing order */
+	private int[] drawingOrder;
+	/** Outlines (interleaved coordinates) per region (document order) */
+	private int[][] outlines;
+	/** Bounding boxes (left, top, right, bottom) per region (document order) */
+	private int[] boundingBoxes;
+	
+	/**
+	 * Constructor for labelling by region type
+	 * @param layout Page layout to render
+	 */
+	public LabelMaskRenderer(PageLayout layout) {
+		this(layout, LabelMode.REGION_TYPE);
+	}
+	
+	/**
+	 * Constructor
+	 * @param layout Page layout to render
+	 * @param labelMode Label by region type or by region index
+	 */
+	public LabelMaskRenderer(PageLayout layout, LabelMode labelMode) {
+		this.labelMode = labelMode;
+		for (int i=0; i<DEFAULT_TYPE_ORDER.length; i++)
+			typeLabels.put(DEFAULT_TYPE_ORDER[i], i+1);
+		init(layout);
+	}
+	
+	/**
+	 * Takes the snapshot of the region outlines and determines the drawing order.
+	 */
+	private void init(PageLayout layout) {
+		for (ContentIterator it = layout.iterator(null); it.hasNext(); ) 
+			regions.add((Region)it.next());
+		
+		int count = regions.size();
+		outlines = new int[count][];
+		boundingBoxes = new int[4*count];
+		for (int i=0; i<count; i++) {
+			Polygon coords = regions.get(i).getCoords();
+			if (coords == null || coords.getSize() < 3)
+				continue;
+			int[] points = coords.getCoordinates();
+			int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+			for (int p=0; p<points.length; p+=2) {
+				left = Math.min(left, points[p]);
+				right = Math.max(right, points[p]);
+				top = Math.min(top, points[p+1]);
+				bottom = Math.max(bottom, points[p+1]);
+			}
+			outlines[i] = points;
+			boundingBoxes[4*i] = left;
+			boundingBoxes[4*i+1] = top;
+			boundingBoxes[4*i+2] = right;
+			boundingBoxes[4*i+3] = bottom;
+		}
+		
+		//Z-index of the layer of each region (regions without layer are drawn first)
+		Map<String, Integer> layerZIndexes = new HashMap<String, Integer>();
+		Layers layers = layout.getLayers();
+		if (layers != null) {
+			for (int l=0; l<layers.getSize(); l++) {
+				Layer layer = layers.getLayer(l);
+				collectRegionIds(layer, layer.getZIndex(), layerZIndexes);
+			}
+		}
+		final long[] zOrder = new long[count];
+		Integer[] order = new Integer[count];
+		for (int i=0; i<count; i++) {
+			Integer z = layerZIndexes.get(regions.get(i).getId().toString());
+			zOrder[i] = z != null ? z.longValue() : Long.MIN_VALUE;
+			order[i] = i;
+		}
+		//Stable sort (keeps document order within each layer)
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return Long.compare(zOrder[o1], zOrder[o2]);
+			}
+		});
+		drawingOrder = new int[count];
+		for (int i=0; i<count; i++)
+			drawingOrder[i] = order[i];
+	}
+	
+	/**
+	 * Adds the IDs of all regions referenced by the given group and its child groups to the map
+	 * (the highest z-index wins if a region is referenced by several layers).
+	 */
+	private static void collectRegionIds(Group group, int zIndex, Map<String, Integer> target) {
+		for (int i=0; i<group.getSize(); i++) {
+			GroupMember member = group.getMember(i);
+			if (member instanceof RegionRef) {
+				String id = ((RegionRef)member).getRegionId().toString();
+				Integer existing = target.get(id);
+				if (existing == null || existing.intValue() < zIndex)
+					target.put(id, zIndex);
+			}
+			else if (member instanceof Group)
+				collectRegionIds((Group)member, zIndex, target);
+		}
+	}
+	
+	/**
+	 * Returns the label mode (by region type or by region index)
+	 */
+	public LabelMode getLabelMode() {
+		return labelMode;
+	}
+
+	/**
+	 * Sets the label mode (by region type or by region index)
+	 */
+	public void setLabelMode(LabelMode labelMode) {
+		this.labelMode = labelMode;
+	}
+	
+	/**
+	 * Returns the label for the given region type (label mode {@link LabelMode#REGION_TYPE}).
+	 * By default, the standard types are labelled 1 (text) to 15 (custom) in the order they are declared in {@link RegionType}.
+	 * @return Label or 0 if regions of the given type are not rendered
+	 */
+	public int getTypeLabel(RegionType type) {
+		Integer label = typeLabels.get(type);
+		return label != null ? label.intValue() : 0;
+	}
+	
+	/**
+	 * Sets the label for the given region type (label mode {@link LabelMode#REGION_TYPE}).
+	 * @param label New label (use 0 to exclude regions of this type from rendering)
+	 */
+	public void setTypeLabel(RegionType type, int label) {
+		if (label == 0)
+			typeLabels.remove(type);
+		else
+			typeLabels.put(type, label);
+	}
+	
+	/**
+	 * Returns the number of regions (including nested regions)
+	 */
+	public int getRegionCount() {
+		return regions.size();
+	}
+	
+	/**
+	 * Returns the region for the given label (label mode {@link LabelMode#REGION_INDEX}).
+	 * @param label Region label (1 for the first region in document order) 
+	 * @return Region or <code>null</code> if the label is out of range
+	 */
+	public Region getRegion(int label) {
+		if (label < 1 || label > regions.size())
+			return null;
+		return regions.get(label-1);
+	}
+	
+	/**
+	 * Renders the whole page into an integer mask. 
+	 * @param mask Row-major label mask (at least width * height)
+	 * @param width Mask width
+	 * @param height Mask height
+	 */
+	public void render(int[] mask, int width, int height) {
+		render(mask, 0, 0, width, height);
+	}
+	
+	/**
+	 * Renders a tile of the page into an integer mask. 
+	 * @param mask Row-major label mask for the tile (at least width * height)
+	 * @param left Position of the tile on the page
+	 * @param top Position of the tile on the page
+	 * @param width Tile width
+	 * @param height Tile height
+	 */
+	public void render(int[] mask, int left, int top, int width, int height) {
+		renderTile(new IntMaskWriter(mask, left, top, width), left, top, width, height);
+	}
+	
+	/**
+	 * Renders the whole page into a byte mask (labels are truncated to 8 bit).
+	 * @param mask Row-major label mask (at least width * height)
+	 * @param width Mask width
+	 * @param height Mask height
+	 */
+	public void render(byte[] mask, int width, int height) {
+		render(mask, 0, 0, width, height);
+	}
+	
+	/**
+	 * Renders a tile of the page into a byte mask (labels are truncated to 8 bit).
+	 * @param mask Row-major label mask for the tile (at least width * height)
+	 * @param left Position of the tile on the page
+	 * @param top Position of the tile on the page
+	 * @param width Tile width
+	 * @param height Tile height
+	 */
+	public void render(byte[] mask, int left, int top, int width, int height) {
+		renderTile(new ByteMaskWriter(mask, left, top, width), left, top, width, height);
+	}
+	
+	/**
+	 * Renders a tile of the page into an image. For single-band images (e.g. grey scale or indexed), 
+	 * the labels are written as sample values. For other images, the labels are written as RGB values.
+	 * @param image Target image (covers the page area starting at left, top)
+	 * @param left Position of the image on the page
+	 * @param top Position of the image on the page
+	 */
+	public void render(BufferedImage image, int left, int top) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] buffer = new int[width * height];
+		WritableRaster raster = image.getRaster();
+		boolean singleBand = raster.getNumBands() == 1;
+		if (singleBand)
+			raster.getSamples(0, 0, width, height, 0, buffer);
+		else
+			image.getRGB(0, 0, width, height, buffer, 0, width);
+		
+		renderTile(new IntMaskWriter(buffer, left, top, width), left, top, width, height);
+		
+		if (singleBand)
+			raster.setSamples(0, 0, width, height, 0, buffer);
+		else {
+			for (int i=0; i<buffer.length; i++)
+				buffer[i] |= 0xFF000000;
+			image.setRGB(0, 0, width, height, buffer, 0, width);
+		}
+	}
+
+	/**
+	 * Renders the whole page into an integer mask using the given executor (the mask is split into horizontal strips).
+	 * @param mask Row-major label mask (at least width * height)
+	 * @param width Mask width
+	 * @param height Mask height
+	 * @param executor Executor for the rendering tasks
+	 * @throws InterruptedException Interrupted while waiting for the tasks
+	 * @throws ExecutionException Rendering of a strip failed
+	 */
+	public void render(final int[] mask, final int width, int height, ExecutorService executor) throws InterruptedException, ExecutionException {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		for (int y=0; y<height; y+=DEFAULT_STRIP_HEIGHT) {
+			final int top = y;
+			final int stripHeight = Math.min(DEFAULT_STRIP_HEIGHT, height - y);
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					renderTile(new IntMaskWriter(mask, 0, 0, width), 0, top, width, stripHeight);
+					return null;
+				}
+			});
+		}
+		runAll(tasks, executor);
+	}
+	
+	/**
+	 * Renders the whole page into a byte mask using the given executor (the mask is split into horizontal strips).
+	 * @param mask Row-major label mask (at least width * height)
+	 * @param width Mask width
+	 * @param height Mask height
+	 * @param executor Executor for the rendering tasks
+	 * @throws InterruptedException Interrupted while waiting for the tasks
+	 * @throws ExecutionException Rendering of a strip failed
+	 */
+	public void render(final byte[] mask, final int width, int height, ExecutorService executor) throws InterruptedException, ExecutionException {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		for (int y=0; y<height; y+=DEFAULT_STRIP_HEIGHT) {
+			final int top = y;
+			final int stripHeight = Math.min(DEFAULT_STRIP_HEIGHT, height - y);
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					renderTile(new ByteMaskWriter(mask, 0, 0, width), 0, top, width, stripHeight);
+					return null;
+				}
+			});
+		}
+		runAll(tasks, executor);
+	}
+	
+	/**
+	 * Runs the given tasks and waits for all of them to finish.
+	 */
+	private static void runAll(List<Callable<Object>> tasks, ExecutorService executor) throws InterruptedException, ExecutionException {
+		List<Future<Object>> results = executor.invokeAll(tasks);
+		for (Future<Object> result : results)
+			result.get(); //Throws an exception if a task failed
+	}
+	
+	/**
+	 * Draws all regions intersecting the given page area.
+	 */
+	private void renderTile(MaskWriter writer, int left, int top, int width, int height) {
+		if (width <= 0 || height <= 0)
+			return;
+		int right = left + width - 1;
+		int bottom = top + height - 1;
+		for (int i=0; i<drawingOrder.length; i++) {
+			int index = drawingOrder[i];
+			int[] points = outlines[index];
+			if (points == null)
+				continue;
+			//Tile intersects bounding box?
+			if (boundingBoxes[4*index] >= right || boundingBoxes[4*index+1] >= bottom 
+					|| boundingBoxes[4*index+2] < left || boundingBoxes[4*index+3] < top)
+				continue;
+			int label = getLabel(index);
+			if (label == 0)
+				continue;
+			writer.label = label;
+			PolygonRasterizer.rasterize(points, points.length / 2, left, top, right, bottom, writer);
+		}
+	}
+	
+	/**
+	 * Returns the label of the region at the given position (document order).
+	 */
+	private int getLabel(int index) {
+		if (labelMode == LabelMode.REGION_INDEX)
+			return index + 1;
+		return getTypeLabel((RegionType)regions.get(index).getType());
+	}
+	
+	/**
+	 * Span handler writing the current label into a mask.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static abstract class MaskWriter implements PolygonRasterizer.SpanHandler {
+		protected int label;
+		protected final int left;
+		protected final int top;
+		protected final int stride;
+		
+		MaskWriter(int left, int top, int stride) {
+			this.left = left;
+			this.top = top;
+			this.stride = stride;
+		}
+	}
+	
+	/**
+	 * Writes labels into an integer array.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static final class IntMaskWriter extends MaskWriter {
+		private final int[] mask;
+
+		IntMaskWriter(int[] mask, int left, int top, int stride) {
+			super(left, top, stride);
+			this.mask = mask;
+		}
+
+		@Override
+		public void fillSpan(int y, int x1, int x2) {
+			int offset = (y - top) * stride - left;
+			Arrays.fill(mask, offset + x1, offset + x2 + 1, label);
+		}
+	}
+	
+	/**
+	 * Writes labels into a byte array.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static final class ByteMaskWriter extends MaskWriter {
+		private final byte[] mask;
+
+		ByteMaskWriter(byte[] mask, int left, int top, int stride) {
+			super(left, top, stride);
+			this.mask = mask;
+		}
+
+		@Override
+		public void fillSpan(int y, int x1, int x2) {
+			int offset = (y - top) * stride - left;
+			Arrays.fill(mask, offset + x1, offset + x2 + 1, (byte)label);
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.impl.TableGrid.TableGridRow;
+import org.primaresearch.dla.page.layout.physical.impl.TableRegion;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextContainer;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextObject;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.Grapheme;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeElement;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeGroup;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.shared.GeometricObject;
+import org.primaresearch.maths.geometry.AffineTransformation;
+import org.primaresearch.maths.geometry.Polygon;
+
+/**
+ * Applies an affine transformation to all coordinates of a page layout in one traversal 
+ * (see {@link PageLayout#transform(AffineTransformation)}).
+ * 
+ * @author Christian Clausner
+ *
+ */
+final class LayoutTransformer {
+
+	private final AffineTransformation transformation;
+	
+	LayoutTransformer(AffineTransformation transformation) {
+		this.transformation = transformation;
+	}
+	
+	/**
+	 * Transforms border, print space, and all regions.
+	 */
+	void run(PageLayout layout) {
+		transform(layout.getBorder());
+		transform(layout.getPrintSpace());
+		for (int i=0; i<layout.getRegionCount(); i++)
+			transform(layout.getRegion(i));
+	}
+	
+	/**
+	 * Transforms border, print space, and all regions (one task per top-level region).
+	 * @param executor Executor for the region tasks (<code>null</code> to transform sequentially)
+	 */
+	void run(PageLayout layout, ExecutorService executor) throws InterruptedException, ExecutionException {
+		if (executor == null) {
+			run(layout);
+			return;
+		}
+		transform(layout.getBorder());
+		transform(layout.getPrintSpace());
+		
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(layout.getRegionCount());
+		for (int i=0; i<layout.getRegionCount(); i++) {
+			final Region region = layout.getRegion(i);
+			tasks.add(new Callable<Object>() {
+				@Override
+				public Object call() throws Exception {
+					transform(region);
+					return null;
+				}
+			});
+		}
+		List<Future<Object>> results = executor.invokeAll(tasks);
+		for (Future<Object> result : results)
+			result.get(); //Throws an exception if a task failed
+	}
+	
+	/**
+	 * Transforms the outline of the given region, its table grid, text objects and nested regions.
+	 */
+	private void transform(Region region) {
+		transform((GeometricObject)region);
+		
+		if (region instanceof TableRegion && ((TableRegion)region).getGrid() != null) {
+			for (TableGridRow row : ((TableRegion)region).getGrid().getRows())
+				transform(row);
+		}
+		
+		if (region instanceof LowLevelTextContainer)
+			transformChildren((LowLevelTextContainer)region);
+		
+		for (int i=0; i<region.getRegionCount(); i++)
+			transform(region.getRegion(i)); //Recursion
+	}
+	
+	/**
+	 * Transforms the text lines, words, glyphs, or graphemes of the given container (recursive).
+	 */
+	private void transformChildren(LowLevelTextContainer container) {
+		for (int i=0; i<container.getTextObjectCount(); i++) {
+			LowLevelTextObject obj = container.getTextObject(i);
+			transform(obj);
+			
+			if (obj instanceof TextLine) {
+				TextLine textLine = (TextLine)obj;
+				Polygon baseline = transform(textLine.getBaseline());
+				if (baseline != textLine.getBaseline())
+					textLine.setBaseline(baseline);
+			}
+			else if (obj instanceof Glyph && ((Glyph)obj).hasGraphemes())
+				transformGraphemes(((Glyph)obj).getGraphemes());
+			
+			if (obj instanceof LowLevelTextContainer)
+				transformChildren((LowLevelTextContainer)obj);
+		}
+	}
+	
+	private void transformGraphemes(List<GraphemeElement> graphemes) {
+		for (GraphemeElement el : graphemes) {
+			if (el instanceof Grapheme)
+				transform((Grapheme)el);
+			else if (el instanceof GraphemeGroup)
+				transformGraphemes(((GraphemeGroup)el).getGraphemes());
+		}
+	}
+	
+	/**
+	 * Transforms the outline of the given object (frozen outlines are replaced)
+	 */
+	private void transform(GeometricObject obj) {
+		if (obj == null)
+			return;
+		Polygon coords = transform(obj.getCoords());
+		if (coords != obj.getCoords())
+			obj.setCoords(coords);
+	}
+	
+	/**
+	 * Transforms the given polygon in place or, if frozen, returns a transformed frozen copy.
+	 */
+	private Polygon transform(Polygon polygon) {
+		if (polygon == null)
+			return null;
+		if (!polygon.isFrozen()) {
+			polygon.transform(transformation);
+			return polygon;
+		}
+		Polygon copy = polygon.clone();
+		copy.transform(transformation);
+		copy.setConfidence(polygon.getConfidence());
+		return copy.freeze();
+	}
+}
@@ -18,13 +18,19 @@ package org.primaresearch.dla.page.layout;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.primaresearch.collections.CompactingIndexedMap;
 import org.primaresearch.collections.IndexedMap;
-import org.primaresearch.collections.IndexedMapImpl;
 import org.primaresearch.dla.page.layout.logical.ContentObjectRelation;
 import org.primaresearch.dla.page.layout.logical.ContentObjectRelation.RelationType;
 import org.primaresearch.dla.page.layout.logical.Group;
@@ -37,8 +43,10 @@ import org.primaresearch.dla.page.layout.logical.Relations;
 import org.primaresearch.dla.page.layout.physical.ContentFactory;
 import org.primaresearch.dla.page.layout.physical.ContentIterator;
 import org.primaresearch.dla.page.layout.physical.ContentObject;
+import org.primaresearch.dla.page.layout.physical.ContentObjectIndex;
 import org.primaresearch.dla.page.layout.physical.Region;
 import org.primaresearch.dla.page.layout.physical.RegionContainer;
+import org.primaresearch.dla.page.layout.physical.impl.ContentSpliterator;
 import org.primaresearch.dla.page.layout.physical.impl.LowLevelTextObjectIterator;
 import org.primaresearch.dla.page.layout.physical.impl.RegionIterator;
 import org.primaresearch.dla.page.layout.physical.shared.ContentType;
@@ -49,6 +57,8 @@ import org.primaresearch.dla.page.layout.physical.text.LowLevelTextObject;
 import org.primaresearch.dla.page.layout.shared.GeometricObject;
 import org.primaresearch.ident.Id;
 import org.primaresearch.ident.IdRegister.InvalidIdException;
+import org.primaresearch.ident.Identifiable;
+import org.primaresearch.maths.geometry.AffineTransformation;
 import org.primaresearch.maths.geometry.Dimension;
 import org.primaresearch.maths.geometry.Polygon;
 
@@ -67,12 +77,18 @@ public class PageLayout {
 	
 	private ContentFactory contentFactory;
 	
-	private IndexedMap<Id, Region> regions = new IndexedMapImpl<Id, Region>();
+	private IndexedMap<Id, Region> regions = new CompactingIndexedMap<Id, Region>();
 	
 	private ReadingOrder readingOrder = null;
 	private Layers layers = null;
 	private Relations relations = null;
 	
+	/** Spatial indexes for all regions, text lines, words and glyphs (created on demand) */
+	private SpatialIndex[] spatialIndexes = null;
+	/** Spatial indexes for specific region types (map [type name, index], created on demand) */
+	private Map<String, SpatialIndex> regionTypeSpatialIndexes = null;
+	private boolean spatialIndexEnabled = false;
+	
 	private static Comparator<ContentObject> contentObjectSizeComparator = null;
 	
 	/**
@@ -117,8 +133,10 @@ public class PageLayout {
 				e.printStackTrace(); 
 			}
 		}
-		if (parentRegion == null )
+		if (parentRegion == null ) {
 			regions.put(reg.getId(), reg);
+			contentFactory.contentAdded(reg, null);
+		}
 		else
 			parentRegion.addRegion(reg);
 		return reg;
@@ -149,7 +167,7 @@ public class PageLayout {
 	/**
 	 * Returns the region with the given ID.
 	 * @param regionId
-	 * @param includeNested Set to true to also look in nested regions (slower)
+	 * @param includeNested Set to true to also look in nested regions (uses the ID index, see {@link #getObjectIndex()})
 	 */
 	public Region getRegion(Id regionId, boolean includeNested) {
 		if (regionId == null)
@@ -157,25 +175,9 @@ public class PageLayout {
 		if (regions.containsKey(regionId))
 			return regions.get(regionId);
 		if (includeNested) {
-			for (Region parent : regions.values()) {
-				Region reg = getNestedRegion(regionId, parent);
-				if (reg != null)
-					return reg;
-			}
-		}
-		return null;
-	}
-	
-	private Region getNestedRegion(Id regionId, Region parent) {
-		
-		for (int i=0; i<parent.getRegionCount(); i++) {
-			Region nested = parent.getRegion(i);
-			if (nested.getId().equals(regionId))
-				return nested;
-			//Recursion
-			Region reg = getNestedRegion(regionId, nested);
-			if (reg != null)
-				return reg;
+			Identifiable obj = getObjectIndex().getObject(regionId.toString());
+			if (obj instanceof Region)
+				return (Region)obj;
 		}
 		return null;
 	}
@@ -199,12 +201,19 @@ public class PageLayout {
 	 */
 	public Region getRegionAt(int x, int y) {
 		List<Region> candidates = new LinkedList<Region>();
-		for (ContentIterator it = this.iterator(null); it.hasNext(); ) {
-			ContentObject region = it.next();
-			if (region.getCoords() != null) {
-				Polygon coords = region.getCoords();
-				if (coords.isPointInside(x, y)) {
-					candidates.add((Region)region);
+		if (spatialIndexEnabled) {
+			List<ContentObject> objects = getSpatialIndex(null).getObjectsAt(x, y);
+			for (int i=0; i<objects.size(); i++)
+				candidates.add((Region)objects.get(i));
+		}
+		else {
+			for (ContentIterator it = this.iterator(null); it.hasNext(); ) {
+				ContentObject region = it.next();
+				if (region.getCoords() != null) {
+					Polygon coords = region.getCoords();
+					if (coords.isPointInside(x, y)) {
+						candidates.add((Region)region);
+					}
 				}
 			}
 		}
@@ -236,6 +245,10 @@ public class PageLayout {
 		if (type instanceof RegionType)
 			return getRegionAt(x, y);
 		else if (type instanceof LowLevelTextType) { //Text lines, word, glyph
+			if (spatialIndexEnabled && getSpatialIndexLevel(type) > 0) {
+				List<ContentObject> objects = getSpatialIndex(type).getObjectsAt(x, y);
+				return objects.isEmpty() ? null : objects.get(0);
+			}
 			for (ContentIterator it = this.iterator(RegionType.TextRegion); it.hasNext(); ) {
 				Region reg = (Region)it.next(); 
 				if (reg instanceof LowLevelTextContainer) {
@@ -249,7 +262,7 @@ public class PageLayout {
 	}
 	
 	/**
-	 * Returns the content object of given type and ID 
+	 * Returns the content object of given type and ID (uses the ID index, see {@link #getObjectIndex()})
 	 * @param type Object type (e.g. region or text line)
 	 * @param id Object id
 	 * @return The object or <code>null</code> if it could not be found
@@ -258,20 +271,17 @@ public class PageLayout {
 		if (type instanceof RegionType)
 			return getRegion(id);
 		else if (type instanceof LowLevelTextType) { //Text lines, word, glyph
-			for (int i=0; i<regions.size(); i++) {
-				Region reg = regions.getAt(i); 
-				if (reg instanceof LowLevelTextContainer) {
-					ContentObjectRelation rel = getLowLevelTextObject((LowLevelTextContainer)reg, (LowLevelTextType)type, id);
-					if (rel != null)
-						return rel.getObject2();
-				}
-			}		
+			if (id == null)
+				return null;
+			Identifiable obj = getObjectIndex().getObject(id);
+			if (obj instanceof ContentObject && type.equals(((ContentObject)obj).getType()))
+				return (ContentObject)obj;
 		}
 		return null;
 	}
 	
 	/**
-	 * Returns a parent-child relation object
+	 * Returns a parent-child relation object (uses the ID index, see {@link #getObjectIndex()})
 	 * @param childType Content type of the child
 	 * @param childId ID of the child
 	 * @return Relation object or <code>null</code>
@@ -280,53 +290,27 @@ public class PageLayout {
 		if (childType instanceof RegionType)
 			return null;
 		else if (childType instanceof LowLevelTextType) { //Text lines, word, glyph
-			for (int i=0; i<regions.size(); i++) {
-				Region reg = regions.getAt(i); 
-				if (reg instanceof LowLevelTextContainer) {
-					ContentObjectRelation rel = getLowLevelTextObject((LowLevelTextContainer)reg, (LowLevelTextType)childType, childId);
-					if (rel != null)
-						return rel;
-				}
-			}		
+			if (childId == null)
+				return null;
+			ContentObjectIndex index = getObjectIndex();
+			Identifiable obj = index.getObject(childId);
+			Object parent = index.getParent(childId);
+			if (obj instanceof ContentObject && parent instanceof ContentObject
+					&& childType.equals(((ContentObject)obj).getType()))
+				return new ContentObjectRelation((ContentObject)parent, (ContentObject)obj, RelationType.ParentChildRelation, null, null);
 		}
 		return null;
 	}
 	
 	/**
-	 * Looks recursively for a text object with the given ID.
-	 * @param parent Parent container
-	 * @param type Text object type to look for
-	 * @return A text object or null.
+	 * Returns the index for looking up content objects and their parents by ID. 
+	 * The index is created on first call and kept up to date automatically (see {@link ContentObjectIndex}).
 	 */
-	private ContentObjectRelation getLowLevelTextObject(LowLevelTextContainer parent, LowLevelTextType type, String id) {
-		if (parent == null)
-			return null;
-			
-		//Iterate over all child text objects
-		for (int i=0; i<parent.getTextObjectCount(); i++) {
-			LowLevelTextObject obj = parent.getTextObject(i);
-
-			//Is the child of the type we are looking for?
-			if (type.equals(obj.getType())) {
-				//Check if the given ID matches
-				try {
-					if (obj.getId().equals(contentFactory.getIdRegister().getId(id)))
-						return new ContentObjectRelation((ContentObject)parent, obj, RelationType.ParentChildRelation, null, null);
-				} catch (InvalidIdException e) {
-					return null;
-				}
-			}
-			//Is the child a text object container itself?
-			else if (obj instanceof LowLevelTextContainer){
-				//Recursion
-				ContentObjectRelation rel = getLowLevelTextObject((LowLevelTextContainer)obj, type, id);
-				if (rel != null)
-					return rel;
-			} 
-			else //If the child is neither of the type we're looking for nor a container, we can leave the recursion now.
-				return null;
-		}
-		return null;
+	public synchronized ContentObjectIndex getObjectIndex() {
+		ContentObjectIndex index = contentFactory.getObjectIndex();
+		if (index == null)
+			index = new ContentObjectIndex(this, contentFactory);
+		return index;
 	}
 	
 	/**
@@ -458,6 +442,26 @@ public class PageLayout {
 		size.height = height;
 	}
 	
+	/**
+	 * Applies the given transformation (e.g. scaling, rotation, or deskew) to all coordinates of this layout 
+	 * in one traversal: outlines of regions, text lines, words, glyphs and graphemes, baselines, table grids, 
+	 * border and print space. Frozen outlines are replaced by transformed (frozen) copies. The page size is not changed.
+	 */
+	public void transform(AffineTransformation transformation) {
+		new LayoutTransformer(transformation).run(this);
+	}
+	
+	/**
+	 * Applies the given transformation to all coordinates of this layout (see {@link #transform(AffineTransformation)}),
+	 * using one task per top-level region.
+	 * @param executor Executor for the region tasks (<code>null</code> to transform sequentially)
+	 * @throws InterruptedException Interrupted while waiting for the tasks
+	 * @throws ExecutionException Transformation of a region failed
+	 */
+	public void transform(AffineTransformation transformation, ExecutorService executor) throws InterruptedException, ExecutionException {
+		new LayoutTransformer(transformation).run(this, executor);
+	}
+	
 	/**
 	 * Returns the reading order of the layout.
 	 */
@@ -502,7 +506,9 @@ public class PageLayout {
 	public void removeRegion(Id regionId, boolean unregisterId) {
 		if (regionId == null)
 			return;
-		regions.remove(regionId);
+		Region reg = regions.remove(regionId);
+		if (reg != null)
+			contentFactory.contentRemoved(reg);
 		if (unregisterId)
 			this.contentFactory.getIdRegister().unregisterId(regionId);
 	}
@@ -522,6 +528,8 @@ public class PageLayout {
 	 */
 	public void removeRegion(int index, boolean unregisterId) {
 		Region reg = regions.removeAt(index);
+		if (reg != null)
+			contentFactory.contentRemoved(reg);
 		if (unregisterId && reg != null)
 			this.contentFactory.getIdRegister().unregisterId(reg.getId());
 	}
@@ -648,8 +656,10 @@ public class PageLayout {
 		newRegion.setCoords(region.getCoords().clone());
 
 		//Add new region to layout
-		if (parentRegion == null || !(newRegion instanceof Region))
+		if (parentRegion == null || !(newRegion instanceof Region)) {
 			regions.put(newRegion.getId(), (Region)newRegion);
+			contentFactory.contentAdded(newRegion, null);
+		}
 		else
 			parentRegion.addRegion((Region)newRegion);
 		
@@ -679,6 +689,90 @@ public class PageLayout {
 		throw new IllegalArgumentException("Unsupported content type for iterator");
 	}
 	
+	/**
+	 * Returns a new stream for a specific page content type (same objects and order as the iterator).
+	 * The stream is backed by a sized spliterator that can be split efficiently, use <code>parallel()</code>
+	 * for a parallel stream. The page structure must not be changed while the stream is in use.
+	 * @param contentType A specific region type or low level text object type. Use <code>null</code> for a stream that includes all regions.
+	 * @return The stream
+	 */
+	public Stream<ContentObject> stream(ContentType contentType) {
+		return stream(contentType, null);
+	}
+	
+	/**
+	 * Returns a new stream for a specific page content type (same objects and order as the iterator).
+	 * The stream is backed by a sized spliterator that can be split efficiently, use <code>parallel()</code>
+	 * for a parallel stream. The page structure must not be changed while the stream is in use.
+	 * @param contentType A specific region type or low level text object type. Use <code>null</code> for a stream that includes all regions.
+	 * @param layer Restrict the stream to this layer (use <code>null</code> for no restriction)
+	 * @return The stream
+	 */
+	public Stream<ContentObject> stream(ContentType contentType, Layer layer) {
+		return StreamSupport.stream(new ContentSpliterator(this, contentType, layer), false);
+	}
+	
+	/**
+	 * Returns the spatial index for the given content level. The index is created on first call and 
+	 * kept up to date automatically (see {@link SpatialIndex}).
+	 * @param contentType Region type for an index containing only regions of that type (same objects as {@link #iterator(ContentType)}), 
+	 * 					<code>null</code> for an index containing all regions, or low level text type (text line, word, or glyph)
+	 * @return The index
+	 * @throws IllegalArgumentException Unsupported content type
+	 */
+	public synchronized SpatialIndex getSpatialIndex(ContentType contentType) throws IllegalArgumentException {
+		int level = getSpatialIndexLevel(contentType);
+		if (level < 0)
+			throw new IllegalArgumentException("Unsupported content type for spatial index: "+contentType);
+		if (contentType instanceof RegionType) {
+			if (regionTypeSpatialIndexes == null)
+				regionTypeSpatialIndexes = new HashMap<String, SpatialIndex>();
+			SpatialIndex index = regionTypeSpatialIndexes.get(contentType.getName());
+			if (index == null) {
+				index = new SpatialIndex(this, contentType, contentFactory);
+				regionTypeSpatialIndexes.put(contentType.getName(), index);
+			}
+			return index;
+		}
+		if (spatialIndexes == null)
+			spatialIndexes = new SpatialIndex[4];
+		if (spatialIndexes[level] == null)
+			spatialIndexes[level] = new SpatialIndex(this, contentType, contentFactory);
+		return spatialIndexes[level];
+	}
+	
+	/**
+	 * Maps the content type to the index of the spatial index array
+	 * @return 0 (regions of any or a specific type), 1 (text lines), 2 (words), 3 (glyphs) or -1 (not supported)
+	 */
+	private static int getSpatialIndexLevel(ContentType contentType) {
+		if (contentType == null || contentType instanceof RegionType)
+			return 0;
+		if (LowLevelTextType.TextLine.equals(contentType))
+			return 1;
+		if (LowLevelTextType.Word.equals(contentType))
+			return 2;
+		if (LowLevelTextType.Glyph.equals(contentType))
+			return 3;
+		return -1;
+	}
+	
+	/**
+	 * Enables or disables the use of spatial indexes for {@link #getRegionAt(int, int)} and 
+	 * {@link #getObjectAt(int, int, ContentType)} (disabled by default). 
+	 * Recommended if these methods are called frequently for the same page.
+	 */
+	public void setSpatialIndexEnabled(boolean enabled) {
+		spatialIndexEnabled = enabled;
+	}
+	
+	/**
+	 * Checks if spatial indexes are used for {@link #getRegionAt(int, int)} and {@link #getObjectAt(int, int, ContentType)}
+	 */
+	public boolean isSpatialIndexEnabled() {
+		return spatialIndexEnabled;
+	}
+
 	/**
 	 * Creates a comparator using the bounding box area of content objects
 	 * @return Comparator object
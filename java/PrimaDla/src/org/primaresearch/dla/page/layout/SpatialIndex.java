@@ -0,0 +1,172 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.primaresearch.dla.page.layout.physical.ContentFactory;
+import org.primaresearch.dla.page.layout.physical.ContentIterator;
+import org.primaresearch.dla.page.layout.physical.ContentObject;
+import org.primaresearch.dla.page.layout.physical.shared.ContentType;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.RTree;
+import org.primaresearch.maths.geometry.Rect;
+
+/**
+ * Spatial index (R-tree of the bounding boxes) for one level of page content objects (all regions, 
+ * regions of one type, text lines, words, or glyphs). Use {@link PageLayout#getSpatialIndex(ContentType)} to get an instance.<br>
+ * <br>
+ * The index is built on first use and rebuilt automatically after objects have been added or removed, 
+ * got a new outline, or the points of an outline have changed. The index registers itself as change listener 
+ * of the indexed outlines and detaches from outlines that are no longer part of the page on each rebuild.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class SpatialIndex implements Polygon.ChangeListener {
+
+	private PageLayout pageLayout;
+	private ContentType contentType;
+	private ContentFactory contentFactory;
+	
+	private volatile RTree<ContentObject> tree = null;
+	/** Set if an indexed polygon has changed */
+	private volatile boolean outdated = false;
+	/** Modification count of the content factory at the time the tree was built */
+	private int modificationCount;
+	/** Outlines this index is registered with as change listener */
+	private List<Polygon> observedPolygons = new ArrayList<Polygon>();
+	
+	/**
+	 * Constructor
+	 * @param pageLayout Page layout with the content objects
+	 * @param contentType Region type, low level text type, or <code>null</code> for all regions
+	 * @param contentFactory Content factory of the page (provides the modification count)
+	 */
+	SpatialIndex(PageLayout pageLayout, ContentType contentType, ContentFactory contentFactory) {
+		this.pageLayout = pageLayout;
+		this.contentType = contentType;
+		this.contentFactory = contentFactory;
+	}
+	
+	/**
+	 * Returns the content type of the indexed objects (<code>null</code> for all regions).
+	 */
+	public ContentType getContentType() {
+		return contentType;
+	}
+	
+	/**
+	 * Returns the number of indexed objects (objects with empty or missing outline are not included).
+	 */
+	public int size() {
+		return getTree().size();
+	}
+	
+	/**
+	 * Returns all objects with an outline containing the given point (see {@link Polygon#isPointInside(int, int)}).
+	 * @return List of content objects in document order (as returned by the content iterator)
+	 */
+	public List<ContentObject> getObjectsAt(int x, int y) {
+		List<ContentObject> candidates = getTree().search(x, y);
+		List<ContentObject> res = new ArrayList<ContentObject>(candidates.size());
+		for (int i=0; i<candidates.size(); i++) {
+			ContentObject obj = candidates.get(i);
+			Polygon coords = obj.getCoords();
+			if (coords != null && coords.isPointInside(x, y))
+				res.add(obj);
+		}
+		return res;
+	}
+	
+	/**
+	 * Returns all objects with a bounding box intersecting the given rectangle.
+	 * @return List of content objects in document order (as returned by the content iterator)
+	 */
+	public List<ContentObject> getObjectsIntersecting(Rect rect) {
+		return getTree().search(rect);
+	}
+	
+	/**
+	 * Returns the k objects closest to the given point (distance between point and bounding box).
+	 * @param k Maximum number of objects to return
+	 * @return List of content objects ordered by distance
+	 */
+	public List<ContentObject> getNearestObjects(int x, int y, int k) {
+		return getTree().nearest(x, y, k);
+	}
+	
+	/**
+	 * Forces a rebuild of the index on next use. This is only necessary if points of an outline have been
+	 * changed without notification (e.g. by changing a point object without calling {@link Polygon#setBoundingBoxOutdated()}). 
+	 */
+	public void invalidate() {
+		outdated = true;
+	}
+
+	@Override
+	public void polygonChanged(Polygon polygon) {
+		outdated = true;
+	}
+	
+	/**
+	 * Returns the R-tree (rebuilds it if outdated).
+	 */
+	private RTree<ContentObject> getTree() {
+		RTree<ContentObject> current = tree;
+		if (current != null && !outdated && modificationCount == contentFactory.getModificationCount())
+			return current;
+		synchronized (this) {
+			if (tree == null || outdated || modificationCount != contentFactory.getModificationCount())
+				build();
+			return tree;
+		}
+	}
+	
+	/**
+	 * Creates the R-tree from the current page content.
+	 */
+	private void build() {
+		//Reset the change indicators first (changes during the build trigger another rebuild)
+		modificationCount = contentFactory.getModificationCount();
+		outdated = false;
+		
+		//Detach from the outlines of the previous build (objects might have been removed or got new outlines)
+		for (int i=0; i<observedPolygons.size(); i++)
+			observedPolygons.get(i).removeChangeListener(this);
+		observedPolygons.clear();
+		
+		List<ContentObject> objects = new ArrayList<ContentObject>();
+		List<Rect> bounds = new ArrayList<Rect>();
+		for (ContentIterator it = pageLayout.iterator(contentType); it.hasNext(); ) {
+			ContentObject obj = it.next();
+			Polygon coords = obj.getCoords();
+			if (coords == null)
+				continue;
+			//Listen to empty polygons as well (points might be added later)
+			if (!coords.isFrozen()) {
+				coords.addChangeListener(this);
+				observedPolygons.add(coords);
+			}
+			if (coords.getSize() == 0)
+				continue;
+			objects.add(obj);
+			bounds.add(coords.getBoundingBox());
+		}
+		tree = new RTree<ContentObject>(objects, bounds);
+	}
+}
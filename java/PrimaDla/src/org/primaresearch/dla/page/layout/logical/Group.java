@@ -16,8 +16,10 @@
 package org.primaresearch.dla.page.layout.logical;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.primaresearch.dla.page.io.xml.DefaultXmlNames;
 import org.primaresearch.dla.page.layout.PageLayout;
@@ -52,6 +54,10 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 	private boolean ordered;
 	private List<GroupMember> members = new ArrayList<GroupMember>();
 	
+	/** Region IDs referenced in this group or a child group, mapped to their depth-first position
+	 *  (built on demand in a local variable and published when complete) */
+	private volatile Map<Id, Integer> regionRefPositions = null;
+	
 	private VariableMap attributes;
 	private VariableMap userDefinedAttributes = null;
 	
@@ -124,8 +130,8 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 	 * Returns the caption (display name)
 	 */
 	public String getCaption() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_caption) != null && getAttributes().get(DefaultXmlNames.ATTR_caption).getValue() != null)
-			return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_caption).getValue()).val;
+		if (getAttributes().peek(DefaultXmlNames.ATTR_caption) != null && getAttributes().peek(DefaultXmlNames.ATTR_caption).getValue() != null)
+			return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_caption).getValue()).val;
 		return null;
 	}
 
@@ -183,6 +189,7 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 			throw new Exception("");
 		Group group = new Group(layout, idRegister, contentFactory, idRegister.generateId("g"), this, canHaveGroupsAsChildren); 
 		members.add(group);
+		membersChanged();
 		return group;
 	}
 	
@@ -193,6 +200,7 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 	public void addRegionRef(String id) {
 		try {
 			members.add(new RegionRef(this, contentFactory.getIdRegister().getId(id)));
+			membersChanged();
 		} catch (InvalidIdException e) {
 			e.printStackTrace();
 		}
@@ -215,31 +223,85 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 				} 
 			}
 			
-			if (toRemove != null)
+			if (toRemove != null) {
 				members.remove(toRemove);
+				membersChanged();
+			}
 		}
 	}
 	
 	/**
 	 * Recursively checks if this group or a child group contains a region reference with the given ID.
+	 * Uses a lookup table that is built on first call and discarded when this group or a child group is changed.
 	 *  
 	 * @param regionId ID of referenced region
 	 * @return True, if a reference has been found; false otherwise. 
 	 */
 	public boolean containsRegionRef(Id regionId) {
-		if (members != null) {
-			for (Iterator<GroupMember> it = members.iterator(); it.hasNext(); ) {
-				GroupMember member = it.next();
-				if (member instanceof RegionRef) {
-					if (((RegionRef)member).getRegionId().equals(regionId))
-						return true;
-				} else { //if (member instanceof Group) 
-					if (((Group)member).containsRegionRef(regionId)) //Recursion
-						return true;
-				}
+		return getRegionRefPositions().containsKey(regionId);
+	}
+	
+	/**
+	 * Returns the position of the reference to the given region within this group and its child groups
+	 * (counting all region references in depth-first order, starting with 0).
+	 * Uses a lookup table that is built on first call and discarded when this group or a child group is changed.
+	 *  
+	 * @param regionId ID of referenced region
+	 * @return Position of the first reference or -1 if the region is not referenced 
+	 */
+	public int getRegionRefPosition(Id regionId) {
+		Integer pos = getRegionRefPositions().get(regionId);
+		return pos != null ? pos.intValue() : -1;
+	}
+	
+	/**
+	 * Returns the lookup table for region references (region ID to depth-first position).
+	 */
+	private Map<Id, Integer> getRegionRefPositions() {
+		Map<Id, Integer> positions = regionRefPositions;
+		if (positions == null) {
+			positions = new HashMap<Id, Integer>();
+			addRegionRefPositions(this, positions);
+			regionRefPositions = positions;
+		}
+		return positions;
+	}
+	
+	/**
+	 * Adds the region references of the given group and its child groups to the lookup table (recursive).
+	 */
+	private static void addRegionRefPositions(Group group, Map<Id, Integer> positions) {
+		for (int i=0; i<group.members.size(); i++) {
+			GroupMember member = group.members.get(i);
+			if (member instanceof RegionRef) {
+				Id regionId = ((RegionRef)member).getRegionId();
+				if (!positions.containsKey(regionId))
+					positions.put(regionId, positions.size());
+			} else { //if (member instanceof Group) 
+				addRegionRefPositions((Group)member, positions);
 			}
 		}
-		return false;
+	}
+	
+	/**
+	 * Discards the lookup tables of this group and all parent groups.
+	 * Called whenever a member is added or removed.
+	 */
+	private void membersChanged() {
+		Group group = this;
+		while (true) {
+			group.regionRefPositions = null;
+			if (group.parentGroup == null)
+				break;
+			group = group.parentGroup;
+		}
+		group.groupTreeChanged();
+	}
+	
+	/**
+	 * Called on the root group whenever a member has been added to or removed from the root group or a child group.
+	 */
+	void groupTreeChanged() {
 	}
 	
 	/**
@@ -247,6 +309,7 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 	 */
 	public void add(GroupMember member) {
 		members.add(member);
+		membersChanged();
 	}
 
 	@Override
@@ -268,6 +331,7 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 	@Override
 	public void moveTo(Group newParent) {
 		parentGroup.remove(this);
+		parentGroup = newParent;
 		newParent.add(this);
 	}
 	
@@ -282,6 +346,7 @@ public class Group implements GroupMember, Identifiable, AttributeContainer, Has
 		for (int i=0; i<members.size(); i++) {
 			if (members.get(i) == member) {
 				members.remove(i);
+				membersChanged();
 				return true;
 			}
 		}
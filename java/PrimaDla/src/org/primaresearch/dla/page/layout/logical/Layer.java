@@ -29,6 +29,7 @@ import org.primaresearch.ident.IdRegister;
 public class Layer extends Group {
 
 	private int zIndex = 0;
+	private Layers layers;
 	
 
 	/**
@@ -37,11 +38,19 @@ public class Layer extends Group {
 	 * @param idRegister ID register of the page layout
 	 * @param contentFactory Content factory of the page layout
 	 * @param id Layer ID
+	 * @param layers Layers object the layer belongs to (notified about changes)
 	 */
 	Layer(PageLayout layout, IdRegister idRegister,
-			ContentFactory contentFactory, Id id) {
+			ContentFactory contentFactory, Id id, Layers layers) {
 
 		super(layout, idRegister, contentFactory, id, null, false);
+		this.layers = layers;
+	}
+	
+	@Override
+	void groupTreeChanged() {
+		if (layers != null)
+			layers.layerChanged();
 	}
 
 	/**
@@ -18,10 +18,13 @@ package org.primaresearch.dla.page.layout.logical;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.physical.ContentFactory;
+import org.primaresearch.ident.Id;
 import org.primaresearch.ident.IdRegister;
 import org.primaresearch.ident.IdRegister.InvalidIdException;
 
@@ -39,6 +42,8 @@ public class Layers {
 	private List<Layer> layers = new ArrayList<Layer>();
 	private LayerComparator comparator = null;
 	private boolean manageZIndexes = true;
+	/** Region ID to layer lookup table (built on demand in a local variable and published when complete) */
+	private volatile Map<Id, Layer> regionLayers = null;
 
 	/**
 	 * Constructor
@@ -87,6 +92,45 @@ public class Layers {
 		return layers.get(0);
 	}
 
+	/**
+	 * Returns the layer containing the region with the given ID.
+	 * Uses a lookup table that is built on first call and discarded when the layers are changed.
+	 * @param regionId Region ID
+	 * @return The first layer (back to front) that references the region or <code>null</code> if the region is in no layer
+	 */
+	public Layer getLayerOfRegion(Id regionId) {
+		Map<Id, Layer> lookup = regionLayers;
+		if (lookup == null) {
+			lookup = new HashMap<Id, Layer>();
+			for (int i=layers.size()-1; i>=0; i--) {
+				Layer layer = layers.get(i);
+				addRegionRefs(layer, layer, lookup);
+			}
+			regionLayers = lookup;
+		}
+		return lookup.get(regionId);
+	}
+	
+	/**
+	 * Maps all regions referenced in the given group (recursive) to the specified layer.
+	 */
+	private static void addRegionRefs(Group group, Layer layer, Map<Id, Layer> lookup) {
+		for (int i=0; i<group.getSize(); i++) {
+			GroupMember member = group.getMember(i);
+			if (member instanceof RegionRef)
+				lookup.put(((RegionRef)member).getRegionId(), layer);
+			else
+				addRegionRefs((Group)member, layer, lookup);
+		}
+	}
+	
+	/**
+	 * Called by a layer if a member has been added or removed (discards the lookup table).
+	 */
+	void layerChanged() {
+		regionLayers = null;
+	}
+
 	/**
 	 * Creates, adds, and returns a new layer (adds to the front).
 	 */
@@ -101,12 +145,13 @@ public class Layers {
 	public Layer createLayer(boolean addToFront) {
 		Layer layer;
 		try {
-			layer = new Layer(layout, idRegister, contentFactory, idRegister.generateId("lay"));
+			layer = new Layer(layout, idRegister, contentFactory, idRegister.generateId("lay"), this);
 			sort();
 			if (addToFront)
 				layers.add(layer);
 			else //Add to back
 				layers.add(0, layer);
+			regionLayers = null;
 			if (manageZIndexes)
 				updateZIndexes();
 			return layer;
@@ -122,6 +167,7 @@ public class Layers {
 		if (comparator == null)
 			comparator = new LayerComparator();
 		Collections.sort(layers, comparator);
+		regionLayers = null;
 	}
 	
 	/**
@@ -64,6 +64,19 @@ public class ReadingOrder {
 			return root.containsRegionRef(regionId);
 		return false;
 	}
+	
+	/**
+	 * Returns the position of the given region within the reading order
+	 * (counting all region references in depth-first order, starting with 0).
+	 * 
+	 * @param regionId ID of referenced region
+	 * @return Position or -1 if the region is not referenced in the reading order
+	 */
+	public int getPosition(Id regionId) {
+		if (root != null)
+			return root.getRegionRefPosition(regionId);
+		return -1;
+	}
 
 	/**
 	 * Reading order recognition confidence
@@ -55,6 +55,7 @@ public class RegionRef implements GroupMember {
 	@Override
 	public void moveTo(Group newParent) {
 		parentGroup.remove(this);
+		parentGroup = newParent;
 		newParent.add(this);
 	}
 }
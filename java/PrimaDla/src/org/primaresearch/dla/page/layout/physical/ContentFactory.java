@@ -51,6 +51,7 @@ import org.primaresearch.dla.page.metadata.MetadataItem;
 import org.primaresearch.dla.page.metadata.impl.MetadataItemImpl;
 import org.primaresearch.ident.Id;
 import org.primaresearch.ident.IdRegister;
+import org.primaresearch.ident.Identifiable;
 import org.primaresearch.ident.IdRegister.InvalidIdException;
 import org.primaresearch.maths.geometry.Polygon;
 import org.primaresearch.shared.variable.VariableMap;
@@ -65,6 +66,13 @@ public class ContentFactory {
 	
 	private IdRegister idRegister;
 	private AttributeFactory attributeFactory;
+	
+	/** Counts structural and outline changes of the content objects created by this factory 
+	 *  (volatile because spatial indexes read it without locking; changes are made by one thread at a time) */
+	private volatile int modificationCount = 0;
+	
+	/** ID index that is kept up to date by this factory (if set) */
+	private ContentObjectIndex objectIndex = null;
 
 	/**
 	 * Constructor
@@ -76,6 +84,66 @@ public class ContentFactory {
 		this.attributeFactory = attributeFactory;
 	}
 
+	/**
+	 * Notifies the factory that a content object got a new outline polygon (used to keep page indexes up to date).
+	 */
+	public void contentChanged() {
+		modificationCount++;
+	}
+	
+	/**
+	 * Notifies the factory that an object has been added to a container (used to keep page indexes up to date).
+	 * @param object Region, text object, or grapheme element (child objects are included automatically)
+	 * @param parent Container the object has been added to (<code>null</code> for the page layout)
+	 */
+	public void contentAdded(Identifiable object, Object parent) {
+		modificationCount++;
+		if (objectIndex != null)
+			objectIndex.add(object, parent);
+	}
+
+	/**
+	 * Notifies the factory that an object has been removed from its container (used to keep page indexes up to date).
+	 * @param object Region, text object, or grapheme element (child objects are included automatically)
+	 */
+	public void contentRemoved(Identifiable object) {
+		modificationCount++;
+		if (objectIndex != null)
+			objectIndex.remove(object);
+	}
+	
+	/**
+	 * Notifies the factory that the ID of an object has changed (used to keep page indexes up to date).
+	 */
+	public void idChanged(Identifiable object, Id oldId) {
+		if (objectIndex != null)
+			objectIndex.idChanged(object, oldId);
+	}
+	
+	/**
+	 * Returns the ID index that is kept up to date by this factory
+	 * @return Index object or <code>null</code>
+	 */
+	public ContentObjectIndex getObjectIndex() {
+		return objectIndex;
+	}
+	
+	/**
+	 * Sets the ID index that is to be kept up to date by this factory
+	 */
+	void setObjectIndex(ContentObjectIndex objectIndex) {
+		this.objectIndex = objectIndex;
+	}
+	
+	/**
+	 * Returns a counter that is increased with each call of {@link #contentChanged()}, 
+	 * {@link #contentAdded(Identifiable, Object)} and {@link #contentRemoved(Identifiable)} 
+	 * (used by spatial indexes to detect that they are outdated).
+	 */
+	public int getModificationCount() {
+		return modificationCount;
+	}
+
 	/**
 	 * Returns the attribute factory used for this content factory.
 	 * @return Attribute factory implementation
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout.physical;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextContainer;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeElement;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeGroup;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.ident.Id;
+import org.primaresearch.ident.Identifiable;
+
+/**
+ * Index for looking up page content objects and their parents by ID (regions, nested regions, 
+ * text lines, words, glyphs and grapheme elements).<br>
+ * <br>
+ * The index is filled from the page layout on creation and then kept up to date by the content factory 
+ * of the page (objects added to or removed from a container, changed IDs). Note that changes to the 
+ * grapheme lists of glyphs and grapheme groups are only tracked if the elements were created using 
+ * {@link Glyph#createGraphemeElement(String, org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType, GraphemeGroup)}.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class ContentObjectIndex {
+	
+	private Map<String, Entry> entries = new HashMap<String, Entry>();
+
+	/**
+	 * Constructor. Indexes all objects of the given layout and registers the index with the content factory.
+	 * @param pageLayout Page layout with the content objects
+	 * @param contentFactory Content factory of the page (notifies the index about changes)
+	 */
+	public ContentObjectIndex(PageLayout pageLayout, ContentFactory contentFactory) {
+		for (int i=0; i<pageLayout.getRegionCount(); i++)
+			add(pageLayout.getRegion(i), null);
+		contentFactory.setObjectIndex(this);
+	}
+	
+	/**
+	 * Returns the number of indexed objects
+	 */
+	public int size() {
+		return entries.size();
+	}
+	
+	/**
+	 * Returns the object with the given ID
+	 * @return Region, text object, grapheme element or <code>null</code> if not found
+	 */
+	public Identifiable getObject(String id) {
+		Entry entry = entries.get(id);
+		return entry != null ? entry.object : null;
+	}
+	
+	/**
+	 * Returns the container of the object with the given ID
+	 * @return Parent region, text object container (text region, line, word), glyph, grapheme group 
+	 * 			or <code>null</code> (object is not nested or not found)
+	 */
+	public Object getParent(String id) {
+		Entry entry = entries.get(id);
+		return entry != null ? entry.parent : null;
+	}
+	
+	/**
+	 * Adds the given object and all its child objects to the index.
+	 */
+	void add(Identifiable object, Object parent) {
+		if (object == null)
+			return;
+		if (object.getId() != null)
+			entries.put(object.getId().toString(), new Entry(object, parent));
+
+		//Children
+		if (object instanceof Region) {
+			Region region = (Region)object;
+			for (int i=0; i<region.getRegionCount(); i++)
+				add(region.getRegion(i), region);
+		}
+		if (object instanceof LowLevelTextContainer) {
+			LowLevelTextContainer container = (LowLevelTextContainer)object;
+			for (int i=0; i<container.getTextObjectCount(); i++)
+				add(container.getTextObject(i), container);
+		}
+		if (object instanceof Glyph && ((Glyph)object).hasGraphemes()) 
+			addGraphemes(((Glyph)object).getGraphemes(), object);
+		if (object instanceof GraphemeGroup)
+			addGraphemes(((GraphemeGroup)object).getGraphemes(), object);
+	}
+	
+	private void addGraphemes(List<GraphemeElement> graphemes, Object parent) {
+		for (int i=0; i<graphemes.size(); i++)
+			add(graphemes.get(i), parent);
+	}
+	
+	/**
+	 * Removes the given object and all its child objects from the index.
+	 */
+	void remove(Identifiable object) {
+		if (object == null)
+			return;
+		if (object.getId() != null) {
+			String key = object.getId().toString();
+			Entry entry = entries.get(key);
+			if (entry != null && entry.object == object)
+				entries.remove(key);
+		}
+		
+		//Children
+		if (object instanceof Region) {
+			Region region = (Region)object;
+			for (int i=0; i<region.getRegionCount(); i++)
+				remove(region.getRegion(i));
+		}
+		if (object instanceof LowLevelTextContainer) {
+			LowLevelTextContainer container = (LowLevelTextContainer)object;
+			for (int i=0; i<container.getTextObjectCount(); i++)
+				remove(container.getTextObject(i));
+		}
+		if (object instanceof Glyph && ((Glyph)object).hasGraphemes()) 
+			removeGraphemes(((Glyph)object).getGraphemes());
+		if (object instanceof GraphemeGroup)
+			removeGraphemes(((GraphemeGroup)object).getGraphemes());
+	}
+	
+	private void removeGraphemes(List<GraphemeElement> graphemes) {
+		for (int i=0; i<graphemes.size(); i++)
+			remove(graphemes.get(i));
+	}
+	
+	/**
+	 * Moves the index entry of the given object from the old to the new ID (if the object is indexed).
+	 */
+	void idChanged(Identifiable object, Id oldId) {
+		if (oldId == null || object.getId() == null)
+			return;
+		String oldKey = oldId.toString();
+		Entry entry = entries.get(oldKey);
+		if (entry == null || entry.object != object)
+			return;
+		entries.remove(oldKey);
+		entries.put(object.getId().toString(), entry);
+	}
+	
+	
+	/**
+	 * Index entry (object and parent)
+	 */
+	private static final class Entry {
+		final Identifiable object;
+		final Object parent;
+		
+		Entry(Identifiable object, Object parent) {
+			this.object = object;
+			this.parent = parent;
+		}
+	}
+}
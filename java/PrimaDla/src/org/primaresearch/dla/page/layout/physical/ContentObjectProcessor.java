@@ -15,6 +15,11 @@
  */
 package org.primaresearch.dla.page.layout.physical;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.physical.text.LowLevelTextContainer;
@@ -22,16 +27,29 @@ import org.primaresearch.dla.page.layout.physical.text.TextObject;
 
 /**
  * Processes all content objects of a page using a customisable processing method.
+ * <br>
+ * The processor can run sequentially ({@link #run(Page)}) or in parallel on a fork-join pool
+ * ({@link #run(Page, ForkJoinPool)}). In the parallel variant, {@link #doProcess(ContentObject)}
+ * is called concurrently for different objects and has to be thread-safe. A parent object is
+ * always processed before its children, but there is no order between siblings or different regions.
  * 
  * @author Christian Clausner
  *
  */
 public abstract class ContentObjectProcessor {
 
+	/** Default minimum number of child objects for splitting them into separate fork-join tasks */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 16;
+
 	private ContentObject currentObject = null;
 	
+	/** Object that is currently processed by the calling thread (parallel run only) */
+	private final ThreadLocal<ContentObject> concurrentObject = new ThreadLocal<ContentObject>();
+	
 	/** Flag to set if text lines, words, and glyphs should be included or not */
 	private boolean includeLowLevelTextObjects = true;
+	
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
 
 	/**
 	 * Called for each content object. Override with custom implementation.
@@ -48,10 +66,12 @@ public abstract class ContentObjectProcessor {
 	}
 
 	/**
-	 * Returns the content object that is currently processed.
+	 * Returns the content object that is currently processed
+	 * (by the calling thread if the processor runs in parallel).
 	 */
 	public ContentObject getCurrentObject() {
-		return currentObject;
+		ContentObject obj = concurrentObject.get();
+		return obj != null ? obj : currentObject;
 	}
 
 	/**
@@ -111,6 +131,137 @@ public abstract class ContentObjectProcessor {
 		}
 	}
 
+	/**
+	 * Runs the processor in parallel using fork-join tasks. Each top-level region (including its
+	 * children) is processed in a separate task. Lists of child objects (text lines, words, glyphs,
+	 * nested regions) are split into further tasks if they contain at least as many objects as
+	 * specified by the parallel threshold.<br>
+	 * Note: {@link #doProcess(ContentObject)} is called concurrently (see class description).
+	 * The page structure must not be modified while the processor is running.
+	 * 
+	 * @param pool Fork-join pool to run the tasks in (e.g. <code>ForkJoinPool.commonPool()</code>).
+	 * 				If <code>null</code>, the processor runs sequentially on the calling thread.
+	 */
+	public void run(Page page, ForkJoinPool pool) {
+		if (pool == null) {
+			run(page);
+			return;
+		}
+		PageLayout layout = page.getLayout();
+		ContentObject[] regions = new ContentObject[layout.getRegionCount()];
+		for (int r=0; r<regions.length; r++)
+			regions[r] = layout.getRegion(r);
+		
+		TraversalTask task = new TraversalTask(regions, 0, regions.length, 1);
+		pool.invoke(task);
+		
+		if (isCollectingResults())
+			reduceResults(task.results);
+	}
+	
+	/**
+	 * Called for each content object by the parallel traversal (from any thread).
+	 * @param results Result list of the current task (only if results are collected)
+	 */
+	void processConcurrently(ContentObject contentObject, List<Object> results) {
+		doProcess(contentObject);
+	}
+	
+	/**
+	 * If <code>true</code>, each task of the parallel traversal keeps a list of results in document order.
+	 */
+	boolean isCollectingResults() {
+		return false;
+	}
+	
+	/**
+	 * Called on the calling thread for each result collected by the parallel traversal (in document order).
+	 */
+	void reduceResult(ContentObject contentObject, Object result) {
+	}
+	
+	/**
+	 * Passes the collected results (pairs of content object and result, or sub-tasks) to {@link #reduceResult(ContentObject, Object)}.
+	 */
+	private void reduceResults(List<Object> results) {
+		for (int i=0; i<results.size(); ) {
+			Object entry = results.get(i);
+			if (entry instanceof TraversalTask) {
+				reduceResults(((TraversalTask)entry).results);
+				i++;
+			} else {
+				reduceResult((ContentObject)entry, results.get(i+1));
+				i += 2;
+			}
+		}
+	}
+	
+	/**
+	 * Processes the given object and its children (parallel traversal).
+	 */
+	private void processSubtree(ContentObject obj, TraversalTask task) {
+		concurrentObject.set(obj);
+		try {
+			processConcurrently(obj, task.results);
+		} finally {
+			concurrentObject.remove();
+		}
+		
+		//Text object children
+		if (includeLowLevelTextObjects && obj instanceof LowLevelTextContainer) {
+			LowLevelTextContainer container = (LowLevelTextContainer)obj;
+			ContentObject[] children = new ContentObject[container.getTextObjectCount()];
+			for (int c=0; c<children.length; c++)
+				children[c] = (ContentObject)container.getTextObject(c);
+			processSubtrees(children, task);
+		}
+		
+		//Sub-regions (nested regions)
+		if (obj instanceof RegionContainer) {
+			RegionContainer container = (RegionContainer)obj;
+			ContentObject[] children = new ContentObject[container.getRegionCount()];
+			for (int c=0; c<children.length; c++)
+				children[c] = container.getRegion(c);
+			processSubtrees(children, task);
+		}
+	}
+	
+	/**
+	 * Processes the given sibling objects and their children, either within the current task
+	 * or, if there are enough objects, by splitting them into sub-tasks.
+	 */
+	private void processSubtrees(ContentObject[] objects, TraversalTask task) {
+		if (objects.length == 0)
+			return;
+		if (objects.length >= parallelThreshold && objects.length > 1) {
+			TraversalTask subTask = new TraversalTask(objects, 0, objects.length, parallelThreshold);
+			if (task.results != null)
+				task.results.add(subTask);
+			subTask.invoke();
+		} else {
+			for (int i=0; i<objects.length; i++)
+				processSubtree(objects[i], task);
+		}
+	}
+
+	/** 
+	 * Minimum number of child objects (e.g. words of a text line) for splitting them into
+	 * separate tasks when running in parallel
+	 */
+	public int getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/** 
+	 * Minimum number of child objects (e.g. words of a text line) for splitting them into
+	 * separate tasks when running in parallel
+	 */
+	public void setParallelThreshold(int parallelThreshold) {
+		if (parallelThreshold < 1)
+			throw new IllegalArgumentException("Parallel threshold must be at least 1");
+		this.parallelThreshold = parallelThreshold;
+	}
+
 	/** 
 	 * Flag to set if text lines, words, and glyphs should be included or not 
 	 */
@@ -126,4 +277,43 @@ public abstract class ContentObjectProcessor {
 	}
 	
 	
+	/**
+	 * Fork-join task processing a range of sibling objects (and their children).
+	 * The range is split in halves until it contains no more than the given number of objects.
+	 */
+	private final class TraversalTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final ContentObject[] objects;
+		private final int from;
+		private final int to;
+		private final int granularity;
+		/** Results in document order: content object / result pairs and sub-tasks (or null if not collected) */
+		final List<Object> results;
+		
+		TraversalTask(ContentObject[] objects, int from, int to, int granularity) {
+			this.objects = objects;
+			this.from = from;
+			this.to = to;
+			this.granularity = granularity;
+			results = isCollectingResults() ? new ArrayList<Object>() : null;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > granularity) {
+				int mid = (from + to) >>> 1;
+				TraversalTask left = new TraversalTask(objects, from, mid, granularity);
+				TraversalTask right = new TraversalTask(objects, mid, to, granularity);
+				if (results != null) {
+					results.add(left);
+					results.add(right);
+				}
+				invokeAll(left, right);
+			} else {
+				for (int i=from; i<to; i++)
+					processSubtree(objects[i], this);
+			}
+		}
+	}
 }
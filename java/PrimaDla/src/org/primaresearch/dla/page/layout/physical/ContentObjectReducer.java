@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout.physical;
+
+import java.util.List;
+
+/**
+ * Content object processor that computes a result per object ({@link #map(ContentObject)})
+ * and combines the results ({@link #reduce(ContentObject, Object)}).
+ * <br>
+ * When running in parallel, <code>map</code> is called concurrently, while <code>reduce</code>
+ * is never called concurrently. In ordered-results mode (default), <code>reduce</code> is called
+ * on the calling thread after all objects have been mapped, in document order (the same order
+ * as for the sequential run). Otherwise it is called as soon as a result is available.
+ * 
+ * @author Christian Clausner
+ *
+ * @param <T> Result type
+ */
+public abstract class ContentObjectReducer<T> extends ContentObjectProcessor {
+
+	private boolean orderedResults = true;
+	private final Object reduceLock = new Object();
+	
+	/**
+	 * Computes the result for the given content object (may be called concurrently).
+	 */
+	public abstract T map(ContentObject contentObject);
+	
+	/**
+	 * Combines the result for the given content object (never called concurrently).
+	 */
+	public abstract void reduce(ContentObject contentObject, T result);
+	
+	@Override
+	public final void doProcess(ContentObject contentObject) {
+		reduce(contentObject, map(contentObject));
+	}
+
+	@Override
+	void processConcurrently(ContentObject contentObject, List<Object> results) {
+		T result = map(contentObject);
+		if (results != null) {
+			results.add(contentObject);
+			results.add(result);
+		} else {
+			synchronized (reduceLock) {
+				reduce(contentObject, result);
+			}
+		}
+	}
+
+	@Override
+	boolean isCollectingResults() {
+		return orderedResults;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	void reduceResult(ContentObject contentObject, Object result) {
+		reduce(contentObject, (T)result);
+	}
+
+	/**
+	 * If <code>true</code>, results are reduced in document order when running in parallel.
+	 */
+	public boolean isOrderedResults() {
+		return orderedResults;
+	}
+
+	/**
+	 * If <code>true</code>, results are reduced in document order when running in parallel.
+	 */
+	public void setOrderedResults(boolean orderedResults) {
+		this.orderedResults = orderedResults;
+	}
+}
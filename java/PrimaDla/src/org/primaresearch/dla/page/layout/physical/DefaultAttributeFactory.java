@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.primaresearch.dla.page.io.xml.DefaultXmlNames;
 import org.primaresearch.dla.page.layout.physical.shared.ContentType;
@@ -35,6 +36,7 @@ import org.primaresearch.shared.variable.StringValue;
 import org.primaresearch.shared.variable.StringVariable;
 import org.primaresearch.shared.variable.Variable;
 import org.primaresearch.shared.variable.VariableMap;
+import org.primaresearch.shared.variable.VariableMapTemplate;
 
 /**
  * Attribute factory for the default layout content types of PAGE (static/dynamic).<br>
@@ -51,6 +53,12 @@ public class DefaultAttributeFactory implements
 	private static List<Variable> textStyleAttrs = null;
 	private static List<Variable> textEquivAttrs = null;
 	
+	/** Cache key for the text equivalent attributes */
+	private static final String TEXT_CONTENT_KEY = "#TextContent";
+	
+	/** Shared attribute templates: Map [format model (null for static), Map [content type name, template]] */
+	private static final Map<FormatModel, Map<String, VariableMapTemplate>> sharedTemplates = new WeakHashMap<FormatModel, Map<String, VariableMapTemplate>>();
+	
 	private FormatModel schemaParser = null;
 
 	/**
@@ -350,6 +358,37 @@ public class DefaultAttributeFactory implements
 
 	@Override
 	public VariableMap createAttributes(ContentType type) {
+		return getTemplate(type != null ? type.getName() : null, type, null).createVariableMap();
+	}
+	
+	@Override
+	public VariableMap createAttributes(TextContent textContent) {
+		return getTemplate(TEXT_CONTENT_KEY, null, textContent).createVariableMap();
+	}
+	
+	/**
+	 * Returns the shared attribute template for the given content type (creates it if necessary).
+	 * @param key Cache key
+	 * @param type Content type (for regions, text objects etc.)
+	 * @param textContent Text content (for text equivalents)
+	 */
+	private VariableMapTemplate getTemplate(String key, ContentType type, TextContent textContent) {
+		synchronized (sharedTemplates) {
+			Map<String, VariableMapTemplate> templates = sharedTemplates.get(schemaParser);
+			if (templates == null) {
+				templates = new HashMap<String, VariableMapTemplate>();
+				sharedTemplates.put(schemaParser, templates);
+			}
+			VariableMapTemplate template = templates.get(key);
+			if (template == null) {
+				template = new VariableMapTemplate(textContent != null ? buildAttributes(textContent) : buildAttributes(type));
+				templates.put(key, template);
+			}
+			return template;
+		}
+	}
+	
+	private VariableMap buildAttributes(ContentType type) {
 		
 		//Dynamic schema
 		VariableMap varMap = new VariableMap();
@@ -385,8 +424,7 @@ public class DefaultAttributeFactory implements
 		return varMap;
 	}
 	
-	@Override
-	public VariableMap createAttributes(TextContent textContent) {
+	private VariableMap buildAttributes(TextContent textContent) {
 		VariableMap varMap = new VariableMap();
 		createTextEquivAttributes(varMap);
 		return varMap;
@@ -42,7 +42,7 @@ public class AdvertRegion extends RegionImpl {
 	}
 
 	public String getBgColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 
 	public void setBgColour(String colour) {
@@ -54,7 +54,7 @@ public class AdvertRegion extends RegionImpl {
 	}
 
 	public double getOrientation() {
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_orientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_orientation).getValue()).val;
 	}
 
 	public void setOrientation(double orientation) {
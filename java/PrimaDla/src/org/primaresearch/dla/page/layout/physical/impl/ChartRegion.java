@@ -44,7 +44,7 @@ public class ChartRegion extends RegionImpl {
 	}
 
 	public String getChartType() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_type).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_type).getValue()).val;
 	}
 	
 	public void setChartType(String type) {
@@ -56,7 +56,7 @@ public class ChartRegion extends RegionImpl {
 	}
 
 	public int getNumColours() {
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_numColours).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_numColours).getValue()).val;
 	}
 	
 	public void setNumColours(int num) {
@@ -68,7 +68,7 @@ public class ChartRegion extends RegionImpl {
 	}
 
 	public String getBgColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 
 	public void setBgColour(String colour) {
@@ -80,7 +80,7 @@ public class ChartRegion extends RegionImpl {
 	}
 
 	public double getOrientation() {
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_orientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_orientation).getValue()).val;
 	}
 
 	public void setOrientation(double orientation) {
@@ -92,7 +92,7 @@ public class ChartRegion extends RegionImpl {
 	}
 
 	public boolean hasEmbeddedText() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_embText).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_embText).getValue()).val;
 	}
 
 	public void setEmbeddedText(boolean hasText) {
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout.physical.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.logical.Layer;
+import org.primaresearch.dla.page.layout.physical.ContentObject;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.RegionContainer;
+import org.primaresearch.dla.page.layout.physical.shared.ContentType;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.LowLevelTextContainer;
+
+/**
+ * Sized and splittable spliterator for all page content objects of a specified type
+ * (same objects and order as {@link RegionIterator} and {@link LowLevelTextObjectIterator}).
+ * <br>
+ * Type and layer filters are evaluated once on creation. For low-level text objects, only the parent
+ * objects (e.g. the text lines for a word spliterator) and their child counts are collected, so that
+ * any range of objects can be located by binary search when splitting.<br>
+ * The page structure must not be changed while the spliterator is in use.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class ContentSpliterator implements Spliterator<ContentObject> {
+
+	/** Spliterators with fewer remaining objects are not split */
+	private static final int MIN_SPLIT_SIZE = 2;
+	
+	/** Regions or parent objects of low-level text objects */
+	private final ContentObject[] objects;
+	/** Index of the first child of each parent (plus total count at the end); <code>null</code> for regions */
+	private final int[] offsets;
+	private final ContentType contentType;
+	private final Layer layer;
+	/** Index of the next object (over all parents) */
+	private int index;
+	private final int end;
+	/** Parent containing the next object */
+	private int parentIndex;
+	
+	/**
+	 * Constructor
+	 * @param contentType A specific region type or low level text object type. Use <code>null</code> to include all regions.
+	 * @param layer Restrict the spliterator to this layer (use <code>null</code> for no restriction)
+	 */
+	public ContentSpliterator(PageLayout pageLayout, ContentType contentType, Layer layer) {
+		this.contentType = contentType;
+		this.layer = layer;
+		if (contentType == null || contentType instanceof RegionType) {
+			List<ContentObject> regions = new ArrayList<ContentObject>();
+			collectRegions(pageLayout, (RegionType)contentType, layer, regions);
+			objects = regions.toArray(new ContentObject[regions.size()]);
+			offsets = null;
+			end = objects.length;
+		}
+		else if (contentType instanceof LowLevelTextType) {
+			List<ContentObject> parents = new ArrayList<ContentObject>();
+			collectRegions(pageLayout, RegionType.TextRegion, layer, parents);
+			if (contentType.equals(LowLevelTextType.Word))
+				parents = getChildren(parents);
+			else if (contentType.equals(LowLevelTextType.Glyph))
+				parents = getChildren(getChildren(parents));
+			else if (!contentType.equals(LowLevelTextType.TextLine))
+				throw new IllegalArgumentException("Unsupported content type for spliterator");
+			
+			objects = parents.toArray(new ContentObject[parents.size()]);
+			offsets = new int[objects.length + 1];
+			for (int i=0; i<objects.length; i++)
+				offsets[i+1] = offsets[i] + ((LowLevelTextContainer)objects[i]).getTextObjectCount();
+			end = offsets[objects.length];
+		}
+		else
+			throw new IllegalArgumentException("Unsupported content type for spliterator");
+	}
+	
+	/**
+	 * Constructor for split
+	 */
+	private ContentSpliterator(ContentSpliterator other, int index, int end) {
+		this.objects = other.objects;
+		this.offsets = other.offsets;
+		this.contentType = other.contentType;
+		this.layer = other.layer;
+		this.index = index;
+		this.end = end;
+		this.parentIndex = other.parentIndex;
+	}
+	
+	/**
+	 * Adds all regions of the given type and layer in document order (nested regions after their parent).
+	 */
+	private static void collectRegions(PageLayout pageLayout, RegionType type, Layer layer, List<ContentObject> result) {
+		for (int i=0; i<pageLayout.getRegionCount(); i++)
+			collectRegions(pageLayout.getRegion(i), type, layer, result);
+	}
+	
+	/**
+	 * Adds the given region (if it is of the given type and layer) and its nested regions.
+	 */
+	private static void collectRegions(Region reg, RegionType type, Layer layer, List<ContentObject> result) {
+		if ((type == null || reg.getType().equals(type)) 
+				&& (layer == null || layer.containsRegionRef(reg.getId())))
+			result.add(reg);
+		RegionContainer container = (RegionContainer)reg;
+		for (int i=0; i<container.getRegionCount(); i++)
+			collectRegions(container.getRegion(i), type, layer, result);
+	}
+	
+	/**
+	 * Returns the text objects of the given parents (in document order).
+	 */
+	private static List<ContentObject> getChildren(List<ContentObject> parents) {
+		List<ContentObject> children = new ArrayList<ContentObject>();
+		for (int p=0; p<parents.size(); p++) {
+			LowLevelTextContainer parent = (LowLevelTextContainer)parents.get(p);
+			for (int c=0; c<parent.getTextObjectCount(); c++)
+				children.add((ContentObject)parent.getTextObject(c));
+		}
+		return children;
+	}
+	
+	/**
+	 * Returns the object at the current index and moves on by one.
+	 */
+	private ContentObject nextObject() {
+		if (offsets == null)
+			return objects[index++];
+		while (offsets[parentIndex+1] <= index)
+			parentIndex++;
+		return (ContentObject)((LowLevelTextContainer)objects[parentIndex]).getTextObject(index++ - offsets[parentIndex]);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super ContentObject> action) {
+		if (index >= end)
+			return false;
+		action.accept(nextObject());
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super ContentObject> action) {
+		if (offsets == null) {
+			for (; index < end; index++)
+				action.accept(objects[index]);
+			return;
+		}
+		while (index < end) {
+			while (offsets[parentIndex+1] <= index)
+				parentIndex++;
+			LowLevelTextContainer parent = (LowLevelTextContainer)objects[parentIndex];
+			int parentEnd = Math.min(end, offsets[parentIndex+1]);
+			int offset = offsets[parentIndex];
+			for (; index < parentEnd; index++)
+				action.accept((ContentObject)parent.getTextObject(index - offset));
+		}
+	}
+
+	@Override
+	public Spliterator<ContentObject> trySplit() {
+		if (end - index < MIN_SPLIT_SIZE)
+			return null;
+		int mid = (index + end) >>> 1;
+		ContentSpliterator prefix = new ContentSpliterator(this, index, mid);
+		index = mid;
+		if (offsets != null) {
+			//Last parent with an offset not greater than mid (binary search)
+			int low = parentIndex, high = objects.length - 1;
+			while (low < high) {
+				int m = (low + high + 1) >>> 1;
+				if (offsets[m] <= mid)
+					low = m;
+				else
+					high = m - 1;
+			}
+			parentIndex = low;
+		}
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL;
+	}
+	
+	/** Returns the content type of the page content objects this spliterator was created for. */
+	public ContentType getContentType() {
+		return contentType;
+	}
+
+	/** Returns the layer this spliterator is restricted to (<code>null</code> for no restriction) */
+	public Layer getLayer() {
+		return layer;
+	}
+}
@@ -42,7 +42,7 @@ public class FrameRegion extends RegionImpl {
 	}
 	
 	public String getBgColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 
 	public void setBgColour(String colour) {
@@ -54,7 +54,7 @@ public class FrameRegion extends RegionImpl {
 	}
 
 	public boolean isBorderPresent() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_borderPresent).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_borderPresent).getValue()).val;
 	}
 
 	public void setBorderPresent(boolean border) {
@@ -43,7 +43,7 @@ public class LineDrawingRegion extends RegionImpl {
 	}
 
 	public String getPenColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_penColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_penColour).getValue()).val;
 	}
 
 	public void setPenColour(String colour) {
@@ -55,7 +55,7 @@ public class LineDrawingRegion extends RegionImpl {
 	}
 
 	public String getBgColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 	
 	public void setBgColour(String colour) {
@@ -67,7 +67,7 @@ public class LineDrawingRegion extends RegionImpl {
 	}
 
 	public double getOrientation() {
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_orientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_orientation).getValue()).val;
 	}
 
 	public void setOrientation(double orientation) {
@@ -79,7 +79,7 @@ public class LineDrawingRegion extends RegionImpl {
 	}
 
 	public boolean hasEmbeddedText() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_embText).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_embText).getValue()).val;
 	}
 
 	public void setEmbeddedText(boolean hasText) {
@@ -123,6 +123,8 @@ public abstract class RegionImpl implements Region {
 	@Override
 	public void setCoords(Polygon coords) {
 		this.coords = coords;
+		if (contentFactory != null)
+			contentFactory.contentChanged();
 	}
 
 	@Override
@@ -137,13 +139,19 @@ public abstract class RegionImpl implements Region {
 
 	@Override
 	public void setId(String id) throws InvalidIdException {
+		Id oldId = this.id;
 		this.id = idRegister.registerId(id, this.id);
+		if (contentFactory != null)
+			contentFactory.idChanged(this, oldId);
 	}
 	
 	@Override
 	public void setId(Id id) throws InvalidIdException {
 		idRegister.registerId(id, this.id);
+		Id oldId = this.id;
 		this.id = id;
+		if (contentFactory != null)
+			contentFactory.idChanged(this, oldId);
 	}
 
 	@Override
@@ -154,11 +162,14 @@ public abstract class RegionImpl implements Region {
 	@Override
 	public void addRegion(Region region) {
 		nestedRegions.add(region);
+		if (contentFactory != null)
+			contentFactory.contentAdded(region, this);
 	}
 
 	@Override
 	public void removeRegion(Region region) {
-		nestedRegions.remove(region);
+		if (nestedRegions.remove(region) && contentFactory != null)
+			contentFactory.contentRemoved(region);
 	}
 
 	/**
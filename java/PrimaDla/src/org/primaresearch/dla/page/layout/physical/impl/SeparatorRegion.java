@@ -42,7 +42,7 @@ public class SeparatorRegion extends RegionImpl {
 	}
 
 	public String getColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_colour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_colour).getValue()).val;
 	}
 
 	public void setColour(String colour) {
@@ -54,7 +54,7 @@ public class SeparatorRegion extends RegionImpl {
 	}
 
 	public double getOrientation() {
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_orientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_orientation).getValue()).val;
 	}
 
 	public void setOrientation(double orientation) {
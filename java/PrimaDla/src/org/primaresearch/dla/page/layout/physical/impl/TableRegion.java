@@ -46,7 +46,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public String getBgColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 
 	public void setBgColour(String colour) {
@@ -58,7 +58,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public String getLineColour() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_lineColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_lineColour).getValue()).val;
 	}
 
 	public void setLineColour(String colour) {
@@ -70,7 +70,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public double getOrientation() {
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_orientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_orientation).getValue()).val;
 	}
 
 	public void setOrientation(double orientation) {
@@ -82,7 +82,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public boolean hasEmbeddedText() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_embText).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_embText).getValue()).val;
 	}
 	
 	public void setEmbeddedText(boolean hasText) {
@@ -94,7 +94,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public boolean hasLineSeparators() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_lineSeparators).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_lineSeparators).getValue()).val;
 	}
 	
 	public void setLineSeparators(boolean hasLineSeparators) {
@@ -106,7 +106,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public int getNumberOfRows() {
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_rows).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_rows).getValue()).val;
 	}
 
 	public void setNumberOfRows(int rows) {
@@ -118,7 +118,7 @@ public class TableRegion extends RegionImpl {
 	}
 
 	public int getNumberOfColumns() {
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_columns).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_columns).getValue()).val;
 	}
 
 	public void setNumberOfColumns(int cols) {
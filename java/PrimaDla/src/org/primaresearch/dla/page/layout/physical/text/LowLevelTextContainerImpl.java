@@ -19,8 +19,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import org.primaresearch.collections.CompactingIndexedMap;
 import org.primaresearch.collections.IndexedMap;
-import org.primaresearch.collections.IndexedMapImpl;
 import org.primaresearch.dla.page.layout.GeometricObjectPositionComparator;
 import org.primaresearch.ident.Id;
 
@@ -32,7 +32,7 @@ import org.primaresearch.ident.Id;
  */
 public class LowLevelTextContainerImpl {
 
-	private IndexedMap<Id, LowLevelTextObject> textObjects = new IndexedMapImpl<Id, LowLevelTextObject>();
+	private IndexedMap<Id, LowLevelTextObject> textObjects = new CompactingIndexedMap<Id, LowLevelTextObject>();
 	
 	public boolean hasTextObjects() {
 		return !textObjects.isEmpty();
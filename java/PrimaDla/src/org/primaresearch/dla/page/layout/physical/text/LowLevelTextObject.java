@@ -21,6 +21,7 @@ import java.util.List;
 import org.primaresearch.dla.page.AlternativeImage;
 import org.primaresearch.dla.page.io.xml.DefaultXmlNames;
 import org.primaresearch.dla.page.layout.physical.AttributeFactory;
+import org.primaresearch.dla.page.layout.physical.ContentFactory;
 import org.primaresearch.dla.page.layout.physical.ContentObject;
 import org.primaresearch.dla.page.layout.physical.text.impl.TextContentVariants;
 import org.primaresearch.ident.Id;
@@ -58,11 +59,24 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 	transient private Labels labels;
 	
 	transient private List<AlternativeImage> alternativeImages;
+	
+	private ContentFactory contentFactory = null;
 
 	
 	protected LowLevelTextObject(IdRegister idRegister, Id id, Polygon coords, 
 								VariableMap attributes, LowLevelTextContainer parent,
 								AttributeFactory attrFactory) {
+		this(null, idRegister, id, coords, attributes, parent, attrFactory);
+	}
+
+	/**
+	 * Constructor
+	 * @param contentFactory Factory of the page (for creating child objects and for change notifications, can be <code>null</code>)
+	 */
+	protected LowLevelTextObject(ContentFactory contentFactory, IdRegister idRegister, Id id, Polygon coords, 
+								VariableMap attributes, LowLevelTextContainer parent,
+								AttributeFactory attrFactory) {
+		this.contentFactory = contentFactory;
 		this.idRegister = idRegister;
 		this.id = id;
 		this.coords = coords;
@@ -85,6 +99,8 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 	@Override
 	public void setCoords(Polygon coords) {
 		this.coords = coords;
+		if (contentFactory != null)
+			contentFactory.contentChanged();
 	}
 
 	@Override
@@ -99,13 +115,27 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 	
 	@Override
 	public void setId(String id) throws InvalidIdException {
+		Id oldId = this.id;
 		this.id = idRegister.registerId(id, this.id);
+		if (contentFactory != null)
+			contentFactory.idChanged(this, oldId);
 	}
 	
 	@Override
 	public void setId(Id id) throws InvalidIdException {
 		idRegister.registerId(id, this.id);
+		Id oldId = this.id;
 		this.id = id;
+		if (contentFactory != null)
+			contentFactory.idChanged(this, oldId);
+	}
+	
+	/**
+	 * Returns the factory of the page this object belongs to
+	 * @return Content factory or <code>null</code>
+	 */
+	public ContentFactory getContentFactory() {
+		return contentFactory;
 	}
 
 	@Override
@@ -266,9 +296,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 	
 	@Override
 	public Boolean isBold() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_bold) == null || getAttributes().get(DefaultXmlNames.ATTR_bold).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_bold) == null || getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_bold).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue()).val;
 	}
 	
 	@Override
@@ -282,9 +312,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isItalic() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_italic) == null || getAttributes().get(DefaultXmlNames.ATTR_italic).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_italic) == null || getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_italic).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue()).val;
 	}
 	
 	@Override
@@ -298,9 +328,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isUnderlined() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_underlined) == null || getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_underlined) == null || getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue()).val;
 	}
 	
 	@Override
@@ -314,9 +344,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 	
 	@Override
 	public String getUnderlineStyle() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_underlineStyle) == null || getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle) == null || getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
 	}
 	
 	@Override
@@ -330,9 +360,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isSubscript() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_subscript) == null || getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_subscript) == null || getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue()).val;
 	}
 	
 	@Override
@@ -346,9 +376,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isSuperscript() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_superscript) == null || getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_superscript) == null || getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue()).val;
 	}
 	
 	@Override
@@ -362,9 +392,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isStrikethrough() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_strikethrough) == null || getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_strikethrough) == null || getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
 	}
 	
 	@Override
@@ -378,9 +408,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isSmallCaps() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_smallCaps) == null || getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_smallCaps) == null || getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
 	}
 	
 	@Override
@@ -394,9 +424,9 @@ abstract public class LowLevelTextObject implements TextObject, ContentObject {
 
 	@Override
 	public Boolean isLetterSpaced() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_letterSpaced) == null || getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced) == null || getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
 	}
 	
 	@Override
@@ -56,13 +56,25 @@ public abstract class GraphemeElementImpl implements GraphemeElement {
 	
 	@Override
 	public void setId(String id) throws InvalidIdException {
+		Id oldId = this.id;
 		this.id = idRegister.registerId(id, this.id);
+		notifyIdChanged(oldId);
 	}
 	
 	@Override
 	public void setId(Id id) throws InvalidIdException {
 		idRegister.registerId(id, this.id);
+		Id oldId = this.id;
 		this.id = id;
+		notifyIdChanged(oldId);
+	}
+	
+	/**
+	 * Notifies the content factory of the parent glyph about an ID change
+	 */
+	private void notifyIdChanged(Id oldId) {
+		if (parent != null && parent.getContentFactory() != null)
+			parent.getContentFactory().idChanged(this, oldId);
 	}
 
 	/**
@@ -83,7 +95,7 @@ public abstract class GraphemeElementImpl implements GraphemeElement {
 	
 	@Override
 	public String getCharacterType() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_charType).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_charType).getValue()).val;
 	}
 
 	@Override
@@ -97,7 +109,7 @@ public abstract class GraphemeElementImpl implements GraphemeElement {
 
 	@Override
 	public int getSortIndex() {
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_index).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_index).getValue()).val;
 	}
 
 	@Override
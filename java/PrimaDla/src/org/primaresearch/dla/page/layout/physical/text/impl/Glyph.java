@@ -40,12 +40,10 @@ import org.primaresearch.shared.variable.VariableMap;
 public class Glyph extends LowLevelTextObject {
 
 	private List<GraphemeElement> graphemes = null;
-	private ContentFactory contentFactory;
 
 	protected Glyph(ContentFactory contentFactory, IdRegister idRegister, Id id, Polygon coords, VariableMap attributes, 
 					LowLevelTextContainer parentWord) {
-		super(idRegister, id, coords, attributes, parentWord, contentFactory != null ? contentFactory.getAttributeFactory() : null);
-		this.contentFactory = contentFactory;
+		super(contentFactory, idRegister, id, coords, attributes, parentWord, contentFactory != null ? contentFactory.getAttributeFactory() : null);
 	}
 
 	/**
@@ -72,7 +70,7 @@ public class Glyph extends LowLevelTextObject {
 	 * @return New grapheme element
 	 */
 	public GraphemeElement createGraphemeElement(String id, LowLevelTextType type, GraphemeGroup group) {
-		GraphemeElement obj = (GraphemeElement)contentFactory.createGraphemeElement(type);
+		GraphemeElement obj = (GraphemeElement)getContentFactory().createGraphemeElement(type);
 		obj.setParent(this);
 		if (id != null) {
 			try {
@@ -85,6 +83,8 @@ public class Glyph extends LowLevelTextObject {
 			group.addMember(obj);
 		else //Add to glyph
 			getGraphemes().add(obj);
+		if (getContentFactory() != null)
+			getContentFactory().contentAdded(obj, group != null ? group : this);
 		return obj;
 	}
 
@@ -95,7 +95,7 @@ public class Glyph extends LowLevelTextObject {
 
 	/*@Override
 	public Boolean isBold() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_bold).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue()).val;
 	}
 	
 	@Override
@@ -109,7 +109,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isItalic() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_italic).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue()).val;
 	}
 	
 	@Override
@@ -123,7 +123,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isUnderlined() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue()).val;
 	}
 	
 	@Override
@@ -137,7 +137,7 @@ public class Glyph extends LowLevelTextObject {
 	
 	@Override
 	public String getUnderlineStyle() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
 	}
 	
 	@Override
@@ -151,7 +151,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isSubscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue()).val;
 	}
 	
 	@Override
@@ -165,7 +165,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isSuperscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue()).val;
 	}
 	
 	@Override
@@ -179,7 +179,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isStrikethrough() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
 	}
 	
 	@Override
@@ -193,7 +193,7 @@ public class Glyph extends LowLevelTextObject {
 
 	@Override
 	public Boolean isSmallCaps() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
 	}
 	
 	@Override
@@ -45,15 +45,12 @@ public class TextLine extends LowLevelTextObject
 	private LowLevelTextContainerImpl words = new LowLevelTextContainerImpl();
 
 	private Polygon baseline;
-	
-	private ContentFactory contentFactory;
 
 	
 	protected TextLine(ContentFactory contentFactory, IdRegister idRegister, Id id, Polygon coords, 
 						VariableMap attributes, //VariableMap textStyle, 
 						LowLevelTextContainer parentRegion) {
-		super(idRegister, id, coords, attributes, parentRegion, contentFactory.getAttributeFactory());
-		this.contentFactory = contentFactory;
+		super(contentFactory, idRegister, id, coords, attributes, parentRegion, contentFactory.getAttributeFactory());
 	}
 	
 	@Override
@@ -81,7 +78,7 @@ public class TextLine extends LowLevelTextObject
 	 * @return The new word
 	 */
 	public Word createWord(String id) {
-		Word word = (Word)contentFactory.createContent(LowLevelTextType.Word);
+		Word word = (Word)getContentFactory().createContent(LowLevelTextType.Word);
 		word.setParent(this);
 		if (id != null) {
 			try {
@@ -97,6 +94,8 @@ public class TextLine extends LowLevelTextObject
 	@Override
 	public void addTextObject(LowLevelTextObject textObj) {
 		words.addTextObject(textObj);
+		if (getContentFactory() != null)
+			getContentFactory().contentAdded(textObj, this);
 	}
 
 	@Override
@@ -111,12 +110,18 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public void removeTextObject(int index) throws IndexOutOfBoundsException {
+		LowLevelTextObject textObj = words.getTextObject(index);
 		words.removeTextObject(index);
+		if (getContentFactory() != null)
+			getContentFactory().contentRemoved(textObj);
 	}
 
 	@Override
 	public void removeTextObject(Id id) {
+		LowLevelTextObject textObj = words.getTextObject(id);
 		words.removeTextObject(id);
+		if (getContentFactory() != null && textObj != null)
+			getContentFactory().contentRemoved(textObj);
 	}
 
 	@Override
@@ -140,7 +145,7 @@ public class TextLine extends LowLevelTextObject
 
 	/*@Override
 	public Boolean isBold() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_bold).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue()).val;
 	}
 	
 	@Override
@@ -154,7 +159,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isItalic() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_italic).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue()).val;
 	}
 	
 	@Override
@@ -168,7 +173,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isUnderlined() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue()).val;
 	}
 	
 	@Override
@@ -182,7 +187,7 @@ public class TextLine extends LowLevelTextObject
 	
 	@Override
 	public String getUnderlineStyle() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
 	}
 	
 	@Override
@@ -196,7 +201,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isSubscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue()).val;
 	}
 	
 	@Override
@@ -210,7 +215,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isSuperscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue()).val;
 	}
 	
 	@Override
@@ -224,7 +229,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isStrikethrough() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
 	}
 	
 	@Override
@@ -238,7 +243,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isSmallCaps() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
 	}
 	
 	@Override
@@ -252,7 +257,7 @@ public class TextLine extends LowLevelTextObject
 
 	@Override
 	public Boolean isLetterSpaced() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
 	}
 	
 	@Override
@@ -265,7 +270,7 @@ public class TextLine extends LowLevelTextObject
 	}*/
 	
 	public String getPrimaryLanguage() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_primaryLanguage).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_primaryLanguage).getValue()).val;
 	}
 
 	public void setPrimaryLanguage(String lang) {
@@ -136,6 +136,8 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	@Override
 	public void addTextObject(LowLevelTextObject textObj) {
 		textLines.addTextObject(textObj);
+		if (contentFactory != null)
+			contentFactory.contentAdded(textObj, this);
 	}
 	
 	@Override
@@ -145,12 +147,18 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public void removeTextObject(int index) throws IndexOutOfBoundsException {
+		LowLevelTextObject textObj = textLines.getTextObject(index);
 		textLines.removeTextObject(index);
+		if (contentFactory != null)
+			contentFactory.contentRemoved(textObj);
 	}
 
 	@Override
 	public void removeTextObject(Id id) {
+		LowLevelTextObject textObj = textLines.getTextObject(id);
 		textLines.removeTextObject(id);
+		if (contentFactory != null && textObj != null)
+			contentFactory.contentRemoved(textObj);
 	}
 
 	@Override
@@ -159,7 +167,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 
 	public String getTextType() {
-		Variable v = getAttributes().get(DefaultXmlNames.ATTR_type);
+		Variable v = getAttributes().peek(DefaultXmlNames.ATTR_type);
 		return v != null && v.getValue() != null ? ((StringValue)v.getValue()).val : null;
 	}
 
@@ -172,7 +180,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 
 	public double getOrientation() {
-		Variable v = getAttributes().get(DefaultXmlNames.ATTR_orientation);
+		Variable v = getAttributes().peek(DefaultXmlNames.ATTR_orientation);
 		return v != null && v.getValue() != null ? ((DoubleValue)v.getValue()).val : 0.0;
 	}
 	
@@ -185,9 +193,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getTextColour() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_textColour) == null || getAttributes().get(DefaultXmlNames.ATTR_textColour).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_textColour) == null || getAttributes().peek(DefaultXmlNames.ATTR_textColour).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_textColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_textColour).getValue()).val;
 	}
 
 	public void setTextColour(String colour) {
@@ -199,9 +207,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getBgColour() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_bgColour) == null || getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_bgColour) == null || getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_bgColour).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_bgColour).getValue()).val;
 	}
 
 	public void setBgColour(String colour) {
@@ -213,9 +221,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public Boolean isReverseVideo() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_reverseVideo) == null || getAttributes().get(DefaultXmlNames.ATTR_reverseVideo).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_reverseVideo) == null || getAttributes().peek(DefaultXmlNames.ATTR_reverseVideo).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_reverseVideo).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_reverseVideo).getValue()).val;
 	}
 	
 	public void setReverseVideo(boolean reverseVideo) {
@@ -227,9 +235,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public Double getFontSize() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_fontSize) == null || getAttributes().get(DefaultXmlNames.ATTR_fontSize).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_fontSize) == null || getAttributes().peek(DefaultXmlNames.ATTR_fontSize).getValue() == null)
 			return null;
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_fontSize).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_fontSize).getValue()).val;
 	}
 
 	public void setFontSize(double fontSize) {
@@ -241,9 +249,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public Integer getLeading() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_leading) == null || getAttributes().get(DefaultXmlNames.ATTR_leading).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_leading) == null || getAttributes().peek(DefaultXmlNames.ATTR_leading).getValue() == null)
 			return null;
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_leading).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_leading).getValue()).val;
 	}
 
 	public void setLeading(int leading) {
@@ -255,9 +263,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public Integer getKerning() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_kerning) == null || getAttributes().get(DefaultXmlNames.ATTR_kerning).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_kerning) == null || getAttributes().peek(DefaultXmlNames.ATTR_kerning).getValue() == null)
 			return null;
-		return ((IntegerValue)getAttributes().get(DefaultXmlNames.ATTR_kerning).getValue()).val;
+		return ((IntegerValue)getAttributes().peek(DefaultXmlNames.ATTR_kerning).getValue()).val;
 	}
 
 	public void setKerning(int kerning) {
@@ -269,9 +277,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getReadingDirection() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_readingDirection) == null || getAttributes().get(DefaultXmlNames.ATTR_readingDirection).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_readingDirection) == null || getAttributes().peek(DefaultXmlNames.ATTR_readingDirection).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_readingDirection).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_readingDirection).getValue()).val;
 	}
 
 	public void setReadingDirection(String direction) {
@@ -283,9 +291,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 
 	public Double getReadingOrientation() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_readingOrientation) == null || getAttributes().get(DefaultXmlNames.ATTR_readingOrientation).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_readingOrientation) == null || getAttributes().peek(DefaultXmlNames.ATTR_readingOrientation).getValue() == null)
 			return null;
-		return ((DoubleValue)getAttributes().get(DefaultXmlNames.ATTR_readingOrientation).getValue()).val;
+		return ((DoubleValue)getAttributes().peek(DefaultXmlNames.ATTR_readingOrientation).getValue()).val;
 	}
 	
 	public void setReadingOrientation(double orientation) {
@@ -297,9 +305,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public Boolean isIndented() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_indented) == null || getAttributes().get(DefaultXmlNames.ATTR_indented).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_indented) == null || getAttributes().peek(DefaultXmlNames.ATTR_indented).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_indented).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_indented).getValue()).val;
 	}
 	
 	public void setIndented(boolean indented) {
@@ -311,7 +319,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getPrimaryLanguage() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_primaryLanguage).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_primaryLanguage).getValue()).val;
 	}
 
 	public void setPrimaryLanguage(String lang) {
@@ -323,7 +331,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getSecondaryLanguage() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_secondaryLanguage).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_secondaryLanguage).getValue()).val;
 	}
 
 	public void setSecondaryLanguage(String lang) {
@@ -335,7 +343,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getPrimaryScript() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_primaryScript).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_primaryScript).getValue()).val;
 	}
 
 	public void setPrimarySkript(String skript) {
@@ -347,7 +355,7 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	}
 	
 	public String getSecondaryScript() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_secondaryScript).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_secondaryScript).getValue()).val;
 	}
 
 	public void setSecondaryScript(String skript) {
@@ -375,9 +383,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isBold() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_bold) == null || getAttributes().get(DefaultXmlNames.ATTR_bold).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_bold) == null || getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_bold).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue()).val;
 	}
 	
 	@Override
@@ -391,9 +399,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isItalic() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_italic) == null || getAttributes().get(DefaultXmlNames.ATTR_italic).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_italic) == null || getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_italic).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue()).val;
 	}
 	
 	@Override
@@ -407,9 +415,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isUnderlined() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_underlined) == null || getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_underlined) == null || getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue()).val;
 	}
 	
 	@Override
@@ -423,9 +431,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 	
 	@Override
 	public String getUnderlineStyle() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_underlineStyle) == null || getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle) == null || getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
 	}
 	
 	@Override
@@ -439,9 +447,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isSubscript() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_subscript) == null || getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_subscript) == null || getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue()).val;
 	}
 	
 	@Override
@@ -455,9 +463,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isSuperscript() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_superscript) == null || getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_superscript) == null || getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue()).val;
 	}
 	
 	@Override
@@ -471,9 +479,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isStrikethrough() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_strikethrough) == null || getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_strikethrough) == null || getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
 	}
 	
 	@Override
@@ -487,9 +495,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isSmallCaps() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_smallCaps) == null || getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_smallCaps) == null || getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
 	}
 	
 	@Override
@@ -503,9 +511,9 @@ public class TextRegion extends RegionImpl implements TextObject, LowLevelTextCo
 
 	@Override
 	public Boolean isLetterSpaced() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_letterSpaced) == null || getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced) == null || getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue() == null)
 			return null;
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
 	}
 	
 	@Override
@@ -43,13 +43,10 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	private LowLevelTextContainerImpl glyphs = new LowLevelTextContainerImpl();
 
-	private ContentFactory contentFactory;
-
 	
 	protected Word(ContentFactory contentFactory, IdRegister idRegister, Id id, Polygon coords, VariableMap attributes, 
 				 LowLevelTextContainer parentLine) {
-		super(idRegister, id, coords, attributes, parentLine, contentFactory.getAttributeFactory());
-		this.contentFactory = contentFactory;
+		super(contentFactory, idRegister, id, coords, attributes, parentLine, contentFactory.getAttributeFactory());
 	}
 
 	@Override
@@ -77,7 +74,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 	 * @return New glyph
 	 */
 	public Glyph createGlyph(String id) {
-		Glyph glyph = (Glyph)contentFactory.createContent(LowLevelTextType.Glyph);
+		Glyph glyph = (Glyph)getContentFactory().createContent(LowLevelTextType.Glyph);
 		glyph.setParent(this);
 		if (id != null) {
 			try {
@@ -93,6 +90,8 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 	@Override
 	public void addTextObject(LowLevelTextObject textObj) {
 		glyphs.addTextObject(textObj);
+		if (getContentFactory() != null)
+			getContentFactory().contentAdded(textObj, this);
 	}
 
 	@Override
@@ -107,12 +106,18 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public void removeTextObject(int index) throws IndexOutOfBoundsException {
+		LowLevelTextObject textObj = glyphs.getTextObject(index);
 		glyphs.removeTextObject(index);
+		if (getContentFactory() != null)
+			getContentFactory().contentRemoved(textObj);
 	}
 
 	@Override
 	public void removeTextObject(Id id) {
+		LowLevelTextObject textObj = glyphs.getTextObject(id);
 		glyphs.removeTextObject(id);
+		if (getContentFactory() != null && textObj != null)
+			getContentFactory().contentRemoved(textObj);
 	}
 
 	@Override
@@ -122,7 +127,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	/*@Override
 	public Boolean isBold() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_bold).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_bold).getValue()).val;
 	}
 	
 	@Override
@@ -136,7 +141,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isItalic() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_italic).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_italic).getValue()).val;
 	}
 	
 	@Override
@@ -150,7 +155,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isUnderlined() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_underlined).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_underlined).getValue()).val;
 	}
 	
 	@Override
@@ -164,7 +169,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 	
 	@Override
 	public String getUnderlineStyle() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_underlineStyle).getValue()).val;
 	}
 	
 	@Override
@@ -178,7 +183,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isSubscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_subscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_subscript).getValue()).val;
 	}
 	
 	@Override
@@ -192,7 +197,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isSuperscript() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_superscript).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_superscript).getValue()).val;
 	}
 	
 	@Override
@@ -206,7 +211,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isStrikethrough() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_strikethrough).getValue()).val;
 	}
 	
 	@Override
@@ -220,7 +225,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isSmallCaps() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_smallCaps).getValue()).val;
 	}
 	
 	@Override
@@ -234,7 +239,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 
 	@Override
 	public Boolean isLetterSpaced() {
-		return ((BooleanValue)getAttributes().get(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
+		return ((BooleanValue)getAttributes().peek(DefaultXmlNames.ATTR_letterSpaced).getValue()).val;
 	}
 	
 	@Override
@@ -247,7 +252,7 @@ public class Word extends LowLevelTextObject implements LowLevelTextContainer {
 	}*/
 	
 	public String getLanguage() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_language).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_language).getValue()).val;
 	}
 
 	public void setLanguage(String lang) {
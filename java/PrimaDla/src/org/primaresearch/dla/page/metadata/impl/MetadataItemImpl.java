@@ -52,17 +52,17 @@ public class MetadataItemImpl implements MetadataItem {
 
 	@Override
 	public String getType() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_type).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_type).getValue()).val;
 	}
 
 	@Override
 	public String getName() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_name).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_name).getValue()).val;
 	}
 
 	@Override
 	public String getValue() {
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_value).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_value).getValue()).val;
 	}
 
 	@Override
@@ -104,9 +104,9 @@ public class MetadataItemImpl implements MetadataItem {
 
 	@Override
 	public String getDate() {
-		if (getAttributes().get(DefaultXmlNames.ATTR_date) == null || getAttributes().get(DefaultXmlNames.ATTR_date).getValue() == null)
+		if (getAttributes().peek(DefaultXmlNames.ATTR_date) == null || getAttributes().peek(DefaultXmlNames.ATTR_date).getValue() == null)
 			return null;
-		return ((StringValue)getAttributes().get(DefaultXmlNames.ATTR_date).getValue()).val;
+		return ((StringValue)getAttributes().peek(DefaultXmlNames.ATTR_date).getValue()).val;
 	}
 
 	@Override
@@ -15,15 +15,37 @@
  */
 package org.primaresearch.dla.page;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.Test;
 import org.primaresearch.dla.page.io.xml.PageXmlInputOutput;
+import org.primaresearch.dla.page.io.xml.StreamTarget;
+import org.primaresearch.dla.page.io.xml.XmlPageWriter;
+import org.primaresearch.dla.page.layout.GeometricObjectImpl;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.impl.TableGrid;
+import org.primaresearch.dla.page.layout.physical.impl.TableGrid.TableGridRow;
 import org.primaresearch.dla.page.layout.physical.impl.TableRegion;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.Grapheme;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeGroup;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
 import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.dla.page.layout.physical.text.impl.Word;
 import org.primaresearch.io.UnsupportedFormatVersionException;
 import org.primaresearch.io.xml.XmlFormatVersion;
+import org.primaresearch.maths.geometry.AffineTransformation;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.PolygonSimplifier;
 
 public class PageTest {
 
@@ -68,4 +90,170 @@ public class PageTest {
 
 	}
 
+	@Test
+	public void testFreeze() {
+		Page page = new Page();
+		TextRegion region = (TextRegion)page.getLayout().createRegion(RegionType.TextRegion);
+		region.setCoords(createBox(0, 0, 100, 100));
+		TextLine line = region.createTextLine();
+		line.setCoords(createBox(0, 0, 100, 20));
+		line.setBaseline(createBox(0, 15, 100, 15));
+		Glyph glyph = line.createWord().createGlyph();
+		glyph.setCoords(createBox(0, 0, 10, 20));
+		
+		assertFalse(page.isFrozen());
+		page.freeze();
+		assertTrue(page.isFrozen());
+		
+		assertTrue(region.getCoords().isFrozen());
+		assertTrue(line.getCoords().isFrozen());
+		assertTrue(line.getBaseline().isFrozen());
+		assertTrue(glyph.getCoords().isFrozen());
+		assertTrue(glyph.getCoords().isPointInside(5, 10));
+		
+		try {
+			glyph.getCoords().addPoint(1, 1);
+			fail("Frozen polygon modified");
+		} catch (UnsupportedOperationException exc) {
+			//expected
+		}
+	}
+	
+	@Test
+	public void testSimplifyGeometry() throws Exception {
+		Page page = new Page();
+		page.getLayout().setSize(200, 200);
+		TextRegion region = (TextRegion)page.getLayout().createRegion(RegionType.TextRegion);
+		region.setCoords(createNoisyBox(0, 0, 100, 100));
+		TextLine line = region.createTextLine();
+		line.setCoords(createNoisyBox(0, 0, 100, 20));
+		Polygon baseline = new Polygon();
+		baseline.addPoints(new int[] {0, 15, 50, 16, 100, 15}, 3);
+		line.setBaseline(baseline);
+		Word word = line.createWord();
+		word.setCoords(createBox(0, 0, 10, 20));
+		Glyph glyph = word.createGlyph();
+		glyph.setCoords(createNoisyBox(0, 0, 10, 20));
+		
+		PolygonSimplifier simplifier = new PolygonSimplifier(1.5);
+		
+		//Writer option (page is not changed)
+		XmlPageWriter writer = PageXmlInputOutput.getWriterForLastestXmlFormat();
+		writer.setPolygonSimplifier(simplifier);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertTrue(writer.write(page, new StreamTarget(output)));
+		assertEquals(4 * 3 + 1, writer.getRemovedPointCount());
+		assertTrue(output.toString("UTF-8").contains("<Coords points=\"0,0 100,0 100,100 0,100\"/>"));
+		assertTrue(output.toString("UTF-8").contains("<Baseline points=\"0,15 100,15\"/>"));
+		assertEquals(8, region.getCoords().getSize());
+		
+		//Simplify page (frozen outlines are replaced)
+		line.getCoords().freeze();
+		assertEquals(4 * 3 + 1, page.simplifyGeometry(simplifier));
+		assertEquals(4, region.getCoords().getSize());
+		assertEquals(4, line.getCoords().getSize());
+		assertTrue(line.getCoords().isFrozen());
+		assertEquals(2, line.getBaseline().getSize());
+		assertEquals(4, glyph.getCoords().getSize());
+		assertEquals(0, page.simplifyGeometry(simplifier));
+	}
+	
+	@Test
+	public void testTransform() throws Exception {
+		Page page = createTransformTestPage();
+		PageLayout layout = page.getLayout();
+		TextRegion region = (TextRegion)layout.getRegion(0);
+		TextLine line = (TextLine)region.getTextObject(0);
+		Glyph glyph = (Glyph)((Word)line.getTextObject(0)).getTextObject(0);
+		TableRegion table = (TableRegion)layout.getRegion(1);
+		line.getCoords().freeze();
+
+		layout.transform(AffineTransformation.createScaling(2, 3));
+		
+		assertEquals(200, region.getCoords().getBoundingBox().right);
+		assertEquals(300, region.getCoords().getBoundingBox().bottom);
+		assertEquals(60, line.getCoords().getBoundingBox().bottom);
+		assertTrue(line.getCoords().isFrozen());
+		assertEquals(45, line.getBaseline().getPoint(0).y);
+		assertEquals(20, glyph.getCoords().getBoundingBox().right);
+		assertEquals(8, ((Grapheme)glyph.getGraphemes().get(0)).getCoords().getBoundingBox().right);
+		GraphemeGroup group = (GraphemeGroup)glyph.getGraphemes().get(1);
+		assertEquals(16, ((Grapheme)group.getGraphemes().get(0)).getCoords().getBoundingBox().right);
+		assertEquals(400, table.getGrid().getRows().get(0).getCoords().getPoint(1).x);
+		assertEquals(600, layout.getBorder().getCoords().getBoundingBox().bottom);
+		assertEquals(20, layout.getPrintSpace().getCoords().getBoundingBox().left);
+		assertEquals(400, table.getCoords().getBoundingBox().right);
+		//Page size is not changed
+		assertEquals(300, layout.getWidth());
+		
+		//Parallel (same result as sequential)
+		Page other = createTransformTestPage();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			other.getLayout().transform(AffineTransformation.createScaling(2, 3), executor);
+		} finally {
+			executor.shutdown();
+		}
+		XmlPageWriter writer = PageXmlInputOutput.getWriterForLastestXmlFormat();
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		page.setGtsId("test");
+		other.setGtsId("test");
+		writer.write(page, new StreamTarget(expected));
+		writer.write(other, new StreamTarget(actual));
+		assertEquals(expected.toString("UTF-8").replaceAll("<LastChange>.*</LastChange>", ""),
+				actual.toString("UTF-8").replaceAll("<LastChange>.*</LastChange>", ""));
+	}
+	
+	private static Page createTransformTestPage() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		layout.setSize(300, 300);
+		layout.setBorder(new GeometricObjectImpl(createBox(0, 0, 300, 200)));
+		layout.setPrintSpace(new GeometricObjectImpl(createBox(10, 10, 290, 190)));
+		TextRegion region = (TextRegion)layout.createRegion(RegionType.TextRegion);
+		region.setCoords(createBox(0, 0, 100, 100));
+		TextLine line = region.createTextLine();
+		line.setCoords(createBox(0, 0, 100, 20));
+		line.setBaseline(createBox(0, 15, 100, 15));
+		Word word = line.createWord();
+		word.setCoords(createBox(0, 0, 10, 20));
+		Glyph glyph = word.createGlyph();
+		glyph.setCoords(createBox(0, 0, 10, 20));
+		Grapheme grapheme = (Grapheme)glyph.createGraphemeElement(null, LowLevelTextType.Grapheme, null);
+		grapheme.setCoords(createBox(0, 0, 4, 20));
+		GraphemeGroup group = (GraphemeGroup)glyph.createGraphemeElement(null, LowLevelTextType.GraphemeGroup, null);
+		grapheme = (Grapheme)glyph.createGraphemeElement(null, LowLevelTextType.Grapheme, group);
+		grapheme.setCoords(createBox(4, 0, 8, 20));
+		
+		TableRegion table = (TableRegion)layout.createRegion(RegionType.TableRegion);
+		table.setCoords(createBox(100, 100, 200, 200));
+		TableGrid grid = new TableGrid();
+		TableGridRow row = new TableGridRow();
+		Polygon points = new Polygon();
+		points.addPoint(100, 100);
+		points.addPoint(200, 100);
+		row.setCoords(points);
+		grid.getRows().add(row);
+		table.setGrid(grid);
+		return page;
+	}
+	
+	/**
+	 * Box with an extra point in the middle of each side (one of them a pixel off)
+	 */
+	private static Polygon createNoisyBox(int left, int top, int right, int bottom) {
+		int cx = (left + right) / 2;
+		int cy = (top + bottom) / 2;
+		Polygon polygon = new Polygon();
+		polygon.addPoints(new int[] {left, top, cx, top + 1, right, top, right, cy, right, bottom, cx, bottom, left, bottom, left, cy}, 8);
+		return polygon;
+	}
+	
+	private static Polygon createBox(int left, int top, int right, int bottom) {
+		Polygon polygon = new Polygon();
+		polygon.addPoints(new int[] {left, top, right, top, right, bottom, left, bottom}, 4);
+		return polygon;
+	}
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.io.xml.PageXmlInputOutput;
+import org.primaresearch.dla.page.layout.logical.Group;
+import org.primaresearch.dla.page.layout.logical.RegionRef;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.dla.page.layout.physical.text.impl.Word;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.Rect;
+
+public class PageReadFilterTest {
+	
+	private File file;
+
+	@Before
+	public void setUp() throws Exception {
+		Page page = new Page();
+		page.getLayout().setSize(1000, 1000);
+		for (int r=0; r<2; r++) {
+			TextRegion region = (TextRegion)page.getLayout().createRegion(RegionType.TextRegion);
+			region.setCoords(createRect(10, 100*r+10, 500, 100*r+90));
+			region.setText("Region "+r);
+			TextLine line = region.createTextLine();
+			line.setCoords(createRect(20, 100*r+20, 490, 100*r+80));
+			line.setText("ab");
+			Word word = line.createWord();
+			word.setCoords(createRect(30, 100*r+30, 480, 100*r+70));
+			word.setText("ab");
+			Glyph glyph = word.createGlyph();
+			glyph.setCoords(createRect(40, 100*r+40, 100, 100*r+60));
+			glyph.setText("a");
+		}
+		Region image = page.getLayout().createRegion(RegionType.ImageRegion);
+		image.setCoords(createRect(10, 500, 500, 600));
+		
+		Group readingOrder = page.getLayout().createReadingOrder().getRoot();
+		for (int i=0; i<page.getLayout().getRegionCount(); i++)
+			readingOrder.addRegionRef(page.getLayout().getRegion(i).getId().toString());
+		
+		file = File.createTempFile("filter_", ".xml");
+		file.deleteOnExit();
+		assertTrue(PageXmlInputOutput.writePage(page, file.getPath()));
+	}
+	
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testIsSkipped() {
+		PageReadFilter filter = new PageReadFilter();
+		assertFalse(filter.isSkipped(LowLevelTextType.Grapheme));
+		
+		filter.setLowLevelTextTypeLimit(LowLevelTextType.Word);
+		assertFalse(filter.isSkipped(LowLevelTextType.TextLine));
+		assertFalse(filter.isSkipped(LowLevelTextType.Word));
+		assertTrue(filter.isSkipped(LowLevelTextType.Glyph));
+		assertTrue(filter.isSkipped(LowLevelTextType.NonPrintingCharacter));
+		assertFalse(filter.isSkipped(null));
+		
+		filter.setReadLowLevelText(false);
+		assertTrue(filter.isSkipped(LowLevelTextType.TextLine));
+	}
+	
+	@Test
+	public void testReadRegionsOnly() throws Exception {
+		PageReadFilter filter = new PageReadFilter();
+		filter.setReadLowLevelText(false);
+		Page page = PageXmlInputOutput.readPage(file.getPath(), filter);
+		assertNotNull(page);
+		assertEquals(3, page.getLayout().getRegionCount());
+		for (int r=0; r<2; r++) {
+			TextRegion region = (TextRegion)page.getLayout().getRegion(r);
+			assertEquals(0, region.getTextObjectCount());
+			//Content following the skipped lines is still read
+			assertEquals("Region "+r, region.getText());
+		}
+	}
+
+	@Test
+	public void testReadDepthLimit() throws Exception {
+		Page page = PageXmlInputOutput.readPage(file.getPath(), new PageReadFilter(LowLevelTextType.TextLine));
+		TextLine line = (TextLine)((TextRegion)page.getLayout().getRegion(1)).getTextObject(0);
+		assertEquals("ab", line.getText());
+		assertEquals(0, line.getTextObjectCount());
+		
+		page = PageXmlInputOutput.readPage(file.getPath(), new PageReadFilter(LowLevelTextType.Word));
+		line = (TextLine)((TextRegion)page.getLayout().getRegion(1)).getTextObject(0);
+		Word word = (Word)line.getTextObject(0);
+		assertEquals("ab", word.getText());
+		assertEquals(0, word.getTextObjectCount());
+		
+		page = PageXmlInputOutput.readPage(file.getPath(), new PageReadFilter());
+		line = (TextLine)((TextRegion)page.getLayout().getRegion(1)).getTextObject(0);
+		word = (Word)line.getTextObject(0);
+		assertEquals(1, word.getTextObjectCount());
+		assertEquals("a", word.getTextObject(0).getText());
+	}
+	
+	@Test
+	public void testReadRegionTypes() throws Exception {
+		PageReadFilter filter = new PageReadFilter();
+		filter.addRegionType(RegionType.ImageRegion);
+		Page page = PageXmlInputOutput.readPage(file.getPath(), filter);
+		assertEquals(1, page.getLayout().getRegionCount());
+		assertEquals(RegionType.ImageRegion, page.getLayout().getRegion(0).getType());
+		
+		//Reading order only references the remaining region
+		Group readingOrder = page.getLayout().getReadingOrder().getRoot();
+		assertEquals(1, readingOrder.getSize());
+		assertEquals(page.getLayout().getRegion(0).getId(), ((RegionRef)readingOrder.getMember(0)).getRegionId());
+	}
+
+	@Test
+	public void testReadWindow() throws Exception {
+		PageReadFilter filter = new PageReadFilter(null, new Rect(0, 150, 1000, 550));
+		Page page = PageXmlInputOutput.readPage(file.getPath(), filter);
+		assertEquals(2, page.getLayout().getRegionCount());
+		assertEquals("Region 1", ((TextRegion)page.getLayout().getRegion(0)).getText());
+		assertEquals(RegionType.ImageRegion, page.getLayout().getRegion(1).getType());
+		assertEquals(2, page.getLayout().getReadingOrder().getRoot().getSize());
+		
+		//Type and window combined
+		filter.addRegionType(RegionType.TextRegion);
+		page = PageXmlInputOutput.readPage(file.getPath(), filter);
+		assertEquals(1, page.getLayout().getRegionCount());
+		TextRegion region = (TextRegion)page.getLayout().getRegion(0);
+		assertEquals("Region 1", region.getText());
+		assertEquals(1, region.getTextObjectCount());
+		assertEquals(1, page.getLayout().getReadingOrder().getRoot().getSize());
+	}
+	
+	private static Polygon createRect(int left, int top, int right, int bottom) {
+		Polygon p = new Polygon();
+		p.addPoint(left, top);
+		p.addPoint(right, top);
+		p.addPoint(right, bottom);
+		p.addPoint(left, bottom);
+		return p;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.maths.geometry.Polygon;
+
+public class ConcurrentXmlPageReaderTest {
+	
+	private List<File> files = new ArrayList<File>();
+	private File invalidFile;
+	
+	@Before
+	public void setUp() throws Exception {
+		//Create a few pages with different numbers of regions
+		for (int i=1; i<=4; i++) {
+			Page page = new Page();
+			page.setImageFilename("image"+i+".png");
+			page.getLayout().setSize(1000, 1000);
+			for (int r=0; r<i; r++) {
+				TextRegion region = (TextRegion)page.getLayout().createRegion(RegionType.TextRegion);
+				region.setCoords(createRect(10, 100*r+10, 500, 100*r+90));
+				TextLine line = region.createTextLine();
+				line.setCoords(createRect(20, 100*r+20, 490, 100*r+80));
+				line.setText("Line "+r);
+			}
+			File f = File.createTempFile("page"+i+"_", ".xml");
+			f.deleteOnExit();
+			assertTrue(PageXmlInputOutput.writePage(page, f.getPath()));
+			files.add(f);
+		}
+		
+		//Not well-formed
+		invalidFile = File.createTempFile("invalid_", ".xml");
+		invalidFile.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(invalidFile);
+		out.write("<?xml version=\"1.0\"?><PcGts xmlns=\"http://schema.primaresearch.org/PAGE/gts/pagecontent/2019-07-15\"><Page>".getBytes("UTF-8"));
+		out.close();
+	}
+	
+	@After
+	public void tearDown() {
+		for (File f : files)
+			f.delete();
+		invalidFile.delete();
+	}
+	
+	@Test
+	public void testConcurrentRead() throws Exception {
+		final ConcurrentXmlPageReader reader = PageXmlInputOutput.getConcurrentReader();
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<PageReadResult>> results = new ArrayList<Future<PageReadResult>>();
+			List<Integer> expectedRegionCounts = new ArrayList<Integer>();
+			for (int i=0; i<100; i++) {
+				final int fileIndex = i % files.size();
+				results.add(executor.submit(new Callable<PageReadResult>() {
+					@Override
+					public PageReadResult call() throws Exception {
+						return reader.read(files.get(fileIndex));
+					}
+				}));
+				expectedRegionCounts.add(fileIndex+1);
+			}
+			
+			for (int i=0; i<results.size(); i++) {
+				PageReadResult res = results.get(i).get();
+				assertTrue(res.isSuccessful());
+				assertFalse(res.hasErrors());
+				Page page = res.getPage();
+				assertEquals(expectedRegionCounts.get(i).intValue(), page.getLayout().getRegionCount());
+				assertEquals("Line 0", ((TextRegion)page.getLayout().getRegion(0)).getTextObject(0).getText());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testErrorsPerCall() throws Exception {
+		ConcurrentXmlPageReader reader = PageXmlInputOutput.getConcurrentReader();
+		
+		PageReadResult invalid = reader.read(invalidFile);
+		assertNull(invalid.getPage());
+		assertTrue(invalid.hasErrors());
+		
+		//Errors of the previous call must not leak into the next result
+		PageReadResult valid = reader.read(files.get(0));
+		assertNotNull(valid.getPage());
+		assertFalse(valid.hasErrors());
+		assertTrue(invalid.hasErrors());
+	}
+	
+	@Test
+	public void testSharedInstance() {
+		assertSame(PageXmlInputOutput.getConcurrentReader(), PageXmlInputOutput.getConcurrentReader());
+	}
+	
+	private static Polygon createRect(int left, int top, int right, int bottom) {
+		Polygon p = new Polygon();
+		p.addPoint(left, top);
+		p.addPoint(right, top);
+		p.addPoint(right, bottom);
+		p.addPoint(left, bottom);
+		return p;
+	}
+}
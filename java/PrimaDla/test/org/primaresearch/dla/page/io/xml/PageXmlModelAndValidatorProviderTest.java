@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.validation.Schema;
+
+import org.junit.Test;
+import org.primaresearch.io.xml.SchemaModelParser;
+import org.primaresearch.io.xml.XmlFormatVersion;
+import org.primaresearch.io.xml.XmlModelAndValidatorProvider;
+
+public class PageXmlModelAndValidatorProviderTest {
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final XmlModelAndValidatorProvider provider = new PageXmlModelAndValidatorProvider();
+		final XmlFormatVersion version = new XmlFormatVersion("2019-07-15");
+		
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object[]>> results = new ArrayList<Future<Object[]>>();
+			for (int i=0; i<16; i++) {
+				results.add(executor.submit(new Callable<Object[]>() {
+					@Override
+					public Object[] call() throws Exception {
+						return new Object[] { provider.getValidator(version).getSchema(), provider.getSchemaParser(version) };
+					}
+				}));
+			}
+			
+			//All threads have to get the same compiled schema and parsed model
+			Object[] first = results.get(0).get();
+			assertNotNull(first[0]);
+			assertNotNull(first[1]);
+			for (Future<Object[]> result : results) {
+				assertSame(first[0], result.get()[0]);
+				assertSame(first[1], result.get()[1]);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	public void testWarmUp() throws Exception {
+		XmlModelAndValidatorProvider provider = new PageXmlModelAndValidatorProvider();
+		provider.warmUp();
+		
+		XmlFormatVersion version = provider.getLatestSchemaVersion();
+		Schema schema = provider.getValidator(version).getSchema();
+		SchemaModelParser parser = provider.getSchemaParser(version);
+		assertNotNull(schema);
+		assertNotNull(parser);
+		assertSame(schema, provider.getValidator(version).getSchema());
+		assertSame(parser, provider.getSchemaParser(version));
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.primaresearch.io.xml.DefaultSchemaParser;
+import org.primaresearch.io.xml.SchemaModelSnapshot;
+import org.primaresearch.io.xml.XmlFormatVersion;
+import org.primaresearch.shared.variable.StringVariable;
+import org.primaresearch.shared.variable.Variable;
+import org.primaresearch.shared.variable.VariableMap;
+import org.primaresearch.shared.variable.constraints.ValidStringValues;
+
+public class SchemaModelSnapshotTest {
+
+	private static final String[] VERSIONS = new String[] { "2009-03-16", "2010-01-12", "2010-03-19", 
+		"2013-07-15", "2016-07-15", "2017-07-15", "2018-07-15", "2019-07-15" };
+
+	/**
+	 * The bundled snapshots have to match the schemas they were generated from
+	 * (regenerate with SchemaModelSnapshot.main if this fails).
+	 */
+	@Test
+	public void testBundledSnapshots() {
+		for (String version : VERSIONS) {
+			URL schema = getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/"+version+"_pagecontent.xsd");
+			URL snapshot = getClass().getResource("/org/primaresearch/dla/page/io/xml/schema/"+version+"_pagecontent.model");
+			assertNotNull(schema);
+			assertNotNull(snapshot);
+			
+			DefaultSchemaParser parsed = new DefaultSchemaParser(new XmlFormatVersion(version));
+			parsed.parse(schema);
+			DefaultSchemaParser loaded = new DefaultSchemaParser(new XmlFormatVersion(version));
+			assertTrue(loaded.loadSnapshot(snapshot));
+			
+			assertSameTemplates(version, parsed.getTypeAttributeTemplates(), loaded.getTypeAttributeTemplates());
+		}
+	}
+	
+	@Test
+	public void testRoundTrip() throws Exception {
+		VariableMap attrs = new VariableMap();
+		attrs.setType("TestType");
+		StringVariable var = new StringVariable("name\twith tab", null);
+		ValidStringValues constraint = new ValidStringValues();
+		constraint.addValidValue("a b");
+		constraint.addValidValue("back\\slash");
+		var.setConstraint(constraint);
+		attrs.add(var);
+		
+		Map<String, VariableMap> templates = new HashMap<String, VariableMap>();
+		templates.put("TestType", attrs);
+		VariableMap empty = new VariableMap();
+		empty.setType("Empty");
+		templates.put("Empty", empty);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SchemaModelSnapshot.write(templates, out);
+		Map<String, VariableMap> read = SchemaModelSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+		
+		assertSameTemplates("round trip", templates, read);
+	}
+
+	private static void assertSameTemplates(String context, Map<String, VariableMap> expected, Map<String, VariableMap> actual) {
+		assertEquals(context, expected.keySet(), actual.keySet());
+		for (Map.Entry<String, VariableMap> entry : expected.entrySet()) {
+			VariableMap exp = entry.getValue();
+			VariableMap act = actual.get(entry.getKey());
+			String typeContext = context + " " + entry.getKey();
+			assertEquals(typeContext, exp.getType(), act.getType());
+			assertEquals(typeContext, exp.getSize(), act.getSize());
+			for (int i=0; i<exp.getSize(); i++) {
+				Variable e = exp.get(i);
+				Variable a = act.get(i);
+				assertEquals(typeContext, e.getName(), a.getName());
+				assertEquals(typeContext + " " + e.getName(), e.getClass(), a.getClass());
+				if (e.getConstraint() instanceof ValidStringValues) {
+					assertTrue(a.getConstraint() instanceof ValidStringValues);
+					assertEquals(typeContext + " " + e.getName(), 
+							new ArrayList<String>(((ValidStringValues)e.getConstraint()).getValidValues()),
+							new ArrayList<String>(((ValidStringValues)a.getConstraint()).getValidValues()));
+				}
+				else
+					assertEquals(null, a.getConstraint());
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.maths.geometry.Polygon;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class XmlStreamDocumentTest {
+	
+	private static final String NAMESPACE = "http://schema.primaresearch.org/PAGE/gts/pagecontent/2019-07-15";
+	private static final String XSI = "http://www.w3.org/2001/XMLSchema-instance";
+	private static final String TEXT = "a < b & c > d \"q\" 'a'\r\n\ttab \u00fc\u00df \uD83D\uDE00 ]]>";
+
+	@Test
+	public void testSameOutputAsDom() throws Exception {
+		//DOM
+		Document dom = DocumentBuilderFactory.newInstance().newDocumentBuilder().getDOMImplementation().createDocument(NAMESPACE, "PcGts", null);
+		Element domRoot = dom.getDocumentElement();
+		domRoot.setAttributeNS(XSI, "xsi:schemaLocation", NAMESPACE + " " + NAMESPACE + "/pagecontent.xsd");
+		domRoot.setAttributeNS(null, "pcGtsId", "id1");
+		Element domPage = dom.createElementNS(NAMESPACE, "Page");
+		domRoot.appendChild(domPage);
+		domPage.setAttributeNS(null, "imageWidth", "100");
+		domPage.setAttributeNS(null, "imageFilename", TEXT);
+		domPage.setAttributeNS(null, "custom", "x");
+		domPage.setAttributeNS(null, "imageWidth", "200");
+		Element domEmpty = dom.createElementNS(NAMESPACE, "Empty");
+		domPage.appendChild(domEmpty);
+		domEmpty.appendChild(dom.createTextNode(""));
+		Element domText = dom.createElementNS(NAMESPACE, "Text");
+		domPage.appendChild(domText);
+		domText.appendChild(dom.createTextNode(TEXT));
+		Element domStyle = dom.createElementNS(NAMESPACE, "TextStyle");
+		domStyle.setAttributeNS(null, "bold", "true");
+		domPage.appendChild(domStyle);
+		dom.createElementNS(NAMESPACE, "NotAppended");
+		
+		ByteArrayOutputStream domOutput = new ByteArrayOutputStream();
+		TransformerFactory.newInstance().newTransformer().transform(new DOMSource(dom), new StreamResult(domOutput));
+		
+		//Stream
+		ByteArrayOutputStream streamOutput = new ByteArrayOutputStream();
+		XmlStreamDocument doc = new XmlStreamDocument(new XmlStreamSerializer(streamOutput), NAMESPACE, "PcGts");
+		XmlStreamDocument.Element root = doc.getDocumentElement();
+		root.setAttributeNS(XSI, "xsi:schemaLocation", NAMESPACE + " " + NAMESPACE + "/pagecontent.xsd");
+		root.setAttributeNS(null, "pcGtsId", "id1");
+		XmlStreamDocument.Element page = doc.createElementNS(NAMESPACE, "Page");
+		root.appendChild(page);
+		page.setAttributeNS(null, "imageWidth", "100");
+		page.setAttributeNS(null, "imageFilename", TEXT);
+		page.setAttributeNS(null, "custom", "x");
+		page.setAttributeNS(null, "imageWidth", "200");
+		XmlStreamDocument.Element empty = doc.createElementNS(NAMESPACE, "Empty");
+		page.appendChild(empty);
+		empty.appendText("");
+		XmlStreamDocument.Element text = doc.createElementNS(NAMESPACE, "Text");
+		page.appendChild(text);
+		text.appendText(TEXT);
+		XmlStreamDocument.Element style = doc.createElementNS(NAMESPACE, "TextStyle");
+		style.setAttributeNS(null, "bold", "true");
+		page.appendChild(style);
+		doc.createElementNS(NAMESPACE, "NotAppended");
+		doc.finish();
+		
+		assertEquals(domOutput.toString("UTF-8"), streamOutput.toString("UTF-8"));
+	}
+	
+	@Test
+	public void testAttributeAfterStartTag() throws Exception {
+		XmlStreamDocument doc = new XmlStreamDocument(new XmlStreamSerializer(new ByteArrayOutputStream()), NAMESPACE, "PcGts");
+		XmlStreamDocument.Element page = doc.createElementNS(NAMESPACE, "Page");
+		doc.getDocumentElement().appendChild(page);
+		page.appendChild(doc.createElementNS(NAMESPACE, "Border"));
+		try {
+			page.setAttributeNS(null, "imageWidth", "100");
+			fail("Attribute accepted after start tag has been written");
+		} catch (IllegalStateException exc) {
+		}
+	}
+	
+	@Test
+	public void testWritePage() throws Exception {
+		Page page = new Page();
+		page.getLayout().setSize(100, 100);
+		page.setImageFilename("image.png");
+		TextRegion region = (TextRegion)page.getLayout().createRegion(RegionType.TextRegion);
+		Polygon coords = new Polygon();
+		coords.addPoint(1, 1);
+		coords.addPoint(50, 1);
+		coords.addPoint(50, 50);
+		region.setCoords(coords);
+		region.setText(TEXT);
+		
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertTrue(PageXmlInputOutput.getWriterForLastestXmlFormat().write(page, new StreamTarget(output)));
+		
+		String xml = output.toString("UTF-8");
+		assertTrue(xml.contains("<TextRegion id=\""+region.getId()+"\"><Coords points=\"1,1 50,1 50,50\"/>"));
+		assertTrue(xml.endsWith("</TextRegion></Page></PcGts>"));
+	}
+	
+	@Test
+	public void testValidationWhileWriting() throws Exception {
+		Page page = new Page();
+		page.getLayout().createReadingOrder().getRoot().addRegionRef("missing");
+		
+		XmlPageWriter_2019_07_15 writer = (XmlPageWriter_2019_07_15)PageXmlInputOutput.getWriterForLastestXmlFormat();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertFalse(writer.write(page, new StreamTarget(output)));
+		assertEquals(0, output.size());
+		assertEquals(1, writer.getErrors().size());
+		assertTrue(writer.getErrors().get(0).getMessage().contains("missing"));
+		
+		//Same errors without output
+		assertFalse(writer.validate(page));
+		assertEquals(1, writer.getErrors().size());
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml.sax;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.io.xml.DefaultXmlNames;
+
+public class PageXmlElementTest {
+
+	@Test
+	public void testForName() {
+		assertEquals(PageXmlElement.Coords, PageXmlElement.forName(DefaultXmlNames.ELEMENT_Coords));
+		assertEquals(PageXmlElement.TextRegion, PageXmlElement.forName("TextRegion"));
+		assertEquals(PageXmlElement.OrderedGroupIndexed, PageXmlElement.forName("OrderedGroupIndexed"));
+		
+		//Unknown
+		assertEquals(PageXmlElement.Other, PageXmlElement.forName("SomethingElse"));
+		assertEquals(PageXmlElement.Other, PageXmlElement.forName(""));
+		assertEquals(PageXmlElement.Other, PageXmlElement.forName(null));
+		
+		//All names map back to their constant
+		for (PageXmlElement element : PageXmlElement.values()) {
+			if (element != PageXmlElement.Other)
+				assertEquals(element, PageXmlElement.forName(element.getXmlName()));
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.io.xml.sax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.primaresearch.maths.geometry.Polygon;
+
+public class PointsParserTest {
+
+	@Test
+	public void testParsePagePoints() {
+		PointsParser parser = new PointsParser();
+		
+		assertEquals(3, parser.parsePagePoints("1,2 30,4 -5,+60"));
+		assertEquals(1, parser.getX(0));
+		assertEquals(2, parser.getY(0));
+		assertEquals(30, parser.getX(1));
+		assertEquals(4, parser.getY(1));
+		assertEquals(-5, parser.getX(2));
+		assertEquals(60, parser.getY(2));
+		
+		//Multiple spaces, tabs and line breaks
+		assertEquals(2, parser.parsePagePoints("  1,2  \t3,4\n"));
+		assertEquals(3, parser.getX(1));
+		
+		//Malformed points are skipped
+		assertEquals(2, parser.parsePagePoints("1,2 3 4,5,6 a,b 7,8 9,"));
+		assertEquals(7, parser.getX(1));
+		assertEquals(8, parser.getY(1));
+		
+		//Decimals are not allowed in PAGE
+		assertEquals(0, parser.parsePagePoints("1.5,2"));
+		
+		//Empty
+		assertEquals(0, parser.parsePagePoints(""));
+		assertEquals(0, parser.parsePagePoints(null));
+		
+		//Buffer growth
+		StringBuilder sb = new StringBuilder();
+		for (int i=0; i<1000; i++)
+			sb.append(i).append(',').append(2*i).append(' ');
+		assertEquals(1000, parser.parsePagePoints(sb));
+		assertEquals(999, parser.getX(999));
+		assertEquals(1998, parser.getY(999));
+	}
+	
+	@Test
+	public void testAddPointsTo() {
+		PointsParser parser = new PointsParser();
+		Polygon polygon = new Polygon();
+		polygon.addPoint(0, 0);
+		polygon.getBoundingBox();
+		
+		parser.parsePagePoints("10,20 30,40");
+		parser.addPointsTo(polygon);
+		
+		assertEquals(3, polygon.getSize());
+		assertEquals(30, polygon.getPoint(2).x);
+		assertEquals(40, polygon.getBoundingBox().bottom);
+	}
+	
+	@Test
+	public void testParseAltoPoints() {
+		PointsParser parser = new PointsParser();
+		
+		assertEquals(3, parser.parseAltoPoints("1.9,2.1 30,4 -5.5,.5"));
+		assertEquals(1, parser.getX(0));
+		assertEquals(2, parser.getY(0));
+		assertEquals(-5, parser.getX(2));
+		assertEquals(0, parser.getY(2));
+		
+		assertEquals(1, parser.parseAltoPoints("1.5E2,2"));
+		assertEquals(150, parser.getX(0));
+	}
+	
+	@Test
+	public void testParseHocrBoundingBox() {
+		PointsParser parser = new PointsParser();
+		
+		assertTrue(parser.parseHocrBoundingBox("bbox 10 20 30 40; x_wconf 93"));
+		assertEquals(4, parser.getSize());
+		assertEquals(10, parser.getX(0));
+		assertEquals(20, parser.getY(0));
+		assertEquals(30, parser.getX(1));
+		assertEquals(20, parser.getY(1));
+		assertEquals(30, parser.getX(2));
+		assertEquals(40, parser.getY(2));
+		assertEquals(10, parser.getX(3));
+		assertEquals(40, parser.getY(3));
+		
+		//Not the first property
+		assertTrue(parser.parseHocrBoundingBox("image \"a.png\"; bbox 0 0 100 200"));
+		assertEquals(200, parser.getY(2));
+		
+		//Incomplete or missing
+		assertFalse(parser.parseHocrBoundingBox("bbox 1 2 3"));
+		assertFalse(parser.parseHocrBoundingBox("x_wconf 93"));
+		assertFalse(parser.parseHocrBoundingBox(null));
+	}
+}
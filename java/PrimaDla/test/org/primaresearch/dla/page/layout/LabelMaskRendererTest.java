@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout;
+
+import static org.junit.Assert.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.LabelMaskRenderer.LabelMode;
+import org.primaresearch.dla.page.layout.logical.Layer;
+import org.primaresearch.dla.page.layout.logical.Layers;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.maths.geometry.Polygon;
+
+public class LabelMaskRendererTest {
+
+	@Test
+	public void testZOrder() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		Region text = layout.createRegion(RegionType.TextRegion);
+		text.setCoords(createBox(10, 10, 60, 60));
+		Region image = layout.createRegion(RegionType.ImageRegion);
+		image.setCoords(createBox(40, 40, 90, 90));
+		Region noise = layout.createRegion(RegionType.NoiseRegion);
+		noise.setCoords(createBox(0, 0, 100, 100));
+		
+		//Without layers: document order
+		int[] mask = new int[120 * 120];
+		new LabelMaskRenderer(layout).render(mask, 120, 120);
+		assertEquals(13, mask[5 * 120 + 5]);
+		assertEquals(13, mask[50 * 120 + 50]);
+		assertEquals(0, mask[110 * 120 + 110]);
+		
+		//Layers: noise (no layer) at the back, image in front of text
+		Layers layers = layout.createLayers();
+		Layer back = layers.createLayer();
+		Layer front = layers.createLayer();
+		back.addRegionRef(image.getId().toString());
+		front.addRegionRef(text.getId().toString());
+		LabelMaskRenderer renderer = new LabelMaskRenderer(layout);
+		mask = new int[120 * 120];
+		renderer.render(mask, 120, 120);
+		assertEquals(13, mask[5 * 120 + 5]);
+		assertEquals(1, mask[50 * 120 + 50]);
+		assertEquals(1, mask[60 * 120 + 60]);
+		assertEquals(2, mask[61 * 120 + 61]);
+		assertEquals(0, mask[10 * 120 + 110]);
+		
+		//Region index mode
+		renderer.setLabelMode(LabelMode.REGION_INDEX);
+		byte[] byteMask = new byte[120 * 120];
+		renderer.render(byteMask, 120, 120);
+		assertEquals(1, byteMask[50 * 120 + 50]);
+		assertEquals(3, byteMask[5 * 120 + 5]);
+		assertSame(noise, renderer.getRegion(byteMask[5 * 120 + 5]));
+		
+		//Excluded type
+		renderer.setLabelMode(LabelMode.REGION_TYPE);
+		renderer.setTypeLabel(RegionType.NoiseRegion, 0);
+		mask = new int[120 * 120];
+		renderer.render(mask, 120, 120);
+		assertEquals(0, mask[5 * 120 + 5]);
+	}
+	
+	@Test
+	public void testTiles() throws Exception {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		for (int i=0; i<30; i++) {
+			Region region = layout.createRegion(i % 2 == 0 ? RegionType.TextRegion : RegionType.GraphicRegion);
+			Polygon polygon = new Polygon();
+			polygon.addPoint(i * 20, i * 30);
+			polygon.addPoint(i * 20 + 300, i * 30 + 50);
+			polygon.addPoint(i * 20 + 100, i * 30 + 400);
+			region.setCoords(polygon);
+		}
+		int width = 1000, height = 1300;
+		LabelMaskRenderer renderer = new LabelMaskRenderer(layout, LabelMode.REGION_INDEX);
+		int[] expected = new int[width * height];
+		renderer.render(expected, width, height);
+		
+		//Compare with point in polygon test
+		for (int y=0; y<height; y+=3) {
+			for (int x=0; x<width; x+=3) {
+				int label = 0;
+				for (int i=0; i<layout.getRegionCount(); i++)
+					if (layout.getRegion(i).getCoords().isPointInside(x, y))
+						label = i + 1;
+				assertEquals(label, expected[y * width + x]);
+			}
+		}
+		
+		//Tiles
+		int[] tile = new int[100 * 100];
+		for (int top=0; top<height; top+=100) {
+			for (int left=0; left<width; left+=100) {
+				Arrays.fill(tile, 0);
+				renderer.render(tile, left, top, 100, 100);
+				for (int y=0; y<100; y++)
+					for (int x=0; x<100; x++)
+						assertEquals(expected[(top + y) * width + left + x], tile[y * 100 + x]);
+			}
+		}
+		
+		//Parallel
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			int[] mask = new int[width * height];
+			renderer.render(mask, width, height, executor);
+			assertArrayEquals(expected, mask);
+		} finally {
+			executor.shutdown();
+		}
+		
+		//Image
+		BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_BYTE_GRAY);
+		renderer.render(image, 300, 400);
+		for (int y=0; y<100; y++)
+			for (int x=0; x<200; x++)
+				assertEquals(expected[(400 + y) * width + 300 + x], image.getRaster().getSample(x, y, 0));
+	}
+	
+	private static Polygon createBox(int left, int top, int right, int bottom) {
+		Polygon polygon = new Polygon();
+		polygon.addPoint(left, top);
+		polygon.addPoint(right, top);
+		polygon.addPoint(right, bottom);
+		polygon.addPoint(left, bottom);
+		return polygon;
+	}
+}
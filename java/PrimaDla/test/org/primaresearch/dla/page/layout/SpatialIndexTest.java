@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.physical.ContentObject;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.dla.page.layout.physical.text.impl.Word;
+import org.primaresearch.maths.geometry.Polygon;
+import org.primaresearch.maths.geometry.Rect;
+
+public class SpatialIndexTest {
+
+	@Test
+	public void testQueries() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		TextRegion[] regions = new TextRegion[10];
+		for (int i=0; i<regions.length; i++) {
+			regions[i] = (TextRegion)layout.createRegion(RegionType.TextRegion);
+			regions[i].setCoords(createBox(0, i*100, 1000, i*100+90));
+			for (int j=0; j<3; j++) {
+				TextLine line = regions[i].createTextLine();
+				line.setCoords(createBox(0, i*100+j*30, 1000, i*100+j*30+25));
+				for (int k=0; k<10; k++) {
+					Word word = line.createWord();
+					word.setCoords(createBox(k*100, i*100+j*30, k*100+90, i*100+j*30+25));
+				}
+			}
+		}
+		//Region with empty outline
+		layout.createRegion(RegionType.ImageRegion);
+		//Region of another type
+		Region separator = layout.createRegion(RegionType.SeparatorRegion);
+		separator.setCoords(createBox(2000, 0, 2100, 10));
+		
+		SpatialIndex regionIndex = layout.getSpatialIndex(null);
+		assertEquals(11, regionIndex.size());
+		
+		//Type-specific index
+		SpatialIndex textRegionIndex = layout.getSpatialIndex(RegionType.TextRegion);
+		assertSame(textRegionIndex, layout.getSpatialIndex(RegionType.TextRegion));
+		assertEquals(RegionType.TextRegion, textRegionIndex.getContentType());
+		assertEquals(10, textRegionIndex.size());
+		assertTrue(textRegionIndex.getObjectsAt(2050, 5).isEmpty());
+		assertSame(separator, regionIndex.getObjectsAt(2050, 5).get(0));
+		assertEquals(0, layout.getSpatialIndex(RegionType.ImageRegion).size());
+		
+		assertEquals(300, layout.getSpatialIndex(LowLevelTextType.Word).size());
+		
+		//Same results with and without index
+		for (int y=0; y<1000; y+=7) {
+			for (int x=0; x<1000; x+=45) {
+				layout.setSpatialIndexEnabled(false);
+				ContentObject region = layout.getRegionAt(x, y);
+				ContentObject line = layout.getObjectAt(x, y, LowLevelTextType.TextLine);
+				ContentObject word = layout.getObjectAt(x, y, LowLevelTextType.Word);
+				layout.setSpatialIndexEnabled(true);
+				assertSame(region, layout.getRegionAt(x, y));
+				assertSame(line, layout.getObjectAt(x, y, LowLevelTextType.TextLine));
+				assertSame(word, layout.getObjectAt(x, y, LowLevelTextType.Word));
+			}
+		}
+		
+		//Rectangle
+		List<ContentObject> res = regionIndex.getObjectsIntersecting(new Rect(10, 150, 20, 250));
+		assertEquals(2, res.size());
+		assertSame(regions[1], res.get(0));
+		assertSame(regions[2], res.get(1));
+		
+		//Nearest
+		res = regionIndex.getNearestObjects(500, 1500, 2);
+		assertEquals(2, res.size());
+		assertSame(regions[9], res.get(0));
+		assertSame(regions[8], res.get(1));
+		
+		try {
+			layout.getSpatialIndex(LowLevelTextType.Grapheme);
+			fail("Grapheme index created");
+		} catch (IllegalArgumentException exc) {
+			//expected
+		}
+	}
+	
+	@Test
+	public void testUpdate() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		layout.setSpatialIndexEnabled(true);
+		Region r1 = layout.createRegion(RegionType.TextRegion);
+		r1.setCoords(createBox(0, 0, 100, 100));
+		assertSame(r1, layout.getRegionAt(50, 50));
+		assertNull(layout.getRegionAt(150, 50));
+		
+		//Added region
+		Region r2 = layout.createRegion(RegionType.ImageRegion);
+		r2.setCoords(createBox(120, 0, 200, 100));
+		assertSame(r2, layout.getRegionAt(150, 50));
+		
+		//Changed polygon
+		r2.getCoords().setPoint(0, 300, 300);
+		r2.getCoords().setPoints(new int[] {300, 0, 400, 0, 400, 100, 300, 100}, 4);
+		assertNull(layout.getRegionAt(150, 50));
+		assertSame(r2, layout.getRegionAt(350, 50));
+		
+		//New polygon
+		r2.setCoords(createBox(500, 0, 600, 100));
+		assertNull(layout.getRegionAt(350, 50));
+		assertSame(r2, layout.getRegionAt(550, 50));
+		
+		//Points added to empty polygon
+		Region r3 = layout.createRegion(RegionType.GraphicRegion);
+		assertNull(layout.getRegionAt(750, 50));
+		r3.getCoords().addPoints(new int[] {700, 0, 800, 0, 800, 100, 700, 100}, 4);
+		assertSame(r3, layout.getRegionAt(750, 50));
+		
+		//Nested region
+		Region nested = layout.createRegion(RegionType.TextRegion, null, r1);
+		nested.setCoords(createBox(10, 10, 20, 20));
+		assertSame(nested, layout.getRegionAt(15, 15));
+		r1.removeRegion(nested);
+		assertSame(r1, layout.getRegionAt(15, 15));
+		
+		//Removed region
+		layout.removeRegion(r2.getId());
+		assertNull(layout.getRegionAt(550, 50));
+		
+		//Text lines
+		TextLine line = ((TextRegion)r1).createTextLine();
+		line.setCoords(createBox(0, 0, 100, 20));
+		assertSame(line, layout.getObjectAt(50, 10, LowLevelTextType.TextLine));
+		((TextRegion)r1).removeTextObject(line.getId());
+		assertNull(layout.getObjectAt(50, 10, LowLevelTextType.TextLine));
+	}
+	
+	@Test
+	public void testChangeListeners() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		layout.setSpatialIndexEnabled(true);
+		SpatialIndex index = layout.getSpatialIndex(null);
+		Region r1 = layout.createRegion(RegionType.TextRegion);
+		Polygon oldCoords = createBox(0, 0, 100, 100);
+		r1.setCoords(oldCoords);
+		
+		//Other listeners are kept
+		Polygon.ChangeListener other = new Polygon.ChangeListener() {
+			@Override
+			public void polygonChanged(Polygon polygon) {
+			}
+		};
+		oldCoords.addChangeListener(other);
+		assertSame(r1, layout.getRegionAt(50, 50));
+		assertTrue(oldCoords.hasChangeListener(index));
+		assertTrue(oldCoords.hasChangeListener(other));
+		
+		//Replaced outline
+		Polygon newCoords = createBox(200, 0, 300, 100);
+		r1.setCoords(newCoords);
+		assertSame(r1, layout.getRegionAt(250, 50));
+		assertFalse(oldCoords.hasChangeListener(index));
+		assertTrue(oldCoords.hasChangeListener(other));
+		assertTrue(newCoords.hasChangeListener(index));
+		
+		//Removed region
+		layout.removeRegion(r1.getId());
+		assertNull(layout.getRegionAt(250, 50));
+		assertFalse(newCoords.hasChangeListener(index));
+		
+		oldCoords.removeChangeListener(other);
+		assertFalse(oldCoords.hasChangeListener(other));
+	}
+	
+	private static Polygon createBox(int left, int top, int right, int bottom) {
+		Polygon polygon = new Polygon();
+		polygon.addPoints(new int[] {left, top, right, top, right, bottom, left, bottom}, 4);
+		return polygon;
+	}
+}
@@ -5,6 +5,9 @@ import static org.junit.Assert.*;
 import org.junit.Test;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.ContentIterator;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 
 public class LayersTest {
 
@@ -38,5 +41,38 @@ public class LayersTest {
 		
 		
 	}
-
+	
+	@Test
+	public void testLayerOfRegion() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		Region r1 = layout.createRegion(RegionType.TextRegion);
+		Region r2 = layout.createRegion(RegionType.ImageRegion);
+		Region r3 = layout.createRegion(RegionType.TextRegion);
+		
+		Layers layers = layout.createLayers();
+		Layer back = layers.createLayer();
+		Layer front = layers.createLayer();
+		back.addRegionRef(r1.getId().toString());
+		front.addRegionRef(r2.getId().toString());
+		front.addRegionRef(r1.getId().toString());
+		
+		assertSame(back, layers.getLayerOfRegion(r1.getId()));
+		assertSame(front, layers.getLayerOfRegion(r2.getId()));
+		assertNull(layers.getLayerOfRegion(r3.getId()));
+		
+		//Changes are reflected
+		front.addRegionRef(r3.getId().toString());
+		back.removeRegionRef(r1.getId().toString());
+		assertSame(front, layers.getLayerOfRegion(r3.getId()));
+		assertSame(front, layers.getLayerOfRegion(r1.getId()));
+		assertTrue(front.containsRegionRef(r1.getId()));
+		assertFalse(back.containsRegionRef(r1.getId()));
+		
+		//Layer filter of iterator
+		ContentIterator it = layout.iterator(RegionType.TextRegion, front);
+		assertSame(r1, it.next());
+		assertSame(r3, it.next());
+		assertFalse(it.hasNext());
+	}
 }
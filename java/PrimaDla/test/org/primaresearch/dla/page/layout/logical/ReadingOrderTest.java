@@ -0,0 +1,59 @@
+package org.primaresearch.dla.page.layout.logical;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.Region;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+
+public class ReadingOrderTest {
+
+	@Test
+	public void testPosition() throws Exception {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		Region r1 = layout.createRegion(RegionType.TextRegion);
+		Region r2 = layout.createRegion(RegionType.TextRegion);
+		Region r3 = layout.createRegion(RegionType.TextRegion);
+		Region r4 = layout.createRegion(RegionType.TextRegion);
+		
+		ReadingOrder readingOrder = layout.createReadingOrder();
+		Group root = readingOrder.getRoot();
+		root.addRegionRef(r3.getId().toString());
+		Group child = root.createChildGroup();
+		child.addRegionRef(r1.getId().toString());
+		root.addRegionRef(r2.getId().toString());
+		
+		assertEquals(0, readingOrder.getPosition(r3.getId()));
+		assertEquals(1, readingOrder.getPosition(r1.getId()));
+		assertEquals(2, readingOrder.getPosition(r2.getId()));
+		assertEquals(-1, readingOrder.getPosition(r4.getId()));
+		assertTrue(readingOrder.contains(r1.getId()));
+		assertFalse(readingOrder.contains(r4.getId()));
+		assertEquals(0, child.getRegionRefPosition(r1.getId()));
+		
+		//Changes in child groups are reflected
+		child.addRegionRef(r4.getId().toString());
+		assertTrue(readingOrder.contains(r4.getId()));
+		assertEquals(2, readingOrder.getPosition(r4.getId()));
+		assertEquals(3, readingOrder.getPosition(r2.getId()));
+		
+		//Moved member
+		Group other = root.createChildGroup();
+		child.moveTo(other);
+		child.removeRegionRef(r1.getId().toString());
+		assertFalse(readingOrder.contains(r1.getId()));
+		assertEquals(1, readingOrder.getPosition(r2.getId()));
+		assertEquals(2, readingOrder.getPosition(r4.getId()));
+		
+		List<Region> sorted = layout.getRegionsSorted();
+		assertSame(r3, sorted.get(0));
+		assertSame(r2, sorted.get(1));
+		assertSame(r4, sorted.get(2));
+		assertSame(r1, sorted.get(3));
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout.physical;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.logical.ContentObjectRelation;
+import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeElement;
+import org.primaresearch.dla.page.layout.physical.text.graphemes.GraphemeGroup;
+import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.dla.page.layout.physical.text.impl.Word;
+import org.primaresearch.ident.IdRegister.InvalidIdException;
+
+public class ContentObjectIndexTest {
+
+	@Test
+	public void testLookup() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		
+		Region table = layout.createRegion(RegionType.TableRegion, "t1");
+		TextRegion cell = (TextRegion)layout.createRegion(RegionType.TextRegion, "r1", (RegionContainer)table);
+		TextLine line = cell.createTextLine("l1");
+		Word word = line.createWord("w1");
+		Glyph glyph = word.createGlyph("c1");
+		GraphemeElement group = glyph.createGraphemeElement("g1", LowLevelTextType.GraphemeGroup, null);
+		GraphemeElement grapheme = glyph.createGraphemeElement("g2", LowLevelTextType.Grapheme, (GraphemeGroup)group);
+
+		ContentObjectIndex index = layout.getObjectIndex();
+		assertSame(index, layout.getObjectIndex());
+		assertEquals(7, index.size());
+		
+		assertSame(cell, layout.getRegion(cell.getId(), true));
+		assertNull(layout.getRegion(cell.getId(), false));
+		assertSame(line, layout.getObject(LowLevelTextType.TextLine, "l1"));
+		assertSame(word, layout.getObject(LowLevelTextType.Word, "w1"));
+		assertSame(glyph, layout.getObject(LowLevelTextType.Glyph, "c1"));
+		assertNull(layout.getObject(LowLevelTextType.TextLine, "w1"));
+		assertNull(layout.getObject(LowLevelTextType.Word, "unknown"));
+		assertSame(grapheme, index.getObject("g2"));
+		
+		assertNull(index.getParent("t1"));
+		assertSame(table, index.getParent("r1"));
+		assertSame(glyph, index.getParent("g1"));
+		assertSame(group, index.getParent("g2"));
+		
+		ContentObjectRelation rel = layout.getParentChildRelation(LowLevelTextType.Word, "w1");
+		assertNotNull(rel);
+		assertSame(line, rel.getObject1());
+		assertSame(word, rel.getObject2());
+	}
+	
+	@Test
+	public void testUpdate() throws InvalidIdException {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		TextRegion region = (TextRegion)layout.createRegion(RegionType.TextRegion, "r1");
+		TextLine line = region.createTextLine("l1");
+		Word word = line.createWord("w1");
+		ContentObjectIndex index = layout.getObjectIndex();
+		
+		//Objects added after the index has been created
+		Glyph glyph = word.createGlyph("c1");
+		assertSame(glyph, layout.getObject(LowLevelTextType.Glyph, "c1"));
+		assertSame(word, index.getParent("c1"));
+		Region nested = layout.createRegion(RegionType.ImageRegion, "r2", region);
+		assertSame(nested, layout.getRegion(nested.getId(), true));
+		
+		//Changed IDs
+		line.setId("l2");
+		assertNull(layout.getObject(LowLevelTextType.TextLine, "l1"));
+		assertSame(line, layout.getObject(LowLevelTextType.TextLine, "l2"));
+		nested.setId("r3");
+		assertNull(index.getObject("r2"));
+		assertSame(nested, index.getObject("r3"));
+		glyph.createGraphemeElement("g1", LowLevelTextType.Grapheme, null).setId("g2");
+		assertNull(index.getObject("g1"));
+		assertNotNull(index.getObject("g2"));
+		
+		//Removed objects (including children)
+		word.removeTextObject(glyph.getId());
+		assertNull(layout.getObject(LowLevelTextType.Glyph, "c1"));
+		assertNull(index.getObject("g2"));
+		line.removeTextObject(0);
+		assertNull(layout.getObject(LowLevelTextType.Word, "w1"));
+		region.removeRegion(nested);
+		assertNull(index.getObject("r3"));
+		
+		layout.removeRegion(region.getId());
+		assertNull(layout.getObject(LowLevelTextType.TextLine, "l2"));
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.dla.page.layout.physical;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.primaresearch.dla.page.Page;
+import org.primaresearch.dla.page.layout.PageLayout;
+import org.primaresearch.dla.page.layout.physical.impl.TableRegion;
+import org.primaresearch.dla.page.layout.physical.shared.RegionType;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextLine;
+import org.primaresearch.dla.page.layout.physical.text.impl.TextRegion;
+import org.primaresearch.dla.page.layout.physical.text.impl.Word;
+
+public class ContentObjectProcessorTest {
+
+	@Test
+	public void testParallel() {
+		Page page = createPage();
+		List<String> expected = collectIds(page, null, true);
+		assertEquals(1 + 20 * (1 + 3 * (1 + 10)) + 1 + 2, expected.size());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			//Ordered results (same as sequential)
+			assertEquals(expected, collectIds(page, pool, true));
+			
+			//Unordered
+			List<String> unordered = collectIds(page, pool, false);
+			assertEquals(expected.size(), unordered.size());
+			assertEquals(new HashSet<String>(expected), new HashSet<String>(unordered));
+			
+			//Plain processor
+			final AtomicInteger count = new AtomicInteger();
+			final AtomicInteger wrongCurrent = new AtomicInteger();
+			ContentObjectProcessor processor = new ContentObjectProcessor() {
+				@Override
+				public void doProcess(ContentObject contentObject) {
+					count.incrementAndGet();
+					if (getCurrentObject() != contentObject)
+						wrongCurrent.incrementAndGet();
+				}
+			};
+			processor.setParallelThreshold(2);
+			processor.run(page, pool);
+			assertEquals(expected.size(), count.get());
+			assertEquals(0, wrongCurrent.get());
+			
+			//Without low-level text objects
+			count.set(0);
+			processor.setIncludeLowLevelTextObjects(false);
+			processor.run(page, pool);
+			assertEquals(4, count.get());
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static List<String> collectIds(Page page, ForkJoinPool pool, boolean ordered) {
+		final List<String> ids = new ArrayList<String>();
+		ContentObjectReducer<String> reducer = new ContentObjectReducer<String>() {
+			@Override
+			public String map(ContentObject contentObject) {
+				return contentObject.getId().toString();
+			}
+			@Override
+			public void reduce(ContentObject contentObject, String result) {
+				ids.add(result);
+			}
+		};
+		reducer.setOrderedResults(ordered);
+		reducer.setParallelThreshold(4);
+		if (pool != null)
+			reducer.run(page, pool);
+		else
+			reducer.run(page);
+		return ids;
+	}
+	
+	/**
+	 * Text region with 20 lines, 3 words each, 10 glyphs each; table with two nested text regions
+	 */
+	private static Page createPage() {
+		Page page = new Page();
+		PageLayout layout = page.getLayout();
+		TextRegion region = (TextRegion)layout.createRegion(RegionType.TextRegion);
+		for (int l=0; l<20; l++) {
+			TextLine line = region.createTextLine();
+			for (int w=0; w<3; w++) {
+				Word word = line.createWord();
+				for (int g=0; g<10; g++)
+					word.createGlyph();
+			}
+		}
+		TableRegion table = (TableRegion)layout.createRegion(RegionType.TableRegion);
+		layout.createRegion(RegionType.TextRegion, null, table);
+		layout.createRegion(RegionType.TextRegion, null, table);
+		return page;
+	}
+}
@@ -15,15 +15,25 @@
  */
 package org.primaresearch.dla.page.layout.physical;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 import org.primaresearch.dla.page.Page;
 import org.primaresearch.dla.page.layout.PageLayout;
 import org.primaresearch.dla.page.layout.logical.Layer;
+import org.primaresearch.dla.page.layout.physical.impl.ContentSpliterator;
 import org.primaresearch.dla.page.layout.physical.impl.LowLevelTextObjectIterator;
 import org.primaresearch.dla.page.layout.physical.impl.RegionIterator;
+import org.primaresearch.dla.page.layout.physical.shared.ContentType;
 import org.primaresearch.dla.page.layout.physical.shared.LowLevelTextType;
 import org.primaresearch.dla.page.layout.physical.shared.RegionType;
 import org.primaresearch.dla.page.layout.physical.text.impl.Glyph;
@@ -438,4 +448,78 @@ public class PageIteratorTest {
 		assertTrue("Glyph iterator with layer filter created (no match)", it != null && it instanceof LowLevelTextObjectIterator);
 		assertFalse("End it with layer filter (no match)", it.hasNext());
 	}
+	
+	@Test
+	public void testStream() {
+		//Text regions with varying numbers of lines/words/glyphs (some empty), a table with nested regions
+		Page page = new Page();
+		PageLayout pageLayout = page.getLayout();
+		Random random = new Random(3);
+		List<Region> regions = new ArrayList<Region>();
+		for (int r=0; r<20; r++) {
+			TextRegion region;
+			if (r % 5 == 1) {
+				Region table = pageLayout.createRegion(RegionType.TableRegion);
+				regions.add(table);
+				region = (TextRegion)pageLayout.createRegion(RegionType.TextRegion, null, table);
+				regions.add(region);
+				regions.add(pageLayout.createRegion(RegionType.ImageRegion, null, table));
+			} else {
+				region = (TextRegion)pageLayout.createRegion(RegionType.TextRegion);
+				regions.add(region);
+			}
+			for (int l=random.nextInt(5); l>0; l--) {
+				TextLine line = region.createTextLine();
+				for (int w=random.nextInt(6); w>0; w--) {
+					Word word = line.createWord();
+					for (int g=random.nextInt(8); g>0; g--)
+						word.createGlyph();
+				}
+			}
+		}
+		pageLayout.createLayers();
+		Layer layer = pageLayout.getLayers().createLayer();
+		for (int i=0; i<regions.size(); i+=3)
+			layer.addRegionRef(regions.get(i).getId().toString());
+		
+		ContentType[] types = new ContentType[] { null, RegionType.TextRegion, RegionType.ImageRegion, 
+				LowLevelTextType.TextLine, LowLevelTextType.Word, LowLevelTextType.Glyph };
+		for (ContentType type : types) {
+			for (Layer l : new Layer[] { null, layer }) {
+				List<ContentObject> expected = new ArrayList<ContentObject>();
+				for (ContentIterator it = pageLayout.iterator(type, l); it.hasNext(); )
+					expected.add(it.next());
+				
+				assertEquals(expected, pageLayout.stream(type, l).collect(Collectors.toList()));
+				assertEquals(expected, pageLayout.stream(type, l).parallel().collect(Collectors.toList()));
+				
+				//Split into single objects
+				Spliterator<ContentObject> spliterator = new ContentSpliterator(pageLayout, type, l);
+				assertEquals(expected.size(), spliterator.estimateSize());
+				final List<ContentObject> actual = new ArrayList<ContentObject>();
+				splitAndAdd(spliterator, actual);
+				assertEquals(expected, actual);
+			}
+		}
+	}
+	
+	private static void splitAndAdd(Spliterator<ContentObject> spliterator, final List<ContentObject> result) {
+		long size = spliterator.estimateSize();
+		Spliterator<ContentObject> prefix = spliterator.trySplit();
+		if (prefix != null) {
+			assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+			splitAndAdd(prefix, result);
+			splitAndAdd(spliterator, result);
+		}
+		else {
+			Consumer<ContentObject> action = new Consumer<ContentObject>() {
+				@Override
+				public void accept(ContentObject obj) {
+					result.add(obj);
+				}
+			};
+			if (spliterator.tryAdvance(action))
+				spliterator.forEachRemaining(action);
+		}
+	}
 }
@@ -31,7 +31,7 @@ public interface FormatModel {
 	/**
 	 * Filters the given attributes and returns only the ones for the specified type filter. 
 	 * @param typeFilter E.g. 'TextStyleType'
-	 * @return Variable map with attributes
+	 * @return Variable map with attributes (for read access only, the variables may be shared with other objects)
 	 */
 	public VariableMap filterAttributes(VariableMap allAttributes, String typeFilter);
 	
@@ -15,6 +15,8 @@
  */
 package org.primaresearch.io.xml;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -57,7 +59,6 @@ public class DefaultSchemaParser implements SchemaModelParser {
 	public DefaultSchemaParser(XmlFormatVersion formatVersion) {
 		this.formatVersion = formatVersion;
 	    this.handler = new SchemaHandler();
-	    createParser();
 	}
 	
 	@Override
@@ -97,6 +98,8 @@ public class DefaultSchemaParser implements SchemaModelParser {
 	 */
 	public void parse(URL schemaLocation){
 	    try{
+	    	if (parser == null)
+	    		createParser();
 	    	XMLReader reader = parser.getXMLReader();
 	    	//reader.setErrorHandler(errorHandler);
 	    	reader.setContentHandler(handler);
@@ -106,6 +109,26 @@ public class DefaultSchemaParser implements SchemaModelParser {
 	    }
 	}
 	
+	/**
+	 * Loads the attribute templates from a snapshot instead of parsing the XML schema (see {@link SchemaModelSnapshot}).
+	 * @param snapshotLocation Snapshot file
+	 * @return <code>true</code> if loaded successfully, <code>false</code> otherwise
+	 */
+	public boolean loadSnapshot(URL snapshotLocation) {
+		try {
+			InputStream in = snapshotLocation.openStream();
+			try {
+				handler.typeAttrMap = SchemaModelSnapshot.read(in);
+				return true;
+			} finally {
+				in.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return false;
+	}
+	
 	@Override
 	public VariableMap filterAttributes(VariableMap allAttributes, String typeFilter) {
 		VariableMap filtered = new VariableMap();
@@ -114,7 +137,7 @@ public class DefaultSchemaParser implements SchemaModelParser {
 		
 		if (templates != null) {
 			for (int i=0; i<allAttributes.getSize(); i++) {
-				Variable attr = allAttributes.get(i);
+				Variable attr = allAttributes.peek(i); //Read access only (no copy of shared attributes)
 				if (templates.get(attr.getName()) != null)
 					filtered.add(attr);
 			}
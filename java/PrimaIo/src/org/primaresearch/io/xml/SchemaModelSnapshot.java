@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.io.xml;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.primaresearch.shared.variable.BooleanVariable;
+import org.primaresearch.shared.variable.DoubleVariable;
+import org.primaresearch.shared.variable.IntegerVariable;
+import org.primaresearch.shared.variable.StringVariable;
+import org.primaresearch.shared.variable.Variable;
+import org.primaresearch.shared.variable.VariableMap;
+import org.primaresearch.shared.variable.constraints.ValidStringValues;
+
+/**
+ * Compact text snapshot of the type attribute templates of a schema model.<br>
+ * Loading a snapshot is much faster than parsing the XML schema. Snapshots of the default
+ * schemas are generated with {@link #main(String[])} and shipped next to the schema files.<br>
+ * <br>
+ * Format (UTF-8, tab-separated):<br>
+ * &nbsp;&nbsp;T &lt;type name&gt;<br>
+ * &nbsp;&nbsp;A &lt;String|Integer|Double|Boolean&gt; &lt;attribute name&gt; [&lt;valid value&gt; ...]<br>
+ * Attribute lines belong to the preceding type. Lines starting with '#' are comments.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class SchemaModelSnapshot {
+	
+	private static final String ENCODING = "UTF-8";
+	private static final char SEPARATOR = '\t';
+	
+	/**
+	 * Writes the given type attribute templates to a stream.
+	 * @param templates Map [type name, attribute templates]
+	 * @param out Target stream (will not be closed)
+	 * @throws IllegalArgumentException Unsupported variable type or constraint
+	 */
+	public static void write(Map<String, VariableMap> templates, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, ENCODING));
+		writer.write("# Schema model snapshot (generated by SchemaModelSnapshot, do not edit)\n");
+		
+		//Sorted by type name for reproducible files
+		Map<String, VariableMap> sorted = new TreeMap<String, VariableMap>();
+		VariableMap anonymous = null;
+		for (Map.Entry<String, VariableMap> entry : templates.entrySet()) {
+			if (entry.getKey() == null)
+				anonymous = entry.getValue();
+			else
+				sorted.put(entry.getKey(), entry.getValue());
+		}
+		if (anonymous != null)
+			writeType(writer, null, anonymous);
+		for (Map.Entry<String, VariableMap> entry : sorted.entrySet())
+			writeType(writer, entry.getKey(), entry.getValue());
+		writer.flush();
+	}
+	
+	private static void writeType(Writer writer, String typeName, VariableMap attributes) throws IOException {
+		writer.write('T');
+		if (typeName != null) {
+			writer.write(SEPARATOR);
+			writer.write(escape(typeName));
+		}
+		writer.write('\n');
+		
+		for (int i=0; i<attributes.getSize(); i++) {
+			Variable v = attributes.get(i);
+			writer.write('A');
+			writer.write(SEPARATOR);
+			writer.write(getKind(v));
+			writer.write(SEPARATOR);
+			writer.write(escape(v.getName()));
+			if (v.getConstraint() instanceof ValidStringValues) {
+				for (String value : ((ValidStringValues)v.getConstraint()).getValidValues()) {
+					writer.write(SEPARATOR);
+					writer.write(escape(value));
+				}
+			} else if (v.getConstraint() != null)
+				throw new IllegalArgumentException("Unsupported constraint for attribute "+v.getName());
+			writer.write('\n');
+		}
+	}
+	
+	private static String getKind(Variable v) {
+		if (v instanceof StringVariable)
+			return "String";
+		if (v instanceof IntegerVariable)
+			return "Integer";
+		if (v instanceof DoubleVariable)
+			return "Double";
+		if (v instanceof BooleanVariable)
+			return "Boolean";
+		throw new IllegalArgumentException("Unsupported variable type for attribute "+v.getName());
+	}
+
+	/**
+	 * Reads type attribute templates from a stream.
+	 * @param in Source stream (will not be closed)
+	 * @return Map [type name, attribute templates]
+	 * @throws IOException Read error or invalid snapshot format
+	 */
+	public static Map<String, VariableMap> read(InputStream in) throws IOException {
+		Map<String, VariableMap> templates = new HashMap<String, VariableMap>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, ENCODING));
+		VariableMap current = null;
+		String line;
+		int lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isEmpty() || line.charAt(0) == '#')
+				continue;
+			String[] fields = split(line);
+			if ("T".equals(fields[0])) {
+				String typeName = fields.length > 1 ? fields[1] : null;
+				current = new VariableMap();
+				current.setType(typeName);
+				templates.put(typeName, current);
+			}
+			else if ("A".equals(fields[0]) && fields.length >= 3 && current != null) {
+				Variable v = createVariable(fields[1], fields[2]);
+				if (v == null)
+					throw new IOException("Unknown attribute type in line "+lineNumber+": "+fields[1]);
+				if (fields.length > 3) {
+					ValidStringValues constraint = new ValidStringValues();
+					for (int i=3; i<fields.length; i++)
+						constraint.addValidValue(fields[i]);
+					v.setConstraint(constraint);
+				}
+				current.add(v);
+			}
+			else
+				throw new IOException("Invalid schema model snapshot (line "+lineNumber+")");
+		}
+		return templates;
+	}
+	
+	private static Variable createVariable(String kind, String name) {
+		if ("String".equals(kind))
+			return new StringVariable(name, null);
+		if ("Integer".equals(kind))
+			return new IntegerVariable(name, null);
+		if ("Double".equals(kind))
+			return new DoubleVariable(name, null);
+		if ("Boolean".equals(kind))
+			return new BooleanVariable(name, null);
+		return null;
+	}
+	
+	/**
+	 * Splits a line at the separator and unescapes the fields.
+	 */
+	private static String[] split(String line) {
+		int count = 1;
+		for (int i=0; i<line.length(); i++)
+			if (line.charAt(i) == SEPARATOR)
+				count++;
+		String[] fields = new String[count];
+		int start = 0;
+		for (int f=0; f<count; f++) {
+			int end = line.indexOf(SEPARATOR, start);
+			if (end < 0)
+				end = line.length();
+			fields[f] = unescape(line.substring(start, end));
+			start = end + 1;
+		}
+		return fields;
+	}
+	
+	private static String escape(String s) {
+		if (s.indexOf('\\') < 0 && s.indexOf('\t') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0)
+			return s;
+		return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+	
+	private static String unescape(String s) {
+		if (s.indexOf('\\') < 0)
+			return s;
+		StringBuilder res = new StringBuilder(s.length());
+		for (int i=0; i<s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '\\' && i+1 < s.length()) {
+				c = s.charAt(++i);
+				if (c == 't')
+					c = '\t';
+				else if (c == 'n')
+					c = '\n';
+				else if (c == 'r')
+					c = '\r';
+			}
+			res.append(c);
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Generates snapshot files for the given XML schema files. Each snapshot is saved
+	 * next to its schema, with the extension '.xsd' replaced by '.model'.
+	 * @param args Schema file paths
+	 */
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: SchemaModelSnapshot <schema file> [<schema file> ...]");
+			return;
+		}
+		for (String schemaPath : args) {
+			File schemaFile = new File(schemaPath);
+			String name = schemaFile.getName();
+			if (name.endsWith(".xsd"))
+				name = name.substring(0, name.length()-4);
+			File snapshotFile = new File(schemaFile.getParentFile(), name + ".model");
+			try {
+				DefaultSchemaParser parser = new DefaultSchemaParser(null);
+				parser.parse(schemaFile.toURI().toURL());
+				OutputStream out = new FileOutputStream(snapshotFile);
+				try {
+					write(parser.getTypeAttributeTemplates(), out);
+				} finally {
+					out.close();
+				}
+				System.out.println(snapshotFile.getPath());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+}
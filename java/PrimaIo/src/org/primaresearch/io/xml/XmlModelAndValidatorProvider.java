@@ -24,11 +24,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.primaresearch.io.UnsupportedFormatVersionException;
 
 /**
- * Provides access to models and validators for different schema versions.
+ * Provides access to models and validators for different schema versions.<br>
+ * Validators and schema models are created on first request (or by {@link #warmUp()}).
+ * The provider can be shared between threads and each schema is compiled and parsed only once.
  *  
  * @author Christian Clausner
  *
@@ -36,16 +40,19 @@ import org.primaresearch.io.UnsupportedFormatVersionException;
 public abstract class XmlModelAndValidatorProvider {
 
 	/** Map [schemaVersion, validator] */
-	private Map<XmlFormatVersion, XmlValidator> validators = new HashMap<XmlFormatVersion, XmlValidator>();
+	private ConcurrentMap<XmlFormatVersion, XmlValidator> validators = new ConcurrentHashMap<XmlFormatVersion, XmlValidator>();
 	
-	/** Map [schemaVersion, schemaFilePath] */
+	/** Map [schemaVersion, schemaFilePath] (only modified during construction) */
 	private Map<XmlFormatVersion, URL> schemaSources = new HashMap<XmlFormatVersion, URL>();
 
+	/** Map [schemaVersion, modelSnapshotPath] (only modified during construction) */
+	private Map<XmlFormatVersion, URL> modelSnapshots = new HashMap<XmlFormatVersion, URL>();
+
 	/** Map [schemaVersion, schemaFilePath] */
 	private List<XmlFormatVersion> defaultSchemas = new ArrayList<XmlFormatVersion>();
 	
 	/** Map [schemaVersion, schemaParser] */
-	private Map<XmlFormatVersion, SchemaModelParser> schemaParsers = new HashMap<XmlFormatVersion, SchemaModelParser>();
+	private ConcurrentMap<XmlFormatVersion, LazySchemaParser> schemaParsers = new ConcurrentHashMap<XmlFormatVersion, LazySchemaParser>();
 	
 	
 	private XmlFormatVersion latestSchemaVersion;
@@ -103,7 +110,23 @@ public abstract class XmlModelAndValidatorProvider {
 	 * @param addToDefaultList Set to <code>true</code> to add the schema source to the list of default sources 
 	 */
 	protected void addSchemaSource(XmlFormatVersion version, URL url, boolean addToDefaultList) {
+		addSchemaSource(version, url, addToDefaultList, null);
+	}
+	
+	/**
+	 * Adds a schema source file
+	 * @param version Schema version
+	 * @param url Schema location
+	 * @param addToDefaultList Set to <code>true</code> to add the schema source to the list of default sources 
+	 * @param modelSnapshot Location of a precompiled schema model (see {@link SchemaModelSnapshot}) that is
+	 *  loaded instead of parsing the schema (can be <code>null</code>)
+	 */
+	protected void addSchemaSource(XmlFormatVersion version, URL url, boolean addToDefaultList, URL modelSnapshot) {
 		schemaSources.put(version, url);
+		if (modelSnapshot != null)
+			modelSnapshots.put(version, modelSnapshot);
+		else
+			modelSnapshots.remove(version);
 		//Keep a separate list as well
 		if (addToDefaultList && !defaultSchemas.contains(version))
 			defaultSchemas.add(version);
@@ -147,7 +170,7 @@ public abstract class XmlModelAndValidatorProvider {
 							searchForAdditionalSchemas(curr.getPath(), schemaFilename, maxSearchDepth-1); //recursion
 						else if (curr.getName().equals(schemaFilename)) {
 							try {
-								schemaSources.put(new XmlFormatVersion(folder.getName()), new File(curr.getPath()).toURI().toURL());
+								addSchemaSource(new XmlFormatVersion(folder.getName()), new File(curr.getPath()).toURI().toURL());
 							} catch (MalformedURLException e) {
 								e.printStackTrace();
 							}
@@ -161,7 +184,7 @@ public abstract class XmlModelAndValidatorProvider {
 	/**
 	 * Returns the latest schema version of this provider (based on version format 'yyyy-mm-dd').
 	 */
-	public XmlFormatVersion getLatestSchemaVersion() {
+	public synchronized XmlFormatVersion getLatestSchemaVersion() {
 		if (latestSchemaVersion == null)
 			latestSchemaVersion = findLatestSchemaVersion();
 		return latestSchemaVersion;
@@ -207,14 +230,17 @@ public abstract class XmlModelAndValidatorProvider {
 			return null;
 		if (!schemaSources.containsKey(schemaVersion))
 			throw new UnsupportedSchemaVersionException(schemaVersion.toString());
+		URL schemaSource = schemaSources.get(schemaVersion);
+		if (schemaSource == null)
+			return null;
 		
 		XmlValidator validator = validators.get(schemaVersion);
 		if (validator == null) { //Not yet created
-			if (schemaSources.get(schemaVersion) != null) {
-				//Create validator
-				validator = new XmlValidator(schemaSources.get(schemaVersion), schemaVersion);
-				validators.put(schemaVersion, validator);
-			}
+			//Create validator (the schema is compiled lazily by the validator, so only the first one put in the map ever compiles)
+			XmlValidator newValidator = new XmlValidator(schemaSource, schemaVersion);
+			validator = validators.putIfAbsent(schemaVersion, newValidator);
+			if (validator == null)
+				validator = newValidator;
 		}
 		return validator;
 	}
@@ -230,22 +256,72 @@ public abstract class XmlModelAndValidatorProvider {
 			return null;
 		if (!schemaSources.containsKey(schemaVersion))
 			throw new UnsupportedSchemaVersionException(schemaVersion.toString());
+		URL schemaSource = schemaSources.get(schemaVersion);
+		if (schemaSource == null)
+			return null;
 		
-		SchemaModelParser schemaParser = schemaParsers.get(schemaVersion);
+		LazySchemaParser schemaParser = schemaParsers.get(schemaVersion);
 		if (schemaParser == null) { //Not yet created
-			if (schemaSources.get(schemaVersion) != null) {
-				//Create schema parser
-				//TODO Different parsers?
-				schemaParser = new DefaultSchemaParser(schemaVersion);
-				schemaParser.parse(schemaSources.get(schemaVersion));
-				schemaParsers.put(schemaVersion, schemaParser);
-			}
+			LazySchemaParser newParser = new LazySchemaParser(schemaVersion, schemaSource, modelSnapshots.get(schemaVersion));
+			schemaParser = schemaParsers.putIfAbsent(schemaVersion, newParser);
+			if (schemaParser == null)
+				schemaParser = newParser;
 		}
-		return schemaParser;
+		return schemaParser.get();
 	}
 
+	/**
+	 * Compiles the validators and parses the models of all default schemas in advance.
+	 * Can be called at service start, so that the first requests don't have to wait for it.
+	 */
+	public void warmUp() {
+		for (XmlFormatVersion version : defaultSchemas) {
+			try {
+				XmlValidator validator = getValidator(version);
+				if (validator != null)
+					validator.getSchema();
+				getSchemaParser(version);
+			} catch (UnsupportedSchemaVersionException e) {
+				e.printStackTrace();
+			}
+		}
+	}
 	
 	
+	/**
+	 * Schema parser that loads the model on first access (exactly once, thread-safe).
+	 * A precompiled snapshot is used if available, otherwise the schema is parsed.
+	 */
+	private static class LazySchemaParser {
+		private XmlFormatVersion schemaVersion;
+		private URL schemaSource;
+		private URL modelSnapshot;
+		private volatile SchemaModelParser parser = null;
+		
+		public LazySchemaParser(XmlFormatVersion schemaVersion, URL schemaSource, URL modelSnapshot) {
+			this.schemaVersion = schemaVersion;
+			this.schemaSource = schemaSource;
+			this.modelSnapshot = modelSnapshot;
+		}
+		
+		public SchemaModelParser get() {
+			SchemaModelParser result = parser;
+			if (result == null) {
+				synchronized (this) {
+					result = parser;
+					if (result == null) {
+						//TODO Different parsers?
+						DefaultSchemaParser schemaParser = new DefaultSchemaParser(schemaVersion);
+						if (modelSnapshot == null || !schemaParser.loadSnapshot(modelSnapshot))
+							schemaParser.parse(schemaSource);
+						parser = result = schemaParser;
+					}
+				}
+			}
+			return result;
+		}
+	}
+	
 	@SuppressWarnings("serial")
 	public static class UnsupportedSchemaVersionException extends UnsupportedFormatVersionException {
 		public UnsupportedSchemaVersionException(String msg) {
@@ -37,7 +37,7 @@ import org.xml.sax.SAXException;
 public class XmlValidator {
 	
 	URL schemaSource;
-	Schema schema = null;
+	volatile Schema schema = null;
 	XmlFormatVersion schemaVersion;
 	
 	public XmlValidator(URL schemaSource, XmlFormatVersion schemaVersion) {
@@ -54,24 +54,35 @@ public class XmlValidator {
 	}
 	
 	/**
-	 * Returns the schema object that can be used for validating XML (e.g. DOM or SAX). 
+	 * Returns the schema object that can be used for validating XML (e.g. DOM or SAX).
+	 * The schema is compiled on the first call (thread-safe, only once).
 	 */
 	public Schema getSchema() {
-		if (schema == null) {
-    		//SchemaFactory schemaFactory = SchemaFactory.newInstance("http://www.w3.org/2001/XMLSchema");
-    		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			try {
-				URL schemaSource = getSchemaSource();
-				InputStream inputStream = schemaSource.openStream();
-				Source src = new StreamSource(inputStream);
-				schema = schemaFactory.newSchema(src);
-			} catch (SAXException e) {
-				e.printStackTrace();
-			} catch (IOException e) {
-				e.printStackTrace();
-			} 
+		Schema result = schema;
+		if (result == null) {
+			synchronized (this) {
+				result = schema;
+				if (result == null) 
+					schema = result = compileSchema();
+			}
 		}
-		return schema;
+		return result;
+	}
+	
+	private Schema compileSchema() {
+		//SchemaFactory schemaFactory = SchemaFactory.newInstance("http://www.w3.org/2001/XMLSchema");
+		SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+		try {
+			URL schemaSource = getSchemaSource();
+			InputStream inputStream = schemaSource.openStream();
+			Source src = new StreamSource(inputStream);
+			return schemaFactory.newSchema(src);
+		} catch (SAXException e) {
+			e.printStackTrace();
+		} catch (IOException e) {
+			e.printStackTrace();
+		} 
+		return null;
 	}
 	
 	/**
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 
 import org.junit.Test;
@@ -36,9 +37,14 @@ public class XmlVariableFileTest {
 	public void test() {
 		
 		//Output file
-		File outputFile = new File("d:\\temp\\debug\\XmlVariableFileTest.xml");
-		if (outputFile.exists())
-			assertTrue(outputFile.delete());
+		File outputFile = null;
+		try {
+			outputFile = File.createTempFile("XmlVariableFileTest_", ".xml");
+			outputFile.deleteOnExit();
+		} catch (IOException e) {
+			e.printStackTrace();
+			fail();
+		}
 		
 		//Create variables
 		// V1
@@ -107,6 +113,7 @@ public class XmlVariableFileTest {
 		BooleanVariable r2 = (BooleanVariable)vars.get("v2");
 		assertTrue(((BooleanValue)v2.getValue()).val == ((BooleanValue)r2.getValue()).val);
 		
+		outputFile.delete();
 	}
 
 }
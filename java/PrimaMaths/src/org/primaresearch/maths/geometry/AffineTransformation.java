@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+/**
+ * Immutable 2D affine transformation (scaling, translation, rotation, deskew and combinations) 
+ * for integer coordinates:<br>
+ * <br>
+ * x' = m00 * x + m01 * y + m02<br>
+ * y' = m10 * x + m11 * y + m12<br>
+ * <br>
+ * Results are rounded to the nearest integer. Angles are in radians. With image coordinates 
+ * (y axis pointing down), positive angles rotate clockwise.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class AffineTransformation {
+
+	private final double m00, m01, m02;
+	private final double m10, m11, m12;
+	
+	/**
+	 * Constructor
+	 * @param m00 x' = m00 * x + m01 * y + m02
+	 * @param m01 x' = m00 * x + m01 * y + m02
+	 * @param m02 x' = m00 * x + m01 * y + m02
+	 * @param m10 y' = m10 * x + m11 * y + m12
+	 * @param m11 y' = m10 * x + m11 * y + m12
+	 * @param m12 y' = m10 * x + m11 * y + m12
+	 */
+	public AffineTransformation(double m00, double m01, double m02, double m10, double m11, double m12) {
+		this.m00 = m00;
+		this.m01 = m01;
+		this.m02 = m02;
+		this.m10 = m10;
+		this.m11 = m11;
+		this.m12 = m12;
+	}
+	
+	/**
+	 * Creates a transformation that does not change the coordinates
+	 */
+	public static AffineTransformation createIdentity() {
+		return new AffineTransformation(1.0, 0.0, 0.0, 0.0, 1.0, 0.0);
+	}
+	
+	/**
+	 * Creates a scaling transformation (relative to the origin)
+	 * @param scaleX Multiplier for x coordinates
+	 * @param scaleY Multiplier for y coordinates
+	 */
+	public static AffineTransformation createScaling(double scaleX, double scaleY) {
+		return new AffineTransformation(scaleX, 0.0, 0.0, 0.0, scaleY, 0.0);
+	}
+	
+	/**
+	 * Creates a translation
+	 * @param dx Offset for x coordinates
+	 * @param dy Offset for y coordinates
+	 */
+	public static AffineTransformation createTranslation(double dx, double dy) {
+		return new AffineTransformation(1.0, 0.0, dx, 0.0, 1.0, dy);
+	}
+	
+	/**
+	 * Creates a rotation around the origin
+	 * @param angle Angle in radians (positive angles rotate clockwise in image coordinates)
+	 */
+	public static AffineTransformation createRotation(double angle) {
+		return createRotation(angle, 0.0, 0.0);
+	}
+	
+	/**
+	 * Creates a rotation around the given centre
+	 * @param angle Angle in radians (positive angles rotate clockwise in image coordinates)
+	 * @param centerX Rotation centre
+	 * @param centerY Rotation centre
+	 */
+	public static AffineTransformation createRotation(double angle, double centerX, double centerY) {
+		double cos = Math.cos(angle);
+		double sin = Math.sin(angle);
+		return new AffineTransformation(cos, -sin, centerX - cos * centerX + sin * centerY, 
+										sin, cos, centerY - sin * centerX - cos * centerY);
+	}
+	
+	/**
+	 * Creates a transformation that corrects the given skew (rotation by the negative skew angle around the given centre).
+	 * Use the same parameters for the document image to keep image and coordinates aligned.
+	 * @param skewAngle Skew angle of the page content in radians (positive for content that is rotated clockwise)
+	 * @param centerX Rotation centre (usually the image centre)
+	 * @param centerY Rotation centre (usually the image centre)
+	 */
+	public static AffineTransformation createDeskew(double skewAngle, double centerX, double centerY) {
+		return createRotation(-skewAngle, centerX, centerY);
+	}
+	
+	/**
+	 * Returns the combined transformation of this transformation followed by the given one.
+	 */
+	public AffineTransformation concatenate(AffineTransformation next) {
+		return new AffineTransformation(
+				next.m00 * m00 + next.m01 * m10, next.m00 * m01 + next.m01 * m11, next.m00 * m02 + next.m01 * m12 + next.m02,
+				next.m10 * m00 + next.m11 * m10, next.m10 * m01 + next.m11 * m11, next.m10 * m02 + next.m11 * m12 + next.m12);
+	}
+	
+	/**
+	 * Checks if this transformation leaves all coordinates unchanged
+	 */
+	public boolean isIdentity() {
+		return m00 == 1.0 && m01 == 0.0 && m02 == 0.0 && m10 == 0.0 && m11 == 1.0 && m12 == 0.0;
+	}
+	
+	/**
+	 * Transforms the given coordinates (in place).
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param size Number of points
+	 */
+	public void transform(int[] coords, int size) {
+		double x, y;
+		for (int i=0; i<2*size; i+=2) {
+			x = coords[i];
+			y = coords[i+1];
+			coords[i] = round(m00 * x + m01 * y + m02);
+			coords[i+1] = round(m10 * x + m11 * y + m12);
+		}
+	}
+	
+	/**
+	 * Returns the transformed point
+	 */
+	public Point transform(int x, int y) {
+		return new Point(round(m00 * x + m01 * y + m02), round(m10 * x + m11 * y + m12));
+	}
+	
+	private static int round(double value) {
+		return (int)Math.floor(value + 0.5);
+	}
+
+	public double getM00() {
+		return m00;
+	}
+
+	public double getM01() {
+		return m01;
+	}
+
+	public double getM02() {
+		return m02;
+	}
+
+	public double getM10() {
+		return m10;
+	}
+
+	public double getM11() {
+		return m11;
+	}
+
+	public double getM12() {
+		return m12;
+	}
+}
@@ -16,6 +16,7 @@
 package org.primaresearch.maths.geometry;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Helper class for different calculations
@@ -59,4 +60,204 @@ public class Geometry implements Serializable {
 
 		return intersect;
 	}
+	
+	/**
+	 * Calculates the area of the intersection of two polygons (simple polygons, convex or non-convex; 
+	 * self-intersecting polygons are evaluated using the even-odd rule).<br>
+	 * <br>
+	 * The plane is cut into vertical slabs at all vertices and edge crossings (crossings between the two polygons 
+	 * and crossings of a polygon with itself). Within a slab, the length of the 
+	 * vertical intersection profile is linear in x, so its value at the slab centre times the slab width is exact.
+	 * 
+	 * @param coordsA Interleaved coordinates (x1, y1, x2, y2, ...) of the first polygon
+	 * @param sizeA Number of points of the first polygon
+	 * @param coordsB Interleaved coordinates of the second polygon
+	 * @param sizeB Number of points of the second polygon
+	 * @return Intersection area (0.0 if the polygons don't overlap or have less than 3 points)
+	 */
+	public static double calculateIntersectionArea(int[] coordsA, int sizeA, int[] coordsB, int sizeB) {
+		if (sizeA < 3 || sizeB < 3)
+			return 0.0;
+		
+		//Overlap of the bounding boxes
+		int[] boxA = boundingBox(coordsA, sizeA);
+		int[] boxB = boundingBox(coordsB, sizeB);
+		int left = Math.max(boxA[0], boxB[0]);
+		int top = Math.max(boxA[1], boxB[1]);
+		int right = Math.min(boxA[2], boxB[2]);
+		int bottom = Math.min(boxA[3], boxB[3]);
+		if (left >= right || top >= bottom)
+			return 0.0;
+		
+		//Non-vertical edges (x1 < x2), sorted by x1
+		int[] edgesA = sortedEdges(coordsA, sizeA, left, right);
+		int[] edgesB = sortedEdges(coordsB, sizeB, left, right);
+		int edgeCountA = edgesA.length / 4;
+		int edgeCountB = edgesB.length / 4;
+		if (edgeCountA == 0 || edgeCountB == 0)
+			return 0.0;
+		
+		//Slab borders: vertices and edge crossings within the overlap (A with B, A with itself, B with itself)
+		double[] xs = new double[2 + 2*edgeCountA + 2*edgeCountB];
+		int xCount = 0;
+		xs[xCount++] = left;
+		xs[xCount++] = right;
+		for (int i=0; i<edgesA.length; i+=4) {
+			xs[xCount++] = Math.max(left, edgesA[i]);
+			xs[xCount++] = Math.min(right, edgesA[i+2]);
+		}
+		for (int i=0; i<edgesB.length; i+=4) {
+			xs[xCount++] = Math.max(left, edgesB[i]);
+			xs[xCount++] = Math.min(right, edgesB[i+2]);
+		}
+		for (int pass=0; pass<3; pass++) {
+			int[] edges1 = pass == 2 ? edgesB : edgesA;
+			int[] edges2 = pass == 0 ? edgesB : edges1;
+			for (int i=0; i<edges1.length; i+=4) {
+				for (int j = pass == 0 ? 0 : i+4; j<edges2.length; j+=4) {
+					if (edges2[j] >= edges1[i+2]) //Sorted by x1 -> no further candidates
+						break;
+					double x = crossingX(edges1, i, edges2, j);
+					if (x > left && x < right) {
+						if (xCount == xs.length)
+							xs = Arrays.copyOf(xs, xs.length * 2);
+						xs[xCount++] = x;
+					}
+				}
+			}
+		}
+		Arrays.sort(xs, 0, xCount);
+		
+		//Sweep
+		double[] ysA = new double[edgeCountA];
+		double[] ysB = new double[edgeCountB];
+		int[] activeA = new int[edgeCountA];
+		int[] activeB = new int[edgeCountB];
+		int activeCountA = 0, activeCountB = 0;
+		int nextA = 0, nextB = 0;
+		double area = 0.0;
+		for (int k=1; k<xCount; k++) {
+			double x1 = xs[k-1];
+			double x2 = xs[k];
+			if (x2 <= x1)
+				continue;
+			double xm = (x1 + x2) / 2.0;
+			
+			//Update active edges
+			while (nextA < edgeCountA && edgesA[4*nextA] < xm)
+				activeA[activeCountA++] = 4 * nextA++;
+			while (nextB < edgeCountB && edgesB[4*nextB] < xm)
+				activeB[activeCountB++] = 4 * nextB++;
+			activeCountA = removeFinishedEdges(edgesA, activeA, activeCountA, xm);
+			activeCountB = removeFinishedEdges(edgesB, activeB, activeCountB, xm);
+			if (activeCountA < 2 || activeCountB < 2)
+				continue;
+			
+			//Vertical profile at slab centre
+			for (int i=0; i<activeCountA; i++)
+				ysA[i] = edgeY(edgesA, activeA[i], xm);
+			for (int i=0; i<activeCountB; i++)
+				ysB[i] = edgeY(edgesB, activeB[i], xm);
+			Arrays.sort(ysA, 0, activeCountA);
+			Arrays.sort(ysB, 0, activeCountB);
+			
+			//Length of intersection of inside intervals (even-odd)
+			double length = 0.0;
+			int i = 0, j = 0;
+			while (i+1 < activeCountA && j+1 < activeCountB) {
+				double lo = Math.max(ysA[i], ysB[j]);
+				double hi = Math.min(ysA[i+1], ysB[j+1]);
+				if (hi > lo)
+					length += hi - lo;
+				if (ysA[i+1] < ysB[j+1])
+					i += 2;
+				else
+					j += 2;
+			}
+			area += length * (x2 - x1);
+		}
+		return area;
+	}
+	
+	/**
+	 * Returns left, top, right, bottom
+	 */
+	private static int[] boundingBox(int[] coords, int size) {
+		int[] box = new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+		for (int i=0; i<2*size; i+=2) {
+			box[0] = Math.min(box[0], coords[i]);
+			box[1] = Math.min(box[1], coords[i+1]);
+			box[2] = Math.max(box[2], coords[i]);
+			box[3] = Math.max(box[3], coords[i+1]);
+		}
+		return box;
+	}
+	
+	/**
+	 * Returns all non-vertical polygon edges overlapping the given x range as (x1, y1, x2, y2) with x1 < x2, 
+	 * sorted by x1.
+	 */
+	private static int[] sortedEdges(int[] coords, int size, int left, int right) {
+		long[] keys = new long[size];
+		int count = 0;
+		for (int i=0; i<size; i++) {
+			int j = (i + 1) % size;
+			int xi = coords[2*i], xj = coords[2*j];
+			if (xi == xj || Math.max(xi, xj) <= left || Math.min(xi, xj) >= right)
+				continue;
+			keys[count++] = ((long)Math.min(xi, xj) << 32) | i;
+		}
+		Arrays.sort(keys, 0, count);
+		int[] edges = new int[4*count];
+		for (int k=0; k<count; k++) {
+			int i = (int)(keys[k] & 0xFFFFFFFFL);
+			int j = (i + 1) % size;
+			int e = 4*k;
+			if (coords[2*i] < coords[2*j]) {
+				edges[e] = coords[2*i]; edges[e+1] = coords[2*i+1];
+				edges[e+2] = coords[2*j]; edges[e+3] = coords[2*j+1];
+			} else {
+				edges[e] = coords[2*j]; edges[e+1] = coords[2*j+1];
+				edges[e+2] = coords[2*i]; edges[e+3] = coords[2*i+1];
+			}
+		}
+		return edges;
+	}
+	
+	/**
+	 * Removes edges that end left of x from the active list
+	 * @return New number of active edges
+	 */
+	private static int removeFinishedEdges(int[] edges, int[] active, int count, double x) {
+		int n = 0;
+		for (int i=0; i<count; i++) {
+			if (edges[active[i]+2] > x)
+				active[n++] = active[i];
+		}
+		return n;
+	}
+	
+	private static double edgeY(int[] edges, int e, double x) {
+		return edges[e+1] + (x - edges[e]) * (double)(edges[e+3] - edges[e+1]) / (double)(edges[e+2] - edges[e]);
+	}
+	
+	/**
+	 * Calculates the x coordinate where two edges cross
+	 * @return x or NaN (no crossing, parallel or only touching)
+	 */
+	private static double crossingX(int[] edgesA, int a, int[] edgesB, int b) {
+		double ax = edgesA[a], ay = edgesA[a+1];
+		double adx = edgesA[a+2] - ax, ady = edgesA[a+3] - ay;
+		double bx = edgesB[b], by = edgesB[b+1];
+		double bdx = edgesB[b+2] - bx, bdy = edgesB[b+3] - by;
+		
+		double divisor = adx * bdy - ady * bdx;
+		if (divisor == 0.0)
+			return Double.NaN; //Parallel
+		double t = ((bx - ax) * bdy - (by - ay) * bdx) / divisor;
+		double u = ((bx - ax) * ady - (by - ay) * adx) / divisor;
+		if (t <= 0.0 || t >= 1.0 || u <= 0.0 || u >= 1.0)
+			return Double.NaN;
+		return ax + t * adx;
+	}
 }
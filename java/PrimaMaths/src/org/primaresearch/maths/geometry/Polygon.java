@@ -16,26 +16,52 @@
 package org.primaresearch.maths.geometry;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
 /**
- * Polygon class holding a list of points and providing some geometric operations.
+ * Polygon class holding a list of points and providing some geometric operations.<br>
+ * <br>
+ * The points are stored in a packed coordinate array (x1, y1, x2, y2, ...). Use {@link #getX(int)}, 
+ * {@link #getY(int)} and the bulk methods ({@link #addPoints(int[], int)}, {@link #setPoints(int[], int)},
+ * {@link #getCoordinates()}) to work with the coordinates without creating point objects.<br>
+ * <br>
+ * A polygon can be frozen (see {@link #freeze()}). Frozen polygons are immutable and can be read
+ * from several threads without locking.
  * 
  * @author Christian Clausner
  *
  */
 public class Polygon implements Serializable {
 
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
+	
+	/** Capacity (number of points) that is allocated on first insert */
+	private static final int DEFAULT_CAPACITY = 4;
 
-	private List<Point> points = new ArrayList<Point>();
+	/** Interleaved coordinates (x1, y1, x2, y2, ...) */
+	private int[] coords = null;
+	
+	/** Number of points */
+	private int size = 0;
+	
+	/** 
+	 * Point objects that have been handed out by {@link #getPoint(int)} or passed to {@link #addPoint(Point)}.
+	 * Changes to these objects are reflected in the polygon (as with the former point list). Only created when needed. 
+	 */
+	private Point[] pointObjects = null;
 	
 	private Rect boundingBox = null;
 	
 	private Double confidence = null;
 	
+	/** Immutable? (set last in {@link #freeze()}, all other fields are final afterwards) */
+	private volatile boolean frozen = false;
+	
+	/** Area (only valid if frozen) */
+	private double area = 0.0;
+	
+	/** Listeners that are notified when the points change (e.g. spatial indexes; copy on write, <code>null</code> if none) */
+	transient private volatile ChangeListener[] changeListeners = null;
+	
 	public Polygon() {
 		
 	}
@@ -44,26 +70,106 @@ public class Polygon implements Serializable {
 	 * Returns the number of points of this polygon.
 	 */
 	public int getSize() {
+		if (frozen)
+			return size;
+		synchronized (this) {
+			return size;
+		}
+	}
+	
+	/**
+	 * Returns the x coordinate of the point at the given index.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public int getX(int index) {
+		if (frozen) {
+			checkIndex(index);
+			return coords[2*index];
+		}
+		synchronized (this) {
+			checkIndex(index);
+			if (pointObjects != null && pointObjects[index] != null)
+				return pointObjects[index].x;
+			return coords[2*index];
+		}
+	}
+
+	/**
+	 * Returns the y coordinate of the point at the given index.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public int getY(int index) {
+		if (frozen) {
+			checkIndex(index);
+			return coords[2*index+1];
+		}
 		synchronized (this) {
-			return points.size();
+			checkIndex(index);
+			if (pointObjects != null && pointObjects[index] != null)
+				return pointObjects[index].y;
+			return coords[2*index+1];
 		}
 	}
 
 	/**
-	 * Returns the polygon point at the given index.
+	 * Returns the polygon point at the given index.<br>
+	 * Note: For compatibility, the returned object is linked to the polygon (changes are reflected in the polygon,
+	 * call {@link #setBoundingBoxOutdated()} afterwards). Use {@link #getX(int)} and {@link #getY(int)} if you 
+	 * only need the coordinates (no extra object is created then).<br>
+	 * For frozen polygons, a new unlinked point object is returned.
+	 * @throws IndexOutOfBoundsException
 	 */
 	public Point getPoint(int index) {
+		if (frozen) {
+			checkIndex(index);
+			return new Point(coords[2*index], coords[2*index+1]);
+		}
 		synchronized (this) {
-			return points.get(index);
+			checkIndex(index);
+			if (pointObjects == null)
+				pointObjects = new Point[coords.length / 2];
+			Point p = pointObjects[index];
+			if (p == null) {
+				p = new Point(coords[2*index], coords[2*index+1]);
+				pointObjects[index] = p;
+			}
+			return p;
+		}
+	}
+	
+	/**
+	 * Changes the coordinates of the point at the given index.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public void setPoint(int index, int x, int y) {
+		synchronized (this) {
+			checkNotFrozen();
+			checkIndex(index);
+			coords[2*index] = x;
+			coords[2*index+1] = y;
+			if (pointObjects != null && pointObjects[index] != null) {
+				pointObjects[index].x = x;
+				pointObjects[index].y = y;
+			}
+			setBoundingBoxOutdated();
 		}
 	}
 
 	/**
-	 * Adds a point at the end of the polygon.
+	 * Adds a point at the end of the polygon.<br>
+	 * Note: For compatibility, the point object is linked to the polygon (see {@link #getPoint(int)}).
+	 * Use {@link #addPoint(int, int)} if this is not required.
 	 */
 	public void addPoint(Point p) {
 		synchronized (this) {
-			points.add(p);
+			checkNotFrozen();
+			ensureCapacity(size + 1);
+			coords[2*size] = p.x;
+			coords[2*size+1] = p.y;
+			if (pointObjects == null)
+				pointObjects = new Point[coords.length / 2];
+			pointObjects[size] = p;
+			size++;
 			setBoundingBoxOutdated();
 		}
 	}
@@ -73,11 +179,87 @@ public class Polygon implements Serializable {
 	 */
 	public void addPoint(int x, int y) {
 		synchronized (this) {
-			points.add(new Point(x,y));
+			checkNotFrozen();
+			ensureCapacity(size + 1);
+			coords[2*size] = x;
+			coords[2*size+1] = y;
+			size++;
 			setBoundingBoxOutdated();
 		}
 	}
 
+	/**
+	 * Adds several points at the end of the polygon.
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param numberOfPoints Number of points to take from the coordinate array
+	 */
+	public void addPoints(int[] coords, int numberOfPoints) {
+		synchronized (this) {
+			checkNotFrozen();
+			ensureCapacity(size + numberOfPoints);
+			System.arraycopy(coords, 0, this.coords, 2*size, 2*numberOfPoints);
+			size += numberOfPoints;
+			setBoundingBoxOutdated();
+		}
+	}
+	
+	/**
+	 * Replaces all points of the polygon.
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param numberOfPoints Number of points to take from the coordinate array
+	 */
+	public void setPoints(int[] coords, int numberOfPoints) {
+		synchronized (this) {
+			checkNotFrozen();
+			size = 0;
+			pointObjects = null;
+			addPoints(coords, numberOfPoints);
+		}
+	}
+	
+	/**
+	 * Applies the given transformation to all points (in place, the bounding box is invalidated once).
+	 * Linked point objects (see {@link #getPoint(int)}) are updated as well.
+	 */
+	public void transform(AffineTransformation transformation) {
+		synchronized (this) {
+			checkNotFrozen();
+			if (size == 0)
+				return;
+			syncPointObjects();
+			transformation.transform(coords, size);
+			if (pointObjects != null) {
+				for (int i=0; i<size; i++) {
+					if (pointObjects[i] != null) {
+						pointObjects[i].x = coords[2*i];
+						pointObjects[i].y = coords[2*i+1];
+					}
+				}
+			}
+			setBoundingBoxOutdated();
+		}
+	}
+
+	/**
+	 * Returns a copy of all coordinates.
+	 * @return Interleaved coordinates (x1, y1, x2, y2, ...) with length 2 * {@link #getSize()}
+	 */
+	public int[] getCoordinates() {
+		if (frozen)
+			return copyCoordinates();
+		synchronized (this) {
+			syncPointObjects();
+			return copyCoordinates();
+		}
+	}
+	
+	private int[] copyCoordinates() {
+		int[] res = new int[2*size];
+		if (size > 0)
+			System.arraycopy(coords, 0, res, 0, 2*size);
+		return res;
+	}
+
 	/**
 	 * Inserts a polygon point at the given position.
 	 * @param insertAfter Index of point before the new point.
@@ -85,21 +267,126 @@ public class Polygon implements Serializable {
 	 */
 	public void insertPoint(int insertAfter, Point p) {
 		synchronized (this) {
-			points.add(insertAfter+1, p);
+			checkNotFrozen();
+			int index = insertAfter + 1;
+			if (index < 0 || index > size)
+				throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+			ensureCapacity(size + 1);
+			if (pointObjects == null)
+				pointObjects = new Point[coords.length / 2];
+			System.arraycopy(coords, 2*index, coords, 2*index+2, 2*(size-index));
+			System.arraycopy(pointObjects, index, pointObjects, index+1, size-index);
+			coords[2*index] = p.x;
+			coords[2*index+1] = p.y;
+			pointObjects[index] = p;
+			size++;
 			setBoundingBoxOutdated();
 		}
 	}
 	
 	/**
-	 * Removes the given point from the polygon.
+	 * Removes the given point from the polygon (the point object has to be one that has been added to or 
+	 * returned by this polygon).
 	 */
 	public void removePoint(Point p) {
 		synchronized (this) {
-			points.remove(p);
+			checkNotFrozen();
+			if (pointObjects == null)
+				return;
+			for (int i=0; i<size; i++) {
+				if (pointObjects[i] == p) {
+					removePoint(i);
+					return;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Removes the point at the given index from the polygon.
+	 * @throws IndexOutOfBoundsException
+	 */
+	public void removePoint(int index) {
+		synchronized (this) {
+			checkNotFrozen();
+			checkIndex(index);
+			System.arraycopy(coords, 2*index+2, coords, 2*index, 2*(size-index-1));
+			if (pointObjects != null) {
+				System.arraycopy(pointObjects, index+1, pointObjects, index, size-index-1);
+				pointObjects[size-1] = null;
+			}
+			size--;
 			setBoundingBoxOutdated();
 		}
 	}
 	
+	/**
+	 * Makes sure the polygon can hold the given number of points without having to grow the coordinate array.
+	 */
+	public void ensureCapacity(int numberOfPoints) {
+		synchronized (this) {
+			checkNotFrozen();
+			int capacity = coords != null ? coords.length / 2 : 0;
+			if (numberOfPoints <= capacity)
+				return;
+			int newCapacity = Math.max(numberOfPoints, size == 0 ? DEFAULT_CAPACITY : capacity + (capacity >> 1));
+			int[] newCoords = new int[2*newCapacity];
+			if (size > 0)
+				System.arraycopy(coords, 0, newCoords, 0, 2*size);
+			coords = newCoords;
+			if (pointObjects != null) {
+				Point[] newPointObjects = new Point[newCapacity];
+				System.arraycopy(pointObjects, 0, newPointObjects, 0, size);
+				pointObjects = newPointObjects;
+			}
+		}
+	}
+	
+	/**
+	 * Releases unused capacity of the coordinate array.
+	 */
+	public void trimToSize() {
+		synchronized (this) {
+			if (frozen || coords == null || coords.length == 2*size)
+				return;
+			syncPointObjects();
+			int[] newCoords = new int[2*size];
+			System.arraycopy(coords, 0, newCoords, 0, 2*size);
+			coords = newCoords;
+			if (pointObjects != null) {
+				Point[] newPointObjects = new Point[size];
+				System.arraycopy(pointObjects, 0, newPointObjects, 0, size);
+				pointObjects = newPointObjects;
+			}
+		}
+	}
+	
+	private void checkNotFrozen() {
+		if (frozen)
+			throw new UnsupportedOperationException("The polygon is frozen");
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+	}
+	
+	/**
+	 * Copies the coordinates of linked point objects (that may have been changed from outside) into the coordinate array. 
+	 */
+	private void syncPointObjects() {
+		if (pointObjects == null)
+			return;
+		Point p;
+		for (int i=0; i<size; i++) {
+			p = pointObjects[i];
+			if (p != null) {
+				coords[2*i] = p.x;
+				coords[2*i+1] = p.y;
+			}
+		}
+	}
+	
 	/**
 	 * Returns the bounding box of the polygon (the user has to make sure that
 	 * {@link #setBoundingBoxOutdated() setBoundingBoxOutdated} is called when points are changed manually).
@@ -107,6 +394,8 @@ public class Polygon implements Serializable {
 	 * @return Rectangle
 	 */
 	public Rect getBoundingBox() {
+		if (frozen)
+			return boundingBox;
 		synchronized (this) {
 			if (boundingBox == null)
 				updateBoundingBox();
@@ -121,17 +410,19 @@ public class Polygon implements Serializable {
 		int bottom = Integer.MIN_VALUE;
 		
 		synchronized (this) {
-			Point p;
-			for (int i=0; i<points.size(); i++) {
-				p = points.get(i);
-				if (p.x < left)
-					left = p.x;
-				if (p.y < top)
-					top = p.y;
-				if (p.x > right)
-					right = p.x;
-				if (p.y > bottom)
-					bottom = p.y;
+			syncPointObjects();
+			int x, y;
+			for (int i=0; i<2*size; i+=2) {
+				x = coords[i];
+				y = coords[i+1];
+				if (x < left)
+					left = x;
+				if (y < top)
+					top = y;
+				if (x > right)
+					right = x;
+				if (y > bottom)
+					bottom = y;
 			}
 			
 			this.boundingBox = new Rect(left, top, right, bottom);
@@ -139,10 +430,67 @@ public class Polygon implements Serializable {
 	}
 	
 	/**
-	 * Mark the bounding box as 'to be updated'.
+	 * Mark the bounding box as 'to be updated'. Also notifies the change listeners (if any).
 	 */
 	public void setBoundingBoxOutdated() {
+		if (frozen)
+			return;
 		this.boundingBox = null;
+		ChangeListener[] listeners = changeListeners;
+		if (listeners != null) {
+			for (int i=0; i<listeners.length; i++)
+				listeners[i].polygonChanged(this);
+		}
+	}
+	
+	/**
+	 * Checks if the given listener is registered for this polygon.
+	 */
+	public boolean hasChangeListener(ChangeListener listener) {
+		ChangeListener[] listeners = changeListeners;
+		if (listeners != null) {
+			for (int i=0; i<listeners.length; i++)
+				if (listeners[i] == listener)
+					return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Adds a listener that is notified when the points of this polygon change (has no effect if the 
+	 * listener is already registered). Listeners are not copied by {@link #clone()} and not serialised.<br>
+	 * Note: Changes to linked point objects (see {@link #getPoint(int)}) are only reported 
+	 * when {@link #setBoundingBoxOutdated()} is called.
+	 */
+	public synchronized void addChangeListener(ChangeListener listener) {
+		if (listener == null || hasChangeListener(listener))
+			return;
+		ChangeListener[] listeners = changeListeners;
+		int size = listeners != null ? listeners.length : 0;
+		ChangeListener[] newListeners = new ChangeListener[size + 1];
+		for (int i=0; i<size; i++)
+			newListeners[i] = listeners[i];
+		newListeners[size] = listener;
+		changeListeners = newListeners;
+	}
+	
+	/**
+	 * Removes the given change listener (has no effect if the listener is not registered).
+	 */
+	public synchronized void removeChangeListener(ChangeListener listener) {
+		if (!hasChangeListener(listener))
+			return;
+		ChangeListener[] listeners = changeListeners;
+		if (listeners.length == 1) {
+			changeListeners = null;
+			return;
+		}
+		ChangeListener[] newListeners = new ChangeListener[listeners.length - 1];
+		int j = 0;
+		for (int i=0; i<listeners.length; i++)
+			if (listeners[i] != listener)
+				newListeners[j++] = listeners[i];
+		changeListeners = newListeners;
 	}
 	
 	//TODO Check polygon line as well (add parameter)
@@ -150,79 +498,83 @@ public class Polygon implements Serializable {
 	 * Checks if the given point is inside the polygon. Note that the polygon line does not count as inside.
 	 */
 	public boolean isPointInside(int x, int y) {
+		if (frozen) 
+			return boundingBox.isPointInside(x, y) && isPointInsidePolygon(x, y);
 		
 		synchronized (this) {
 			//Check bounding box first
 			if (!getBoundingBox().isPointInside(x, y))
 				return false;
-			
-			//Is point inside algorithm:
-			// (See http://www.codeproject.com/KB/recipes/geometry.aspx )
-	
-			int  	j, inside_flag;
-			double 	dv0 ;
-			int     crossings;
-			boolean xflag0, yflag0, yflag1 = false;
-			double	 vertex0x, vertex0y, vertex1x = 0, vertex1y = 0;
-			Point 	vertex0, vertex1, P;
-		 
-			vertex0 = points.get(points.size()-1);
-			vertex0x = vertex0.x;
-			vertex0y = vertex0.y;
-		 
-		    //Get test bit for above/below Y axis 
-		    yflag0 = ( dv0 = vertex0y - y ) >= 0.0;
-		 
-		    crossings = 0;
-			j = 0;
-			for (Iterator<Point> it = points.iterator(); it.hasNext(); )
+			syncPointObjects();
+			return isPointInsidePolygon(x, y);
+		}
+	}
+	
+	/**
+	 * Point in polygon test without bounding box check and synchronisation.
+	 */
+	private boolean isPointInsidePolygon(int x, int y) {
+		//Is point inside algorithm:
+		// (See http://www.codeproject.com/KB/recipes/geometry.aspx )
+
+		int  	j, inside_flag;
+		double 	dv0 ;
+		int     crossings;
+		boolean xflag0, yflag0, yflag1 = false;
+		double	 vertex0x, vertex0y, vertex1x = 0, vertex1y = 0;
+	 
+		vertex0x = coords[2*size-2];
+		vertex0y = coords[2*size-1];
+	 
+	    //Get test bit for above/below Y axis 
+	    yflag0 = ( dv0 = vertex0y - y ) >= 0.0;
+	 
+	    crossings = 0;
+		j = 0;
+		for (int i=0; i<2*size; i+=2)
+		{
+	        // cleverness:  bobble between filling endpoints of edges, so
+			// that the previous edge's shared endpoint is maintained.
+			if ( (j & 0x1) != 0 ) 
+			{
+				vertex0x = coords[i];
+				vertex0y = coords[i+1];
+				yflag0 = ( dv0 = vertex0y - y ) >= 0.0 ;
+			} 
+			else 
 			{
-				P = it.next();
-		        // cleverness:  bobble between filling endpoints of edges, so
-				// that the previous edge's shared endpoint is maintained.
-				if ( (j & 0x1) != 0 ) 
+				vertex1x = coords[i];
+				vertex1y = coords[i+1];
+				yflag1 = ( vertex1y >= y ) ;
+			}
+	 
+			// check if points not both above/below X axis - can't hit ray 
+			if (yflag0 != yflag1) 
+			{
+	            // check if points on same side of Y axis 
+	            if ( ( xflag0 = ( vertex0x >= x ) ) == ( vertex1x >= x ) ) 
 				{
-					vertex0 = P;
-					vertex0x = vertex0.x;
-					vertex0y = vertex0.y;
-					yflag0 = ( dv0 = vertex0y - y ) >= 0.0 ;
-				} 
+	                if ( xflag0 ) 
+						crossings++;
+	            } 
 				else 
 				{
-					vertex1 = P;
-					vertex1x = vertex1.x;
-					vertex1y = vertex1.y;
-					yflag1 = ( vertex1y >= y ) ;
-				}
-		 
-				// check if points not both above/below X axis - can't hit ray 
-				if (yflag0 != yflag1) 
-				{
-		            // check if points on same side of Y axis 
-		            if ( ( xflag0 = ( vertex0x >= x ) ) == ( vertex1x >= x ) ) 
-					{
-		                if ( xflag0 ) 
-							crossings++;
-		            } 
-					else 
-					{
-		                // compute intersection of pgon segment with X ray, note
-		                // if > point's X.
-		                //
-		                crossings += (vertex0x - dv0 * (vertex1x-vertex0x)/(vertex1y-vertex0y)) >= x ? 1 : 0;
-		            }
-		        }
-				j++;
-		    }
-		 
-		    // test if crossings is odd
-		    // if all we care about is winding number > 0, then just:
-		    //       inside_flag = crossings > 0;
-		 
-			inside_flag = crossings & 0x01;
-		 
-		    return inside_flag != 0;
-		}
+	                // compute intersection of pgon segment with X ray, note
+	                // if > point's X.
+	                //
+	                crossings += (vertex0x - dv0 * (vertex1x-vertex0x)/(vertex1y-vertex0y)) >= x ? 1 : 0;
+	            }
+	        }
+			j++;
+	    }
+	 
+	    // test if crossings is odd
+	    // if all we care about is winding number > 0, then just:
+	    //       inside_flag = crossings > 0;
+	 
+		inside_flag = crossings & 0x01;
+	 
+	    return inside_flag != 0;
 	}
 	
 	/**
@@ -230,33 +582,183 @@ public class Polygon implements Serializable {
 	 * @return Length (0.0 if not a polygon)
 	 */
 	public double calculateLength() {
-		if (points.size() <= 1)
+		if (frozen)
+			return computeLength();
+		synchronized (this) {
+			syncPointObjects();
+			return computeLength();
+		}
+	}
+	
+	private double computeLength() {
+		if (size <= 1)
 			return 0.0;
 		
 		double length = 0.0;
-		Point a = null;
-		Point b = points.get(points.size()-1);
-		for (int i=0; i<points.size(); i++) {
-			a = b;
-			b = points.get(i);
-			if (a == null || b == null)
-				continue;
-			length += a.calculateDistance(b.x, b.y);
+		int ax, ay;
+		int bx = coords[2*size-2];
+		int by = coords[2*size-1];
+		for (int i=0; i<2*size; i+=2) {
+			ax = bx;
+			ay = by;
+			bx = coords[i];
+			by = coords[i+1];
+			length += Math.sqrt(Math.pow((double)(bx - ax),2) + Math.pow((double)(by - ay),2));
 		}
 		return length;
 	}
 	
 	/**
-	 * Creates a deep copy of this polygon.
+	 * Calculates the area enclosed by this polygon (shoelace formula, self-intersections are not handled).
+	 * @return Area (0.0 if not a polygon)
+	 */
+	public double calculateArea() {
+		if (frozen)
+			return area;
+		synchronized (this) {
+			syncPointObjects();
+			return computeArea();
+		}
+	}
+	
+	private double computeArea() {
+		if (size < 3)
+			return 0.0;
+		long sum = 0;
+		int ax, ay;
+		int bx = coords[2*size-2];
+		int by = coords[2*size-1];
+		for (int i=0; i<2*size; i+=2) {
+			ax = bx;
+			ay = by;
+			bx = coords[i];
+			by = coords[i+1];
+			sum += (long)ax * by - (long)bx * ay;
+		}
+		return Math.abs(sum) / 2.0;
+	}
+	
+	/**
+	 * Calculates the area of the intersection of this polygon and the given polygon (see 
+	 * {@link Geometry#calculateIntersectionArea(int[], int, int[], int)}).
+	 * @return Area (0.0 if the polygons don't overlap)
+	 */
+	public double calculateIntersectionArea(Polygon other) {
+		if (other == null || getSize() < 3 || other.getSize() < 3)
+			return 0.0;
+		//Bounding box rejection
+		Rect box1 = getBoundingBox();
+		Rect box2 = other.getBoundingBox();
+		if (box1.left >= box2.right || box2.left >= box1.right || box1.top >= box2.bottom || box2.top >= box1.bottom)
+			return 0.0;
+		int[] coords1 = getCoordinatesForReading();
+		int[] coords2 = other.getCoordinatesForReading();
+		return Geometry.calculateIntersectionArea(coords1, coords1.length / 2, coords2, coords2.length / 2);
+	}
+	
+	/**
+	 * Calculates the area of the union of this polygon and the given polygon.
+	 */
+	public double calculateUnionArea(Polygon other) {
+		if (other == null)
+			return calculateArea();
+		return calculateArea() + other.calculateArea() - calculateIntersectionArea(other);
+	}
+	
+	/**
+	 * Calculates the intersection over union ratio (Jaccard index) of this polygon and the given polygon.
+	 * @return 0.0 (no overlap) to 1.0 (identical area)
+	 */
+	public double calculateIntersectionOverUnion(Polygon other) {
+		if (other == null)
+			return 0.0;
+		double intersection = calculateIntersectionArea(other);
+		if (intersection <= 0.0)
+			return 0.0;
+		double union = calculateArea() + other.calculateArea() - intersection;
+		return union > 0.0 ? Math.min(1.0, intersection / union) : 0.0;
+	}
+	
+	/**
+	 * Creates a prepared copy of this polygon for fast point-in-polygon tests (see {@link PreparedPolygon}).
+	 * Later changes to this polygon are not reflected by the prepared polygon.
+	 */
+	public PreparedPolygon prepare() {
+		int[] coords = getCoordinatesForReading();
+		return new PreparedPolygon(coords, coords.length / 2);
+	}
+
+	/**
+	 * Fills this polygon using a scanline algorithm (see {@link PolygonRasterizer}).
+	 * @param left Left of clipping rectangle
+	 * @param top Top of clipping rectangle
+	 * @param right Right of clipping rectangle (inclusive)
+	 * @param bottom Bottom of clipping rectangle (inclusive)
+	 * @param handler Receives the pixel spans
+	 */
+	public void rasterize(int left, int top, int right, int bottom, PolygonRasterizer.SpanHandler handler) {
+		if (getSize() < 3)
+			return;
+		int[] coords = getCoordinatesForReading();
+		PolygonRasterizer.rasterize(coords, coords.length / 2, left, top, right, bottom, handler);
+	}
+
+	/**
+	 * Returns the coordinate array for read-only use (no copy for frozen polygons).
+	 * @return Array with length 2 * number of points
+	 */
+	private int[] getCoordinatesForReading() {
+		if (frozen && coords != null && coords.length == 2*size)
+			return coords;
+		return getCoordinates();
+	}
+	
+	/**
+	 * Creates a deep copy of this polygon (the copy is not frozen).
 	 */
 	public Polygon clone() {
 		Polygon copy = new Polygon();
+		if (frozen) {
+			if (size > 0)
+				copy.addPoints(coords, size);
+			return copy;
+		}
 		synchronized (this) {
-			for (int i=0; i<points.size(); i++)
-				copy.addPoint(points.get(i).x, points.get(i).y);
+			syncPointObjects();
+			if (size > 0)
+				copy.addPoints(coords, size);
 		}
 		return copy;
 	}
+	
+	/**
+	 * Makes this polygon immutable. Bounding box and area are calculated once, all read methods
+	 * work without locking afterwards and all modifying methods throw an <code>UnsupportedOperationException</code>.
+	 * Point objects that have been returned by <code>getPoint()</code> before are unlinked.
+	 * Use {@link #clone()} to get a modifiable copy.
+	 * @return This polygon
+	 */
+	public Polygon freeze() {
+		synchronized (this) {
+			if (frozen)
+				return this;
+			syncPointObjects();
+			trimToSize();
+			pointObjects = null;
+			if (boundingBox == null)
+				updateBoundingBox();
+			area = computeArea();
+			frozen = true; //Has to be last (publishes the other fields)
+		}
+		return this;
+	}
+	
+	/**
+	 * Checks if this polygon is immutable (see {@link #freeze()}).
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
 
 	/**
 	 * E.g. polygon recognition confidence
@@ -271,8 +773,21 @@ public class Polygon implements Serializable {
 	 * @param confidence 0.0..1.0
 	 */
 	public void setConfidence(Double confidence) {
+		checkNotFrozen();
 		this.confidence = confidence;
 	}
 	
-	
+	/**
+	 * Listener interface for polygon changes.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	public static interface ChangeListener {
+		
+		/**
+		 * Called after points of the polygon have been added, removed or moved.
+		 */
+		public void polygonChanged(Polygon polygon);
+	}
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import java.util.Arrays;
+
+/**
+ * Scanline fill for polygons. Produces horizontal pixel spans instead of testing each pixel.<br>
+ * <br>
+ * The filled pixels are exactly the ones for which {@link Polygon#isPointInside(int, int)} returns 
+ * <code>true</code> (even-odd rule, crossings computed with exact integer arithmetic).
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PolygonRasterizer {
+
+	/**
+	 * Receiver for the pixel spans of a rasterised polygon.
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	public static interface SpanHandler {
+		/**
+		 * Called for each horizontal run of pixels inside the polygon (rows from top to bottom).
+		 * @param y Row
+		 * @param x1 First pixel of the span
+		 * @param x2 Last pixel of the span (inclusive)
+		 */
+		public void fillSpan(int y, int x1, int x2);
+	}
+	
+	private PolygonRasterizer() {
+	}
+	
+	/**
+	 * Rasterises the given polygon within a clipping rectangle.
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param size Number of points
+	 * @param left Left of clipping rectangle
+	 * @param top Top of clipping rectangle
+	 * @param right Right of clipping rectangle (inclusive)
+	 * @param bottom Bottom of clipping rectangle (inclusive)
+	 * @param handler Receives the spans
+	 */
+	public static void rasterize(int[] coords, int size, int left, int top, int right, int bottom, SpanHandler handler) {
+		if (coords == null || size < 3 || left > right || top > bottom)
+			return;
+		
+		//Edge table (horizontal edges are skipped, all edges are oriented top to bottom)
+		int[] edgeX = new int[size];
+		int[] edgeTop = new int[size];
+		int[] edgeBottom = new int[size];
+		int[] edgeDx = new int[size];
+		int edgeCount = 0;
+		int minY = Integer.MAX_VALUE;
+		int maxY = Integer.MIN_VALUE;
+		for (int i=0; i<size; i++) {
+			int j = i+1 < size ? i+1 : 0;
+			int x0 = coords[2*i];
+			int y0 = coords[2*i+1];
+			int x1 = coords[2*j];
+			int y1 = coords[2*j+1];
+			if (y0 == y1)
+				continue;
+			if (y0 < y1) {
+				edgeX[edgeCount] = x0;
+				edgeTop[edgeCount] = y0;
+				edgeBottom[edgeCount] = y1;
+				edgeDx[edgeCount] = x1 - x0;
+			} else {
+				edgeX[edgeCount] = x1;
+				edgeTop[edgeCount] = y1;
+				edgeBottom[edgeCount] = y0;
+				edgeDx[edgeCount] = x0 - x1;
+			}
+			minY = Math.min(minY, edgeTop[edgeCount]);
+			maxY = Math.max(maxY, edgeBottom[edgeCount]);
+			edgeCount++;
+		}
+		
+		//An edge crosses row y if top < y <= bottom (same rule as the point-in-polygon test)
+		int firstRow = Math.max(top, minY + 1);
+		int lastRow = Math.min(bottom, maxY);
+		if (edgeCount == 0 || firstRow > lastRow)
+			return;
+		
+		//Sort edges by top
+		long[] keys = new long[edgeCount];
+		for (int e=0; e<edgeCount; e++)
+			keys[e] = ((long)edgeTop[e] << 32) | e;
+		Arrays.sort(keys);
+		
+		int[] active = new int[edgeCount];
+		int activeCount = 0;
+		int[] crossings = new int[edgeCount];
+		int next = 0;
+		
+		for (int y=firstRow; y<=lastRow; y++) {
+			//Add new edges
+			while (next < edgeCount && edgeTop[(int)keys[next]] < y) {
+				active[activeCount++] = (int)keys[next];
+				next++;
+			}
+			//Remove finished edges and compute crossings
+			int n = 0;
+			for (int a=0; a<activeCount; a++) {
+				int e = active[a];
+				if (edgeBottom[e] < y)
+					continue;
+				active[n] = e;
+				long dy = edgeBottom[e] - edgeTop[e];
+				crossings[n] = floorDiv((long)edgeX[e] * dy + (long)(y - edgeTop[e]) * edgeDx[e], dy);
+				n++;
+			}
+			activeCount = n;
+			
+			//Pixels x with crossing[2k] < x <= crossing[2k+1] are inside
+			Arrays.sort(crossings, 0, n);
+			for (int k=0; k+1<n; k+=2) {
+				int x1 = Math.max(left, crossings[k] + 1);
+				int x2 = Math.min(right, crossings[k+1]);
+				if (x1 <= x2)
+					handler.fillSpan(y, x1, x2);
+			}
+		}
+	}
+	
+	/**
+	 * Integer division rounding towards negative infinity (divisor must be positive).
+	 */
+	private static int floorDiv(long dividend, long divisor) {
+		long q = dividend / divisor;
+		if (dividend % divisor != 0 && dividend < 0)
+			q--;
+		return (int)q;
+	}
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Removes points from polygons and polylines that contribute little to the shape 
+ * (e.g. nearly collinear points produced by some OCR engines).<br>
+ * <br>
+ * Two methods are supported:
+ * <ul>
+ * <li>Douglas-Peucker: The tolerance is the maximum distance (in pixels) of a removed point from the simplified outline.</li>
+ * <li>Visvalingam-Whyatt: The tolerance is the minimum area (in square pixels) of the triangle a point forms 
+ * with its neighbours. Points with smaller (effective) area are removed.</li>
+ * </ul>
+ * Closed polygons keep at least three points, polylines keep at least their two end points.
+ * Instances are immutable and thread-safe.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PolygonSimplifier {
+
+	/** Simplification method */
+	public static enum Method {
+		DOUGLAS_PEUCKER,
+		VISVALINGAM_WHYATT
+	}
+	
+	private static Comparator<Triangle> triangleComparator = null;
+	
+	private Method method;
+	private double tolerance;
+	
+	/**
+	 * Constructor for Douglas-Peucker simplification
+	 * @param tolerance Maximum distance of removed points from the simplified outline
+	 */
+	public PolygonSimplifier(double tolerance) {
+		this(Method.DOUGLAS_PEUCKER, tolerance);
+	}
+	
+	/**
+	 * Constructor
+	 * @param method Douglas-Peucker or Visvalingam-Whyatt
+	 * @param tolerance Maximum distance (Douglas-Peucker) or minimum triangle area (Visvalingam-Whyatt)
+	 */
+	public PolygonSimplifier(Method method, double tolerance) {
+		this.method = method;
+		this.tolerance = tolerance;
+	}
+	
+	/**
+	 * Returns the simplification method
+	 */
+	public Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the tolerance (maximum distance for Douglas-Peucker, minimum area for Visvalingam-Whyatt)
+	 */
+	public double getTolerance() {
+		return tolerance;
+	}
+	
+	/**
+	 * Simplifies the given polygon (in place).
+	 * @param polygon Polygon to simplify (must not be frozen)
+	 * @param closed Set to <code>true</code> for outlines, <code>false</code> for polylines (e.g. baselines)
+	 * @return Number of removed points
+	 * @throws UnsupportedOperationException The polygon is frozen
+	 */
+	public int simplify(Polygon polygon, boolean closed) throws UnsupportedOperationException {
+		int size = polygon.getSize();
+		int[] coords = polygon.getCoordinates();
+		int[] simplified = simplify(coords, size, closed);
+		if (simplified == coords)
+			return 0;
+		polygon.setPoints(simplified, simplified.length / 2);
+		return size - simplified.length / 2;
+	}
+	
+	/**
+	 * Simplifies the given polygon or polyline.
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param size Number of points
+	 * @param closed Set to <code>true</code> for outlines, <code>false</code> for polylines (e.g. baselines)
+	 * @return The simplified coordinates or the input array if no point has been removed
+	 */
+	public int[] simplify(int[] coords, int size, boolean closed) {
+		int minSize = closed ? 3 : 2;
+		if (size <= minSize || tolerance <= 0.0)
+			return coords;
+		
+		boolean[] keep = new boolean[size];
+		int kept;
+		if (method == Method.VISVALINGAM_WHYATT)
+			kept = visvalingamWhyatt(coords, size, closed, keep);
+		else
+			kept = douglasPeucker(coords, size, closed, keep);
+		
+		if (kept == size)
+			return coords;
+		int[] result = new int[2*kept];
+		int j = 0;
+		for (int i=0; i<size; i++) {
+			if (keep[i]) {
+				result[j++] = coords[2*i];
+				result[j++] = coords[2*i+1];
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Douglas-Peucker simplification. Closed polygons are split into two chains at the point furthest from the first point.
+	 * @return Number of points to keep
+	 */
+	private int douglasPeucker(int[] coords, int size, boolean closed, boolean[] keep) {
+		int last;
+		if (closed) {
+			//Second anchor: point furthest from the first point
+			last = 0;
+			long maxDist = 0;
+			for (int i=1; i<size; i++) {
+				long dx = coords[2*i] - coords[0];
+				long dy = coords[2*i+1] - coords[1];
+				if (dx*dx + dy*dy > maxDist) {
+					maxDist = dx*dx + dy*dy;
+					last = i;
+				}
+			}
+			if (last == 0) //All points are identical
+				return size;
+		}
+		else
+			last = size-1;
+		
+		keep[0] = true;
+		keep[last] = true;
+		int kept = 2;
+		//Ranges to process (end index 'size' stands for point 0 of a closed polygon)
+		int[] stack = new int[2*size + 4];
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		stack[stackSize++] = last;
+		if (closed) {
+			stack[stackSize++] = last;
+			stack[stackSize++] = size;
+		}
+		double maxDistanceSq = tolerance * tolerance;
+		while (stackSize > 0) {
+			int end = stack[--stackSize];
+			int start = stack[--stackSize];
+			int furthest = -1;
+			double maxDist = -1.0;
+			int e = end < size ? end : 0;
+			for (int i=start+1; i<end; i++) {
+				double d = distanceSq(coords, i, start, e);
+				if (d > maxDist) {
+					maxDist = d;
+					furthest = i;
+				}
+			}
+			if (furthest < 0 || maxDist <= maxDistanceSq)
+				continue;
+			keep[furthest] = true;
+			kept++;
+			stack[stackSize++] = start;
+			stack[stackSize++] = furthest;
+			stack[stackSize++] = furthest;
+			stack[stackSize++] = end;
+		}
+		
+		//A closed polygon needs at least three points
+		if (closed && kept < 3) {
+			int furthest = -1;
+			double maxDist = -1.0;
+			for (int i=1; i<size; i++) {
+				if (i == last)
+					continue;
+				double d = distanceSq(coords, i, 0, last);
+				if (d > maxDist) {
+					maxDist = d;
+					furthest = i;
+				}
+			}
+			keep[furthest] = true;
+			kept++;
+		}
+		return kept;
+	}
+	
+	/**
+	 * Squared distance between point p and the line segment from point a to point b
+	 */
+	private static double distanceSq(int[] coords, int p, int a, int b) {
+		double px = coords[2*p], py = coords[2*p+1];
+		double ax = coords[2*a], ay = coords[2*a+1];
+		double bx = coords[2*b], by = coords[2*b+1];
+		double dx = bx - ax;
+		double dy = by - ay;
+		double lengthSq = dx*dx + dy*dy;
+		double t = lengthSq > 0.0 ? ((px - ax) * dx + (py - ay) * dy) / lengthSq : 0.0;
+		if (t < 0.0)
+			t = 0.0;
+		else if (t > 1.0)
+			t = 1.0;
+		double qx = ax + t * dx - px;
+		double qy = ay + t * dy - py;
+		return qx*qx + qy*qy;
+	}
+	
+	/**
+	 * Visvalingam-Whyatt simplification. Repeatedly removes the point with the smallest effective area.
+	 * @return Number of points to keep
+	 */
+	private int visvalingamWhyatt(int[] coords, int size, boolean closed, boolean[] keep) {
+		int[] prev = new int[size];
+		int[] next = new int[size];
+		long[] area = new long[size]; //Doubled triangle area
+		for (int i=0; i<size; i++) {
+			prev[i] = i > 0 ? i-1 : (closed ? size-1 : -1);
+			next[i] = i < size-1 ? i+1 : (closed ? 0 : -1);
+			keep[i] = true;
+		}
+		
+		if (triangleComparator == null)
+			triangleComparator = new TriangleComparator();
+		PriorityQueue<Triangle> queue = new PriorityQueue<Triangle>(size, triangleComparator);
+		for (int i=0; i<size; i++) {
+			if (prev[i] < 0 || next[i] < 0) //End points of polylines
+				continue;
+			area[i] = doubledArea(coords, prev[i], i, next[i]);
+			queue.add(new Triangle(i, area[i]));
+		}
+		
+		int minSize = closed ? 3 : 2;
+		int kept = size;
+		double maxArea = 2.0 * tolerance;
+		long lastArea = 0;
+		while (kept > minSize && !queue.isEmpty()) {
+			Triangle t = queue.poll();
+			if (!keep[t.index] || t.area != area[t.index]) //Removed or outdated
+				continue;
+			if (t.area >= maxArea)
+				break;
+			lastArea = Math.max(lastArea, t.area);
+			
+			//Remove point and update neighbours
+			keep[t.index] = false;
+			kept--;
+			int p = prev[t.index];
+			int n = next[t.index];
+			next[p] = n;
+			prev[n] = p;
+			//Effective area: at least the area of the removed point
+			if (prev[p] >= 0) {
+				area[p] = Math.max(lastArea, doubledArea(coords, prev[p], p, n));
+				queue.add(new Triangle(p, area[p]));
+			}
+			if (next[n] >= 0) {
+				area[n] = Math.max(lastArea, doubledArea(coords, p, n, next[n]));
+				queue.add(new Triangle(n, area[n]));
+			}
+		}
+		return kept;
+	}
+	
+	/**
+	 * Returns twice the area of the triangle formed by the given points
+	 */
+	private static long doubledArea(int[] coords, int a, int b, int c) {
+		long cross = ((long)coords[2*b] - coords[2*a]) * ((long)coords[2*c+1] - coords[2*a+1]) 
+				- ((long)coords[2*c] - coords[2*a]) * ((long)coords[2*b+1] - coords[2*a+1]);
+		return Math.abs(cross);
+	}
+	
+	/**
+	 * Queue entry for Visvalingam-Whyatt
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static final class Triangle {
+		private final int index;
+		private final long area;
+		
+		Triangle(int index, long area) {
+			this.index = index;
+			this.area = area;
+		}
+	}
+	
+	/**
+	 * Sorts triangles by area (smallest first)
+	 * 
+	 * @author Christian Clausner
+	 *
+	 */
+	private static class TriangleComparator implements Comparator<Triangle> {
+		@Override
+		public int compare(Triangle o1, Triangle o2) {
+			if (o1.area < o2.area)
+				return -1;
+			if (o1.area > o2.area)
+				return 1;
+			return o1.index < o2.index ? -1 : (o1.index > o2.index ? 1 : 0);
+		}
+	}
+}
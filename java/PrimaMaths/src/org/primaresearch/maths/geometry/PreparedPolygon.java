@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+/**
+ * Immutable polygon with a precomputed edge table for fast point-in-polygon tests.<br>
+ * <br>
+ * The edges are bucketed by y, so a test only looks at the edges crossing the row of the point. 
+ * The results are the same as for {@link Polygon#isPointInside(int, int)} (even-odd rule). 
+ * Instances are thread-safe. Use {@link Polygon#prepare()} to create one.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PreparedPolygon {
+
+	/** Bounding box (a point can only be inside if left < x <= right and top < y <= bottom) */
+	private final int left, top;
+	private final int right, bottom;
+	/** Edge data (edges are oriented top to bottom, horizontal edges are skipped) */
+	private final int[] edgeX;
+	private final int[] edgeTop;
+	private final int[] edgeBottom;
+	private final int[] edgeDx;
+	/** Rows per bucket */
+	private final int bucketHeight;
+	/** Start position of each bucket in bucketEdges (plus end marker) */
+	private final int[] bucketStart;
+	/** Edge indices grouped by bucket */
+	private final int[] bucketEdges;
+	
+	/**
+	 * Constructor
+	 * @param coords Interleaved coordinates (x1, y1, x2, y2, ...)
+	 * @param size Number of points
+	 */
+	public PreparedPolygon(int[] coords, int size) {
+		edgeX = new int[size];
+		edgeTop = new int[size];
+		edgeBottom = new int[size];
+		edgeDx = new int[size];
+		int l = Integer.MAX_VALUE;
+		int t = Integer.MAX_VALUE;
+		int r = Integer.MIN_VALUE;
+		int b = Integer.MIN_VALUE;
+		int edgeCount = 0;
+		for (int i=0; i<size; i++) {
+			int j = i+1 < size ? i+1 : 0;
+			int x0 = coords[2*i];
+			int y0 = coords[2*i+1];
+			int x1 = coords[2*j];
+			int y1 = coords[2*j+1];
+			l = Math.min(l, x0);
+			r = Math.max(r, x0);
+			t = Math.min(t, y0);
+			b = Math.max(b, y0);
+			if (y0 == y1)
+				continue;
+			if (y0 < y1) {
+				edgeX[edgeCount] = x0;
+				edgeTop[edgeCount] = y0;
+				edgeBottom[edgeCount] = y1;
+				edgeDx[edgeCount] = x1 - x0;
+			} else {
+				edgeX[edgeCount] = x1;
+				edgeTop[edgeCount] = y1;
+				edgeBottom[edgeCount] = y0;
+				edgeDx[edgeCount] = x0 - x1;
+			}
+			edgeCount++;
+		}
+		if (edgeCount == 0) { //Nothing can be inside
+			left = right = top = bottom = 0;
+			bucketHeight = 1;
+			bucketStart = new int[] { 0, 0 };
+			bucketEdges = new int[0];
+			return;
+		}
+		left = l;
+		top = t;
+		right = r;
+		bottom = b;
+		
+		//Buckets for the rows top+1 to bottom (an edge crosses row y if edgeTop < y <= edgeBottom)
+		long rows = (long)bottom - top;
+		int bucketCount = (int)Math.max(1, Math.min(edgeCount, rows));
+		bucketHeight = (int)((rows + bucketCount - 1) / bucketCount);
+		bucketCount = (int)((rows + bucketHeight - 1) / bucketHeight);
+		
+		//Count edges per bucket, then fill (compressed bucket lists)
+		int[] start = new int[bucketCount + 1];
+		for (int e=0; e<edgeCount; e++) {
+			int last = getBucket(edgeBottom[e]);
+			for (int k=getBucket(edgeTop[e] + 1); k<=last; k++)
+				start[k+1]++;
+		}
+		for (int k=0; k<bucketCount; k++)
+			start[k+1] += start[k];
+		int[] edges = new int[start[bucketCount]];
+		int[] fill = new int[bucketCount];
+		for (int e=0; e<edgeCount; e++) {
+			int last = getBucket(edgeBottom[e]);
+			for (int k=getBucket(edgeTop[e] + 1); k<=last; k++)
+				edges[start[k] + fill[k]++] = e;
+		}
+		bucketStart = start;
+		bucketEdges = edges;
+	}
+	
+	/**
+	 * Returns the bucket index for the given row (top < y <= bottom)
+	 */
+	private int getBucket(int y) {
+		return (int)(((long)y - top - 1) / bucketHeight);
+	}
+	
+	/**
+	 * Checks if the given point is inside the polygon (same result as {@link Polygon#isPointInside(int, int)}).
+	 */
+	public boolean isPointInside(int x, int y) {
+		if (x <= left || x > right || y <= top || y > bottom)
+			return false;
+		int bucket = getBucket(y);
+		boolean inside = false;
+		for (int i=bucketStart[bucket]; i<bucketStart[bucket+1]; i++) {
+			int e = bucketEdges[i];
+			if (y <= edgeTop[e] || y > edgeBottom[e])
+				continue;
+			//Crossing of edge and row at or right of x?
+			long dy = edgeBottom[e] - edgeTop[e];
+			if (((long)edgeX[e] - x) * dy + ((long)y - edgeTop[e]) * edgeDx[e] >= 0)
+				inside = !inside;
+		}
+		return inside;
+	}
+	
+	/**
+	 * Classifies a list of points.
+	 * @param points Interleaved point coordinates (x1, y1, x2, y2, ...)
+	 * @param count Number of points
+	 * @param result Receives <code>true</code> for each point inside the polygon (array length at least count)
+	 * @return Number of points inside the polygon
+	 */
+	public int isPointInside(int[] points, int count, boolean[] result) {
+		int inside = 0;
+		for (int i=0; i<count; i++) {
+			result[i] = isPointInside(points[2*i], points[2*i+1]);
+			if (result[i])
+				inside++;
+		}
+		return inside;
+	}
+	
+	/**
+	 * Returns the bounding box of the polygon
+	 */
+	public Rect getBoundingBox() {
+		return new Rect(left, top, right, bottom);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of prepared polygons with a spatial index (R-tree of the bounding boxes) for assigning 
+ * large numbers of points to polygons (e.g. pixels or connected components to regions).<br>
+ * <br>
+ * Instances are immutable and thread-safe.
+ * 
+ * @author Christian Clausner
+ *
+ */
+public class PreparedPolygonSet {
+
+	private final PreparedPolygon[] polygons;
+	private final RTree<Integer> tree;
+	/** Exact point-in-polygon test for the candidates of the R-tree */
+	private final RTree.PointFilter<Integer> insideFilter;
+	
+	/**
+	 * Constructor
+	 * @param polygons Polygons (the position in the list is used as polygon index; <code>null</code> is allowed)
+	 */
+	public PreparedPolygonSet(List<Polygon> polygons) {
+		this.polygons = new PreparedPolygon[polygons.size()];
+		List<Integer> indices = new ArrayList<Integer>(polygons.size());
+		List<Rect> bounds = new ArrayList<Rect>(polygons.size());
+		for (int i=0; i<polygons.size(); i++) {
+			Polygon polygon = polygons.get(i);
+			if (polygon == null || polygon.getSize() < 3)
+				continue;
+			this.polygons[i] = polygon.prepare();
+			indices.add(i);
+			bounds.add(this.polygons[i].getBoundingBox());
+		}
+		tree = new RTree<Integer>(indices, bounds);
+		insideFilter = new RTree.PointFilter<Integer>() {
+			@Override
+			public boolean accept(Integer index, int x, int y) {
+				return PreparedPolygonSet.this.polygons[index.intValue()].isPointInside(x, y);
+			}
+		};
+	}
+	
+	/**
+	 * Returns the number of polygons (including <code>null</code> and empty polygons)
+	 */
+	public int size() {
+		return polygons.length;
+	}
+	
+	/**
+	 * Returns the prepared polygon at the given index
+	 * @return Prepared polygon or <code>null</code> if the polygon was <code>null</code> or had less than three points
+	 */
+	public PreparedPolygon getPolygon(int index) {
+		return polygons[index];
+	}
+	
+	/**
+	 * Returns the index of the first polygon containing the given point (see {@link Polygon#isPointInside(int, int)}).
+	 * @return Polygon index or -1 if no polygon contains the point
+	 */
+	public int indexOf(int x, int y) {
+		//Tree items are in ascending polygon index order, so the first match is the polygon with the lowest index
+		Integer index = tree.findFirst(x, y, insideFilter);
+		return index != null ? index.intValue() : -1;
+	}
+	
+	/**
+	 * Assigns each point of the given list to the first polygon containing it. 
+	 * @param points Interleaved point coordinates (x1, y1, x2, y2, ...)
+	 * @param count Number of points
+	 * @param result Receives the polygon index for each point or -1 if no polygon contains the point (array length at least count)
+	 * @return Number of points inside a polygon
+	 */
+	public int indexOf(int[] points, int count, int[] result) {
+		int found = 0;
+		for (int i=0; i<count; i++) {
+			result[i] = indexOf(points[2*i], points[2*i+1]);
+			if (result[i] >= 0)
+				found++;
+		}
+		return found;
+	}
+}
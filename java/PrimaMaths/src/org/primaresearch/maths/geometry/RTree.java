@@ -0,0 +1,370 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Static R-tree for items with rectangular bounds. The tree is bulk loaded using the 
+ * Sort-Tile-Recursive method and cannot be changed afterwards (create a new tree if the items change).<br>
+ * <br>
+ * Supports point queries, rectangle intersection queries, first-match point queries and k-nearest neighbour queries. 
+ * All rectangles are inclusive (as in {@link Rect#isPointInside(int, int)}).
+ * 
+ * @author Christian Clausner
+ *
+ * @param <T> Item type
+ */
+public class RTree<T> {
+	
+	/** Default maximum number of children per node */
+	public static final int DEFAULT_NODE_CAPACITY = 16;
+	
+	private static Comparator<Node> xComparator = null;
+	private static Comparator<Node> yComparator = null;
+	private static Comparator<Node> indexComparator = null;
+	private static Comparator<Candidate> distanceComparator = null;
+
+	private Node root = null;
+	private int size;
+	
+	/**
+	 * Constructor using the default node capacity
+	 * @param items Items to add (list with same length as the bounds list)
+	 * @param bounds Bounding boxes of the items
+	 * @throws IllegalArgumentException Lists with different sizes
+	 */
+	public RTree(List<T> items, List<Rect> bounds) throws IllegalArgumentException {
+		this(items, bounds, DEFAULT_NODE_CAPACITY);
+	}
+
+	/**
+	 * Constructor
+	 * @param items Items to add (list with same length as the bounds list)
+	 * @param bounds Bounding boxes of the items
+	 * @param nodeCapacity Maximum number of children per node (at least 2)
+	 * @throws IllegalArgumentException Lists with different sizes or invalid node capacity
+	 */
+	public RTree(List<T> items, List<Rect> bounds, int nodeCapacity) throws IllegalArgumentException {
+		if (items.size() != bounds.size())
+			throw new IllegalArgumentException("Number of items and bounding boxes differ");
+		if (nodeCapacity < 2)
+			throw new IllegalArgumentException("Node capacity has to be at least 2");
+		
+		size = items.size();
+		List<Node> nodes = new ArrayList<Node>(size);
+		for (int i=0; i<size; i++) {
+			Rect r = bounds.get(i);
+			nodes.add(new Node(r.left, r.top, r.right, r.bottom, items.get(i), i));
+		}
+		
+		if (size == 1)
+			root = new Node(nodes);
+		else if (size > 1) {
+			while (nodes.size() > 1)
+				nodes = packLevel(nodes, nodeCapacity);
+			root = nodes.get(0);
+		}
+	}
+	
+	/**
+	 * Groups the given nodes into parent nodes (sort-tile-recursive).
+	 */
+	private static List<Node> packLevel(List<Node> nodes, int nodeCapacity) {
+		int n = nodes.size();
+		int parentCount = (n + nodeCapacity - 1) / nodeCapacity;
+		int sliceCount = (int)Math.ceil(Math.sqrt(parentCount));
+		int sliceSize = sliceCount * nodeCapacity;
+		
+		Collections.sort(nodes, getXComparator());
+		List<Node> parents = new ArrayList<Node>(parentCount);
+		for (int s=0; s<n; s+=sliceSize) {
+			List<Node> slice = nodes.subList(s, Math.min(s + sliceSize, n));
+			Collections.sort(slice, getYComparator());
+			for (int i=0; i<slice.size(); i+=nodeCapacity)
+				parents.add(new Node(slice.subList(i, Math.min(i + nodeCapacity, slice.size()))));
+		}
+		return parents;
+	}
+	
+	/**
+	 * Returns the number of items in this tree.
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Returns all items with bounds containing the given point.
+	 * @return List of items in the order they were passed to the constructor
+	 */
+	public List<T> search(int x, int y) {
+		return search(x, y, x, y);
+	}
+
+	/**
+	 * Returns all items with bounds intersecting the given rectangle.
+	 * @return List of items in the order they were passed to the constructor
+	 */
+	public List<T> search(Rect rect) {
+		return search(rect.left, rect.top, rect.right, rect.bottom);
+	}
+	
+	/**
+	 * Returns all items with bounds intersecting the given rectangle.
+	 * @return List of items in the order they were passed to the constructor
+	 */
+	public List<T> search(int left, int top, int right, int bottom) {
+		List<Node> found = new ArrayList<Node>();
+		if (root != null)
+			search(root, left, top, right, bottom, found);
+		if (found.size() > 1)
+			Collections.sort(found, getIndexComparator());
+		return toItems(found);
+	}
+	
+	private static void search(Node node, int left, int top, int right, int bottom, List<Node> found) {
+		Node child;
+		for (int i=0; i<node.children.length; i++) {
+			child = node.children[i];
+			if (child.left > right || child.right < left || child.top > bottom || child.bottom < top)
+				continue;
+			if (child.children == null)
+				found.add(child);
+			else
+				search(child, left, top, right, bottom, found);
+		}
+	}
+	
+	/**
+	 * Returns the first item (in the order they were passed to the constructor) with bounds containing the 
+	 * given point that is accepted by the given filter. Other than {@link #search(int, int)}, this does not allocate 
+	 * any objects and skips all subtrees that only contain items after the best match found so far.
+	 * @param filter Filter for the candidates (called only for items with bounds containing the point)
+	 * @return Item or <code>null</code> if no item matches
+	 */
+	@SuppressWarnings("unchecked")
+	public T findFirst(int x, int y, PointFilter<T> filter) {
+		if (root == null)
+			return null;
+		Node found = findFirst(root, x, y, filter, null);
+		return found != null ? (T)found.item : null;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private Node findFirst(Node node, int x, int y, PointFilter<T> filter, Node best) {
+		Node child;
+		for (int i=0; i<node.children.length; i++) {
+			child = node.children[i];
+			if (best != null && child.minIndex >= best.index)
+				continue;
+			if (x < child.left || x > child.right || y < child.top || y > child.bottom)
+				continue;
+			if (child.children == null) {
+				if (filter.accept((T)child.item, x, y))
+					best = child;
+			}
+			else
+				best = findFirst(child, x, y, filter, best);
+		}
+		return best;
+	}
+	
+	/**
+	 * Returns the k items with bounds closest to the given point (using the Euclidean distance
+	 * between the point and the bounding box, which is zero if the point is inside).
+	 * @param k Maximum number of items to return
+	 * @return List of items ordered by distance (items with the same distance are in the order they were passed to the constructor)
+	 */
+	public List<T> nearest(int x, int y, int k) {
+		List<Node> found = new ArrayList<Node>(Math.min(Math.max(k, 0), size));
+		if (root == null || k <= 0)
+			return toItems(found);
+		
+		PriorityQueue<Candidate> queue = new PriorityQueue<Candidate>(64, getDistanceComparator());
+		queue.add(new Candidate(root, 0L));
+		while (!queue.isEmpty()) {
+			Candidate candidate = queue.poll();
+			Node node = candidate.node;
+			if (node.children == null) {
+				found.add(node);
+				if (found.size() >= k)
+					break;
+			}
+			else {
+				for (int i=0; i<node.children.length; i++)
+					queue.add(new Candidate(node.children[i], node.children[i].distanceSquared(x, y)));
+			}
+		}
+		return toItems(found);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<T> toItems(List<Node> nodes) {
+		List<T> items = new ArrayList<T>(nodes.size());
+		for (int i=0; i<nodes.size(); i++)
+			items.add((T)nodes.get(i).item);
+		return items;
+	}
+	
+	private static Comparator<Node> getXComparator() {
+		if (xComparator == null) {
+			xComparator = new Comparator<Node>() {
+				@Override
+				public int compare(Node n1, Node n2) {
+					long c1 = (long)n1.left + n1.right;
+					long c2 = (long)n2.left + n2.right;
+					return c1 < c2 ? -1 : (c1 == c2 ? 0 : 1);
+				}
+			};
+		}
+		return xComparator;
+	}
+
+	private static Comparator<Node> getYComparator() {
+		if (yComparator == null) {
+			yComparator = new Comparator<Node>() {
+				@Override
+				public int compare(Node n1, Node n2) {
+					long c1 = (long)n1.top + n1.bottom;
+					long c2 = (long)n2.top + n2.bottom;
+					return c1 < c2 ? -1 : (c1 == c2 ? 0 : 1);
+				}
+			};
+		}
+		return yComparator;
+	}
+	
+	private static Comparator<Node> getIndexComparator() {
+		if (indexComparator == null) {
+			indexComparator = new Comparator<Node>() {
+				@Override
+				public int compare(Node n1, Node n2) {
+					return n1.index < n2.index ? -1 : (n1.index == n2.index ? 0 : 1);
+				}
+			};
+		}
+		return indexComparator;
+	}
+	
+	/**
+	 * Orders by distance. For the same distance, inner nodes come before items (so that all items with that 
+	 * distance are known before the first one is returned) and items are ordered by index.
+	 */
+	private static Comparator<Candidate> getDistanceComparator() {
+		if (distanceComparator == null) {
+			distanceComparator = new Comparator<Candidate>() {
+				@Override
+				public int compare(Candidate c1, Candidate c2) {
+					if (c1.distance != c2.distance)
+						return c1.distance < c2.distance ? -1 : 1;
+					boolean leaf1 = c1.node.children == null;
+					boolean leaf2 = c2.node.children == null;
+					if (leaf1 != leaf2)
+						return leaf1 ? 1 : -1;
+					return c1.node.index < c2.node.index ? -1 : (c1.node.index == c2.node.index ? 0 : 1);
+				}
+			};
+		}
+		return distanceComparator;
+	}
+	
+	/**
+	 * Tree node. Either an inner node (with children) or an item entry (without children). 
+	 */
+	private static final class Node {
+		final int left;
+		final int top;
+		final int right;
+		final int bottom;
+		final Node[] children;
+		final Object item;
+		final int index;
+		/** Smallest item index in this subtree */
+		final int minIndex;
+		
+		/** Item entry */
+		Node(int left, int top, int right, int bottom, Object item, int index) {
+			this.left = left;
+			this.top = top;
+			this.right = right;
+			this.bottom = bottom;
+			this.children = null;
+			this.item = item;
+			this.index = index;
+			this.minIndex = index;
+		}
+		
+		/** Inner node */
+		Node(List<Node> children) {
+			this.children = children.toArray(new Node[children.size()]);
+			int l = Integer.MAX_VALUE, t = Integer.MAX_VALUE, r = Integer.MIN_VALUE, b = Integer.MIN_VALUE;
+			int m = Integer.MAX_VALUE;
+			for (int i=0; i<this.children.length; i++) {
+				Node child = this.children[i];
+				l = Math.min(l, child.left);
+				t = Math.min(t, child.top);
+				r = Math.max(r, child.right);
+				b = Math.max(b, child.bottom);
+				m = Math.min(m, child.minIndex);
+			}
+			left = l;
+			top = t;
+			right = r;
+			bottom = b;
+			item = null;
+			index = -1;
+			minIndex = m;
+		}
+		
+		/** Squared distance between the given point and the node bounds (0 if inside) */
+		long distanceSquared(int x, int y) {
+			long dx = x < left ? (long)left - x : (x > right ? (long)x - right : 0L);
+			long dy = y < top ? (long)top - y : (y > bottom ? (long)y - bottom : 0L);
+			return dx * dx + dy * dy;
+		}
+	}
+	
+	/**
+	 * Priority queue entry for nearest neighbour search 
+	 */
+	private static final class Candidate {
+		final Node node;
+		final long distance;
+		
+		Candidate(Node node, long distance) {
+			this.node = node;
+			this.distance = distance;
+		}
+	}
+	
+	/**
+	 * Filter for {@link RTree#findFirst(int, int, PointFilter)}
+	 *
+	 * @param <T> Item type
+	 */
+	public static interface PointFilter<T> {
+		
+		/**
+		 * Checks if the given item matches the point (e.g. if the exact outline of the item contains the point).
+		 */
+		public boolean accept(T item, int x, int y);
+	}
+}
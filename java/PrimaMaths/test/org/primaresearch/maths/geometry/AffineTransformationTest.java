@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class AffineTransformationTest {
+
+	@Test
+	public void testBasicTransformations() {
+		assertTrue(AffineTransformation.createIdentity().isIdentity());
+		
+		Point p = AffineTransformation.createScaling(2.0, 0.5).transform(10, 10);
+		assertEquals(20, p.x);
+		assertEquals(5, p.y);
+		
+		p = AffineTransformation.createTranslation(-3, 4).transform(10, 10);
+		assertEquals(7, p.x);
+		assertEquals(14, p.y);
+		
+		//90 degrees clockwise around (10,10) (image coordinates)
+		p = AffineTransformation.createRotation(Math.PI / 2, 10, 10).transform(20, 10);
+		assertEquals(10, p.x);
+		assertEquals(20, p.y);
+	}
+
+	@Test
+	public void testConcatenate() {
+		AffineTransformation t = AffineTransformation.createScaling(2, 2)
+				.concatenate(AffineTransformation.createTranslation(5, 0));
+		Point p = t.transform(1, 1);
+		assertEquals(7, p.x);
+		assertEquals(2, p.y);
+		
+		//Deskew undoes the rotation
+		t = AffineTransformation.createRotation(0.05, 500, 500)
+				.concatenate(AffineTransformation.createDeskew(0.05, 500, 500));
+		int[] coords = new int[] { 0, 0, 1000, 0, 1000, 1000, 0, 1000 };
+		t.transform(coords, 4);
+		assertArrayEquals(new int[] { 0, 0, 1000, 0, 1000, 1000, 0, 1000 }, coords);
+	}
+
+	@Test
+	public void testPolygonTransform() {
+		Polygon polygon = new Polygon();
+		polygon.addPoint(0, 0);
+		polygon.addPoint(10, 0);
+		polygon.addPoint(10, 20);
+		Point linked = polygon.getPoint(2);
+		assertEquals(20, polygon.getBoundingBox().bottom);
+		
+		polygon.transform(AffineTransformation.createScaling(3, 2));
+		
+		assertEquals(30, linked.x);
+		assertEquals(40, linked.y);
+		assertEquals(30, polygon.getBoundingBox().right);
+		assertEquals(40, polygon.getBoundingBox().bottom);
+		
+		polygon.freeze();
+		try {
+			polygon.transform(AffineTransformation.createTranslation(1, 1));
+			fail("Frozen polygon modified");
+		} catch (UnsupportedOperationException exc) {
+			//expected
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PolygonRasterizerTest {
+
+	@Test
+	public void testRectangle() {
+		Polygon rect = new Polygon();
+		rect.addPoint(10, 20);
+		rect.addPoint(30, 20);
+		rect.addPoint(30, 25);
+		rect.addPoint(10, 25);
+		
+		boolean[][] mask = rasterize(rect, 0, 0, 49, 49);
+		int count = 0;
+		for (int y=0; y<50; y++)
+			for (int x=0; x<50; x++)
+				if (mask[y][x]) 
+					count++;
+		assertEquals(20 * 5, count);
+		assertFalse(mask[20][15]);
+		assertTrue(mask[21][11]);
+		assertTrue(mask[25][30]);
+		assertFalse(mask[23][10]);
+		
+		//Clipping
+		mask = rasterize(rect, 15, 22, 19, 22);
+		count = 0;
+		for (int y=0; y<50; y++)
+			for (int x=0; x<50; x++)
+				if (mask[y][x]) 
+					count++;
+		assertEquals(5, count);
+	}
+	
+	@Test
+	public void testSameAsPointInside() {
+		Random random = new Random(42);
+		for (int n=0; n<50; n++) {
+			//Random (possibly self-intersecting) polygon, partly outside the clipping area
+			Polygon polygon = new Polygon();
+			int size = 3 + random.nextInt(20);
+			for (int i=0; i<size; i++)
+				polygon.addPoint(random.nextInt(140) - 20, random.nextInt(140) - 20);
+			
+			boolean[][] mask = rasterize(polygon, 0, 0, 99, 99);
+			for (int y=0; y<100; y++)
+				for (int x=0; x<100; x++)
+					assertEquals("Pixel "+x+","+y, polygon.isPointInside(x, y), mask[y][x]);
+		}
+	}
+	
+	private static boolean[][] rasterize(Polygon polygon, int left, int top, int right, int bottom) {
+		final boolean[][] mask = new boolean[100][100];
+		polygon.rasterize(left, top, right, bottom, new PolygonRasterizer.SpanHandler() {
+			@Override
+			public void fillSpan(int y, int x1, int x2) {
+				for (int x=x1; x<=x2; x++) {
+					assertFalse(mask[y][x]);
+					mask[y][x] = true;
+				}
+			}
+		});
+		return mask;
+	}
+}
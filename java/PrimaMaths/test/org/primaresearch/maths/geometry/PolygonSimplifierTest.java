@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.primaresearch.maths.geometry.PolygonSimplifier.Method;
+
+public class PolygonSimplifierTest {
+
+	@Test
+	public void testDouglasPeucker() {
+		//Rectangle with many (nearly) collinear points
+		Polygon polygon = createNoisyRectangle();
+		int size = polygon.getSize();
+		
+		PolygonSimplifier simplifier = new PolygonSimplifier(1.5);
+		assertEquals(size - 4, simplifier.simplify(polygon, true));
+		assertEquals(4, polygon.getSize());
+		assertEquals(100 * 50, polygon.calculateArea(), 0.001);
+		
+		//Nothing to remove
+		assertEquals(0, simplifier.simplify(polygon, true));
+		
+		//Small tolerance removes exactly collinear points only
+		polygon = createNoisyRectangle();
+		assertEquals(2, new PolygonSimplifier(0.5).simplify(polygon, true));
+		
+		//Closed polygons keep at least three points
+		polygon = createNoisyRectangle();
+		new PolygonSimplifier(1000.0).simplify(polygon, true);
+		assertEquals(3, polygon.getSize());
+		
+		//Polyline (end points are kept)
+		int[] line = new int[] { 0,0, 10,1, 20,0, 30,1, 40,0 };
+		int[] simplified = new PolygonSimplifier(2.0).simplify(line, 5, false);
+		assertArrayEquals(new int[] { 0,0, 40,0 }, simplified);
+		assertSame(line, new PolygonSimplifier(0.5).simplify(line, 5, false));
+	}
+
+	@Test
+	public void testVisvalingamWhyatt() {
+		Polygon polygon = createNoisyRectangle();
+		int size = polygon.getSize();
+		
+		PolygonSimplifier simplifier = new PolygonSimplifier(Method.VISVALINGAM_WHYATT, 100.0);
+		assertEquals(size - 4, simplifier.simplify(polygon, true));
+		assertEquals(100 * 50, polygon.calculateArea(), 0.001);
+		
+		//Small area threshold removes exactly collinear points only
+		polygon = createNoisyRectangle();
+		assertEquals(2, new PolygonSimplifier(Method.VISVALINGAM_WHYATT, 0.1).simplify(polygon, true));
+		
+		//Closed polygons keep at least three points
+		polygon = createNoisyRectangle();
+		new PolygonSimplifier(Method.VISVALINGAM_WHYATT, 1000000.0).simplify(polygon, true);
+		assertEquals(3, polygon.getSize());
+		
+		//Polyline
+		int[] line = new int[] { 0,0, 10,1, 20,0, 30,1, 40,0 };
+		assertArrayEquals(new int[] { 0,0, 40,0 }, new PolygonSimplifier(Method.VISVALINGAM_WHYATT, 100.0).simplify(line, 5, false));
+	}
+	
+	@Test
+	public void testFrozen() {
+		Polygon polygon = createNoisyRectangle().freeze();
+		try {
+			new PolygonSimplifier(1.5).simplify(polygon, true);
+			fail("Frozen polygon changed");
+		} catch (UnsupportedOperationException exc) {
+		}
+	}
+	
+	/**
+	 * Rectangle 0,0 - 100,50 with two extra points on the top edge (one of them a pixel off)
+	 * and two extra points on the bottom edge
+	 */
+	private static Polygon createNoisyRectangle() {
+		Polygon polygon = new Polygon();
+		polygon.addPoint(0, 0);
+		polygon.addPoint(30, 1);
+		polygon.addPoint(60, 0);
+		polygon.addPoint(100, 0);
+		polygon.addPoint(100, 50);
+		polygon.addPoint(70, 50);
+		polygon.addPoint(30, 50);
+		polygon.addPoint(0, 50);
+		return polygon;
+	}
+}
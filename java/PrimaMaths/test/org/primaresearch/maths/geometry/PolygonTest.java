@@ -17,6 +17,9 @@ package org.primaresearch.maths.geometry;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import org.junit.Test;
 
 public class PolygonTest {
@@ -42,4 +45,227 @@ public class PolygonTest {
 		assertTrue(bb.bottom == 200);
 	}
 
+	@Test
+	public void testPackedCoordinates() {
+		Polygon poly = new Polygon();
+		poly.addPoints(new int[] {10, 20, 30, 40, 50, 60}, 3);
+		poly.addPoint(70, 80);
+		for (int i=0; i<100; i++) //Growing
+			poly.addPoint(i, -i);
+		
+		assertEquals(104, poly.getSize());
+		assertEquals(30, poly.getX(1));
+		assertEquals(40, poly.getY(1));
+		assertEquals(70, poly.getX(3));
+		assertEquals(-99, poly.getY(103));
+		assertEquals(-99, poly.getBoundingBox().top);
+		
+		//Bulk read / write
+		int[] coords = poly.getCoordinates();
+		assertEquals(208, coords.length);
+		assertEquals(50, coords[4]);
+		poly.setPoints(new int[] {0, 0, 100, 0, 100, 100, 0, 100}, 4);
+		assertEquals(4, poly.getSize());
+		assertEquals(100, poly.getBoundingBox().right);
+		assertTrue(poly.isPointInside(50, 50));
+		assertEquals(400.0, poly.calculateLength(), 0.0001);
+
+		poly.setPoint(2, 200, 200);
+		assertEquals(200, poly.getBoundingBox().bottom);
+		
+		//Insert / remove
+		poly.removePoint(2);
+		assertEquals(3, poly.getSize());
+		assertEquals(0, poly.getX(2));
+		assertEquals(100, poly.getBoundingBox().bottom);
+		
+		Point p = new Point(50, 150);
+		poly.insertPoint(1, p);
+		assertEquals(4, poly.getSize());
+		assertEquals(50, poly.getX(2));
+		assertEquals(100, poly.getX(1));
+		
+		//Clone
+		Polygon copy = poly.clone();
+		poly.setPoint(0, -10, -10);
+		assertEquals(0, copy.getX(0));
+		assertArrayEquals(new int[] {0, 0, 100, 0, 50, 150, 0, 100}, copy.getCoordinates());
+		
+		//Index check
+		try {
+			poly.getX(4);
+			fail("Index out of bounds");
+		} catch (IndexOutOfBoundsException exc) {
+		}
+	}
+	
+	@Test
+	public void testPointObjects() {
+		Polygon poly = new Polygon();
+		poly.addPoint(0, 0);
+		poly.addPoint(100, 0);
+		poly.addPoint(100, 100);
+		
+		//Changes to returned points are reflected in the polygon
+		Point p = poly.getPoint(1);
+		assertSame(p, poly.getPoint(1));
+		p.x = 200;
+		poly.setBoundingBoxOutdated();
+		assertEquals(200, poly.getX(1));
+		assertEquals(200, poly.getBoundingBox().right);
+		assertEquals(200, poly.getCoordinates()[2]);
+		
+		//Added point objects as well
+		Point added = new Point(0, 100);
+		poly.addPoint(added);
+		added.y = 300;
+		assertEquals(300, poly.getY(3));
+		
+		//Remove by object
+		poly.removePoint(p);
+		assertEquals(3, poly.getSize());
+		assertEquals(100, poly.getX(1));
+		assertSame(added, poly.getPoint(2));
+		
+		poly.removePoint(new Point(0, 0)); //Not part of the polygon
+		assertEquals(3, poly.getSize());
+	}
+
+	@Test
+	public void testFreeze() {
+		Polygon poly = new Polygon();
+		poly.addPoints(new int[] {0, 0, 100, 0, 100, 50, 0, 50}, 4);
+		Point p = poly.getPoint(3);
+		
+		assertSame(poly, poly.freeze());
+		assertTrue(poly.isFrozen());
+		
+		//Read access
+		assertEquals(4, poly.getSize());
+		assertEquals(100, poly.getX(2));
+		assertEquals(50, poly.getY(2));
+		assertEquals(100, poly.getBoundingBox().right);
+		assertEquals(5000.0, poly.calculateArea(), 0.0);
+		assertEquals(300.0, poly.calculateLength(), 0.0001);
+		assertTrue(poly.isPointInside(50, 25));
+		assertFalse(poly.isPointInside(150, 25));
+		
+		//Point objects are unlinked
+		p.x = 500;
+		assertEquals(0, poly.getX(3));
+		poly.getPoint(0).x = 500;
+		assertEquals(0, poly.getX(0));
+		
+		//Modification fails
+		try {
+			poly.addPoint(1, 1);
+			fail("Frozen polygon modified");
+		} catch (UnsupportedOperationException exc) {
+		}
+		try {
+			poly.setPoint(0, 1, 1);
+			fail("Frozen polygon modified");
+		} catch (UnsupportedOperationException exc) {
+		}
+		try {
+			poly.removePoint(0);
+			fail("Frozen polygon modified");
+		} catch (UnsupportedOperationException exc) {
+		}
+		poly.setBoundingBoxOutdated(); //No effect
+		assertNotNull(poly.getBoundingBox());
+		
+		//Clones are modifiable
+		Polygon copy = poly.clone();
+		assertFalse(copy.isFrozen());
+		copy.setPoint(0, 10, 10);
+		assertEquals(10, copy.getX(0));
+		assertEquals(0, poly.getX(0));
+	}
+
+	@Test
+	public void testIntersection() {
+		Polygon rect1 = createPolygon(0, 0, 100, 0, 100, 50, 0, 50);
+		Polygon rect2 = createPolygon(50, 0, 150, 0, 150, 50, 50, 50);
+		Polygon rect3 = createPolygon(100, 0, 200, 0, 200, 50, 100, 50);
+		
+		assertEquals(5000.0, rect1.calculateArea(), 0.0);
+		assertEquals(2500.0, rect1.calculateIntersectionArea(rect2), 1e-9);
+		assertEquals(7500.0, rect1.calculateUnionArea(rect2), 1e-9);
+		assertEquals(1.0/3.0, rect1.calculateIntersectionOverUnion(rect2), 1e-9);
+		
+		//Touching only
+		assertEquals(0.0, rect1.calculateIntersectionArea(rect3), 0.0);
+		//Identical (shared edges)
+		assertEquals(5000.0, rect1.calculateIntersectionArea(rect1.clone()), 1e-9);
+		assertEquals(1.0, rect1.calculateIntersectionOverUnion(rect1), 1e-9);
+		//Contained, opposite orientation
+		Polygon inner = createPolygon(10, 10, 10, 40, 90, 40, 90, 10);
+		assertEquals(2400.0, rect1.calculateIntersectionArea(inner), 1e-9);
+		assertEquals(2400.0, inner.calculateIntersectionArea(rect1), 1e-9);
+		
+		//Non-convex: U shape and a bar crossing both arms
+		Polygon u = createPolygon(0, 0, 30, 0, 30, 70, 70, 70, 70, 0, 100, 0, 100, 100, 0, 100);
+		assertEquals(7200.0, u.calculateArea(), 1e-9);
+		Polygon bar = createPolygon(-10, 20, 110, 20, 110, 40, -10, 40);
+		assertEquals(1200.0, u.calculateIntersectionArea(bar), 1e-9);
+		//Triangle crossing a rectangle
+		Polygon triangle = createPolygon(50, 25, 150, 75, -50, 75);
+		assertEquals(1250.0, triangle.calculateIntersectionArea(rect1), 1e-9);
+		//Self-intersecting (bow tie, even-odd rule: two triangles of 2500 each)
+		Polygon bowTie = createPolygon(0, 0, 100, 100, 100, 0, 0, 100);
+		Polygon square = createPolygon(0, 0, 100, 0, 100, 100, 0, 100);
+		assertEquals(5000.0, bowTie.calculateIntersectionArea(square), 1e-9);
+		assertEquals(5000.0, square.calculateIntersectionArea(bowTie), 1e-9);
+		
+		//Frozen polygons
+		assertEquals(2500.0, rect1.clone().freeze().calculateIntersectionArea(rect2.clone().freeze()), 1e-9);
+		
+		//Random star-shaped polygons against raster approximation
+		Random random = new Random(3);
+		for (int n=0; n<20; n++) {
+			Polygon p1 = createStar(random, 60 + random.nextInt(40), 60, 50);
+			Polygon p2 = createStar(random, 60 + random.nextInt(40), 70, 50);
+			double expected = 0.0;
+			for (int y=0; y<200; y++)
+				for (int x=0; x<200; x++)
+					if (isInside(p1, x + 0.5, y + 0.5) && isInside(p2, x + 0.5, y + 0.5))
+						expected += 1.0;
+			double area = p1.calculateIntersectionArea(p2);
+			assertEquals(expected, area, Math.max(30.0, expected * 0.03));
+			assertEquals(area, p2.calculateIntersectionArea(p1), 1e-6);
+		}
+	}
+	
+	private static Polygon createPolygon(int... coords) {
+		Polygon polygon = new Polygon();
+		polygon.addPoints(coords, coords.length / 2);
+		return polygon;
+	}
+	
+	private static Polygon createStar(Random random, int cx, int cy, int maxRadius) {
+		int n = 5 + random.nextInt(10);
+		double[] angles = new double[n];
+		for (int i=0; i<n; i++)
+			angles[i] = random.nextDouble() * 2.0 * Math.PI;
+		Arrays.sort(angles);
+		Polygon polygon = new Polygon();
+		for (int i=0; i<n; i++) {
+			double r = 10 + random.nextDouble() * (maxRadius - 10);
+			polygon.addPoint(cx + (int)(r * Math.cos(angles[i])), cy + (int)(r * Math.sin(angles[i])));
+		}
+		return polygon;
+	}
+	
+	private static boolean isInside(Polygon polygon, double x, double y) {
+		boolean inside = false;
+		for (int i=0, j=polygon.getSize()-1; i<polygon.getSize(); j=i++) {
+			double xi = polygon.getX(i), yi = polygon.getY(i);
+			double xj = polygon.getX(j), yj = polygon.getY(j);
+			if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi)
+				inside = !inside;
+		}
+		return inside;
+	}
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PreparedPolygonTest {
+
+	@Test
+	public void testSameAsPointInside() {
+		Random random = new Random(7);
+		for (int n=0; n<50; n++) {
+			//Random (possibly self-intersecting) polygon
+			Polygon polygon = new Polygon();
+			int size = 3 + random.nextInt(30);
+			for (int i=0; i<size; i++)
+				polygon.addPoint(random.nextInt(100), random.nextInt(100));
+			PreparedPolygon prepared = polygon.prepare();
+			
+			for (int y=-2; y<102; y++)
+				for (int x=-2; x<102; x++)
+					assertEquals("Pixel "+x+","+y, polygon.isPointInside(x, y), prepared.isPointInside(x, y));
+		}
+		
+		//Degenerated
+		Polygon line = new Polygon();
+		line.addPoint(0, 0);
+		line.addPoint(10, 10);
+		assertFalse(line.prepare().isPointInside(5, 5));
+		assertFalse(new Polygon().prepare().isPointInside(0, 0));
+	}
+	
+	@Test
+	public void testBatch() {
+		Polygon rect = new Polygon();
+		rect.addPoint(0, 0);
+		rect.addPoint(10, 0);
+		rect.addPoint(10, 10);
+		rect.addPoint(0, 10);
+		int[] points = new int[] { 5, 5,  0, 5,  10, 10,  11, 5 };
+		boolean[] result = new boolean[4];
+		assertEquals(2, rect.prepare().isPointInside(points, 4, result));
+		assertTrue(result[0]);
+		assertFalse(result[1]);
+		assertTrue(result[2]);
+		assertFalse(result[3]);
+	}
+	
+	@Test
+	public void testSet() {
+		Random random = new Random(3);
+		List<Polygon> polygons = new ArrayList<Polygon>();
+		for (int n=0; n<40; n++) {
+			Polygon polygon = new Polygon();
+			int cx = random.nextInt(500), cy = random.nextInt(500);
+			for (int i=0; i<8; i++) {
+				double angle = i * Math.PI / 4.0;
+				double r = 10 + random.nextInt(40);
+				polygon.addPoint(cx + (int)(r * Math.cos(angle)), cy + (int)(r * Math.sin(angle)));
+			}
+			polygons.add(polygon);
+		}
+		polygons.add(null);
+		PreparedPolygonSet set = new PreparedPolygonSet(polygons);
+		assertEquals(41, set.size());
+		assertNull(set.getPolygon(40));
+		
+		int count = 10000;
+		int[] points = new int[2 * count];
+		for (int i=0; i<2*count; i++)
+			points[i] = random.nextInt(550);
+		int[] result = new int[count];
+		set.indexOf(points, count, result);
+		for (int i=0; i<count; i++) {
+			int expected = -1;
+			for (int p=0; p<40; p++) {
+				if (polygons.get(p).isPointInside(points[2*i], points[2*i+1])) {
+					expected = p;
+					break;
+				}
+			}
+			assertEquals(expected, result[i]);
+		}
+	}
+}
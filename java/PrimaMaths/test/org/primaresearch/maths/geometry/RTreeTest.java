@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 PRImA Research Lab, University of Salford, United Kingdom
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.primaresearch.maths.geometry;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RTreeTest {
+
+	@Test
+	public void testSearch() {
+		Random random = new Random(42);
+		List<Integer> items = new ArrayList<Integer>();
+		List<Rect> bounds = new ArrayList<Rect>();
+		for (int i=0; i<1000; i++) {
+			int x = random.nextInt(2000);
+			int y = random.nextInt(3000);
+			items.add(i);
+			bounds.add(new Rect(x, y, x + random.nextInt(200), y + random.nextInt(50)));
+		}
+		RTree<Integer> tree = new RTree<Integer>(items, bounds, 4);
+		assertEquals(1000, tree.size());
+		
+		for (int q=0; q<200; q++) {
+			//Point query
+			int x = random.nextInt(2200);
+			int y = random.nextInt(3100);
+			List<Integer> expected = new ArrayList<Integer>();
+			for (int i=0; i<bounds.size(); i++)
+				if (bounds.get(i).isPointInside(x, y))
+					expected.add(i);
+			assertEquals(expected, tree.search(x, y));
+			
+			//Rectangle query
+			Rect r = new Rect(x, y, x + random.nextInt(300), y + random.nextInt(300));
+			expected.clear();
+			for (int i=0; i<bounds.size(); i++) {
+				Rect b = bounds.get(i);
+				if (b.left <= r.right && b.right >= r.left && b.top <= r.bottom && b.bottom >= r.top)
+					expected.add(i);
+			}
+			assertEquals(expected, tree.search(r));
+		}
+	}
+	
+	@Test
+	public void testFindFirst() {
+		Random random = new Random(11);
+		List<Integer> items = new ArrayList<Integer>();
+		List<Rect> bounds = new ArrayList<Rect>();
+		for (int i=0; i<1000; i++) {
+			int x = random.nextInt(1000);
+			int y = random.nextInt(1000);
+			items.add(i);
+			bounds.add(new Rect(x, y, x + random.nextInt(200), y + random.nextInt(200)));
+		}
+		RTree<Integer> tree = new RTree<Integer>(items, bounds, 4);
+		
+		//Accept odd items only
+		RTree.PointFilter<Integer> filter = new RTree.PointFilter<Integer>() {
+			@Override
+			public boolean accept(Integer item, int x, int y) {
+				return item.intValue() % 2 == 1;
+			}
+		};
+		for (int q=0; q<500; q++) {
+			int x = random.nextInt(1200);
+			int y = random.nextInt(1200);
+			Integer expected = null;
+			for (Integer item : tree.search(x, y)) {
+				if (item.intValue() % 2 == 1) {
+					expected = item;
+					break;
+				}
+			}
+			assertEquals(expected, tree.findFirst(x, y, filter));
+		}
+		
+		assertNull(new RTree<Integer>(new ArrayList<Integer>(), new ArrayList<Rect>()).findFirst(0, 0, filter));
+	}
+	
+	@Test
+	public void testNearest() {
+		Random random = new Random(7);
+		List<String> items = new ArrayList<String>();
+		List<Rect> bounds = new ArrayList<Rect>();
+		for (int i=0; i<500; i++) {
+			int x = random.nextInt(1000);
+			int y = random.nextInt(1000);
+			items.add("r"+i);
+			bounds.add(new Rect(x, y, x + random.nextInt(30), y + random.nextInt(30)));
+		}
+		RTree<String> tree = new RTree<String>(items, bounds);
+		
+		for (int q=0; q<100; q++) {
+			int x = random.nextInt(1000);
+			int y = random.nextInt(1000);
+			List<String> res = tree.nearest(x, y, 5);
+			assertEquals(5, res.size());
+			
+			//Distances have to be ascending and no other item can be closer than the last one
+			long last = -1;
+			for (String item : res) {
+				long dist = distance(bounds.get(items.indexOf(item)), x, y);
+				assertTrue(dist >= last);
+				last = dist;
+			}
+			int closer = 0;
+			for (int i=0; i<bounds.size(); i++)
+				if (distance(bounds.get(i), x, y) < last)
+					closer++;
+			assertTrue(closer < 5);
+		}
+		
+		assertEquals(500, tree.nearest(0, 0, 1000).size());
+		assertTrue(tree.nearest(0, 0, 0).isEmpty());
+	}
+	
+	@Test
+	public void testEmpty() {
+		RTree<Object> tree = new RTree<Object>(new ArrayList<Object>(), new ArrayList<Rect>());
+		assertEquals(0, tree.size());
+		assertTrue(tree.search(0, 0).isEmpty());
+		assertTrue(tree.nearest(0, 0, 3).isEmpty());
+		
+		List<Object> items = new ArrayList<Object>();
+		items.add("a");
+		List<Rect> bounds = new ArrayList<Rect>();
+		bounds.add(new Rect(0, 0, 10, 10));
+		tree = new RTree<Object>(items, bounds);
+		assertEquals(1, tree.search(5, 5).size());
+		assertTrue(tree.search(11, 5).isEmpty());
+		assertEquals("a", tree.nearest(100, 100, 3).get(0));
+	}
+	
+	private static long distance(Rect r, int x, int y) {
+		long dx = x < r.left ? r.left - x : (x > r.right ? x - r.right : 0);
+		long dy = y < r.top ? r.top - y : (y > r.bottom ? y - r.bottom : 0);
+		return dx * dx + dy * dy;
+	}
+}